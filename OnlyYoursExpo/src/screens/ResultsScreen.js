@@ -34,7 +34,7 @@ const ResultsScreen = ({ route, navigation }) => {
   const isTablet = width >= 768;
   const incomingScores = route?.params?.scores || null;
   const sessionId = route?.params?.sessionId || incomingScores?.sessionId || null;
-  const { clearLatestCompletedSession, endGame } = useGame();
+  const { clearLatestCompletedSession, endGame, progressionUpdate } = useGame();
   const [scores, setScores] = useState(incomingScores);
   const [isLoadingScores, setIsLoadingScores] = useState(!incomingScores && Boolean(sessionId));
   const [scoreLoadError, setScoreLoadError] = useState(null);
@@ -45,6 +45,24 @@ const ResultsScreen = ({ route, navigation }) => {
   const p1ScoreAnim = useRef(new Animated.Value(0)).current;
   const p2ScoreAnim = useRef(new Animated.Value(0)).current;
 
+  // Completion returns the couple snapshot from before this game's XP; the
+  // PROGRESSION_UPDATE that follows carries the applied snapshot and milestones.
+  const resultScores = useMemo(() => {
+    if (
+      !scores ||
+      !progressionUpdate ||
+      !sessionId ||
+      String(progressionUpdate.sessionId) !== String(sessionId)
+    ) {
+      return scores;
+    }
+    return {
+      ...scores,
+      coupleProgression: progressionUpdate.coupleProgression || scores.coupleProgression,
+      recentMilestones: progressionUpdate.recentMilestones || scores.recentMilestones,
+    };
+  }, [progressionUpdate, scores, sessionId]);
+
   const combinedScore = (scores?.player1Score || 0) + (scores?.player2Score || 0);
   const maxCombined = (scores?.totalQuestions || 0) * 2;
 
@@ -179,14 +197,14 @@ const ResultsScreen = ({ route, navigation }) => {
     if (!scores) {
       return;
     }
-    shareCard(buildResultShareCard(scores));
+    shareCard(buildResultShareCard(resultScores));
   };
 
   const handleShareMilestone = () => {
-    if (!scores?.recentMilestones?.[0]) {
+    if (!resultScores?.recentMilestones?.[0]) {
       return;
     }
-    shareCard(buildMilestoneShareCard(scores.recentMilestones[0]));
+    shareCard(buildMilestoneShareCard(resultScores.recentMilestones[0]));
   };
 
   const styles = useMemo(
@@ -495,8 +513,8 @@ const ResultsScreen = ({ route, navigation }) => {
               </VelvetStatCard>
             </View>
 
-            <MilestoneHighlights milestones={scores.recentMilestones} title="Unlocked This Game" />
-            <ProgressionCard snapshot={scores.coupleProgression} />
+            <MilestoneHighlights milestones={resultScores.recentMilestones} title="Unlocked This Game" />
+            <ProgressionCard snapshot={resultScores.coupleProgression} />
 
             <VelvetSectionCard style={styles.actionsCard}>
               <Text style={styles.actionsTitle}>Choose your next moment</Text>
@@ -513,7 +531,7 @@ const ResultsScreen = ({ route, navigation }) => {
                 accessibilityHint="Generates a branded image card for this game result."
               />
 
-              {scores?.recentMilestones?.length ? (
+              {resultScores?.recentMilestones?.length ? (
                 <VelvetSecondaryButton
                   label={isSharing ? 'Preparing Share...' : 'Share Latest Celebration'}
                   onPress={handleShareMilestone}
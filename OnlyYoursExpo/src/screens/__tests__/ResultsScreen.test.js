@@ -1,10 +1,10 @@
 import React from 'react';
-import { cleanup, fireEvent, render, waitFor } from '@testing-library/react-native';
+import { act, cleanup, fireEvent, render, waitFor } from '@testing-library/react-native';
 import * as Sharing from 'expo-sharing';
 import { captureRef, releaseCapture } from 'react-native-view-shot';
 import ResultsScreen from '../ResultsScreen';
 import { AuthContext } from '../../state/AuthContext';
-import { GameProvider } from '../../state/GameContext';
+import { GameProvider, useGame } from '../../state/GameContext';
 import WebSocketService from '../../services/WebSocketService';
 import api from '../../services/api';
 
@@ -53,7 +53,15 @@ const MockAuthProvider = ({ children }) => (
   </AuthContext.Provider>
 );
 
-const renderResults = (routeParams = { scores: mockScores }, navigation = {}) => {
+const ActiveSession = ({ sessionId }) => {
+  const { startGame } = useGame();
+  React.useEffect(() => {
+    startGame(sessionId);
+  }, [sessionId, startGame]);
+  return null;
+};
+
+const renderResults = (routeParams = { scores: mockScores }, navigation = {}, activeSessionId = null) => {
   const mockNav = { replace: jest.fn(), navigate: jest.fn(), ...navigation };
   const mockRoute = { params: routeParams };
   WebSocketService.subscribe.mockReturnValue({ unsubscribe: jest.fn() });
@@ -61,6 +69,7 @@ const renderResults = (routeParams = { scores: mockScores }, navigation = {}) =>
   const result = render(
     <MockAuthProvider>
       <GameProvider>
+        {activeSessionId ? <ActiveSession sessionId={activeSessionId} /> : null}
         <ResultsScreen route={mockRoute} navigation={mockNav} />
       </GameProvider>
     </MockAuthProvider>,
@@ -95,6 +104,32 @@ describe('ResultsScreen', () => {
     expect(getByText('Couple Level Up')).toBeTruthy();
   });
 
+  it('shows milestones from the progression update that follows completion', () => {
+    WebSocketService.isConnected.mockReturnValue(true);
+    const { getByText, queryByText } = renderResults(
+      { scores: { ...mockScores, sessionId: 'session-123', recentMilestones: [] }, sessionId: 'session-123' },
+      {},
+      'session-123',
+    );
+    expect(queryByText('Couple Level Up')).toBeNull();
+
+    const [, topicCallback] = WebSocketService.subscribe.mock.calls.find(
+      ([destination]) => destination === '/topic/game/session-123',
+    );
+    act(() => {
+      topicCallback({
+        type: 'PROGRESSION_UPDATE',
+        sessionId: 'session-123',
+        coupleProgression: mockScores.coupleProgression,
+        recentMilestones: mockScores.recentMilestones,
+      });
+    });
+
+    expect(getByText('Unlocked This Game')).toBeTruthy();
+    expect(getByText('Couple Level Up')).toBeTruthy();
+    expect(getByText('Share Latest Celebration')).toBeTruthy();
+  });
+
   it('should render Game Complete title', () => {
     const { getByText } = renderResults();
     expect(getByText('Game Complete!')).toBeTruthy();
@@ -32,6 +32,7 @@ export const GameProvider = ({ children }) => {
   const [statusNotice, setStatusNotice] = useState(null);
   const [expiredMessage, setExpiredMessage] = useState(null);
   const [latestCompletedSession, setLatestCompletedSession] = useState(null);
+  const [progressionUpdate, setProgressionUpdate] = useState(null);
 
   const [round, setRound] = useState(null);
   const [guessResult, setGuessResult] = useState(null);
@@ -176,6 +177,13 @@ export const GameProvider = ({ children }) => {
       return true;
     }
 
+    if (payload.type === 'PROGRESSION_UPDATE') {
+      // XP and milestones are applied in the background after completion, so this can
+      // arrive before or after GAME_RESULTS. Results screens merge it into the scores.
+      setProgressionUpdate(payload);
+      return true;
+    }
+
     if (payload.type === 'GAME_RESULTS') {
       clearSubmitRecoveryTimeout();
       console.log('[GameContext] Game completed:', payload);
@@ -341,6 +349,7 @@ export const GameProvider = ({ children }) => {
     setRoundState(null);
     setGuessResult(null);
     setScores(null);
+    setProgressionUpdate(null);
     setCorrectCount(0);
     setIsTransitioning(false);
     setIsInvitationPending(false);
@@ -488,6 +497,7 @@ export const GameProvider = ({ children }) => {
     setRound(null);
     setGuessResult(null);
     setScores(null);
+    setProgressionUpdate(null);
     setCorrectCount(0);
     setIsTransitioning(false);
     setIsInvitationPending(false);
@@ -568,6 +578,7 @@ export const GameProvider = ({ children }) => {
     statusNotice,
     expiredMessage,
     latestCompletedSession,
+    progressionUpdate,
     round,
     guessResult,
     scores,
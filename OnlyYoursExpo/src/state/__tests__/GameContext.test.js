@@ -481,6 +481,38 @@ describe('GameContext', () => {
     expect(ExpoHaptics.notificationAsync).toHaveBeenCalledWith('Success');
   });
 
+  it('should keep the PROGRESSION_UPDATE for the active session', () => {
+    const { result } = renderHook(() => useGame(), { wrapper });
+
+    act(() => {
+      result.current.startGame('test-session-id');
+    });
+
+    const topicCallback = WebSocketService.subscribe.mock.calls[0][1];
+    act(() => {
+      topicCallback({
+        type: 'PROGRESSION_UPDATE',
+        sessionId: 'other-session-id',
+        recentMilestones: [{ type: 'LEVEL_UP', title: 'Other Couple' }],
+      });
+    });
+    expect(result.current.progressionUpdate).toBeNull();
+
+    act(() => {
+      topicCallback({
+        type: 'PROGRESSION_UPDATE',
+        sessionId: 'test-session-id',
+        recentMilestones: [{ type: 'LEVEL_UP', title: 'Couple Level Up' }],
+      });
+    });
+    expect(result.current.progressionUpdate.recentMilestones[0].title).toBe('Couple Level Up');
+
+    act(() => {
+      result.current.endGame();
+    });
+    expect(result.current.progressionUpdate).toBeNull();
+  });
+
   it('should handle submit answer without active session gracefully', () => {
     const { result } = renderHook(() => useGame(), { wrapper });
 
@@ -0,0 +1,69 @@
+package com.onlyyours.benchmark;
+
+import com.onlyyours.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares access token validation as JwtAuthFilter used to do it (three parses, each
+ * rebuilding the signing key) with the parse-once path, cold and cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark secret key that is long enough for HS256 signing";
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 10_000);
+        uncachedJwtService = new JwtService(SECRET, 0);
+        user = new User("benchmark@example.com", "", Collections.emptyList());
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyThreeParseValidation() {
+        String username = legacyParse(token).getSubject();
+        boolean usernameMatches = legacyParse(token).getSubject().equals(username);
+        return usernameMatches && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JwtService.VerifiedClaims parseOnceUncached() {
+        return uncachedJwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedClaims parseOnceCached() {
+        return jwtService.verifyToken(token);
+    }
+
+    private Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+}
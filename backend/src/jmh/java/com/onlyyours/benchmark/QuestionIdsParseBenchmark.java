@@ -0,0 +1,92 @@
+package com.onlyyours.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the question ID handling of one move: the old CSV column was split and
+ * boxed into Integer[] by each step that needed it, while the integer[] column
+ * arrives as an int[] once per entity load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QuestionIdsParseBenchmark {
+
+    /** Parses per move on the old path: submit, round-finished check, payload, question number. */
+    private static final int PARSES_PER_MOVE = 4;
+
+    @Param({"8"})
+    public int questionCount;
+
+    private String questionIdsCsv;
+    private int[] questionIds;
+    private int lookupId;
+
+    @Setup
+    public void setUp() {
+        questionIds = IntStream.range(0, questionCount).map(i -> 1000 + i * 37).toArray();
+        questionIdsCsv = Arrays.stream(questionIds).mapToObj(Integer::toString).collect(Collectors.joining(","));
+        lookupId = questionIds[questionCount - 1];
+    }
+
+    @Benchmark
+    public int legacyCsvParsePerStep() {
+        int result = 0;
+        for (int step = 0; step < PARSES_PER_MOVE; step++) {
+            Integer[] parsed = parseCsv(questionIdsCsv);
+            result += positionOf(parsed, lookupId);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int primitiveArray() {
+        int result = 0;
+        for (int step = 0; step < PARSES_PER_MOVE; step++) {
+            result += positionOf(questionIds, lookupId);
+        }
+        return result;
+    }
+
+    private static Integer[] parseCsv(String csv) {
+        if (csv == null || csv.isBlank()) {
+            return new Integer[0];
+        }
+        return Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(Integer::parseInt)
+                .toArray(Integer[]::new);
+    }
+
+    private static int positionOf(Integer[] ids, int questionId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (Objects.equals(ids[i], questionId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int positionOf(int[] ids, int questionId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == questionId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
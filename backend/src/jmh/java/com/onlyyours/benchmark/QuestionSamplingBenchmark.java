@@ -0,0 +1,61 @@
+package com.onlyyours.benchmark;
+
+import com.onlyyours.service.QuestionSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares picking the questions of one game the old way (shuffle the whole deck,
+ * keep the first few) with the sampler's random probing of a cached id pool. Only
+ * the in-memory part is measured; the old path also loaded every question entity
+ * of the category, which this benchmark leaves out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuestionSamplingBenchmark {
+
+    private static final int QUESTIONS_PER_GAME = 8;
+
+    @Param({"100", "10000", "100000"})
+    public int deckSize;
+
+    private List<Integer> deck;
+    private int[] pool;
+    private BitSet noneSeen;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        pool = IntStream.range(0, deckSize).toArray();
+        deck = IntStream.range(0, deckSize).boxed().toList();
+        noneSeen = new BitSet();
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public List<Integer> legacyShuffleWholeDeck() {
+        List<Integer> all = new ArrayList<>(deck);
+        Collections.shuffle(all, random);
+        return new ArrayList<>(all.subList(0, QUESTIONS_PER_GAME));
+    }
+
+    @Benchmark
+    public QuestionSampler.Pick samplerPick() {
+        return QuestionSampler.pickIds(pool, noneSeen, QUESTIONS_PER_GAME, random);
+    }
+}
@@ -0,0 +1,52 @@
+package com.onlyyours.benchmark;
+
+import com.onlyyours.model.CoupleSeenQuestions;
+import com.onlyyours.service.QuestionSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Times one pick from a 100,000-question deck as the couple's seen set grows,
+ * including decoding the stored seen set as each game start does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SeenQuestionPickBenchmark {
+
+    private static final int DECK_SIZE = 100_000;
+    private static final int QUESTIONS_PER_GAME = 8;
+
+    @Param({"0", "8000", "50000", "90000", "99990"})
+    public int seenCount;
+
+    private int[] pool;
+    private CoupleSeenQuestions stored;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        pool = IntStream.range(0, DECK_SIZE).toArray();
+        BitSet seen = new BitSet();
+        seen.set(0, seenCount);
+        stored = new CoupleSeenQuestions();
+        stored.setSeen(seen);
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public QuestionSampler.Pick pickFromStoredSeenSet() {
+        return QuestionSampler.pickIds(pool, stored.seen(), QUESTIONS_PER_GAME, random);
+    }
+}
@@ -0,0 +1,94 @@
+package com.onlyyours.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.handler.DestinationPatternsMessageCondition;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageMappingInfo;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Times @MessageMapping handlers on the client inbound channel.
+ *
+ * Runs on the executor thread around each subscriber, so only the annotation handler
+ * is timed; the broker and user destination handlers are skipped. Timers are tagged
+ * with the mapped destination (e.g. {@code /game.guess}). Destinations with no
+ * mapping share the {@code UNMAPPED} tag so clients cannot create new time series.
+ * Game moves only queue on the session mailbox here; their processing time is in
+ * the game.mailbox.run timer.
+ */
+public class MessageHandlingMetricsInterceptor implements ExecutorChannelInterceptor {
+
+    static final String TIMER_NAME = "websocket.message.handling";
+    static final String UNMAPPED_DESTINATION = "UNMAPPED";
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<Timer.Sample> currentSample = new ThreadLocal<>();
+    private volatile Set<String> mappedDestinations;
+
+    public MessageHandlingMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (handler instanceof SimpAnnotationMethodMessageHandler) {
+            currentSample.set(Timer.start(meterRegistry));
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler annotationHandler)) {
+            return;
+        }
+        Timer.Sample sample = currentSample.get();
+        currentSample.remove();
+        if (sample == null) {
+            return;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        sample.stop(Timer.builder(TIMER_NAME)
+                .description("Time spent in @MessageMapping handlers, per destination")
+                .tag("destination", resolveDestinationTag(annotationHandler, destination))
+                .tag("outcome", ex == null ? "SUCCESS" : "ERROR")
+                .register(meterRegistry));
+    }
+
+    private String resolveDestinationTag(SimpAnnotationMethodMessageHandler handler, String destination) {
+        if (destination == null) {
+            return UNMAPPED_DESTINATION;
+        }
+        String lookupDestination = destination;
+        for (String prefix : handler.getDestinationPrefixes()) {
+            if (destination.startsWith(prefix)) {
+                lookupDestination = destination.substring(prefix.length() - (prefix.endsWith("/") ? 1 : 0));
+                break;
+            }
+        }
+        return mappedDestinations(handler).contains(lookupDestination) ? lookupDestination : UNMAPPED_DESTINATION;
+    }
+
+    private Set<String> mappedDestinations(SimpAnnotationMethodMessageHandler handler) {
+        Set<String> destinations = mappedDestinations;
+        if (destinations == null) {
+            destinations = handler.getHandlerMethods().keySet().stream()
+                    .map(SimpMessageMappingInfo::getDestinationConditions)
+                    .map(DestinationPatternsMessageCondition::getPatterns)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toUnmodifiableSet());
+            mappedDestinations = destinations;
+        }
+        return destinations;
+    }
+}
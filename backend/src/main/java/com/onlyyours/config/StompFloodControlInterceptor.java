@@ -0,0 +1,275 @@
+package com.onlyyours.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Token bucket limits on SEND frames from STOMP clients.
+ *
+ * Runs in preSend on the transport thread, before the frame is queued for the
+ * inbound executor, so a dropped frame never reaches a @MessageMapping handler or
+ * the database. Two limits apply:
+ * <ul>
+ *   <li>per STOMP session, across every destination, so one socket cannot flood
+ *       the channel with any frame at all;</li>
+ *   <li>per authenticated user and game destination (answer and guess share the
+ *       move limit; invite, accept and decline the invitation limit), which also
+ *       holds when the user opens several sockets.</li>
+ * </ul>
+ * A throttled user gets a {@code THROTTLED} message on /user/queue/errors, at most
+ * once per notify interval. Rejections are counted per scope and destination; the
+ * counters are registered up front, since the destination tags are a fixed set.
+ *
+ * Configured from {@code websocket.flood-control.*}; WebSocketChannelConfig only adds
+ * it to the inbound channel when {@code enabled} is true.
+ */
+@Component
+@Slf4j
+public class StompFloodControlInterceptor implements ChannelInterceptor {
+
+    static final String REJECTED_COUNTER = "websocket.flood.rejected";
+    static final String OTHER_DESTINATION = "OTHER";
+
+    /**
+     * Token bucket shape: up to {@code capacity} frames at once, refilled to capacity
+     * over {@code period}.
+     */
+    public record Limit(long capacity, Duration period) {
+    }
+
+    enum DestinationPolicy {
+        MOVE,
+        INVITATION
+    }
+
+    static final Map<String, DestinationPolicy> LIMITED_DESTINATIONS = Map.of(
+            "/app/game.answer", DestinationPolicy.MOVE,
+            "/app/game.guess", DestinationPolicy.MOVE,
+            "/app/game.invite", DestinationPolicy.INVITATION,
+            "/app/game.accept", DestinationPolicy.INVITATION,
+            "/app/game.decline", DestinationPolicy.INVITATION
+    );
+
+    private final boolean enabled;
+    private final Supplier<SimpMessageSendingOperations> messagingTemplate;
+    private final Limit sessionLimit;
+    private final Map<DestinationPolicy, Limit> destinationLimits;
+    private final long notifyIntervalNanos;
+    private final Map<String, Counter> sessionRejections;
+    private final Map<String, Counter> userRejections;
+
+    private final Map<String, ThrottledBucket> sessionBuckets = new ConcurrentHashMap<>();
+    private final Map<String, ThrottledBucket> userBuckets;
+
+    @Autowired
+    public StompFloodControlInterceptor(
+            MeterRegistry meterRegistry,
+            ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+            @Value("${websocket.flood-control.enabled:true}") boolean enabled,
+            @Value("${websocket.flood-control.session.capacity:40}") long sessionCapacity,
+            @Value("${websocket.flood-control.session.period-ms:2000}") long sessionPeriodMillis,
+            @Value("${websocket.flood-control.move.capacity:10}") long moveCapacity,
+            @Value("${websocket.flood-control.move.period-ms:2000}") long movePeriodMillis,
+            @Value("${websocket.flood-control.invitation.capacity:5}") long invitationCapacity,
+            @Value("${websocket.flood-control.invitation.period-ms:60000}") long invitationPeriodMillis,
+            @Value("${websocket.flood-control.max-tracked-users:50000}") int maxTrackedUsers,
+            @Value("${websocket.flood-control.notify-interval-ms:1000}") long notifyIntervalMillis
+    ) {
+        this(
+                enabled,
+                meterRegistry,
+                messagingTemplate::getObject,
+                new Limit(sessionCapacity, Duration.ofMillis(sessionPeriodMillis)),
+                new Limit(moveCapacity, Duration.ofMillis(movePeriodMillis)),
+                new Limit(invitationCapacity, Duration.ofMillis(invitationPeriodMillis)),
+                maxTrackedUsers,
+                Duration.ofMillis(notifyIntervalMillis)
+        );
+    }
+
+    StompFloodControlInterceptor(
+            MeterRegistry meterRegistry,
+            Supplier<SimpMessageSendingOperations> messagingTemplate,
+            Limit sessionLimit,
+            Limit moveLimit,
+            Limit invitationLimit,
+            int maxTrackedUsers,
+            Duration notifyInterval
+    ) {
+        this(true, meterRegistry, messagingTemplate, sessionLimit, moveLimit, invitationLimit,
+                maxTrackedUsers, notifyInterval);
+    }
+
+    private StompFloodControlInterceptor(
+            boolean enabled,
+            MeterRegistry meterRegistry,
+            Supplier<SimpMessageSendingOperations> messagingTemplate,
+            Limit sessionLimit,
+            Limit moveLimit,
+            Limit invitationLimit,
+            int maxTrackedUsers,
+            Duration notifyInterval
+    ) {
+        this.enabled = enabled;
+        this.messagingTemplate = messagingTemplate;
+        this.sessionLimit = sessionLimit;
+        this.destinationLimits = Map.of(
+                DestinationPolicy.MOVE, moveLimit,
+                DestinationPolicy.INVITATION, invitationLimit
+        );
+        this.notifyIntervalNanos = notifyInterval.toNanos();
+        this.sessionRejections = new HashMap<>();
+        this.userRejections = new HashMap<>();
+        for (String destination : LIMITED_DESTINATIONS.keySet()) {
+            sessionRejections.put(destination, rejectedCounter(meterRegistry, "session", destination));
+            userRejections.put(destination, rejectedCounter(meterRegistry, "user", destination));
+        }
+        sessionRejections.put(OTHER_DESTINATION, rejectedCounter(meterRegistry, "session", OTHER_DESTINATION));
+        this.userBuckets = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ThrottledBucket> eldest) {
+                return size() > maxTrackedUsers;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        if (type == SimpMessageType.DISCONNECT) {
+            sessionBuckets.remove(sessionId);
+            return message;
+        }
+        if (type != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        DestinationPolicy policy = destination == null ? null : LIMITED_DESTINATIONS.get(destination);
+        String destinationTag = policy == null ? OTHER_DESTINATION : destination;
+        Principal user = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+
+        ThrottledBucket sessionBucket = sessionBuckets.computeIfAbsent(sessionId, id -> new ThrottledBucket(sessionLimit));
+        if (!sessionBucket.bucket.tryConsume(1)) {
+            return reject(sessionRejections.get(destinationTag), "session", destinationTag, user, sessionBucket, sessionId);
+        }
+
+        if (policy != null && user != null) {
+            ThrottledBucket userBucket = userBuckets.computeIfAbsent(
+                    user.getName() + "|" + destination,
+                    key -> new ThrottledBucket(destinationLimits.get(policy)));
+            if (!userBucket.bucket.tryConsume(1)) {
+                return reject(userRejections.get(destinationTag), "user", destinationTag, user, userBucket, sessionId);
+            }
+        }
+        return message;
+    }
+
+    int trackedSessionCount() {
+        return sessionBuckets.size();
+    }
+
+    int trackedUserBucketCount() {
+        return userBuckets.size();
+    }
+
+    private Message<?> reject(
+            Counter rejections,
+            String scope,
+            String destinationTag,
+            Principal user,
+            ThrottledBucket bucket,
+            String sessionId
+    ) {
+        rejections.increment();
+
+        if (user != null && bucket.shouldNotify(notifyIntervalNanos)) {
+            log.warn("Throttling STOMP frames: user={}, session={}, scope={}, destination={}",
+                    user.getName(), sessionId, scope, destinationTag);
+            try {
+                messagingTemplate.get().convertAndSendToUser(
+                        user.getName(),
+                        "/queue/errors",
+                        Map.of(
+                                "type", "THROTTLED",
+                                "message", "Too many game actions. Please slow down.",
+                                "destination", destinationTag,
+                                "retryAfterMs", Math.max(1, bucket.nanosToWaitForRefill() / 1_000_000),
+                                "timestamp", System.currentTimeMillis()
+                        )
+                );
+            } catch (RuntimeException e) {
+                log.debug("Could not notify throttled user {}: {}", user.getName(), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String scope, String destination) {
+        return Counter.builder(REJECTED_COUNTER)
+                .description("Inbound STOMP frames dropped by flood control")
+                .tag("scope", scope)
+                .tag("destination", destination)
+                .register(meterRegistry);
+    }
+
+    private static final class ThrottledBucket {
+        private final Bucket bucket;
+        private long lastNotifiedNanos;
+        private boolean notified;
+
+        private ThrottledBucket(Limit limit) {
+            this.bucket = Bucket.builder()
+                    .addLimit(Bandwidth.builder()
+                            .capacity(limit.capacity())
+                            .refillGreedy(limit.capacity(), limit.period())
+                            .build())
+                    .build();
+        }
+
+        private synchronized boolean shouldNotify(long intervalNanos) {
+            long now = System.nanoTime();
+            if (notified && now - lastNotifiedNanos < intervalNanos) {
+                return false;
+            }
+            notified = true;
+            lastNotifiedNanos = now;
+            return true;
+        }
+
+        private long nanosToWaitForRefill() {
+            return bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill();
+        }
+    }
+}
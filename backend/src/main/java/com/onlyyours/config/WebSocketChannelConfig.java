@@ -0,0 +1,154 @@
+package com.onlyyours.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors behind the STOMP client inbound and outbound channels.
+ *
+ * Spring's defaults are unbounded queues, so a burst of slow handlers (handleGuess
+ * also writes progression jobs and push outbox rows) grows the backlog without
+ * limit and every other message waits behind it. Here both pools are sized and
+ * bounded from {@code websocket.channel.*}; once the queue is full the pool grows to
+ * max-pool-size, after which messages are rejected and counted. With
+ * {@code websocket.channel.virtual-threads=true} (Java 21+) each message runs on its
+ * own virtual thread instead, with max-pool-size capping concurrent handlers; on an
+ * older runtime the configuration fails at construction with a message naming the
+ * property.
+ *
+ * Queue depth, active and pool threads and rejections are exported per channel, and
+ * MessageHandlingMetricsInterceptor times each @MessageMapping destination.
+ * StompFloodControlInterceptor ({@code websocket.flood-control.*}) drops SEND frames
+ * over the per-session and per-user limits before they are queued.
+ */
+@Configuration
+public class WebSocketChannelConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final String INBOUND = "inbound";
+    private static final String OUTBOUND = "outbound";
+    private static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean virtualThreads;
+    private final PoolSettings inbound;
+    private final PoolSettings outbound;
+    private final StompFloodControlInterceptor floodControlInterceptor;
+
+    public WebSocketChannelConfig(
+            MeterRegistry meterRegistry,
+            StompFloodControlInterceptor floodControlInterceptor,
+            @Value("${websocket.channel.virtual-threads:false}") boolean virtualThreads,
+            @Value("${websocket.channel.inbound.core-pool-size:8}") int inboundCorePoolSize,
+            @Value("${websocket.channel.inbound.max-pool-size:32}") int inboundMaxPoolSize,
+            @Value("${websocket.channel.inbound.queue-capacity:1000}") int inboundQueueCapacity,
+            @Value("${websocket.channel.outbound.core-pool-size:8}") int outboundCorePoolSize,
+            @Value("${websocket.channel.outbound.max-pool-size:32}") int outboundMaxPoolSize,
+            @Value("${websocket.channel.outbound.queue-capacity:1000}") int outboundQueueCapacity,
+            @Value("${websocket.channel.keep-alive-seconds:60}") int keepAliveSeconds
+    ) {
+        if (virtualThreads) {
+            requireVirtualThreadSupport(Runtime.version().feature());
+        }
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = virtualThreads;
+        this.inbound = new PoolSettings(inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity, keepAliveSeconds);
+        this.outbound = new PoolSettings(outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity, keepAliveSeconds);
+        this.floodControlInterceptor = floodControlInterceptor;
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.executor(createExecutor(INBOUND, "clientInboundChannel-", inbound));
+        if (floodControlInterceptor.isEnabled()) {
+            registration.interceptors(floodControlInterceptor);
+        }
+        registration.interceptors(new MessageHandlingMetricsInterceptor(meterRegistry));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(createExecutor(OUTBOUND, "clientOutboundChannel-", outbound));
+    }
+
+    private Executor createExecutor(String channel, String threadNamePrefix, PoolSettings settings) {
+        if (virtualThreads) {
+            return createVirtualThreadExecutor(channel, threadNamePrefix, settings);
+        }
+
+        Counter rejected = rejectedCounter(channel);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(settings.corePoolSize());
+        executor.setMaxPoolSize(Math.max(settings.corePoolSize(), settings.maxPoolSize()));
+        executor.setQueueCapacity(settings.queueCapacity());
+        executor.setKeepAliveSeconds(settings.keepAliveSeconds());
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
+
+        Gauge.builder("websocket.channel.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Messages waiting for a channel thread")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("websocket.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Channel threads currently handling a message")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("websocket.channel.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("Channel threads currently in the pool")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private Executor createVirtualThreadExecutor(String channel, String threadNamePrefix, PoolSettings settings) {
+        AtomicInteger active = new AtomicInteger();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(Math.max(1, settings.maxPoolSize()));
+        executor.setTaskDecorator(task -> () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+
+        Gauge.builder("websocket.channel.active", active, AtomicInteger::get)
+                .description("Channel threads currently handling a message")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    static void requireVirtualThreadSupport(int javaFeatureVersion) {
+        if (javaFeatureVersion < VIRTUAL_THREADS_MIN_JAVA) {
+            throw new IllegalStateException("websocket.channel.virtual-threads=true needs Java "
+                    + VIRTUAL_THREADS_MIN_JAVA + " or newer, but this JVM is Java " + javaFeatureVersion
+                    + "; unset WEBSOCKET_CHANNEL_VIRTUAL_THREADS or run on a newer runtime");
+        }
+    }
+
+    private Counter rejectedCounter(String channel) {
+        return Counter.builder("websocket.channel.rejected")
+                .description("Messages rejected because the channel queue and pool were full")
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+
+    private record PoolSettings(int corePoolSize, int maxPoolSize, int queueCapacity, int keepAliveSeconds) {
+    }
+}
@@ -1,15 +1,60 @@
 package com.onlyyours.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.Locale;
+
+/**
+ * STOMP endpoints and broker.
+ *
+ * {@code websocket.broker.mode=simple} (default) keeps subscriptions in this JVM, which
+ * only works with a single instance. {@code relay} forwards /topic and /queue to an
+ * external STOMP broker (e.g. RabbitMQ's STOMP plugin) so every instance sees every
+ * subscription. User destinations that cannot be resolved locally are re-broadcast
+ * through the broker, and each instance publishes its user registry, so
+ * {@code /user/queue/...} reaches a partner connected to another node.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    static final String UNRESOLVED_USER_DESTINATION = "/topic/unresolved-user-destination";
+    static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayClientLogin;
+    private final String relayClientPasscode;
+    private final String relaySystemLogin;
+    private final String relaySystemPasscode;
+    private final String relayVirtualHost;
+
+    public WebSocketConfig(
+            @Value("${websocket.broker.mode:simple}") String brokerMode,
+            @Value("${websocket.broker.relay.host:localhost}") String relayHost,
+            @Value("${websocket.broker.relay.port:61613}") int relayPort,
+            @Value("${websocket.broker.relay.client-login:guest}") String relayClientLogin,
+            @Value("${websocket.broker.relay.client-passcode:guest}") String relayClientPasscode,
+            @Value("${websocket.broker.relay.system-login:guest}") String relaySystemLogin,
+            @Value("${websocket.broker.relay.system-passcode:guest}") String relaySystemPasscode,
+            @Value("${websocket.broker.relay.virtual-host:}") String relayVirtualHost
+    ) {
+        this.brokerMode = brokerMode.trim().toLowerCase(Locale.ROOT);
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayClientLogin = relayClientLogin;
+        this.relayClientPasscode = relayClientPasscode;
+        this.relaySystemLogin = relaySystemLogin;
+        this.relaySystemPasscode = relaySystemPasscode;
+        this.relayVirtualHost = relayVirtualHost;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
@@ -19,10 +64,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic", "/queue");
+        switch (brokerMode) {
+            case "simple" -> registry.enableSimpleBroker("/topic", "/queue");
+            case "relay" -> {
+                var relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                        .setRelayHost(relayHost)
+                        .setRelayPort(relayPort)
+                        .setClientLogin(relayClientLogin)
+                        .setClientPasscode(relayClientPasscode)
+                        .setSystemLogin(relaySystemLogin)
+                        .setSystemPasscode(relaySystemPasscode)
+                        .setUserDestinationBroadcast(UNRESOLVED_USER_DESTINATION)
+                        .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+                if (!relayVirtualHost.isBlank()) {
+                    relay.setVirtualHost(relayVirtualHost);
+                }
+            }
+            default -> throw new IllegalStateException(
+                    "Unsupported websocket.broker.mode '" + brokerMode + "' (expected simple or relay)");
+        }
         registry.setApplicationDestinationPrefixes("/app");
         registry.setUserDestinationPrefix("/user");
     }
 }
-
-
@@ -1,5 +1,7 @@
 package com.onlyyours.config;
 
+import com.onlyyours.security.AuthenticatedUser;
+import com.onlyyours.security.AuthenticatedUserCache;
 import com.onlyyours.service.JwtService;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
@@ -12,8 +14,6 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
@@ -21,11 +21,11 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
-    public WebSocketSecurityConfig(JwtService jwtService, UserDetailsService userDetailsService) {
+    public WebSocketSecurityConfig(JwtService jwtService, AuthenticatedUserCache authenticatedUserCache) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @Override
@@ -41,17 +41,13 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
                     if (authHeader != null && authHeader.startsWith("Bearer ")) {
                         String token = authHeader.substring(7);
                         try {
-                            String username = jwtService.extractUsername(token);
-                            if (username != null) {
-                                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                                if (jwtService.validateToken(token, userDetails)) {
-                                    UsernamePasswordAuthenticationToken authentication =
-                                            new UsernamePasswordAuthenticationToken(
-                                                    userDetails, null, userDetails.getAuthorities());
-                                    accessor.setUser(authentication);
-                                } else {
-                                    throw new IllegalArgumentException("Invalid JWT token");
-                                }
+                            JwtService.VerifiedClaims claims = jwtService.verifyToken(token);
+                            if (claims.username() != null) {
+                                AuthenticatedUser user = authenticatedUserCache.resolve(claims);
+                                UsernamePasswordAuthenticationToken authentication =
+                                        new UsernamePasswordAuthenticationToken(
+                                                user, null, user.getAuthorities());
+                                accessor.setUser(authentication);
                             }
                         } catch (IllegalArgumentException e) {
                             throw e;
@@ -0,0 +1,79 @@
+package com.onlyyours.controller;
+
+import com.onlyyours.service.CategoryCatalogService;
+import com.onlyyours.service.ImportAlreadyRunningException;
+import com.onlyyours.service.ProgressionJobWorker;
+import com.onlyyours.service.QuestionPackImporter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Operator endpoints, authenticated by {@link com.onlyyours.security.AdminApiKeyFilter}.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Slf4j
+public class AdminController {
+
+    private final CategoryCatalogService categoryCatalogService;
+    private final QuestionPackImporter questionPackImporter;
+    private final ProgressionJobWorker progressionJobWorker;
+
+    public AdminController(
+            CategoryCatalogService categoryCatalogService,
+            QuestionPackImporter questionPackImporter,
+            ProgressionJobWorker progressionJobWorker
+    ) {
+        this.categoryCatalogService = categoryCatalogService;
+        this.questionPackImporter = questionPackImporter;
+        this.progressionJobWorker = progressionJobWorker;
+    }
+
+    @PostMapping("/content/categories/refresh")
+    public ResponseEntity<Map<String, Object>> refreshCategoryCatalog() {
+        CategoryCatalogService.Snapshot catalog = categoryCatalogService.refresh();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("etag", catalog.etag());
+        body.put("categoryCount", catalog.categoryCount());
+        body.put("loadedAt", catalog.loadedAt().toString());
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Requeues progression jobs that gave up after max-attempts, so their games'
+     * XP and milestones are applied on the next worker cycle.
+     */
+    @PostMapping("/progression/jobs/requeue-failed")
+    public ResponseEntity<Map<String, Object>> requeueFailedProgressionJobs() {
+        return ResponseEntity.ok(Map.of("requeued", progressionJobWorker.requeueFailedJobs()));
+    }
+
+    /**
+     * Imports a question pack sent as the raw request body. The body is streamed
+     * straight into the importer, so packs of any size can be posted.
+     */
+    @PostMapping("/questions/import")
+    public ResponseEntity<?> importQuestions(
+            @RequestParam(defaultValue = "jsonl") String format,
+            HttpServletRequest request
+    ) throws IOException {
+        QuestionPackImporter.Format packFormat = QuestionPackImporter.Format.fromName(format);
+        try {
+            return ResponseEntity.ok(questionPackImporter.importPack(request.getInputStream(), packFormat));
+        } catch (ImportAlreadyRunningException e) {
+            log.warn("Rejected question pack import: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,41 +1,38 @@
 package com.onlyyours.controller;
 
-import com.onlyyours.dto.CategoryDto;
-import com.onlyyours.model.QuestionCategory;
-import com.onlyyours.repository.QuestionCategoryRepository;
+import com.onlyyours.service.CategoryCatalogService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/content")
 public class ContentController {
 
-    private final QuestionCategoryRepository questionCategoryRepository;
+    private final CategoryCatalogService categoryCatalogService;
 
-    public ContentController(QuestionCategoryRepository questionCategoryRepository) {
-        this.questionCategoryRepository = questionCategoryRepository;
+    public ContentController(CategoryCatalogService categoryCatalogService) {
+        this.categoryCatalogService = categoryCatalogService;
     }
 
+    /**
+     * Serves the cached catalog. Clients revalidate with If-None-Match and get an
+     * empty 304 while the catalog is unchanged.
+     */
     @GetMapping("/categories")
-    public ResponseEntity<List<CategoryDto>> getCategories() {
-        List<CategoryDto> categories = questionCategoryRepository.findAll().stream().map(this::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(categories);
-    }
-
-    private CategoryDto toDto(QuestionCategory category) {
-        CategoryDto dto = new CategoryDto();
-        dto.setId(category.getId());
-        dto.setName(category.getName());
-        dto.setDescription(category.getDescription());
-        dto.setSensitive(category.isSensitive());
-        return dto;
+    public ResponseEntity<byte[]> getCategories(WebRequest request) {
+        CategoryCatalogService.Snapshot catalog = categoryCatalogService.current();
+        if (request.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
     }
 }
-
-
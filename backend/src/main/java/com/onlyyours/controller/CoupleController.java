@@ -7,7 +7,7 @@ import com.onlyyours.dto.UnlinkRequestDto;
 import com.onlyyours.dto.UserDto;
 import com.onlyyours.model.Couple;
 import com.onlyyours.model.User;
-import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AuthenticatedUserCache;
 import com.onlyyours.service.CoupleService;
 import com.onlyyours.service.PushNotificationService;
 import java.security.Principal;
@@ -25,13 +25,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class CoupleController {
 
     private final CoupleService coupleService;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private final PushNotificationService pushNotificationService;
 
-    public CoupleController(CoupleService coupleService, UserRepository userRepository,
+    public CoupleController(CoupleService coupleService, AuthenticatedUserCache authenticatedUserCache,
                             PushNotificationService pushNotificationService) {
         this.coupleService = coupleService;
-        this.userRepository = userRepository;
+        this.authenticatedUserCache = authenticatedUserCache;
         this.pushNotificationService = pushNotificationService;
     }
 
@@ -165,8 +165,7 @@ public class CoupleController {
     }
 
     private UUID getCurrentUserId(Principal principal) {
-        String email = principal.getName();
-        return userRepository.findByEmail(email).map(User::getId).orElseThrow();
+        return authenticatedUserCache.require(principal).getId();
     }
 }
 
@@ -4,8 +4,7 @@ import com.onlyyours.dto.CustomQuestionDeckSummaryDto;
 import com.onlyyours.dto.CustomQuestionDto;
 import com.onlyyours.dto.CustomQuestionRequestDto;
 import com.onlyyours.dto.MessageResponseDto;
-import com.onlyyours.model.User;
-import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AuthenticatedUserCache;
 import com.onlyyours.service.CustomQuestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/custom-questions")
@@ -22,13 +22,13 @@ import java.util.Map;
 public class CustomQuestionController {
 
     private final CustomQuestionService customQuestionService;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @GetMapping("/mine")
     public ResponseEntity<?> getMyQuestions(Principal principal) {
         try {
-            User currentUser = resolveCurrentUser(principal);
-            List<CustomQuestionDto> questions = customQuestionService.getMyQuestions(currentUser.getId());
+            UUID currentUserId = resolveCurrentUserId(principal);
+            List<CustomQuestionDto> questions = customQuestionService.getMyQuestions(currentUserId);
             return ResponseEntity.ok(questions);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error("CUSTOM_QUESTIONS_USER_NOT_FOUND", e.getMessage()));
@@ -38,8 +38,8 @@ public class CustomQuestionController {
     @GetMapping("/summary")
     public ResponseEntity<?> getDeckSummary(Principal principal) {
         try {
-            User currentUser = resolveCurrentUser(principal);
-            CustomQuestionDeckSummaryDto summary = customQuestionService.getDeckSummary(currentUser.getId());
+            UUID currentUserId = resolveCurrentUserId(principal);
+            CustomQuestionDeckSummaryDto summary = customQuestionService.getDeckSummary(currentUserId);
             return ResponseEntity.ok(summary);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(error("CUSTOM_QUESTIONS_LINK_REQUIRED", e.getMessage()));
@@ -51,8 +51,8 @@ public class CustomQuestionController {
     @PostMapping
     public ResponseEntity<?> createQuestion(@RequestBody CustomQuestionRequestDto request, Principal principal) {
         try {
-            User currentUser = resolveCurrentUser(principal);
-            CustomQuestionDto created = customQuestionService.createQuestion(currentUser.getId(), request);
+            UUID currentUserId = resolveCurrentUserId(principal);
+            CustomQuestionDto created = customQuestionService.createQuestion(currentUserId, request);
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(error("CUSTOM_QUESTION_CONFLICT", e.getMessage()));
@@ -68,8 +68,8 @@ public class CustomQuestionController {
             Principal principal
     ) {
         try {
-            User currentUser = resolveCurrentUser(principal);
-            CustomQuestionDto updated = customQuestionService.updateQuestion(currentUser.getId(), questionId, request);
+            UUID currentUserId = resolveCurrentUserId(principal);
+            CustomQuestionDto updated = customQuestionService.updateQuestion(currentUserId, questionId, request);
             return ResponseEntity.ok(updated);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(error("CUSTOM_QUESTION_CONFLICT", e.getMessage()));
@@ -87,8 +87,8 @@ public class CustomQuestionController {
     @DeleteMapping("/{questionId}")
     public ResponseEntity<?> deleteQuestion(@PathVariable Integer questionId, Principal principal) {
         try {
-            User currentUser = resolveCurrentUser(principal);
-            customQuestionService.deleteQuestion(currentUser.getId(), questionId);
+            UUID currentUserId = resolveCurrentUserId(principal);
+            customQuestionService.deleteQuestion(currentUserId, questionId);
             return ResponseEntity.ok(new MessageResponseDto("Custom question deleted."));
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(error("CUSTOM_QUESTION_CONFLICT", e.getMessage()));
@@ -97,9 +97,8 @@ public class CustomQuestionController {
         }
     }
 
-    private User resolveCurrentUser(Principal principal) {
-        return userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + principal.getName()));
+    private UUID resolveCurrentUserId(Principal principal) {
+        return authenticatedUserCache.require(principal).getId();
     }
 
     private Map<String, String> error(String code, String message) {
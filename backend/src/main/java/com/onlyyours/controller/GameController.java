@@ -5,9 +5,12 @@ import com.onlyyours.model.Couple;
 import com.onlyyours.model.GameSession;
 import com.onlyyours.model.User;
 import com.onlyyours.repository.CoupleRepository;
-import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AuthenticatedUser;
+import com.onlyyours.security.AuthenticatedUserCache;
 import com.onlyyours.service.ActiveGameSessionExistsException;
 import com.onlyyours.service.GameService;
+import com.onlyyours.service.GameSessionMailbox;
+import com.onlyyours.service.PresenceRegistry;
 import com.onlyyours.service.PushNotificationService;
 import com.onlyyours.service.SessionExpiredException;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +24,8 @@ import java.security.Principal;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * WebSocket controller for real-time game interactions.
@@ -32,6 +37,9 @@ import java.util.UUID;
  * Authentication is handled by WebSocketSecurityConfig which validates JWT
  * and sets Principal on the STOMP session.
  * 
+ * Accept, decline, answer and guess run on the session's GameSessionMailbox, so
+ * moves for one game are applied one at a time in arrival order.
+ * 
  * @author Sprint 4 Team
  */
 @Controller
@@ -41,9 +49,13 @@ public class GameController {
 
     private final GameService gameService;
     private final SimpMessagingTemplate messagingTemplate;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private final CoupleRepository coupleRepository;
     private final PushNotificationService pushNotificationService;
+    private final GameSessionMailbox gameSessionMailbox;
+    private final PresenceRegistry presenceRegistry;
+
+    private static final long MAILBOX_RETRY_AFTER_MS = 1000;
 
     /**
      * Handles game invitation requests.
@@ -65,10 +77,9 @@ public class GameController {
         try {
             String deckType = payload.get("deckType");
 
-            // Get inviter user from principal
+            // Inviter id and display name come from the authenticated principal
             String inviterEmail = principal.getName();
-            User inviter = userRepository.findByEmail(inviterEmail)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + inviterEmail));
+            AuthenticatedUser inviter = authenticatedUserCache.require(principal);
 
             // Create invitation
             GameInvitationDto invitation;
@@ -151,14 +162,18 @@ public class GameController {
      */
     @MessageMapping("/game.accept")
     public void handleAcceptance(@Payload Map<String, String> payload, Principal principal) {
+        runInSession("/app/game.accept", parseSessionId(payload.get("sessionId")), principal,
+                () -> processAcceptance(payload, principal));
+    }
+
+    private void processAcceptance(Map<String, String> payload, Principal principal) {
         try {
             String sessionIdStr = payload.get("sessionId");
             UUID sessionId = UUID.fromString(sessionIdStr);
 
             // Get accepter user
             String accepterEmail = principal.getName();
-            User accepter = userRepository.findByEmail(accepterEmail)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + accepterEmail));
+            AuthenticatedUser accepter = authenticatedUserCache.require(principal);
 
             // Accept invitation and get first question
             QuestionPayloadDto firstQuestion = gameService.acceptInvitation(sessionId, accepter.getId());
@@ -244,14 +259,18 @@ public class GameController {
      */
     @MessageMapping("/game.decline")
     public void handleDecline(@Payload Map<String, String> payload, Principal principal) {
+        runInSession("/app/game.decline", parseSessionId(payload.get("sessionId")), principal,
+                () -> processDecline(payload, principal));
+    }
+
+    private void processDecline(Map<String, String> payload, Principal principal) {
         try {
             String sessionIdStr = payload.get("sessionId");
             UUID sessionId = UUID.fromString(sessionIdStr);
 
             // Get decliner user
             String declinerEmail = principal.getName();
-            User decliner = userRepository.findByEmail(declinerEmail)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + declinerEmail));
+            AuthenticatedUser decliner = authenticatedUserCache.require(principal);
 
             // Decline invitation
             boolean declined = gameService.declineInvitation(sessionId, decliner.getId());
@@ -318,11 +337,14 @@ public class GameController {
      */
     @MessageMapping("/game.answer")
     public void handleAnswer(@Payload AnswerRequestDto request, Principal principal) {
+        runInSession("/app/game.answer", request.getSessionId(), principal, () -> processAnswer(request, principal));
+    }
+
+    private void processAnswer(AnswerRequestDto request, Principal principal) {
         try {
             // Get user
             String userEmail = principal.getName();
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
+            AuthenticatedUser user = authenticatedUserCache.require(principal);
 
             Optional<QuestionPayloadDto> answerResult = gameService.submitAnswer(
                     request.getSessionId(),
@@ -409,10 +431,13 @@ public class GameController {
      */
     @MessageMapping("/game.guess")
     public void handleGuess(@Payload GuessRequestDto request, Principal principal) {
+        runInSession("/app/game.guess", request.getSessionId(), principal, () -> processGuess(request, principal));
+    }
+
+    private void processGuess(GuessRequestDto request, Principal principal) {
         try {
             String userEmail = principal.getName();
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
+            AuthenticatedUser user = authenticatedUserCache.require(principal);
 
             gameService.submitGuess(
                     request.getSessionId(),
@@ -483,6 +508,94 @@ public class GameController {
         }
     }
 
+    /**
+     * Answers whether the caller's partner is connected.
+     * 
+     * Message destination: /app/presence.partner
+     * Reply: PartnerPresenceDto on /user/queue/presence
+     * 
+     * Served from PresenceRegistry, so repeated checks do not query the database.
+     * 
+     * @param principal Authenticated user
+     */
+    @MessageMapping("/presence.partner")
+    public void handlePartnerPresence(Principal principal) {
+        try {
+            AuthenticatedUser user = authenticatedUserCache.require(principal);
+            messagingTemplate.convertAndSendToUser(
+                    principal.getName(),
+                    "/queue/presence",
+                    presenceRegistry.partnerPresence(user.getId())
+            );
+        } catch (Exception e) {
+            log.error("Error resolving partner presence for {}: {}", principal.getName(), e.getMessage(), e);
+            sendErrorToUser(principal.getName(), "Failed to load partner presence: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves for one session run in order on its mailbox; without a usable session id
+     * the handler runs inline so its normal error reporting applies.
+     *
+     * Membership is checked before queuing, so a user outside the couple cannot fill
+     * the session's mailbox and crowd out the players' moves. A move the mailbox
+     * refuses is reported on /user/queue/errors rather than dropped silently.
+     *
+     * The handler returns once the move is queued, so websocket.message.handling only
+     * covers the membership check; game.mailbox.wait and game.mailbox.run, tagged with
+     * the same destination, cover the move itself.
+     */
+    private void runInSession(String destination, UUID sessionId, Principal principal, Runnable handler) {
+        if (sessionId == null) {
+            handler.run();
+            return;
+        }
+
+        try {
+            AuthenticatedUser user = authenticatedUserCache.require(principal);
+            if (!gameService.isSessionParticipant(sessionId, user.getId())) {
+                log.warn("Rejecting {} from non-participant {} for session {}",
+                        destination, principal.getName(), sessionId);
+                sendErrorToUser(principal.getName(), "You are not a player in this game session");
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Error checking session membership for {}: {}", principal.getName(), e.getMessage(), e);
+            sendErrorToUser(principal.getName(), "Failed to process move: " + e.getMessage());
+            return;
+        }
+
+        gameSessionMailbox.submit(sessionId, destination, () -> {
+            handler.run();
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error == null) {
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof RejectedExecutionException) {
+                log.warn("Game session mailbox refused {} from {}: sessionId={}, error={}",
+                        destination, principal.getName(), sessionId, cause.getMessage());
+                sendThrottledToUser(principal.getName(), destination);
+            } else {
+                log.warn("Game session task failed: sessionId={}, error={}", sessionId, cause.getMessage());
+            }
+        });
+    }
+
+    private UUID parseSessionId(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(sessionId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private void sendErrorToUser(String userEmail, String errorMessage) {
         messagingTemplate.convertAndSendToUser(
                 userEmail,
@@ -495,6 +608,23 @@ public class GameController {
         );
     }
 
+    /**
+     * Same shape as the THROTTLED message sent by StompFloodControlInterceptor.
+     */
+    private void sendThrottledToUser(String userEmail, String destination) {
+        messagingTemplate.convertAndSendToUser(
+                userEmail,
+                "/queue/errors",
+                Map.of(
+                        "type", "THROTTLED",
+                        "message", "Too many pending moves for this game. Please retry.",
+                        "destination", destination,
+                        "retryAfterMs", MAILBOX_RETRY_AFTER_MS,
+                        "timestamp", System.currentTimeMillis()
+                )
+        );
+    }
+
     private void sendStatusToUser(String userEmail, String status, UUID sessionId, String message) {
         messagingTemplate.convertAndSendToUser(
                 userEmail,
@@ -1,8 +1,8 @@
 package com.onlyyours.controller;
 
-import com.onlyyours.model.User;
-import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AuthenticatedUserCache;
 import com.onlyyours.service.GameService;
+import com.onlyyours.service.PresenceRegistry;
 import com.onlyyours.service.ProgressionService;
 import com.onlyyours.service.SessionExpiredException;
 import lombok.RequiredArgsConstructor;
@@ -27,46 +27,54 @@ public class GameQueryController {
 
     private final GameService gameService;
     private final ProgressionService progressionService;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final PresenceRegistry presenceRegistry;
 
     @GetMapping("/active")
     public ResponseEntity<?> getActiveGameSession(Principal principal) {
-        User user = resolveCurrentUser(principal);
+        UUID userId = resolveCurrentUserId(principal);
 
-        return gameService.getActiveSessionSummary(user.getId())
+        return gameService.getActiveSessionSummary(userId)
                 .<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(Map.of("error", "No active game session")));
     }
 
+    @GetMapping("/partner-presence")
+    public ResponseEntity<?> getPartnerPresence(Principal principal) {
+        UUID userId = resolveCurrentUserId(principal);
+        return ResponseEntity.ok(presenceRegistry.partnerPresence(userId));
+    }
+
     @GetMapping("/history")
     public ResponseEntity<?> getGameHistory(
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "recent") String sort,
             @RequestParam(defaultValue = "all") String winner,
+            @RequestParam(required = false) String cursor,
             Principal principal
     ) {
-        User user = resolveCurrentUser(principal);
-        return ResponseEntity.ok(gameService.getGameHistory(user.getId(), page, size, sort, winner));
+        UUID userId = resolveCurrentUserId(principal);
+        return ResponseEntity.ok(gameService.getGameHistory(userId, page, size, sort, winner, cursor));
     }
 
     @GetMapping("/stats")
     public ResponseEntity<?> getDashboardStats(Principal principal) {
-        User user = resolveCurrentUser(principal);
-        return ResponseEntity.ok(gameService.getDashboardStats(user.getId()));
+        UUID userId = resolveCurrentUserId(principal);
+        return ResponseEntity.ok(gameService.getDashboardStats(userId));
     }
 
     @GetMapping("/badges")
     public ResponseEntity<?> getBadges(Principal principal) {
-        User user = resolveCurrentUser(principal);
-        return ResponseEntity.ok(Map.of("badges", gameService.getBadges(user.getId())));
+        UUID userId = resolveCurrentUserId(principal);
+        return ResponseEntity.ok(Map.of("badges", gameService.getBadges(userId)));
     }
 
     @GetMapping("/progression")
     public ResponseEntity<?> getProgressionSummary(Principal principal) {
-        User user = resolveCurrentUser(principal);
-        return ResponseEntity.ok(progressionService.getProgressionSummary(user.getId()));
+        UUID userId = resolveCurrentUserId(principal);
+        return ResponseEntity.ok(progressionService.getProgressionSummary(userId));
     }
 
     @GetMapping("/{sessionId}/current-question")
@@ -75,9 +83,9 @@ public class GameQueryController {
             Principal principal
     ) {
         try {
-            User user = resolveCurrentUser(principal);
+            UUID userId = resolveCurrentUserId(principal);
 
-            return gameService.getCurrentQuestionForUser(sessionId, user.getId())
+            return gameService.getCurrentQuestionForUser(sessionId, userId)
                     .<ResponseEntity<?>>map(ResponseEntity::ok)
                     .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
                             .body(Map.of("error", "No current question available for this session state")));
@@ -103,8 +111,8 @@ public class GameQueryController {
             Principal principal
     ) {
         try {
-            User user = resolveCurrentUser(principal);
-            return ResponseEntity.ok(gameService.getCompletedResultsForUser(sessionId, user.getId()));
+            UUID userId = resolveCurrentUserId(principal);
+            return ResponseEntity.ok(gameService.getCompletedResultsForUser(sessionId, userId));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -114,8 +122,7 @@ public class GameQueryController {
         }
     }
 
-    private User resolveCurrentUser(Principal principal) {
-        return userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + principal.getName()));
+    private UUID resolveCurrentUserId(Principal principal) {
+        return authenticatedUserCache.require(principal).getId();
     }
 }
@@ -5,12 +5,10 @@ import com.onlyyours.dto.PushTokenRequestDto;
 import com.onlyyours.service.PushNotificationService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.onlyyours.security.AuthenticatedUserCache;
 import org.springframework.web.bind.annotation.*;
 
-import com.onlyyours.repository.UserRepository;
-
+import java.security.Principal;
 import java.util.UUID;
 
 @RestController
@@ -18,21 +16,19 @@ import java.util.UUID;
 public class PushTokenController {
 
     private final PushNotificationService pushNotificationService;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     public PushTokenController(PushNotificationService pushNotificationService,
-                               UserRepository userRepository) {
+                               AuthenticatedUserCache authenticatedUserCache) {
         this.pushNotificationService = pushNotificationService;
-        this.userRepository = userRepository;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @PostMapping("/register")
     public ResponseEntity<MessageResponseDto> registerToken(
-            @AuthenticationPrincipal UserDetails userDetails,
+            Principal principal,
             @Valid @RequestBody PushTokenRequestDto request) {
-        UUID userId = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"))
-                .getId();
+        UUID userId = authenticatedUserCache.require(principal).getId();
         pushNotificationService.registerToken(userId, request.getToken(), request.getDeviceId());
         return ResponseEntity.ok(new MessageResponseDto("Push token registered"));
     }
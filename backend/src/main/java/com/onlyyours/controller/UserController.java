@@ -5,6 +5,7 @@ import com.onlyyours.dto.UpdateProfileRequestDto;
 import com.onlyyours.dto.UserDto;
 import com.onlyyours.model.User;
 import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AuthenticatedUserCache;
 import com.onlyyours.service.ProgressionService;
 import jakarta.validation.Valid;
 import java.time.DateTimeException;
@@ -25,10 +26,16 @@ public class UserController {
 
     private final UserRepository userRepository;
     private final ProgressionService progressionService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
-    public UserController(UserRepository userRepository, ProgressionService progressionService) {
+    public UserController(
+            UserRepository userRepository,
+            ProgressionService progressionService,
+            AuthenticatedUserCache authenticatedUserCache
+    ) {
         this.userRepository = userRepository;
         this.progressionService = progressionService;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @GetMapping("/me")
@@ -54,6 +61,7 @@ public class UserController {
         try {
             applyProfileUpdate(user, request);
             User saved = userRepository.save(user);
+            authenticatedUserCache.invalidate(saved.getEmail());
             progressionService.recordProfileCompletion(saved);
             return ResponseEntity.ok(toUserDto(saved));
         } catch (IllegalStateException e) {
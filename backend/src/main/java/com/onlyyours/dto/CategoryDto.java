@@ -5,6 +5,7 @@ public class CategoryDto {
     private String name;
     private String description;
     private boolean sensitive;
+    private long questionCount;
 
     public Integer getId() {
         return id;
@@ -37,6 +38,12 @@ public class CategoryDto {
     public void setSensitive(boolean sensitive) {
         this.sensitive = sensitive;
     }
-}
 
+    public long getQuestionCount() {
+        return questionCount;
+    }
 
+    public void setQuestionCount(long questionCount) {
+        this.questionCount = questionCount;
+    }
+}
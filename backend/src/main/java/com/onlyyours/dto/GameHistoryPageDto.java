@@ -18,4 +18,5 @@ public class GameHistoryPageDto {
     private Long totalElements;
     private Integer totalPages;
     private Boolean hasNext;
+    private String nextCursor;
 }
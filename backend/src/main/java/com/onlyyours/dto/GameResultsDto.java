@@ -30,7 +30,14 @@ public class GameResultsDto {
 
     private String message;
 
+    /**
+     * Snapshot from before this game's XP is applied; the applied snapshot follows in
+     * a ProgressionUpdateDto on the same topic.
+     */
     private ProgressionSnapshotDto coupleProgression;
 
+    /**
+     * Empty on completion; this game's milestones arrive in the ProgressionUpdateDto.
+     */
     private java.util.List<ProgressionMilestoneDto> recentMilestones;
 }
@@ -0,0 +1,40 @@
+package com.onlyyours.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Whether the caller's partner currently has a live WebSocket connection.
+ *
+ * Returned by GET /api/game/partner-presence and sent to /user/queue/presence in
+ * reply to /app/presence.partner.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartnerPresenceDto {
+    /**
+     * Message type identifier for client-side routing
+     */
+    @Builder.Default
+    private String type = "PARTNER_PRESENCE";
+
+    /**
+     * False when the caller has no active couple; the other fields are then empty.
+     */
+    private boolean linked;
+
+    private String partnerName;
+
+    private boolean partnerOnline;
+
+    /**
+     * The couple's active game session, if any.
+     */
+    private UUID activeSessionId;
+}
@@ -0,0 +1,33 @@
+package com.onlyyours.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Broadcast on /topic/game/{sessionId} once the progression for a completed game
+ * has been applied in the background. It usually follows GAME_RESULTS for the
+ * same session, but clients should not rely on the order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressionUpdateDto {
+
+    @Builder.Default
+    private String type = "PROGRESSION_UPDATE";
+
+    private UUID sessionId;
+
+    private ProgressionSnapshotDto coupleProgression;
+
+    private List<ProgressionMilestoneDto> recentMilestones;
+
+    @Builder.Default
+    private Long timestamp = System.currentTimeMillis();
+}
@@ -2,6 +2,7 @@ package com.onlyyours.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
 import java.util.UUID;
@@ -52,6 +53,14 @@ public class Couple {
     @Column(name = "unlink_reason", length = 280)
     private String unlinkReason;
 
+    /**
+     * Bumped by {@link com.onlyyours.repository.CoupleRepository#incrementCustomDeckVersion}
+     * on every custom question write; never written through the entity.
+     */
+    @ColumnDefault("0")
+    @Column(name = "custom_deck_version", nullable = false, insertable = false, updatable = false)
+    private long customDeckVersion;
+
     @PrePersist
     protected void onCreate() {
         Date now = new Date();
@@ -0,0 +1,106 @@
+package com.onlyyours.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Questions a couple has already been dealt, as a set of question ids.
+ *
+ * Question ids are unique across categories and custom decks, so one row per couple
+ * covers every deck; exhausting a deck clears only that deck's ids.
+ *
+ * The set is stored in whichever of two encodings is smaller: a bitmap indexed by
+ * question id ({@link BitSet#toByteArray()}), or the sorted ids as varint gaps. A
+ * bitmap costs (highest seen id) / 8 bytes however few ids are set; the gap list
+ * costs one to three bytes per seen id. The row is therefore never larger than
+ * min(highest id / 8, 3 × seen count) bytes, about 62 KB at a 500,000 question id.
+ */
+@Entity
+@Table(name = "couple_seen_questions")
+@Data
+public class CoupleSeenQuestions {
+
+    public static final short ENCODING_BITMAP = 0;
+    public static final short ENCODING_GAPS = 1;
+
+    @Id
+    @Column(name = "couple_id")
+    private UUID coupleId;
+
+    @Column(name = "seen_data", nullable = false, length = 1_048_576)
+    private byte[] seenData = new byte[0];
+
+    /**
+     * {@link #ENCODING_BITMAP} or {@link #ENCODING_GAPS}.
+     */
+    @Column(name = "seen_encoding", nullable = false)
+    private short seenEncoding = ENCODING_BITMAP;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public BitSet seen() {
+        return seenEncoding == ENCODING_GAPS ? decodeGaps(seenData) : BitSet.valueOf(seenData);
+    }
+
+    public void setSeen(BitSet seen) {
+        byte[] bitmap = seen.toByteArray();
+        byte[] gaps = encodeGaps(seen);
+        if (gaps.length < bitmap.length) {
+            this.seenData = gaps;
+            this.seenEncoding = ENCODING_GAPS;
+        } else {
+            this.seenData = bitmap;
+            this.seenEncoding = ENCODING_BITMAP;
+        }
+    }
+
+    /**
+     * Each id as its distance from the previous one (minus one), in 7-bit groups
+     * with the high bit marking that more groups follow.
+     */
+    private static byte[] encodeGaps(BitSet seen) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int previous = -1;
+        for (int id = seen.nextSetBit(0); id >= 0; id = seen.nextSetBit(id + 1)) {
+            int gap = id - previous - 1;
+            while ((gap & ~0x7F) != 0) {
+                out.write((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            out.write(gap);
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+
+    private static BitSet decodeGaps(byte[] data) {
+        BitSet seen = new BitSet();
+        int previous = -1;
+        int gap = 0;
+        int shift = 0;
+        for (byte b : data) {
+            gap |= (b & 0x7F) << shift;
+            if ((b & 0x80) != 0) {
+                shift += 7;
+                continue;
+            }
+            previous += gap + 1;
+            seen.set(previous);
+            gap = 0;
+            shift = 0;
+        }
+        return seen;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = Instant.now();
+    }
+}
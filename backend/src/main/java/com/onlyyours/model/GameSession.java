@@ -2,6 +2,8 @@ package com.onlyyours.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.Date;
 import java.util.UUID;
@@ -48,12 +50,13 @@ public class GameSession {
     private DeckType deckType = DeckType.STANDARD_CATEGORY;
     
     /**
-     * Comma-separated list of question IDs for this game session.
-     * Example: "12,45,67,89,102,145,178,201"
-     * Questions are randomly selected when game is accepted.
+     * Question IDs for this game session, in play order.
+     * Stored as an integer[] column so it is read straight into a primitive
+     * array on load. Questions are randomly selected when game is accepted.
      */
-    @Column(name = "question_ids", length = 500)
-    private String questionIds;
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "question_ids")
+    private int[] questionIds;
     
     /**
      * Zero-based index of the current question.
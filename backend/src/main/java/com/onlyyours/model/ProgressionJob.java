@@ -0,0 +1,74 @@
+package com.onlyyours.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A completed game whose XP, streaks and achievements have not been applied yet.
+ * Written in the completion transaction and drained by ProgressionJobWorker.
+ */
+@Entity
+@Table(name = "progression_jobs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_progression_jobs_session_id", columnNames = "session_id")
+})
+@Data
+public class ProgressionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false, referencedColumnName = "id")
+    private GameSession session;
+
+    @Column(name = "player1_score", nullable = false)
+    private Integer player1Score;
+
+    @Column(name = "player2_score", nullable = false)
+    private Integer player2Score;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * When the job is next eligible to run. While PROCESSING this is the claim
+     * lease; an expired lease makes the job due again.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @PrePersist
+    void onCreate() {
+        Instant now = Instant.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = now;
+        }
+    }
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        DONE,
+        FAILED
+    }
+}
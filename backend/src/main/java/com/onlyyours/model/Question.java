@@ -1,5 +1,6 @@
 package com.onlyyours.model;
 
+import com.onlyyours.util.QuestionTextUtil;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -32,6 +33,10 @@ public class Question {
     @Column(nullable = false)
     private String text;
 
+    /** Hash of the normalized text, kept in step with {@code text} on every write. */
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
     @Column(name = "option_a", nullable = false)
     private String optionA;
 
@@ -63,11 +68,13 @@ public class Question {
         }
         createdAt = now;
         updatedAt = now;
+        textHash = QuestionTextUtil.textHash(text);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = new Date();
+        textHash = QuestionTextUtil.textHash(text);
     }
 
     public enum SourceType {
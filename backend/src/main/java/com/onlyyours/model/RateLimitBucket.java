@@ -0,0 +1,37 @@
+package com.onlyyours.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Shared token bucket state for one rate limit key, used when rate limiting runs in
+ * jdbc mode. Rows are only changed through compare-and-set updates on
+ * {@link #version}; see {@link com.onlyyours.repository.RateLimitBucketRepository}.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+@Data
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 128)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(name = "refilled_at", nullable = false)
+    private Instant refilledAt;
+
+    /**
+     * When the bucket is full again if left untouched; rows past this carry no
+     * state worth keeping and are purged.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,83 @@
+package com.onlyyours.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_game_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_game_stats_user_id", columnNames = "user_id")
+})
+@Data
+public class UserGameStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @OneToOne(optional = false)
+    @JoinColumn(name = "user_id", nullable = false, referencedColumnName = "id")
+    private User user;
+
+    @Column(name = "games_completed", nullable = false)
+    private Integer gamesCompleted = 0;
+
+    @Column(name = "total_score", nullable = false)
+    private Long totalScore = 0L;
+
+    @Column(name = "best_score", nullable = false)
+    private Integer bestScore = 0;
+
+    @Column(name = "current_streak_days", nullable = false)
+    private Integer currentStreakDays = 0;
+
+    @Column(name = "last_completed_on")
+    private LocalDate lastCompletedOn;
+
+    @Column(name = "invitations_responded", nullable = false)
+    private Integer invitationsResponded = 0;
+
+    @Column(name = "invitations_accepted", nullable = false)
+    private Integer invitationsAccepted = 0;
+
+    @Column(name = "response_time_total_ms", nullable = false)
+    private Long responseTimeTotalMs = 0L;
+
+    @Column(name = "response_time_samples", nullable = false)
+    private Integer responseTimeSamples = 0;
+
+    @Column(name = "first_completed_at")
+    private Instant firstCompletedAt;
+
+    @Column(name = "fifth_completed_at")
+    private Instant fifthCompletedAt;
+
+    @Column(name = "tenth_completed_at")
+    private Instant tenthCompletedAt;
+
+    @Column(name = "sharp_guesser_at")
+    private Instant sharpGuesserAt;
+
+    @Column(name = "last_completed_at")
+    private Instant lastCompletedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    void onCreate() {
+        Instant now = Instant.now();
+        createdAt = now;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,6 +18,16 @@ public interface CoupleRepository extends JpaRepository<Couple, UUID> {
 
     Optional<Couple> findByUser1_IdOrUser2_Id(UUID user1Id, UUID user2Id);
 
+    /**
+     * Ids of every couple the user has been part of, regardless of relationship status.
+     */
+    @Query("""
+            SELECT c.id
+            FROM Couple c
+            WHERE c.user1.id = :userId OR c.user2.id = :userId
+            """)
+    List<UUID> findIdsByUserId(@Param("userId") UUID userId);
+
     @Query("""
             SELECT c
             FROM Couple c
@@ -40,4 +51,14 @@ public interface CoupleRepository extends JpaRepository<Couple, UUID> {
             @Param("userId") UUID userId,
             @Param("status") Couple.RelationshipStatus status
     );
-} 
\ No newline at end of file
+
+    @Query("SELECT c.customDeckVersion FROM Couple c WHERE c.id = :coupleId")
+    Optional<Long> findCustomDeckVersion(@Param("coupleId") UUID coupleId);
+
+    /**
+     * Atomic increment, so two partners editing at once never reuse a version.
+     */
+    @Modifying
+    @Query("UPDATE Couple c SET c.customDeckVersion = c.customDeckVersion + 1 WHERE c.id = :coupleId")
+    int incrementCustomDeckVersion(@Param("coupleId") UUID coupleId);
+}
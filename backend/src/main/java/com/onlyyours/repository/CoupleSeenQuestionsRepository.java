@@ -0,0 +1,20 @@
+package com.onlyyours.repository;
+
+import com.onlyyours.model.CoupleSeenQuestions;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CoupleSeenQuestionsRepository extends JpaRepository<CoupleSeenQuestions, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CoupleSeenQuestions s WHERE s.coupleId = :coupleId")
+    Optional<CoupleSeenQuestions> findByCoupleIdForUpdate(@Param("coupleId") UUID coupleId);
+}
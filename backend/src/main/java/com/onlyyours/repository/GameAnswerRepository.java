@@ -2,6 +2,9 @@ package com.onlyyours.repository;
 
 import com.onlyyours.model.GameAnswer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -46,4 +49,44 @@ public interface GameAnswerRepository extends JpaRepository<GameAnswer, UUID> {
     long countByGameSession_IdAndUser_IdAndRound2GuessIsNotNull(
         UUID gameSessionId, UUID userId
     );
+
+    /**
+     * Scalar view of every answer row in a session, without hydrating the
+     * eager session/question/user associations.
+     */
+    @Query("""
+            SELECT ga.user.id AS userId,
+                   ga.question.id AS questionId,
+                   ga.round1Answer AS round1Answer,
+                   ga.round2Guess AS round2Guess
+            FROM GameAnswer ga
+            WHERE ga.gameSession.id = :gameSessionId
+            """)
+    List<AnswerStateView> findAnswerStatesByGameSessionId(@Param("gameSessionId") UUID gameSessionId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE GameAnswer ga
+            SET ga.round2Guess = :round2Guess
+            WHERE ga.gameSession.id = :gameSessionId
+              AND ga.question.id = :questionId
+              AND ga.user.id = :userId
+              AND ga.round2Guess IS NULL
+            """)
+    int updateRound2Guess(
+        @Param("gameSessionId") UUID gameSessionId,
+        @Param("questionId") Integer questionId,
+        @Param("userId") UUID userId,
+        @Param("round2Guess") String round2Guess
+    );
+
+    interface AnswerStateView {
+        UUID getUserId();
+
+        Integer getQuestionId();
+
+        String getRound1Answer();
+
+        String getRound2Guess();
+    }
 }
@@ -2,10 +2,13 @@ package com.onlyyours.repository;
 
 import com.onlyyours.model.GameSession;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -23,6 +26,19 @@ import java.util.UUID;
  */
 @Repository
 public interface GameSessionRepository extends JpaRepository<GameSession, UUID> {
+
+    /**
+     * Compares the caller's score with the partner's; scores are null until completion.
+     */
+    String HISTORY_WINNER_FILTER = """
+            (:winner = 'ALL'
+               OR (:winner = 'SELF' AND (CASE WHEN c.user1.id = :userId
+                        THEN COALESCE(gs.player1Score, 0) - COALESCE(gs.player2Score, 0)
+                        ELSE COALESCE(gs.player2Score, 0) - COALESCE(gs.player1Score, 0) END) > 0)
+               OR (:winner = 'PARTNER' AND (CASE WHEN c.user1.id = :userId
+                        THEN COALESCE(gs.player1Score, 0) - COALESCE(gs.player2Score, 0)
+                        ELSE COALESCE(gs.player2Score, 0) - COALESCE(gs.player1Score, 0) END) < 0))
+            """;
     
     /**
      * Find a game session by ID and specific status.
@@ -37,6 +53,58 @@ public interface GameSessionRepository extends JpaRepository<GameSession, UUID>
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT gs FROM GameSession gs WHERE gs.id = :id")
     Optional<GameSession> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Scalar snapshot used to hydrate the in-memory session state without
+     * attaching the GameSession entity to the caller's persistence context.
+     */
+    @Query("""
+            SELECT gs.status AS status,
+                   gs.questionIds AS questionIds,
+                   gs.expiresAt AS expiresAt,
+                   c.user1.id AS user1Id,
+                   c.user2.id AS user2Id
+            FROM GameSession gs
+            JOIN gs.couple c
+            WHERE gs.id = :id
+            """)
+    Optional<LiveSessionView> findLiveSessionViewById(@Param("id") UUID id);
+
+    /**
+     * 1 when the user is one of the session's couple, 0 otherwise (including when
+     * the session does not exist).
+     */
+    @Query("""
+            SELECT COUNT(gs)
+            FROM GameSession gs
+            WHERE gs.id = :id
+              AND (gs.couple.user1.id = :userId OR gs.couple.user2.id = :userId)
+            """)
+    long countParticipantMatches(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE GameSession gs
+            SET gs.lastActivityAt = :lastActivityAt
+            WHERE gs.id = :id
+              AND gs.status IN :statuses
+            """)
+    int updateLastActivityAtForStatuses(
+            @Param("id") UUID id,
+            @Param("lastActivityAt") Date lastActivityAt,
+            @Param("statuses") Collection<GameSession.GameStatus> statuses
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE GameSession gs
+            SET gs.status = com.onlyyours.model.GameSession.GameStatus.ROUND2,
+                gs.currentQuestionIndex = 0,
+                gs.lastActivityAt = :now
+            WHERE gs.id = :id
+              AND gs.status = com.onlyyours.model.GameSession.GameStatus.ROUND1
+            """)
+    int startRound2(@Param("id") UUID id, @Param("now") Date now);
     
     /**
      * Find all game sessions for a couple with a specific status.
@@ -50,6 +118,25 @@ public interface GameSessionRepository extends JpaRepository<GameSession, UUID>
 
     List<GameSession> findByCouple_IdAndStatusIn(UUID coupleId, Collection<GameSession.GameStatus> statuses);
 
+    /**
+     * Id of the couple's newest session that is still active and not past expiry,
+     * without loading the session. Pass a one-row page.
+     */
+    @Query("""
+            SELECT gs.id
+            FROM GameSession gs
+            WHERE gs.couple.id = :coupleId
+              AND gs.status IN :statuses
+              AND (gs.expiresAt IS NULL OR gs.expiresAt > :now)
+            ORDER BY gs.createdAt DESC
+            """)
+    List<UUID> findLatestActiveSessionIds(
+            @Param("coupleId") UUID coupleId,
+            @Param("statuses") Collection<GameSession.GameStatus> statuses,
+            @Param("now") Date now,
+            Pageable pageable
+    );
+
     Optional<GameSession> findFirstByCouple_IdAndStatusInOrderByCreatedAtDesc(
             UUID coupleId,
             Collection<GameSession.GameStatus> statuses
@@ -67,9 +154,32 @@ public interface GameSessionRepository extends JpaRepository<GameSession, UUID>
             @Param("statuses") Collection<GameSession.GameStatus> statuses
     );
 
+    /**
+     * Claims a chunk of sessions whose expiry has passed (order via the pageable). The lock
+     * timeout hint of -2 maps to SKIP LOCKED on PostgreSQL, so rows held by an
+     * in-flight move are left for the next sweep.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
     List<GameSession> findByStatusInAndExpiresAtBefore(
             Collection<GameSession.GameStatus> statuses,
-            Date expiresBefore
+            Date expiresBefore,
+            Pageable pageable
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE GameSession gs
+            SET gs.status = com.onlyyours.model.GameSession.GameStatus.EXPIRED,
+                gs.completedAt = COALESCE(gs.completedAt, :now),
+                gs.lastActivityAt = :now
+            WHERE gs.id IN :ids
+              AND gs.status IN :statuses
+            """)
+    int expireSessions(
+            @Param("ids") Collection<UUID> ids,
+            @Param("statuses") Collection<GameSession.GameStatus> statuses,
+            @Param("now") Date now
     );
 
     @Query("""
@@ -96,6 +206,83 @@ public interface GameSessionRepository extends JpaRepository<GameSession, UUID>
             @Param("status") GameSession.GameStatus status
     );
 
+    /**
+     * One page of a user's completed games across the given couples. Sort comes from
+     * the pageable (completedAt, id); filtering on couple_id and status lets the
+     * (couple_id, status, completed_at) index serve both the page and the count.
+     * winner is ALL, SELF or PARTNER, relative to userId.
+     */
+    @Query(value = """
+            SELECT gs
+            FROM GameSession gs
+            JOIN FETCH gs.couple c
+            JOIN FETCH c.user1
+            JOIN FETCH c.user2
+            WHERE c.id IN :coupleIds
+              AND gs.status = com.onlyyours.model.GameSession.GameStatus.COMPLETED
+              AND """ + HISTORY_WINNER_FILTER,
+            countQuery = """
+            SELECT COUNT(gs)
+            FROM GameSession gs
+            JOIN gs.couple c
+            WHERE c.id IN :coupleIds
+              AND gs.status = com.onlyyours.model.GameSession.GameStatus.COMPLETED
+              AND """ + HISTORY_WINNER_FILTER)
+    Page<GameSession> findCompletedHistoryPage(
+            @Param("coupleIds") Collection<UUID> coupleIds,
+            @Param("userId") UUID userId,
+            @Param("winner") String winner,
+            Pageable pageable
+    );
+
+    /**
+     * Keyset page of completed games strictly older than (cursorAt, cursorId), newest first.
+     */
+    @Query("""
+            SELECT gs
+            FROM GameSession gs
+            JOIN FETCH gs.couple c
+            JOIN FETCH c.user1
+            JOIN FETCH c.user2
+            WHERE c.id IN :coupleIds
+              AND gs.status = com.onlyyours.model.GameSession.GameStatus.COMPLETED
+              AND (gs.completedAt < :cursorAt OR (gs.completedAt = :cursorAt AND gs.id < :cursorId))
+              AND """ + HISTORY_WINNER_FILTER + """
+            ORDER BY gs.completedAt DESC, gs.id DESC
+            """)
+    List<GameSession> findCompletedHistoryBefore(
+            @Param("coupleIds") Collection<UUID> coupleIds,
+            @Param("userId") UUID userId,
+            @Param("winner") String winner,
+            @Param("cursorAt") Date cursorAt,
+            @Param("cursorId") UUID cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * Keyset page of completed games strictly newer than (cursorAt, cursorId), oldest first.
+     */
+    @Query("""
+            SELECT gs
+            FROM GameSession gs
+            JOIN FETCH gs.couple c
+            JOIN FETCH c.user1
+            JOIN FETCH c.user2
+            WHERE c.id IN :coupleIds
+              AND gs.status = com.onlyyours.model.GameSession.GameStatus.COMPLETED
+              AND (gs.completedAt > :cursorAt OR (gs.completedAt = :cursorAt AND gs.id > :cursorId))
+              AND """ + HISTORY_WINNER_FILTER + """
+            ORDER BY gs.completedAt ASC, gs.id ASC
+            """)
+    List<GameSession> findCompletedHistoryAfter(
+            @Param("coupleIds") Collection<UUID> coupleIds,
+            @Param("userId") UUID userId,
+            @Param("winner") String winner,
+            @Param("cursorAt") Date cursorAt,
+            @Param("cursorId") UUID cursorId,
+            Pageable pageable
+    );
+
     @Query("""
             SELECT gs
             FROM GameSession gs
@@ -114,4 +301,27 @@ public interface GameSessionRepository extends JpaRepository<GameSession, UUID>
      * @return Optional containing the most recent session
      */
     Optional<GameSession> findFirstByCouple_IdOrderByCreatedAtDesc(UUID coupleId);
-} 
\ No newline at end of file
+
+    /**
+     * Question lists of every session the couple has started. Only read once per
+     * couple, to seed their seen-question set.
+     */
+    @Query("""
+            SELECT gs.questionIds FROM GameSession gs
+            WHERE gs.couple.id = :coupleId
+              AND gs.questionIds IS NOT NULL
+            """)
+    List<int[]> findQuestionIdsByCoupleId(@Param("coupleId") UUID coupleId);
+
+    interface LiveSessionView {
+        GameSession.GameStatus getStatus();
+
+        int[] getQuestionIds();
+
+        Date getExpiresAt();
+
+        UUID getUser1Id();
+
+        UUID getUser2Id();
+    }
+}
@@ -2,6 +2,7 @@ package com.onlyyours.repository;
 
 import com.onlyyours.model.PasswordResetToken;
 import com.onlyyours.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +23,18 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE PasswordResetToken prt SET prt.usedAt = :now WHERE prt.user = :user AND prt.usedAt IS NULL")
     int invalidateAllByUser(@Param("user") User user, @Param("now") Instant now);
+
+    /**
+     * Tokens that expired or were used before the cutoff, for TokenHousekeepingJob.
+     */
+    @Query("""
+            SELECT prt.id FROM PasswordResetToken prt
+            WHERE prt.expiresAt < :cutoff
+               OR prt.usedAt < :cutoff
+            """)
+    List<UUID> findPurgeableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken prt WHERE prt.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
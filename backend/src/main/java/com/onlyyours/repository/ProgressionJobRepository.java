@@ -0,0 +1,97 @@
+package com.onlyyours.repository;
+
+import com.onlyyours.model.ProgressionJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface ProgressionJobRepository extends JpaRepository<ProgressionJob, UUID> {
+
+    /**
+     * Due jobs (pending, or claimed with an expired lease) in completion order.
+     * The lock timeout hint of -2 maps to SKIP LOCKED on PostgreSQL so workers on
+     * other instances claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT j
+            FROM ProgressionJob j
+            WHERE j.status IN :statuses
+              AND j.nextAttemptAt <= :now
+            ORDER BY j.createdAt ASC
+            """)
+    List<ProgressionJob> findDueForUpdate(
+            @Param("statuses") Collection<ProgressionJob.Status> statuses,
+            @Param("now") Instant now,
+            Pageable pageable
+    );
+
+    Optional<ProgressionJob> findBySession_Id(UUID sessionId);
+
+    long countByStatus(ProgressionJob.Status status);
+
+    /**
+     * Completed sessions of the user whose progression has not been applied yet.
+     * History bootstraps skip these so the job does not count them twice. FAILED
+     * jobs are skipped too: they are applied once an operator requeues them.
+     */
+    @Query("""
+            SELECT j.session.id
+            FROM ProgressionJob j
+            WHERE j.status <> com.onlyyours.model.ProgressionJob.Status.DONE
+              AND (j.session.couple.user1.id = :userId OR j.session.couple.user2.id = :userId)
+            """)
+    Set<UUID> findUnappliedSessionIdsForUser(@Param("userId") UUID userId);
+
+    @Query("""
+            SELECT j.session.id
+            FROM ProgressionJob j
+            WHERE j.status <> com.onlyyours.model.ProgressionJob.Status.DONE
+              AND j.session.couple.id = :coupleId
+            """)
+    Set<UUID> findUnappliedSessionIdsForCouple(@Param("coupleId") UUID coupleId);
+
+    /**
+     * Applied jobs processed before the cutoff, for ProgressionJobHousekeepingJob.
+     */
+    @Query("""
+            SELECT j.id FROM ProgressionJob j
+            WHERE j.status = com.onlyyours.model.ProgressionJob.Status.DONE
+              AND j.processedAt < :cutoff
+            """)
+    List<UUID> findPurgeableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProgressionJob j WHERE j.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Puts every FAILED job back in the queue with a fresh attempt budget. The last
+     * error is kept until the job next runs.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE ProgressionJob j
+            SET j.status = com.onlyyours.model.ProgressionJob.Status.PENDING,
+                j.attempts = 0,
+                j.nextAttemptAt = :now
+            WHERE j.status = com.onlyyours.model.ProgressionJob.Status.FAILED
+            """)
+    int requeueFailed(@Param("now") Instant now);
+}
@@ -0,0 +1,63 @@
+package com.onlyyours.repository;
+
+import com.onlyyours.model.PushOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PushOutboxRepository extends JpaRepository<PushOutboxMessage, UUID> {
+
+    /**
+     * Due messages (pending, or claimed with an expired lease), oldest first.
+     * The lock timeout hint of -2 maps to SKIP LOCKED on PostgreSQL so concurrent
+     * dispatchers on other instances claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT m
+            FROM PushOutboxMessage m
+            WHERE m.status IN :statuses
+              AND m.nextAttemptAt <= :now
+            ORDER BY m.nextAttemptAt ASC
+            """)
+    List<PushOutboxMessage> findDueForUpdate(
+            @Param("statuses") Collection<PushOutboxMessage.Status> statuses,
+            @Param("now") Instant now,
+            Pageable pageable
+    );
+
+    long countByStatus(PushOutboxMessage.Status status);
+
+    /**
+     * Delivered or abandoned messages created before the cutoff, for
+     * PushOutboxHousekeepingJob.
+     */
+    @Query("""
+            SELECT m.id FROM PushOutboxMessage m
+            WHERE m.status IN :statuses
+              AND m.createdAt < :cutoff
+            """)
+    List<UUID> findPurgeableIds(
+            @Param("statuses") Collection<PushOutboxMessage.Status> statuses,
+            @Param("cutoff") Instant cutoff,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("DELETE FROM PushOutboxMessage m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
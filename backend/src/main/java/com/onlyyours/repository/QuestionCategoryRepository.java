@@ -2,8 +2,39 @@ package com.onlyyours.repository;
 
 import com.onlyyours.model.QuestionCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface QuestionCategoryRepository extends JpaRepository<QuestionCategory, Integer> {
-} 
\ No newline at end of file
+
+    /**
+     * Every category with its number of active questions, in id order.
+     */
+    @Query("""
+            SELECT c.id AS id,
+                   c.name AS name,
+                   c.description AS description,
+                   c.isSensitive AS sensitive,
+                   COUNT(q.id) AS questionCount
+            FROM QuestionCategory c
+            LEFT JOIN Question q ON q.category = c AND q.archived = false
+            GROUP BY c.id, c.name, c.description, c.isSensitive
+            ORDER BY c.id
+            """)
+    List<CategoryCountView> findAllWithQuestionCounts();
+
+    interface CategoryCountView {
+        Integer getId();
+
+        String getName();
+
+        String getDescription();
+
+        boolean isSensitive();
+
+        long getQuestionCount();
+    }
+}
@@ -20,6 +20,31 @@ public interface QuestionRepository extends JpaRepository<Question, Integer> {
 
     List<Question> findByCouple_IdAndSourceTypeAndArchivedFalse(UUID coupleId, Question.SourceType sourceType);
 
+    /**
+     * Question ids only, so sampling a large category never materializes entities.
+     */
+    @Query("SELECT q.id FROM Question q WHERE q.category.id = :categoryId")
+    List<Integer> findIdsByCategoryId(@Param("categoryId") Integer categoryId);
+
+    /**
+     * Duplicate check for custom questions, served by the partial unique index on
+     * (couple_id, text_hash) over active custom questions.
+     */
+    @Query("""
+            SELECT COUNT(q) > 0 FROM Question q
+            WHERE q.couple.id = :coupleId
+              AND q.sourceType = :sourceType
+              AND q.archived = false
+              AND q.textHash = :textHash
+              AND (:excludeId IS NULL OR q.id <> :excludeId)
+            """)
+    boolean existsActiveByCoupleIdAndTextHash(
+            @Param("coupleId") UUID coupleId,
+            @Param("sourceType") Question.SourceType sourceType,
+            @Param("textHash") String textHash,
+            @Param("excludeId") Integer excludeId
+    );
+
     List<Question> findByCreatedBy_IdAndSourceTypeAndArchivedFalseOrderByUpdatedAtDesc(
             UUID createdById,
             Question.SourceType sourceType
@@ -27,5 +52,7 @@ public interface QuestionRepository extends JpaRepository<Question, Integer> {
 
     long countByCouple_IdAndSourceTypeAndArchivedFalse(UUID coupleId, Question.SourceType sourceType);
 
+    long countByCreatedBy_IdAndSourceTypeAndArchivedFalse(UUID createdById, Question.SourceType sourceType);
+
     Optional<Question> findByIdAndSourceType(Integer id, Question.SourceType sourceType);
 }
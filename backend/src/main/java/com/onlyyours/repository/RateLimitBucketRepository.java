@@ -0,0 +1,62 @@
+package com.onlyyours.repository;
+
+import com.onlyyours.model.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * Creates a bucket row. Fails with a DataIntegrityViolationException when another
+     * instance created it first; callers re-read and retry.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at, expires_at, version)
+            VALUES (:bucketKey, :tokens, :refilledAt, :expiresAt, 0)
+            """, nativeQuery = true)
+    int insert(
+            @Param("bucketKey") String bucketKey,
+            @Param("tokens") double tokens,
+            @Param("refilledAt") Instant refilledAt,
+            @Param("expiresAt") Instant expiresAt
+    );
+
+    /**
+     * Writes new bucket state only if nobody changed the row since it was read at
+     * {@code expectedVersion}.
+     *
+     * @return 1 when the update won, 0 when the caller must re-read and retry
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE RateLimitBucket b
+            SET b.tokens = :tokens,
+                b.refilledAt = :refilledAt,
+                b.expiresAt = :expiresAt,
+                b.version = b.version + 1
+            WHERE b.bucketKey = :bucketKey
+              AND b.version = :expectedVersion
+            """)
+    int compareAndSet(
+            @Param("bucketKey") String bucketKey,
+            @Param("expectedVersion") long expectedVersion,
+            @Param("tokens") double tokens,
+            @Param("refilledAt") Instant refilledAt,
+            @Param("expiresAt") Instant expiresAt
+    );
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RateLimitBucket b WHERE b.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -2,6 +2,7 @@ package com.onlyyours.repository;
 
 import com.onlyyours.model.RefreshToken;
 import com.onlyyours.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +23,18 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.user = :user AND rt.revokedAt IS NULL")
     int revokeAllByUser(@Param("user") User user, @Param("now") Instant now);
+
+    /**
+     * Tokens that expired or were revoked before the cutoff, for TokenHousekeepingJob.
+     */
+    @Query("""
+            SELECT rt.id FROM RefreshToken rt
+            WHERE rt.expiresAt < :cutoff
+               OR rt.revokedAt < :cutoff
+            """)
+    List<UUID> findPurgeableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,58 @@
+package com.onlyyours.repository;
+
+import com.onlyyours.model.UserGameStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserGameStatsRepository extends JpaRepository<UserGameStats, UUID> {
+    Optional<UserGameStats> findByUser_Id(UUID userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT s
+            FROM UserGameStats s
+            WHERE s.user.id = :userId
+            """)
+    Optional<UserGameStats> findByUserIdForUpdate(@Param("userId") UUID userId);
+
+    /**
+     * Inserts an all-zero row for the user unless one exists. A concurrent insert that
+     * has not committed yet is waited for instead of failing this transaction.
+     *
+     * @return 1 when this call created the row, 0 when it already existed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_game_stats (id, user_id, games_completed, total_score, best_score, current_streak_days,
+                                         invitations_responded, invitations_accepted, response_time_total_ms,
+                                         response_time_samples, created_at, updated_at)
+            VALUES (:id, :userId, 0, 0, 0, 0, 0, 0, 0, 0, :now, :now)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("userId") UUID userId, @Param("now") Instant now);
+
+    /**
+     * Users that have no stats row yet, in id order. Used by the backfill job.
+     */
+    @Query("""
+            SELECT u.id
+            FROM User u
+            WHERE NOT EXISTS (
+                SELECT 1 FROM UserGameStats s WHERE s.user.id = u.id
+            )
+            ORDER BY u.id
+            """)
+    List<UUID> findUserIdsWithoutStats(Pageable pageable);
+}
@@ -0,0 +1,58 @@
+package com.onlyyours.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Principal attached to authenticated REST requests and STOMP connections.
+ *
+ * Carries the user's id and display name so controllers can act on the caller
+ * without loading the users row. getUsername() is the email, which keeps
+ * Principal.getName() and the /user/queue destinations unchanged.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final UUID id;
+    private final String email;
+    private final String name;
+
+    public AuthenticatedUser(UUID id, String email, String name) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * @return the display name, not the login name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,154 @@
+package com.onlyyours.security;
+
+import com.onlyyours.model.User;
+import com.onlyyours.repository.UserRepository;
+import com.onlyyours.service.JwtService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves {@link AuthenticatedUser} principals with as few users lookups as possible.
+ *
+ * Tokens that carry uid/name claims are turned into a principal directly. Tokens
+ * issued before the user's profile or password last changed are resolved from the
+ * database once and then served from a short TTL cache. Tokens without a uid claim
+ * (issued before the claim existed) are always resolved from the database, since
+ * nothing ties them to a specific account row.
+ *
+ * Invalidation is process-local; other instances pick up the change when their
+ * cached entry expires. Past max-entries the least recently used principal is
+ * dropped, and expired entries are swept periodically.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final Duration invalidationWindow;
+
+    private final Map<String, CachedPrincipal> principals;
+    private final ConcurrentHashMap<String, Instant> invalidatedAt = new ConcurrentHashMap<>();
+
+    public AuthenticatedUserCache(
+            UserRepository userRepository,
+            JwtService jwtService,
+            @Value("${auth.principal-cache.ttl-ms:60000}") long ttlMillis,
+            @Value("${auth.principal-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.userRepository = userRepository;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        int capacity = Math.max(0, maxEntries);
+        this.principals = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > capacity;
+            }
+        });
+        this.invalidationWindow = Duration.ofSeconds(jwtService.getAccessTokenExpirySeconds());
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token's user no longer exists
+     */
+    public AuthenticatedUser resolve(JwtService.VerifiedClaims claims) {
+        String email = normalizeEmail(claims.username());
+        if (claims.userId() == null) {
+            return load(email);
+        }
+
+        Instant now = Instant.now();
+        CachedPrincipal cached = principals.get(email);
+        if (cached != null && cached.isFreshAt(now) && claims.userId().equals(cached.user().getId())) {
+            return cached.user();
+        }
+
+        if (claims.name() != null && !issuedBeforeInvalidation(email, claims)) {
+            return cache(new AuthenticatedUser(claims.userId(), email, claims.name()), now);
+        }
+
+        AuthenticatedUser loaded = load(email);
+        if (!claims.userId().equals(loaded.getId())) {
+            throw new IllegalArgumentException("Token does not belong to user: " + email);
+        }
+        return cache(loaded, now);
+    }
+
+    /**
+     * Returns the principal of an authenticated request or STOMP session, falling back
+     * to a lookup by name for principals not created from a JWT.
+     *
+     * @throws IllegalArgumentException when no user matches the principal
+     */
+    public AuthenticatedUser require(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+
+        return load(normalizeEmail(principal.getName()));
+    }
+
+    /**
+     * Drops the cached principal after a profile or password change. Tokens issued
+     * before this point are re-resolved from the database until they expire.
+     */
+    public void invalidate(String email) {
+        String key = normalizeEmail(email);
+        principals.remove(key);
+        invalidatedAt.put(key, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.principal-cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        evictExpired(Instant.now());
+    }
+
+    void evictExpired(Instant now) {
+        synchronized (principals) {
+            principals.values().removeIf(entry -> !entry.isFreshAt(now));
+        }
+        invalidatedAt.values().removeIf(at -> at.plus(invalidationWindow).isBefore(now));
+    }
+
+    int cachedPrincipalCount() {
+        return principals.size();
+    }
+
+    private boolean issuedBeforeInvalidation(String email, JwtService.VerifiedClaims claims) {
+        Instant invalidated = invalidatedAt.get(email);
+        return invalidated != null && (claims.issuedAt() == null || !claims.issuedAt().isAfter(invalidated));
+    }
+
+    private AuthenticatedUser load(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + email));
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName());
+    }
+
+    private AuthenticatedUser cache(AuthenticatedUser user, Instant now) {
+        principals.put(normalizeEmail(user.getEmail()), new CachedPrincipal(user, now.plus(ttl)));
+        return user;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record CachedPrincipal(AuthenticatedUser user, Instant expiresAt) {
+
+        boolean isFreshAt(Instant now) {
+            return expiresAt.isAfter(now);
+        }
+    }
+}
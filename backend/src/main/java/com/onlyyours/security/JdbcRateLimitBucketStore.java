@@ -0,0 +1,114 @@
+package com.onlyyours.security;
+
+import com.onlyyours.model.RateLimitBucket;
+import com.onlyyours.repository.RateLimitBucketRepository;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Token buckets kept in the rate_limit_buckets table, so every instance draws from
+ * the same bucket for a key.
+ *
+ * Each attempt reads the row, refills it greedily for the time elapsed since its last
+ * write, and writes the result back with a compare-and-set on the row version. A lost
+ * race re-reads and tries again, up to a fixed number of attempts; a key contended
+ * beyond that is rejected. Rejections do not write, since the refill is derived from
+ * the stored timestamp. Instance clocks are assumed to be roughly in sync; a clock
+ * behind the stored timestamp simply refills nothing.
+ *
+ * Must be called outside a transaction so every read sees the latest committed row.
+ */
+@Component
+@Slf4j
+public class JdbcRateLimitBucketStore {
+
+    private final RateLimitBucketRepository repository;
+    private final int maxAttempts;
+    private final Counter conflicts;
+
+    public JdbcRateLimitBucketStore(
+            RateLimitBucketRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${ratelimit.jdbc.max-attempts:5}") int maxAttempts
+    ) {
+        this.repository = repository;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.conflicts = Counter.builder("ratelimit.jdbc.conflicts")
+                .description("Shared bucket updates that lost a race with another request and retried")
+                .register(meterRegistry);
+    }
+
+    public ConsumptionProbe tryConsume(String bucketKey, RateLimiterService.EndpointPolicy policy) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            Instant now = Instant.now();
+            Optional<RateLimitBucket> current = repository.findById(bucketKey);
+
+            if (current.isEmpty()) {
+                double remaining = policy.capacity - 1;
+                try {
+                    repository.insert(bucketKey, remaining, now, now.plusNanos(nanosToFill(policy, remaining)));
+                    return ConsumptionProbe.consumed((long) remaining, nanosToFill(policy, remaining));
+                } catch (DataIntegrityViolationException e) {
+                    conflicts.increment();
+                    continue;
+                }
+            }
+
+            RateLimitBucket bucket = current.get();
+            double available = refill(bucket, policy, now);
+            if (available < 1) {
+                long nanosToWaitForRefill = (long) Math.ceil((1 - available) * nanosPerToken(policy));
+                return ConsumptionProbe.rejected(0, nanosToWaitForRefill, nanosToFill(policy, available));
+            }
+
+            double remaining = available - 1;
+            int updated = repository.compareAndSet(
+                    bucketKey,
+                    bucket.getVersion(),
+                    remaining,
+                    now,
+                    now.plusNanos(nanosToFill(policy, remaining))
+            );
+            if (updated == 1) {
+                return ConsumptionProbe.consumed((long) remaining, nanosToFill(policy, remaining));
+            }
+            conflicts.increment();
+        }
+
+        log.warn("Rate limit bucket stayed contended after {} attempts, rejecting: key={}", maxAttempts, bucketKey);
+        return ConsumptionProbe.rejected(0, (long) nanosPerToken(policy), nanosToFill(policy, 0));
+    }
+
+    /**
+     * Deletes rows whose bucket has refilled completely; a missing row behaves the same.
+     */
+    public int purgeExpired() {
+        int deleted = repository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired rate limit buckets", deleted);
+        }
+        return deleted;
+    }
+
+    private static double refill(RateLimitBucket bucket, RateLimiterService.EndpointPolicy policy, Instant now) {
+        long elapsedNanos = Math.max(0, Duration.between(bucket.getRefilledAt(), now).toNanos());
+        return Math.min(policy.capacity, bucket.getTokens() + elapsedNanos / nanosPerToken(policy));
+    }
+
+    private static double nanosPerToken(RateLimiterService.EndpointPolicy policy) {
+        return (double) policy.period.toNanos() / policy.capacity;
+    }
+
+    private static long nanosToFill(RateLimiterService.EndpointPolicy policy, double tokens) {
+        return (long) Math.ceil((policy.capacity - tokens) * nanosPerToken(policy));
+    }
+}
@@ -1,18 +1,44 @@
 package com.onlyyours.security;
 
+import com.onlyyours.util.TokenHashUtil;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
-
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Token bucket rate limits for the auth endpoints, keyed by policy and client.
+ *
+ * {@code ratelimit.store=local} (default) keeps buckets in this JVM, so each instance
+ * enforces the full capacity on its own. The map is bounded to the most recently
+ * used keys, and buckets idle for a whole policy period are swept, since by then
+ * they have refilled and a fresh bucket behaves the same.
+ *
+ * {@code ratelimit.store=jdbc} keeps buckets in Postgres through
+ * {@link JdbcRateLimitBucketStore}, so the capacity holds across all instances at
+ * the cost of a read and a write per limited request.
+ */
 @Service
+@Slf4j
 public class RateLimiterService {
 
+    /**
+     * Longest key stored as is; longer client keys (e.g. a forged X-Forwarded-For)
+     * are hashed so neither store holds attacker-sized strings.
+     */
+    static final int MAX_KEY_LENGTH = 64;
+
     public enum EndpointPolicy {
         LOGIN(20, Duration.ofMinutes(1)),
         REGISTER(50, Duration.ofMinutes(1)),
@@ -28,13 +54,89 @@ public class RateLimiterService {
         }
     }
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final JdbcRateLimitBucketStore jdbcStore;
+    private final boolean shared;
+    private final Map<String, LocalBucket> buckets;
+    private final Counter evictions;
+
+    public RateLimiterService(
+            JdbcRateLimitBucketStore jdbcStore,
+            MeterRegistry meterRegistry,
+            @Value("${ratelimit.store:local}") String store,
+            @Value("${ratelimit.local.max-buckets:100000}") int maxBuckets
+    ) {
+        this.jdbcStore = jdbcStore;
+        this.shared = switch (store) {
+            case "local" -> false;
+            case "jdbc" -> true;
+            default -> throw new IllegalStateException(
+                    "Unsupported ratelimit.store '" + store + "' (expected local or jdbc)");
+        };
+        this.evictions = Counter.builder("ratelimit.local.evictions")
+                .description("Local rate limit buckets dropped to stay within max-buckets")
+                .register(meterRegistry);
+        this.buckets = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalBucket> eldest) {
+                if (size() > maxBuckets) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+        Gauge.builder("ratelimit.local.buckets", buckets, Map::size)
+                .description("Rate limit buckets held in memory")
+                .register(meterRegistry);
+        log.info("Rate limiting uses the {} bucket store", store);
+    }
 
     public ConsumptionProbe tryConsume(String key, EndpointPolicy policy) {
-        Bucket bucket = buckets.computeIfAbsent(
-                policy.name() + ":" + key,
-                k -> createBucket(policy));
-        return bucket.tryConsumeAndReturnRemaining(1);
+        String bucketKey = policy.name() + ":" + boundedKey(key);
+        if (shared) {
+            return jdbcStore.tryConsume(bucketKey, policy);
+        }
+
+        LocalBucket bucket = buckets.computeIfAbsent(bucketKey, k -> new LocalBucket(createBucket(policy), policy));
+        bucket.lastUsedNanos = System.nanoTime();
+        return bucket.bucket.tryConsumeAndReturnRemaining(1);
+    }
+
+    /**
+     * Drops buckets that have refilled completely: idle local buckets, or expired rows
+     * in jdbc mode.
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        if (shared) {
+            jdbcStore.purgeExpired();
+            return;
+        }
+        evictIdleLocalBuckets(System.nanoTime());
+    }
+
+    void evictIdleLocalBuckets(long now) {
+        int before;
+        int after;
+        synchronized (buckets) {
+            before = buckets.size();
+            buckets.values().removeIf(bucket -> now - bucket.lastUsedNanos >= bucket.policy.period.toNanos());
+            after = buckets.size();
+        }
+        if (before != after) {
+            log.debug("Evicted {} idle rate limit buckets", before - after);
+        }
+    }
+
+    int localBucketCount() {
+        return buckets.size();
+    }
+
+    private static String boundedKey(String key) {
+        if (key == null) {
+            return "";
+        }
+        return key.length() <= MAX_KEY_LENGTH ? key : TokenHashUtil.hashToken(key);
     }
 
     private Bucket createBucket(EndpointPolicy policy) {
@@ -45,4 +147,16 @@ public class RateLimiterService {
                         .build())
                 .build();
     }
+
+    private static final class LocalBucket {
+        private final Bucket bucket;
+        private final EndpointPolicy policy;
+        private volatile long lastUsedNanos;
+
+        private LocalBucket(Bucket bucket, EndpointPolicy policy) {
+            this.bucket = bucket;
+            this.policy = policy;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
 }
@@ -9,6 +9,7 @@ import com.onlyyours.model.User;
 import com.onlyyours.repository.PasswordResetTokenRepository;
 import com.onlyyours.repository.RefreshTokenRepository;
 import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AuthenticatedUserCache;
 import com.onlyyours.util.TokenHashUtil;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +17,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -40,8 +40,9 @@ public class AuthService implements UserDetailsService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final EmailService emailService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Value("${google.client.id:}")
     private String googleClientId;
@@ -51,15 +52,17 @@ public class AuthService implements UserDetailsService {
             RefreshTokenRepository refreshTokenRepository,
             PasswordResetTokenRepository passwordResetTokenRepository,
             JwtService jwtService,
-            PasswordEncoder passwordEncoder,
-            EmailService emailService
+            PasswordHashingService passwordHashingService,
+            EmailService emailService,
+            AuthenticatedUserCache authenticatedUserCache
     ) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.jwtService = jwtService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.emailService = emailService;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     /**
@@ -88,7 +91,7 @@ public class AuthService implements UserDetailsService {
         user.setEmail(email);
         user.setUsername(username);
         user.setName(username);
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         user.setGoogleUserId(null);
         user.setAuthProvider(User.AuthProvider.EMAIL_PASSWORD);
         User savedUser = userRepository.save(user);
@@ -105,14 +108,32 @@ public class AuthService implements UserDetailsService {
 
         if (user.getAuthProvider() != User.AuthProvider.EMAIL_PASSWORD
                 || user.getPasswordHash() == null
-                || !passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+                || !passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new IllegalArgumentException(INVALID_CREDENTIALS_MESSAGE);
         }
+        rehashIfOutdated(user, request.getPassword());
 
         log.info("Email/password user logged in: userId={}", user.getId());
         return issueAccessAndRefreshTokens(user);
     }
 
+    /**
+     * Re-encodes the password with the current bcrypt cost after a successful login.
+     * Skipped when the hashing pool is busy; the next login tries again.
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            user.setPasswordHash(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+            log.info("Password rehashed with current cost: userId={}", user.getId());
+        } catch (PasswordHashingBusyException e) {
+            log.debug("Skipping password rehash while hashing pool is busy: userId={}", user.getId());
+        }
+    }
+
     @Transactional
     public AuthResponseDto refreshAccessToken(String rawRefreshToken) {
         String tokenHash = TokenHashUtil.hashToken(rawRefreshToken);
@@ -184,7 +205,7 @@ public class AuthService implements UserDetailsService {
         }
 
         User user = resetToken.getUser();
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHashingService.encode(newPassword));
         user.setAuthProvider(User.AuthProvider.EMAIL_PASSWORD);
         if (user.getUsername() == null || user.getUsername().isBlank()) {
             user.setUsername(user.getEmail());
@@ -198,6 +219,7 @@ public class AuthService implements UserDetailsService {
         resetToken.setUsedAt(now);
         passwordResetTokenRepository.save(resetToken);
         refreshTokenRepository.revokeAllByUser(user, now);
+        authenticatedUserCache.invalidate(user.getEmail());
 
         log.info("Password reset completed for userId={}", user.getId());
         return "Password has been reset successfully";
@@ -213,7 +235,7 @@ public class AuthService implements UserDetailsService {
 
     private AuthResponseDto issueAccessAndRefreshTokens(User user) {
         UserDetails userDetails = buildUserDetails(user);
-        String accessToken = jwtService.generateToken(userDetails);
+        String accessToken = jwtService.generateToken(userDetails, user.getId(), user.getName());
 
         String rawRefreshToken = UUID.randomUUID().toString();
         String refreshTokenHash = TokenHashUtil.hashToken(rawRefreshToken);
@@ -0,0 +1,116 @@
+package com.onlyyours.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyyours.dto.CategoryDto;
+import com.onlyyours.repository.QuestionCategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * In-memory snapshot of the category catalog served by /api/content/categories.
+ *
+ * Categories only change through seed migrations and question imports, so the
+ * catalog is read once, serialized once and tagged with a strong ETag derived from
+ * the JSON. It is reloaded on a fixed interval and by {@link #refresh()} from the
+ * admin API; requests in between cost no database work.
+ */
+@Service
+@Slf4j
+public class CategoryCatalogService {
+
+    private final QuestionCategoryRepository questionCategoryRepository;
+    private final ObjectMapper objectMapper;
+    private volatile Snapshot snapshot;
+
+    public CategoryCatalogService(QuestionCategoryRepository questionCategoryRepository, ObjectMapper objectMapper) {
+        this.questionCategoryRepository = questionCategoryRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param json  serialized category list, shared between requests; do not modify
+     * @param etag  quoted strong entity tag for {@code json}
+     */
+    public record Snapshot(byte[] json, String etag, int categoryCount, Instant loadedAt) {
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reloads the catalog now.
+     *
+     * @return the new snapshot; its ETag only changes when the catalog did
+     */
+    @Transactional(readOnly = true)
+    public synchronized Snapshot refresh() {
+        Snapshot previous = snapshot;
+        Snapshot next = load();
+        snapshot = next;
+        if (previous != null && !previous.etag().equals(next.etag())) {
+            log.info("Category catalog changed: categories={}, etag={}", next.categoryCount(), next.etag());
+        }
+        return next;
+    }
+
+    @Scheduled(
+            initialDelayString = "${content.catalog.refresh-interval-ms:300000}",
+            fixedDelayString = "${content.catalog.refresh-interval-ms:300000}"
+    )
+    public void scheduledRefresh() {
+        if (snapshot != null) {
+            refresh();
+        }
+    }
+
+    private Snapshot load() {
+        List<CategoryDto> categories = questionCategoryRepository.findAllWithQuestionCounts().stream()
+                .map(this::toDto)
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(categories);
+            return new Snapshot(json, etagOf(json), categories.size(), Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize category catalog", e);
+        }
+    }
+
+    private CategoryDto toDto(QuestionCategoryRepository.CategoryCountView view) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(view.getId());
+        dto.setName(view.getName());
+        dto.setDescription(view.getDescription());
+        dto.setSensitive(view.isSensitive());
+        dto.setQuestionCount(view.getQuestionCount());
+        return dto;
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
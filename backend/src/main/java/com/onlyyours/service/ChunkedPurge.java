@@ -0,0 +1,101 @@
+package com.onlyyours.service;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Deletes the rows a finder returns for a cutoff, batch-size ids at a time.
+ *
+ * Each chunk runs in its own short transaction, so a purge never holds locks on many
+ * rows or blocks the request path for long, and takes the given advisory lock first,
+ * so only one instance purges at a time. The housekeeping jobs only supply the
+ * queries, the retention and the schedule.
+ */
+@Slf4j
+final class ChunkedPurge {
+
+    /**
+     * @param skipped true when another instance held the lock before the purge finished
+     */
+    record Result(int deleted, boolean skipped) {
+    }
+
+    private final String table;
+    private final long lockKey;
+    private final DatabaseAdvisoryLock advisoryLock;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final BiFunction<Instant, Pageable, List<UUID>> finder;
+    private final Function<Collection<UUID>, Integer> deleter;
+    private final Counter purgedCounter;
+
+    ChunkedPurge(
+            String table,
+            long lockKey,
+            DatabaseAdvisoryLock advisoryLock,
+            PlatformTransactionManager transactionManager,
+            int batchSize,
+            BiFunction<Instant, Pageable, List<UUID>> finder,
+            Function<Collection<UUID>, Integer> deleter,
+            Counter purgedCounter
+    ) {
+        this.table = table;
+        this.lockKey = lockKey;
+        this.advisoryLock = advisoryLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.finder = finder;
+        this.deleter = deleter;
+        this.purgedCounter = purgedCounter;
+    }
+
+    /**
+     * Deletes every row the finder returns for {@code cutoff}, stopping early when
+     * another instance holds the lock.
+     */
+    Result run(Instant cutoff) {
+        int purged = 0;
+        boolean skipped = false;
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> purgeChunk(cutoff));
+            if (deleted == null) {
+                skipped = true;
+                break;
+            }
+            purged += deleted;
+        } while (deleted == batchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} row(s) from {}", purged, table);
+        }
+        return new Result(purged, skipped);
+    }
+
+    /**
+     * @return rows deleted, or null when another instance is purging
+     */
+    private Integer purgeChunk(Instant cutoff) {
+        if (!advisoryLock.tryLockForTransaction(lockKey)) {
+            log.debug("Skipping {} housekeeping: another instance holds the lock", table);
+            return null;
+        }
+        List<UUID> ids = finder.apply(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        purgedCounter.increment(deleter.apply(ids));
+        return ids.size();
+    }
+}
@@ -43,6 +43,7 @@ public class CoupleService {
     private final CoupleRepository coupleRepository;
     private final GameSessionRepository gameSessionRepository;
     private final UserRepository userRepository;
+    private final PresenceRegistry presenceRegistry;
     private static final String ALPHANUM = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final SecureRandom RANDOM = new SecureRandom();
     public static final String UNLINK_CONFIRMATION_TOKEN = "UNLINK_CONFIRM";
@@ -56,11 +57,13 @@ public class CoupleService {
     public CoupleService(
             CoupleRepository coupleRepository,
             GameSessionRepository gameSessionRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            PresenceRegistry presenceRegistry
     ) {
         this.coupleRepository = coupleRepository;
         this.gameSessionRepository = gameSessionRepository;
         this.userRepository = userRepository;
+        this.presenceRegistry = presenceRegistry;
     }
 
     @Transactional
@@ -135,6 +138,7 @@ public class CoupleService {
         couple.setUnlinkedByUser(null);
         couple.setUnlinkReason(null);
         Couple saved = coupleRepository.save(couple);
+        presenceRegistry.invalidateCoupleAfterCommit(saved);
         log.info("Couple linked successfully: coupleId={}, user1Id={}, user2Id={}",
                 saved.getId(), saved.getUser1().getId(), saved.getUser2().getId());
         return saved;
@@ -220,6 +224,7 @@ public class CoupleService {
         activeCouple.setUnlinkedByUser(actor);
         activeCouple.setUnlinkReason(sanitizeUnlinkReason(reason));
         coupleRepository.save(activeCouple);
+        presenceRegistry.invalidateCoupleAfterCommit(activeCouple);
 
         log.info(
                 "Couple unlinked: coupleId={}, byUser={}, cooldownEndsAt={}",
@@ -279,6 +284,7 @@ public class CoupleService {
         latestUnlinked.setUnlinkedByUser(null);
         latestUnlinked.setUnlinkReason(null);
         Couple saved = coupleRepository.save(latestUnlinked);
+        presenceRegistry.invalidateCoupleAfterCommit(saved);
 
         log.info("Couple recovered: coupleId={}, userId={}", saved.getId(), userId);
         return saved;
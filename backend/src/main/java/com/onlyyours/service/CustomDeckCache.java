@@ -0,0 +1,123 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.Question;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.QuestionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Active custom questions per couple, for the deck summary and custom game starts.
+ *
+ * Each couple row carries a custom deck version that {@link CustomQuestionService}
+ * increments on every create, update and delete. A lookup reads only that version
+ * (a primary-key read) and reuses the cached deck while it matches, so the deck is
+ * rescanned once per edit rather than once per screen or game. Because the version
+ * lives in the database, edits made through another instance are picked up too.
+ * The cache holds the most recently used couples up to a fixed bound.
+ */
+@Component
+@Slf4j
+public class CustomDeckCache {
+
+    private final QuestionRepository questionRepository;
+    private final CoupleRepository coupleRepository;
+    private final Map<UUID, CustomDeck> decks;
+    private final Counter misses;
+
+    public CustomDeckCache(
+            QuestionRepository questionRepository,
+            CoupleRepository coupleRepository,
+            MeterRegistry meterRegistry,
+            @Value("${game.custom-deck-cache.max-couples:5000}") int maxCouples
+    ) {
+        this.questionRepository = questionRepository;
+        this.coupleRepository = coupleRepository;
+        this.decks = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CustomDeck> eldest) {
+                return size() > maxCouples;
+            }
+        });
+        this.misses = Counter.builder("game.custom-deck-cache.misses")
+                .description("Custom deck lookups that had to read the couple's questions")
+                .register(meterRegistry);
+        Gauge.builder("game.custom-deck-cache.couples", decks, Map::size)
+                .description("Couples with a cached custom deck")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param version     couple's custom deck version the entry was loaded at
+     * @param questionIds active custom question ids, ascending
+     * @param questions   payload templates by question id
+     */
+    public record CustomDeck(long version, int[] questionIds, Map<Integer, SessionQuestionCache.CachedQuestion> questions) {
+
+        public int size() {
+            return questionIds.length;
+        }
+    }
+
+    /**
+     * Current deck for the couple. Call inside a transaction so the version and the
+     * questions are read consistently with the caller's other reads.
+     */
+    public CustomDeck deck(UUID coupleId) {
+        long version = coupleRepository.findCustomDeckVersion(coupleId)
+                .orElseThrow(() -> new IllegalArgumentException("Couple not found: " + coupleId));
+        CustomDeck cached = decks.get(coupleId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        misses.increment();
+        List<Question> questions = questionRepository.findByCouple_IdAndSourceTypeAndArchivedFalse(
+                coupleId,
+                Question.SourceType.CUSTOM_COUPLE
+        );
+        Map<Integer, SessionQuestionCache.CachedQuestion> templates = questions.stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .map(SessionQuestionCache.CachedQuestion::of)
+                .collect(Collectors.toMap(
+                        SessionQuestionCache.CachedQuestion::id,
+                        Function.identity(),
+                        (first, second) -> first,
+                        LinkedHashMap::new
+                ));
+        CustomDeck deck = new CustomDeck(
+                version,
+                templates.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                Collections.unmodifiableMap(templates)
+        );
+        decks.put(coupleId, deck);
+        log.debug("Loaded custom deck: coupleId={}, version={}, size={}", coupleId, version, deck.size());
+        return deck;
+    }
+
+    /**
+     * Marks the couple's deck as changed. Must run in the transaction that changes
+     * the questions, so the new version commits together with them.
+     */
+    public void invalidate(UUID coupleId) {
+        coupleRepository.incrementCustomDeckVersion(coupleId);
+        decks.remove(coupleId);
+    }
+
+    int cachedCoupleCount() {
+        return decks.size();
+    }
+}
@@ -9,21 +9,25 @@ import com.onlyyours.model.User;
 import com.onlyyours.repository.CoupleRepository;
 import com.onlyyours.repository.QuestionRepository;
 import com.onlyyours.repository.UserRepository;
+import com.onlyyours.util.QuestionTextUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Locale;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class CustomQuestionService {
 
+    private static final String DUPLICATE_QUESTION_MESSAGE = "This custom question already exists in your couple deck.";
+
     private final QuestionRepository questionRepository;
     private final UserRepository userRepository;
     private final CoupleRepository coupleRepository;
+    private final CustomDeckCache customDeckCache;
 
     @Transactional(readOnly = true)
     public List<CustomQuestionDto> getMyQuestions(UUID userId) {
@@ -41,16 +45,11 @@ public class CustomQuestionService {
         User currentUser = resolveCurrentUser(userId);
         Couple couple = requireActiveCoupleForUser(userId);
 
-        int authoredCount = questionRepository
-                .findByCreatedBy_IdAndSourceTypeAndArchivedFalseOrderByUpdatedAtDesc(
-                        currentUser.getId(),
-                        Question.SourceType.CUSTOM_COUPLE
-                )
-                .size();
-        int coupleCount = (int) questionRepository.countByCouple_IdAndSourceTypeAndArchivedFalse(
-                couple.getId(),
+        int authoredCount = (int) questionRepository.countByCreatedBy_IdAndSourceTypeAndArchivedFalse(
+                currentUser.getId(),
                 Question.SourceType.CUSTOM_COUPLE
         );
+        int coupleCount = customDeckCache.deck(couple.getId()).size();
         int questionsNeeded = Math.max(0, CustomQuestionDeckMetadata.MINIMUM_PLAYABLE_QUESTIONS - coupleCount);
 
         return CustomQuestionDeckSummaryDto.builder()
@@ -71,7 +70,7 @@ public class CustomQuestionService {
         Couple couple = requireActiveCoupleForUser(userId);
 
         SanitizedQuestion sanitized = sanitize(request);
-        ensureNoDuplicateQuestion(couple.getId(), sanitized.normalizedQuestionText, null);
+        ensureNoDuplicateQuestion(couple.getId(), sanitized.textHash, null);
 
         Question question = new Question();
         question.setSourceType(Question.SourceType.CUSTOM_COUPLE);
@@ -84,7 +83,9 @@ public class CustomQuestionService {
         question.setOptionD(sanitized.optionD);
         question.setArchived(false);
 
-        return toDto(questionRepository.save(question));
+        Question saved = saveUnique(question);
+        customDeckCache.invalidate(couple.getId());
+        return toDto(saved);
     }
 
     @Transactional
@@ -93,7 +94,7 @@ public class CustomQuestionService {
         Question question = findManageableQuestion(questionId, userId);
 
         SanitizedQuestion sanitized = sanitize(request);
-        ensureNoDuplicateQuestion(question.getCouple().getId(), sanitized.normalizedQuestionText, question.getId());
+        ensureNoDuplicateQuestion(question.getCouple().getId(), sanitized.textHash, question.getId());
 
         question.setText(sanitized.questionText);
         question.setOptionA(sanitized.optionA);
@@ -101,7 +102,9 @@ public class CustomQuestionService {
         question.setOptionC(sanitized.optionC);
         question.setOptionD(sanitized.optionD);
 
-        return toDto(questionRepository.save(question));
+        Question saved = saveUnique(question);
+        customDeckCache.invalidate(question.getCouple().getId());
+        return toDto(saved);
     }
 
     @Transactional
@@ -110,6 +113,7 @@ public class CustomQuestionService {
         Question question = findManageableQuestion(questionId, userId);
         question.setArchived(true);
         questionRepository.save(question);
+        customDeckCache.invalidate(question.getCouple().getId());
     }
 
     private Question findManageableQuestion(Integer questionId, UUID userId) {
@@ -127,17 +131,28 @@ public class CustomQuestionService {
         return question;
     }
 
-    private void ensureNoDuplicateQuestion(UUID coupleId, String normalizedQuestionText, Integer excludeQuestionId) {
-        boolean duplicateExists = questionRepository
-                .findByCouple_IdAndSourceTypeAndArchivedFalse(coupleId, Question.SourceType.CUSTOM_COUPLE)
-                .stream()
-                .filter(question -> excludeQuestionId == null || !question.getId().equals(excludeQuestionId))
-                .map(Question::getText)
-                .map(this::normalizeQuestionText)
-                .anyMatch(normalizedQuestionText::equals);
+    private void ensureNoDuplicateQuestion(UUID coupleId, String textHash, Integer excludeQuestionId) {
+        boolean duplicateExists = questionRepository.existsActiveByCoupleIdAndTextHash(
+                coupleId,
+                Question.SourceType.CUSTOM_COUPLE,
+                textHash,
+                excludeQuestionId
+        );
 
         if (duplicateExists) {
-            throw new IllegalStateException("This custom question already exists in your couple deck.");
+            throw new IllegalStateException(DUPLICATE_QUESTION_MESSAGE);
+        }
+    }
+
+    /**
+     * Flushes so a partner saving the same question at the same moment, past the
+     * check above, fails on the unique index here rather than at commit.
+     */
+    private Question saveUnique(Question question) {
+        try {
+            return questionRepository.saveAndFlush(question);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(DUPLICATE_QUESTION_MESSAGE, e);
         }
     }
 
@@ -158,7 +173,7 @@ public class CustomQuestionService {
                 optionB,
                 optionC,
                 optionD,
-                normalizeQuestionText(questionText)
+                QuestionTextUtil.textHash(questionText)
         );
     }
 
@@ -170,12 +185,6 @@ public class CustomQuestionService {
         return trimmed;
     }
 
-    private String normalizeQuestionText(String value) {
-        return value == null
-                ? ""
-                : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
-    }
-
     private User resolveCurrentUser(UUID userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
@@ -208,7 +217,7 @@ public class CustomQuestionService {
             String optionB,
             String optionC,
             String optionD,
-            String normalizedQuestionText
+            String textHash
     ) {
     }
 }
@@ -0,0 +1,54 @@
+package com.onlyyours.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction-scoped PostgreSQL advisory locks for jobs that should run on one
+ * instance at a time.
+ *
+ * The lock is taken with pg_try_advisory_xact_lock, so it is released when the
+ * surrounding transaction ends and never leaks onto a pooled connection. Databases
+ * without advisory locks (H2 in tests) only ever have one instance, so the lock is
+ * granted unconditionally there.
+ */
+@Component
+@Slf4j
+public class DatabaseAdvisoryLock {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public DatabaseAdvisoryLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return true when this transaction now holds the lock for {@code key}
+     */
+    public boolean tryLockForTransaction(long key) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Advisory locks must be taken inside a transaction");
+        }
+        if (!isPostgres()) {
+            return true;
+        }
+        Boolean acquired = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, key);
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase().contains("postgresql");
+            postgres = result;
+            log.debug("Advisory locks {} on {}", result ? "enabled" : "not available", product);
+        }
+        return result;
+    }
+}
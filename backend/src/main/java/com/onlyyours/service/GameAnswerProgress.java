@@ -0,0 +1,126 @@
+package com.onlyyours.service;
+
+import com.onlyyours.repository.GameAnswerRepository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user answer progress for one game session, built from a single scalar
+ * projection over game_answers.
+ *
+ * Replaces the per-user count queries and full GameAnswer reloads GameService used
+ * to issue for every move. Callers that write an answer or guess in the same
+ * transaction record it here as well instead of querying again.
+ */
+final class GameAnswerProgress {
+
+    private final Map<UUID, PlayerAnswers> answersByUser = new HashMap<>();
+
+    private GameAnswerProgress() {
+    }
+
+    static GameAnswerProgress from(List<GameAnswerRepository.AnswerStateView> rows) {
+        GameAnswerProgress progress = new GameAnswerProgress();
+        for (GameAnswerRepository.AnswerStateView row : rows) {
+            PlayerAnswers answers = progress.answersFor(row.getUserId());
+            answers.rowQuestionIds.add(row.getQuestionId());
+            if (row.getRound1Answer() != null) {
+                answers.round1Answers.put(row.getQuestionId(), row.getRound1Answer());
+            }
+            if (row.getRound2Guess() != null) {
+                answers.round2Guesses.put(row.getQuestionId(), row.getRound2Guess());
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * @return true when a game_answers row exists for the user and question
+     */
+    boolean hasAnswerRow(UUID userId, Integer questionId) {
+        PlayerAnswers answers = answersByUser.get(userId);
+        return answers != null && answers.rowQuestionIds.contains(questionId);
+    }
+
+    String round1Answer(UUID userId, Integer questionId) {
+        PlayerAnswers answers = answersByUser.get(userId);
+        return answers == null ? null : answers.round1Answers.get(questionId);
+    }
+
+    String round2Guess(UUID userId, Integer questionId) {
+        PlayerAnswers answers = answersByUser.get(userId);
+        return answers == null ? null : answers.round2Guesses.get(questionId);
+    }
+
+    int round1Count(UUID userId) {
+        PlayerAnswers answers = answersByUser.get(userId);
+        return answers == null ? 0 : answers.round1Answers.size();
+    }
+
+    int round2Count(UUID userId) {
+        PlayerAnswers answers = answersByUser.get(userId);
+        return answers == null ? 0 : answers.round2Guesses.size();
+    }
+
+    Integer nextRound1QuestionId(UUID userId, int[] questionIds) {
+        for (int questionId : questionIds) {
+            if (round1Answer(userId, questionId) == null) {
+                return questionId;
+            }
+        }
+        return null;
+    }
+
+    Integer nextRound2QuestionId(UUID userId, int[] questionIds) {
+        for (int questionId : questionIds) {
+            if (round2Guess(userId, questionId) == null) {
+                return questionId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts the user's guesses that match the partner's Round 1 answer.
+     */
+    int correctGuessCount(UUID userId, UUID partnerId) {
+        PlayerAnswers mine = answersByUser.get(userId);
+        PlayerAnswers partner = answersByUser.get(partnerId);
+        if (mine == null || partner == null) {
+            return 0;
+        }
+
+        int correctCount = 0;
+        for (Map.Entry<Integer, String> guess : mine.round2Guesses.entrySet()) {
+            if (guess.getValue().equals(partner.round1Answers.get(guess.getKey()))) {
+                correctCount++;
+            }
+        }
+        return correctCount;
+    }
+
+    void recordRound1Answer(UUID userId, Integer questionId, String answer) {
+        PlayerAnswers answers = answersFor(userId);
+        answers.rowQuestionIds.add(questionId);
+        answers.round1Answers.put(questionId, answer);
+    }
+
+    void recordRound2Guess(UUID userId, Integer questionId, String guess) {
+        answersFor(userId).round2Guesses.put(questionId, guess);
+    }
+
+    private PlayerAnswers answersFor(UUID userId) {
+        return answersByUser.computeIfAbsent(userId, ignored -> new PlayerAnswers());
+    }
+
+    private static final class PlayerAnswers {
+        private final Set<Integer> rowQuestionIds = new HashSet<>();
+        private final Map<Integer, String> round1Answers = new HashMap<>();
+        private final Map<Integer, String> round2Guesses = new HashMap<>();
+    }
+}
@@ -0,0 +1,34 @@
+package com.onlyyours.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in a user's game history: the completedAt and id of the
+ * last item a client has seen. Encoded as URL-safe base64 of "epochMillis:uuid".
+ */
+record GameHistoryCursor(Date completedAt, UUID sessionId) {
+
+    static GameHistoryCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid history cursor");
+            }
+            return new GameHistoryCursor(
+                    new Date(Long.parseLong(decoded.substring(0, separator))),
+                    UUID.fromString(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid history cursor", e);
+        }
+    }
+
+    String encode() {
+        String raw = completedAt.getTime() + ":" + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,37 +1,76 @@
 package com.onlyyours.service;
 
 import com.onlyyours.dto.GameStatusDto;
-import com.onlyyours.model.GameSession;
-import com.onlyyours.model.User;
-import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AuthenticatedUser;
+import com.onlyyours.security.AuthenticatedUserCache;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 import jakarta.annotation.PreDestroy;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal;
-import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.*;
-
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tells a player's partner when they leave or return to the game.
+ *
+ * Socket tracking and the partner/session lookup go through {@link PresenceRegistry},
+ * so connects and disconnects only query the database when a user's context is not
+ * cached yet. A user whose last socket closes is reported as left only after the
+ * disconnect grace period, which is tracked on a hashed wheel timer: scheduling and
+ * cancelling are O(1) however many users are pending. The timer has a single worker
+ * thread that drives every pending timeout, so expired timeouts only hand the
+ * notification (a context lookup and a STOMP send) to a small pool.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class GamePresenceEventListener {
 
-    private static final long DISCONNECT_GRACE_PERIOD_MS = 3000;
+    private static final int NOTIFY_QUEUE_CAPACITY = 1024;
 
-    private final UserRepository userRepository;
-    private final GameService gameService;
+    private final PresenceRegistry presenceRegistry;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private final SimpMessagingTemplate messagingTemplate;
-    private final ConcurrentMap<String, Set<String>> activeSocketSessionsByUser = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, ScheduledFuture<?>> pendingDisconnectsByUser = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService disconnectScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final long disconnectGraceMillis;
+    private final ConcurrentMap<UUID, Timeout> pendingDisconnectsByUser = new ConcurrentHashMap<>();
+    private final HashedWheelTimer disconnectTimer;
+    private final ThreadPoolExecutor notifier;
+
+    public GamePresenceEventListener(
+            PresenceRegistry presenceRegistry,
+            AuthenticatedUserCache authenticatedUserCache,
+            SimpMessagingTemplate messagingTemplate,
+            @Value("${game.presence.disconnect-grace-ms:3000}") long disconnectGraceMillis,
+            @Value("${game.presence.notify-pool-size:2}") int notifyPoolSize
+    ) {
+        this.presenceRegistry = presenceRegistry;
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.messagingTemplate = messagingTemplate;
+        this.disconnectGraceMillis = Math.max(0, disconnectGraceMillis);
+        this.disconnectTimer = new HashedWheelTimer(namedThreadFactory("presence-grace-"), 100, TimeUnit.MILLISECONDS, 512);
+        this.notifier = new ThreadPoolExecutor(
+                Math.max(1, notifyPoolSize),
+                Math.max(1, notifyPoolSize),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(NOTIFY_QUEUE_CAPACITY),
+                namedThreadFactory("presence-notify-")
+        );
+    }
 
     @EventListener
     public void handleSessionConnected(SessionConnectedEvent event) {
@@ -44,78 +83,81 @@ public class GamePresenceEventListener {
     }
 
     private void handlePresenceConnected(Principal principal, String sessionId) {
-        String email = resolvePrincipalEmail(principal);
-        if (email == null || sessionId == null) {
+        AuthenticatedUser user = resolveUser(principal);
+        if (user == null || sessionId == null) {
             return;
         }
 
-        boolean reconnectingWithinGracePeriod = cancelPendingDisconnect(email);
-
-        boolean shouldEmitReturned = activeSocketSessionsByUser.compute(email, (key, currentSessions) -> {
-            Set<String> sessions = currentSessions == null ? ConcurrentHashMap.newKeySet() : currentSessions;
-            sessions.add(sessionId);
-            return sessions;
-        }).size() == 1 && !reconnectingWithinGracePeriod;
+        boolean reconnectingWithinGracePeriod = cancelPendingDisconnect(user.getId());
+        boolean firstSocket = presenceRegistry.socketConnected(user.getId(), sessionId);
 
-        if (shouldEmitReturned) {
-            emitPartnerPresenceStatus(email, false);
+        if (firstSocket && !reconnectingWithinGracePeriod) {
+            emitPartnerPresenceStatus(user, false);
         }
     }
 
     private void handlePresenceDisconnected(Principal principal, String sessionId) {
-        String email = resolvePrincipalEmail(principal);
-        if (email == null || sessionId == null) {
+        AuthenticatedUser user = resolveUser(principal);
+        if (user == null || sessionId == null) {
             return;
         }
 
-        boolean stillOnline = activeSocketSessionsByUser.compute(email, (key, currentSessions) -> {
-            if (currentSessions == null) {
-                return null;
-            }
-
-            currentSessions.remove(sessionId);
-            if (currentSessions.isEmpty()) {
-                return null;
-            }
-            return currentSessions;
-        }) != null;
-
-        if (stillOnline) {
+        if (!presenceRegistry.socketDisconnected(user.getId(), sessionId)) {
             return;
         }
 
-        cancelPendingDisconnect(email);
-        ScheduledFuture<?> scheduledFuture = disconnectScheduler.schedule(
-                () -> emitPartnerLeftIfStillOffline(email),
-                DISCONNECT_GRACE_PERIOD_MS,
-                TimeUnit.MILLISECONDS
-        );
-        pendingDisconnectsByUser.put(email, scheduledFuture);
+        cancelPendingDisconnect(user.getId());
+        try {
+            Timeout timeout = disconnectTimer.newTimeout(
+                    scheduled -> notifyOffThreadIfStillOffline(user, scheduled),
+                    disconnectGraceMillis,
+                    TimeUnit.MILLISECONDS
+            );
+            pendingDisconnectsByUser.put(user.getId(), timeout);
+        } catch (IllegalStateException e) {
+            log.debug("Presence timer stopped, dropping disconnect of {}", user.getEmail());
+        }
+    }
+
+    private void notifyOffThreadIfStillOffline(AuthenticatedUser user, Timeout timeout) {
+        try {
+            notifier.execute(() -> emitPartnerLeftIfStillOffline(user, timeout));
+        } catch (RejectedExecutionException e) {
+            pendingDisconnectsByUser.remove(user.getId(), timeout);
+            log.warn("Presence notifier saturated or stopped, dropping partner-left for {}", user.getEmail());
+        }
     }
 
-    private void emitPartnerLeftIfStillOffline(String userEmail) {
-        pendingDisconnectsByUser.remove(userEmail);
-        if (activeSocketSessionsByUser.containsKey(userEmail)) {
+    private void emitPartnerLeftIfStillOffline(AuthenticatedUser user, Timeout timeout) {
+        if (!pendingDisconnectsByUser.remove(user.getId(), timeout)) {
+            return;
+        }
+        if (presenceRegistry.isOnline(user.getId())) {
             return;
         }
 
-        emitPartnerPresenceStatus(userEmail, true);
+        emitPartnerPresenceStatus(user, true);
     }
 
-    private boolean cancelPendingDisconnect(String userEmail) {
-        ScheduledFuture<?> pendingDisconnect = pendingDisconnectsByUser.remove(userEmail);
+    private boolean cancelPendingDisconnect(UUID userId) {
+        Timeout pendingDisconnect = pendingDisconnectsByUser.remove(userId);
         if (pendingDisconnect != null) {
-            pendingDisconnect.cancel(false);
+            pendingDisconnect.cancel();
             return true;
         }
         return false;
     }
 
-    private String resolvePrincipalEmail(Principal principal) {
+    private AuthenticatedUser resolveUser(Principal principal) {
         if (principal == null || principal.getName() == null || principal.getName().isBlank()) {
             return null;
         }
-        return principal.getName();
+        try {
+            return authenticatedUserCache.require(principal);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring presence event for unknown user {}", principal.getName());
+            return null;
+        }
     }
 
     private String resolveSessionId(Object event) {
@@ -128,31 +170,25 @@ public class GamePresenceEventListener {
 
     @PreDestroy
     void shutdownScheduler() {
-        disconnectScheduler.shutdownNow();
+        disconnectTimer.stop();
+        notifier.shutdown();
     }
 
-    private void emitPartnerPresenceStatus(String userEmail, boolean partnerLeft) {
-        if (userEmail == null || userEmail.isBlank()) {
-            return;
-        }
-
-        Optional<User> userOptional = userRepository.findByEmail(userEmail);
-        if (userOptional.isEmpty()) {
-            return;
-        }
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
-        User user = userOptional.get();
-        Optional<GameSession> activeSessionOptional = gameService.getLatestActiveSessionForUser(user.getId());
-        if (activeSessionOptional.isEmpty()) {
+    private void emitPartnerPresenceStatus(AuthenticatedUser user, boolean partnerLeft) {
+        PresenceRegistry.PresenceContext context = presenceRegistry.context(user.getId());
+        if (!context.isLinked() || context.activeSessionId() == null) {
             return;
         }
-
-        GameSession session = activeSessionOptional.get();
-        User partner = session.getCouple().getUser1().getId().equals(user.getId())
-                ? session.getCouple().getUser2()
-                : session.getCouple().getUser1();
-
-        if (partner == null || partner.getEmail() == null || partner.getEmail().isBlank()) {
+        if (context.partnerEmail() == null || context.partnerEmail().isBlank()) {
             return;
         }
 
@@ -162,10 +198,10 @@ public class GamePresenceEventListener {
                 : user.getName() + " returned to the game.";
 
         messagingTemplate.convertAndSendToUser(
-                partner.getEmail(),
+                context.partnerEmail(),
                 "/queue/game-events",
                 GameStatusDto.builder()
-                        .sessionId(session.getId())
+                        .sessionId(context.activeSessionId())
                         .status(status)
                         .message(message)
                         .eventType(status)
@@ -173,6 +209,7 @@ public class GamePresenceEventListener {
                         .build()
         );
 
-        log.info("Presence event emitted: status={}, session={}, to={}", status, session.getId(), partner.getEmail());
+        log.info("Presence event emitted: status={}, session={}, to={}",
+                status, context.activeSessionId(), context.partnerEmail());
     }
 }
@@ -6,15 +6,19 @@ import com.onlyyours.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
-import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +33,12 @@ public class GameService {
     private final UserRepository userRepository;
     private final CoupleRepository coupleRepository;
     private final ProgressionService progressionService;
+    private final UserGameStatsService userGameStatsService;
+    private final GameSessionStateEngine gameSessionStateEngine;
+    private final SessionQuestionCache sessionQuestionCache;
+    private final CustomDeckCache customDeckCache;
+    private final QuestionSampler questionSampler;
+    private final PresenceRegistry presenceRegistry;
 
     private static final int QUESTIONS_PER_GAME = 8;
     private static final long SESSION_TTL_MILLIS = Duration.ofDays(7).toMillis();
@@ -37,12 +47,6 @@ public class GameService {
             GameSession.GameStatus.ROUND1,
             GameSession.GameStatus.ROUND2
     );
-    private static final EnumSet<GameSession.GameStatus> ACCEPTED_INVITATION_STATUSES = EnumSet.of(
-            GameSession.GameStatus.ROUND1,
-            GameSession.GameStatus.ROUND2,
-            GameSession.GameStatus.COMPLETED,
-            GameSession.GameStatus.EXPIRED
-    );
 
     @Transactional
     public GameInvitationDto createInvitation(UUID inviterId, Integer categoryId) {
@@ -66,7 +70,7 @@ public class GameService {
         Couple couple = findActiveCoupleForUser(inviterId)
                 .orElseThrow(() -> new IllegalStateException("User must be in a couple to play"));
 
-        Optional<GameSession> existingActiveSession = findLatestActiveSessionForCouple(couple.getId());
+        Optional<GameSession> existingActiveSession = expireStaleSessionsForCouple(couple.getId());
         if (existingActiveSession.isPresent()) {
             throw new ActiveGameSessionExistsException(existingActiveSession.get().getId());
         }
@@ -100,6 +104,7 @@ public class GameService {
             throw e;
         }
 
+        presenceRegistry.invalidateCoupleAfterCommit(couple);
         log.info("Game session created: sessionId={}, status=INVITED", session.getId());
 
         return GameInvitationDto.builder()
@@ -140,26 +145,23 @@ public class GameService {
             throw new IllegalStateException("Game is not in INVITED state: " + session.getStatus());
         }
 
-        List<Question> allQuestions = loadQuestionsForSessionStart(session);
+        QuestionSampler.Sample sample = sampleQuestionsForSessionStart(session);
         
-        if (allQuestions.size() < QUESTIONS_PER_GAME) {
+        if (sample.questions().size() < QUESTIONS_PER_GAME) {
             String sourceLabel = (session.getDeckType() == GameSession.DeckType.CUSTOM_COUPLE)
                     ? "custom deck"
                     : "category";
             throw new IllegalStateException(
                     String.format("Not enough questions in %s. Required: %d, Available: %d",
-                            sourceLabel, QUESTIONS_PER_GAME, allQuestions.size())
+                            sourceLabel, QUESTIONS_PER_GAME, sample.deckSize())
             );
         }
 
-        Collections.shuffle(allQuestions);
-        List<Question> selectedQuestions = allQuestions.stream()
-                .limit(QUESTIONS_PER_GAME)
-                .collect(Collectors.toList());
+        List<SessionQuestionCache.CachedQuestion> selectedQuestions = sample.questions();
 
-        String questionIds = selectedQuestions.stream()
-                .map(q -> q.getId().toString())
-                .collect(Collectors.joining(","));
+        int[] questionIds = selectedQuestions.stream()
+                .mapToInt(SessionQuestionCache.CachedQuestion::id)
+                .toArray();
         
         session.setQuestionIds(questionIds);
         session.setCurrentQuestionIndex(0);
@@ -169,11 +171,13 @@ public class GameService {
         session.setLastActivityAt(now);
 
         gameSessionRepository.save(session);
+        userGameStatsService.recordInvitationAccepted(session);
+        sessionQuestionCache.preload(sessionId, selectedQuestions);
 
         log.info("Game started: sessionId={}, questions={}, count={}", 
-                sessionId, questionIds, selectedQuestions.size());
+                sessionId, Arrays.toString(questionIds), selectedQuestions.size());
 
-        return buildQuestionPayload(session, selectedQuestions.get(0).getId(), 1, "ROUND1", null);
+        return buildQuestionPayload(session.getId(), selectedQuestions.get(0).id(), 1, "ROUND1", null);
     }
 
     @Transactional
@@ -206,6 +210,8 @@ public class GameService {
         session.setCompletedAt(now);
         session.setLastActivityAt(now);
         gameSessionRepository.save(session);
+        presenceRegistry.invalidateCoupleAfterCommit(couple);
+        userGameStatsService.recordInvitationDeclined(session);
         
         log.info("Invitation declined: sessionId={}", sessionId);
         return true;
@@ -225,6 +231,14 @@ public class GameService {
             throw new IllegalArgumentException("Answer must be A, B, C, or D. Received: " + answer);
         }
 
+        Optional<Optional<QuestionPayloadDto>> liveResult = gameSessionStateEngine.withLiveState(
+                sessionId,
+                state -> submitAnswerToLiveSession(state, userId, questionId, answer)
+        );
+        if (liveResult.isPresent()) {
+            return liveResult.get();
+        }
+
         GameSession session = getGameSessionForUpdate(sessionId);
         assertSessionNotExpired(session);
         ensureUserBelongsToSession(userId, session);
@@ -233,27 +247,25 @@ public class GameService {
             throw new IllegalStateException("Game is not in ROUND1 state: " + session.getStatus());
         }
 
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        int[] questionIds = questionIdsOf(session);
         if (questionIds.length == 0) {
             throw new IllegalStateException("Session has no question IDs assigned");
         }
 
-        Integer expectedQuestionId = resolveNextRound1QuestionIdForUser(session, userId, questionIds);
+        GameAnswerProgress progress = loadAnswerProgress(sessionId);
+        Integer expectedQuestionId = progress.nextRound1QuestionId(userId, questionIds);
         if (expectedQuestionId == null) {
-            if (areBothUsersFinishedRound1(session)) {
+            if (areBothUsersFinishedRound1(session, progress, questionIds.length)) {
                 transitionToRound2(session);
-                return Optional.of(buildRound2QuestionPayload(session, questionIds[0], 1, userId));
+                return Optional.of(buildRound2QuestionPayload(session, progress, questionIds[0], 1, userId));
             }
             return Optional.empty();
         }
 
-        Optional<GameAnswer> existing = gameAnswerRepository
-                .findByGameSession_IdAndQuestion_IdAndUser_Id(sessionId, questionId, userId);
-
-        if (existing.isPresent()) {
+        if (progress.hasAnswerRow(userId, questionId)) {
             log.warn("Answer already recorded for user {}, question {}. Ignoring duplicate.", 
                     userId, questionId);
-            return resolveNextRound1QuestionForUser(session, userId, questionIds);
+            return resolveNextRound1QuestionForUser(session, progress, userId, questionIds);
         }
 
         if (!Objects.equals(expectedQuestionId, questionId)) {
@@ -266,41 +278,47 @@ public class GameService {
             );
         }
 
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new IllegalArgumentException("Question not found: " + questionId));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-
         GameAnswer gameAnswer = new GameAnswer();
         gameAnswer.setGameSession(session);
-        gameAnswer.setQuestion(question);
-        gameAnswer.setUser(user);
+        gameAnswer.setQuestion(questionRepository.getReferenceById(questionId));
+        gameAnswer.setUser(userRepository.getReferenceById(userId));
         gameAnswer.setRound1Answer(answer);
 
         gameAnswerRepository.save(gameAnswer);
+        progress.recordRound1Answer(userId, questionId, answer);
         session.setLastActivityAt(new Date());
         gameSessionRepository.save(session);
 
         log.info("Answer recorded: session={}, user={}, question={}", sessionId, userId, questionId);
 
-        if (areBothUsersFinishedRound1(session)) {
+        if (areBothUsersFinishedRound1(session, progress, questionIds.length)) {
             log.info("Round 1 complete for session {}", session.getId());
             transitionToRound2(session);
-            return Optional.of(buildRound2QuestionPayload(session, questionIds[0], 1, userId));
+            return Optional.of(buildRound2QuestionPayload(session, progress, questionIds[0], 1, userId));
         }
 
-        return resolveNextRound1QuestionForUser(session, userId, questionIds);
+        return resolveNextRound1QuestionForUser(session, progress, userId, questionIds);
     }
 
     public boolean areBothPlayersAnswered(UUID sessionId, Integer questionId) {
+        gameSessionStateEngine.flushSession(sessionId);
         long count = gameAnswerRepository.countByGameSession_IdAndQuestion_Id(sessionId, questionId);
         return count >= 2;
     }
 
+    /**
+     * Whether the user belongs to the session's couple. Answered from live state when
+     * the session is in memory, otherwise with a single count query.
+     */
+    public boolean isSessionParticipant(UUID sessionId, UUID userId) {
+        return gameSessionStateEngine.isLiveParticipant(sessionId, userId)
+                .orElseGet(() -> gameSessionRepository.countParticipantMatches(sessionId, userId) > 0);
+    }
+
     public GameSession getGameSession(UUID sessionId) {
         GameSession session = gameSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Game session not found: " + sessionId));
-        assertSessionNotExpired(session);
+        assertSessionNotPastExpiry(session);
         return session;
     }
 
@@ -317,7 +335,7 @@ public class GameService {
         if (session.getStatus() != GameSession.GameStatus.ROUND2) {
             throw new IllegalStateException("Game is not in ROUND2 state: " + session.getStatus());
         }
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        int[] questionIds = questionIdsOf(session);
         if (questionIds.length == 0) {
             throw new IllegalStateException("Session has no question IDs assigned");
         }
@@ -326,7 +344,7 @@ public class GameService {
         session.setLastActivityAt(new Date());
         gameSessionRepository.save(session);
 
-        return buildQuestionPayload(session, questionIds[0], 1, "ROUND2", 0);
+        return buildQuestionPayload(session.getId(), questionIds[0], 1, "ROUND2", 0);
     }
 
     @Transactional
@@ -338,6 +356,14 @@ public class GameService {
             throw new IllegalArgumentException("Guess must be A, B, C, or D. Received: " + guess);
         }
 
+        Optional<GuessResultDto> liveResult = gameSessionStateEngine.withLiveState(
+                sessionId,
+                state -> submitGuessToLiveSession(state, userId, questionId, guess)
+        );
+        if (liveResult.isPresent()) {
+            return liveResult.get();
+        }
+
         GameSession session = getGameSessionForUpdate(sessionId);
         assertSessionNotExpired(session);
         ensureUserBelongsToSession(userId, session);
@@ -346,27 +372,27 @@ public class GameService {
             throw new IllegalStateException("Game is not in ROUND2 state: " + session.getStatus());
         }
 
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        int[] questionIds = questionIdsOf(session);
         if (questionIds.length == 0) {
             throw new IllegalStateException("Session has no question IDs assigned");
         }
 
-        Integer expectedQuestionId = resolveNextRound2QuestionIdForUser(session, userId, questionIds);
+        GameAnswerProgress progress = loadAnswerProgress(sessionId);
+        Integer expectedQuestionId = progress.nextRound2QuestionId(userId, questionIds);
         if (expectedQuestionId == null) {
-            if (areBothUsersFinishedRound2(session)) {
+            if (areBothUsersFinishedRound2(session, progress, questionIds.length)) {
                 throw new IllegalStateException("Round 2 already completed for this user");
             }
             throw new IllegalStateException("No Round 2 question available for this user");
         }
 
-        GameAnswer myAnswer = gameAnswerRepository
-                .findByGameSession_IdAndQuestion_IdAndUser_Id(sessionId, questionId, userId)
-                .orElseThrow(() -> new IllegalStateException(
-                        "No Round 1 answer found for this user and question"));
+        if (!progress.hasAnswerRow(userId, questionId)) {
+            throw new IllegalStateException("No Round 1 answer found for this user and question");
+        }
 
-        if (myAnswer.getRound2Guess() != null) {
+        if (progress.round2Guess(userId, questionId) != null) {
             log.warn("Guess already recorded for user {}, question {}. Ignoring duplicate.", userId, questionId);
-            return buildGuessResult(session, myAnswer, questionId, userId);
+            return buildGuessResult(session, progress, questionId, questionIds, userId);
         }
 
         if (!Objects.equals(expectedQuestionId, questionId)) {
@@ -379,68 +405,46 @@ public class GameService {
             );
         }
 
-        myAnswer.setRound2Guess(guess);
-        gameAnswerRepository.save(myAnswer);
         session.setLastActivityAt(new Date());
         gameSessionRepository.save(session);
+        gameAnswerRepository.updateRound2Guess(sessionId, questionId, userId, guess);
+        progress.recordRound2Guess(userId, questionId, guess);
 
         log.info("Guess recorded: session={}, user={}, question={}", sessionId, userId, questionId);
 
-        return buildGuessResult(session, myAnswer, questionId, userId);
+        return buildGuessResult(session, progress, questionId, questionIds, userId);
     }
 
-    private GuessResultDto buildGuessResult(GameSession session, GameAnswer myAnswer,
-                                            Integer questionId, UUID userId) {
-        Couple couple = session.getCouple();
-        UUID partnerId = couple.getUser1().getId().equals(userId)
-                ? couple.getUser2().getId()
-                : couple.getUser1().getId();
-
-        GameAnswer partnerAnswer = gameAnswerRepository
-                .findByGameSession_IdAndQuestion_IdAndUser_Id(session.getId(), questionId, partnerId)
-                .orElseThrow(() -> new IllegalStateException("Partner's Round 1 answer not found"));
-
-        boolean correct = myAnswer.getRound2Guess() != null
-                && myAnswer.getRound2Guess().equals(partnerAnswer.getRound1Answer());
-
-        List<GameAnswer> myGuesses = gameAnswerRepository
-                .findByGameSession_IdAndUser_IdAndRound2GuessIsNotNull(session.getId(), userId);
-
-        int correctCount = 0;
-        for (GameAnswer g : myGuesses) {
-            UUID pId = couple.getUser1().getId().equals(userId)
-                    ? couple.getUser2().getId()
-                    : couple.getUser1().getId();
-            Optional<GameAnswer> pAnswer = gameAnswerRepository
-                    .findByGameSession_IdAndQuestion_IdAndUser_Id(session.getId(), g.getQuestion().getId(), pId);
-            if (pAnswer.isPresent() && g.getRound2Guess() != null
-                    && g.getRound2Guess().equals(pAnswer.get().getRound1Answer())) {
-                correctCount++;
-            }
+    private GuessResultDto buildGuessResult(
+            GameSession session,
+            GameAnswerProgress progress,
+            Integer questionId,
+            int[] questionIds,
+            UUID userId
+    ) {
+        UUID partnerId = resolvePartnerId(session, userId);
+        String partnerAnswer = progress.round1Answer(partnerId, questionId);
+        if (partnerAnswer == null) {
+            throw new IllegalStateException("Partner's Round 1 answer not found");
         }
 
-        String[] questionIdsArray = session.getQuestionIds().split(",");
-        int questionNumber = 0;
-        for (int i = 0; i < questionIdsArray.length; i++) {
-            if (Integer.parseInt(questionIdsArray[i].trim()) == questionId) {
-                questionNumber = i + 1;
-                break;
-            }
-        }
+        String yourGuess = progress.round2Guess(userId, questionId);
+        SessionQuestionCache.CachedQuestion question = sessionQuestionCache.get(session.getId(), questionId);
 
         return GuessResultDto.builder()
                 .sessionId(session.getId())
                 .questionId(questionId)
-                .questionNumber(questionNumber)
-                .questionText(myAnswer.getQuestion().getText())
-                .yourGuess(myAnswer.getRound2Guess())
-                .partnerAnswer(partnerAnswer.getRound1Answer())
-                .correct(correct)
-                .correctCount(correctCount)
+                .questionNumber(resolveQuestionNumber(questionId, questionIds))
+                .questionText(question.text())
+                .yourGuess(yourGuess)
+                .partnerAnswer(partnerAnswer)
+                .correct(partnerAnswer.equals(yourGuess))
+                .correctCount(progress.correctGuessCount(userId, partnerId))
                 .build();
     }
 
     public boolean areBothPlayersGuessed(UUID sessionId, Integer questionId) {
+        gameSessionStateEngine.flushSession(sessionId);
         long count = gameAnswerRepository
                 .countByGameSession_IdAndQuestion_IdAndRound2GuessIsNotNull(sessionId, questionId);
         return count >= 2;
@@ -452,7 +456,7 @@ public class GameService {
         if (session.getStatus() != GameSession.GameStatus.ROUND2) {
             throw new IllegalStateException("Game is not in ROUND2 state: " + session.getStatus());
         }
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        int[] questionIds = questionIdsOf(session);
         int currentIndex = safeCurrentQuestionIndex(session, questionIds.length);
         int nextIndex = currentIndex + 1;
 
@@ -466,46 +470,32 @@ public class GameService {
         gameSessionRepository.save(session);
 
         log.info("Round 2 shared helper advancing to question {} of {}", nextIndex + 1, questionIds.length);
-        return Optional.of(buildQuestionPayload(session, questionIds[nextIndex], nextIndex + 1, "ROUND2", 0));
+        return Optional.of(buildQuestionPayload(session.getId(), questionIds[nextIndex], nextIndex + 1, "ROUND2", 0));
     }
 
     @Transactional
     public GameResultsDto calculateAndCompleteGame(UUID sessionId) {
         log.info("Calculating final scores for session {}", sessionId);
 
-        GameSession session = getGameSession(sessionId);
+        gameSessionStateEngine.flushSession(sessionId);
+        // Locked so two completions of the same session cannot both score it and
+        // record its stats twice; the second one sees COMPLETED and reuses the scores.
+        GameSession session = getGameSessionForUpdate(sessionId);
         Couple couple = session.getCouple();
         User player1 = couple.getUser1();
         User player2 = couple.getUser2();
 
-        List<GameAnswer> allAnswers = gameAnswerRepository
-                .findByGameSession_IdOrderByQuestion_Id(sessionId);
-
-        int player1Score = 0;
-        int player2Score = 0;
-
-        Map<Integer, List<GameAnswer>> byQuestion = allAnswers.stream()
-                .collect(Collectors.groupingBy(a -> a.getQuestion().getId()));
-
-        for (List<GameAnswer> questionAnswers : byQuestion.values()) {
-            GameAnswer p1Answer = questionAnswers.stream()
-                    .filter(a -> a.getUser().getId().equals(player1.getId()))
-                    .findFirst().orElse(null);
-            GameAnswer p2Answer = questionAnswers.stream()
-                    .filter(a -> a.getUser().getId().equals(player2.getId()))
-                    .findFirst().orElse(null);
-
-            if (p1Answer != null && p2Answer != null) {
-                if (p1Answer.getRound2Guess() != null
-                        && p1Answer.getRound2Guess().equals(p2Answer.getRound1Answer())) {
-                    player1Score++;
-                }
-                if (p2Answer.getRound2Guess() != null
-                        && p2Answer.getRound2Guess().equals(p1Answer.getRound1Answer())) {
-                    player2Score++;
-                }
-            }
+        if (session.getStatus() == GameSession.GameStatus.COMPLETED) {
+            log.info("Game already completed: session={}", sessionId);
+            int player1Score = session.getPlayer1Score() == null ? 0 : session.getPlayer1Score();
+            int player2Score = session.getPlayer2Score() == null ? 0 : session.getPlayer2Score();
+            return buildCompletedResults(sessionId, couple, player1Score, player2Score);
         }
+        assertSessionNotPastExpiry(session);
+
+        GameAnswerProgress progress = loadAnswerProgress(sessionId);
+        int player1Score = progress.correctGuessCount(player1.getId(), player2.getId());
+        int player2Score = progress.correctGuessCount(player2.getId(), player1.getId());
 
         session.setPlayer1Score(player1Score);
         session.setPlayer2Score(player2Score);
@@ -514,22 +504,28 @@ public class GameService {
         session.setCompletedAt(now);
         session.setLastActivityAt(now);
         gameSessionRepository.save(session);
-        ProgressionService.GameCompletionProgressionResult progressionResult =
-                progressionService.processCompletedGame(session, player1Score, player2Score);
+        sessionQuestionCache.evictAfterCommit(sessionId);
+        presenceRegistry.invalidateCoupleAfterCommit(couple);
+        userGameStatsService.recordGameCompleted(session, player1Score, player2Score);
+        progressionService.enqueueCompletedGame(session, player1Score, player2Score);
 
         log.info("Game completed: session={}, p1Score={}, p2Score={}",
                 sessionId, player1Score, player2Score);
 
+        return buildCompletedResults(sessionId, couple, player1Score, player2Score);
+    }
+
+    private GameResultsDto buildCompletedResults(UUID sessionId, Couple couple, int player1Score, int player2Score) {
         return GameResultsDto.builder()
                 .sessionId(sessionId)
-                .player1Name(player1.getName())
+                .player1Name(couple.getUser1().getName())
                 .player1Score(player1Score)
-                .player2Name(player2.getName())
+                .player2Name(couple.getUser2().getName())
                 .player2Score(player2Score)
                 .totalQuestions(QUESTIONS_PER_GAME)
                 .message(getResultMessage(player1Score + player2Score))
-                .coupleProgression(progressionResult.coupleProgression())
-                .recentMilestones(progressionResult.recentMilestones())
+                .coupleProgression(progressionService.getCoupleProgressionSnapshot(couple))
+                .recentMilestones(List.of())
                 .build();
     }
 
@@ -545,7 +541,7 @@ public class GameService {
         }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Optional<ActiveGameSessionDto> getActiveSessionSummary(UUID userId) {
         User currentUser = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
@@ -563,11 +559,13 @@ public class GameService {
 
         GameSession session = activeSessionOptional.get();
         User partner = couple.getUser1().getId().equals(currentUser.getId()) ? couple.getUser2() : couple.getUser1();
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        int[] questionIds = questionIdsOf(session);
         int totalQuestions = questionIds.length > 0 ? questionIds.length : QUESTIONS_PER_GAME;
         Integer currentQuestionNumber = session.getStatus() == GameSession.GameStatus.INVITED
                 ? null
-                : resolveCurrentQuestionNumberForUser(session, userId, totalQuestions, questionIds);
+                : gameSessionStateEngine.withLiveState(session.getId(), state -> resolveLiveQuestionNumber(state, userId))
+                        .orElseGet(() -> resolveCurrentQuestionNumberForUser(
+                                session, loadAnswerProgress(session.getId()), userId, totalQuestions, questionIds));
 
         String round = switch (session.getStatus()) {
             case ROUND1 -> "ROUND1";
@@ -596,7 +594,7 @@ public class GameService {
         );
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Optional<GameSession> getLatestActiveSessionForUser(UUID userId) {
         Optional<Couple> coupleOptional = findActiveCoupleForUser(userId);
         if (coupleOptional.isEmpty()) {
@@ -607,8 +605,15 @@ public class GameService {
 
     @Transactional(readOnly = true)
     public Optional<Object> getCurrentQuestionForUser(UUID sessionId, UUID userId) {
+        Optional<Optional<Object>> liveResult = gameSessionStateEngine.withLiveState(
+                sessionId,
+                state -> Optional.ofNullable(resolveLiveStateSnapshot(state, requireLivePlayer(state, userId)))
+        );
+        if (liveResult.isPresent()) {
+            return liveResult.get();
+        }
+
         GameSession session = getGameSession(sessionId);
-        assertSessionNotExpired(session);
         ensureUserBelongsToSession(userId, session);
 
         if (session.getStatus() == GameSession.GameStatus.COMPLETED) {
@@ -620,12 +625,13 @@ public class GameService {
             return Optional.empty();
         }
 
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        int[] questionIds = questionIdsOf(session);
         if (questionIds.length == 0) {
             return Optional.empty();
         }
 
-        Object currentState = resolveCurrentStateSnapshotForUser(session, userId, questionIds);
+        Object currentState = resolveCurrentStateSnapshotForUser(
+                session, loadAnswerProgress(sessionId), userId, questionIds);
         if (currentState == null) {
             return Optional.empty();
         }
@@ -635,6 +641,14 @@ public class GameService {
 
     @Transactional
     public Optional<Object> resolveCurrentStateAfterGuessSubmission(UUID sessionId, UUID userId) {
+        Optional<Optional<Object>> liveResult = gameSessionStateEngine.withLiveState(
+                sessionId,
+                state -> resolveLiveStateAfterGuessSubmission(state, userId)
+        );
+        if (liveResult.isPresent()) {
+            return liveResult.get();
+        }
+
         GameSession session = getGameSessionForUpdate(sessionId);
         assertSessionNotExpired(session);
         ensureUserBelongsToSession(userId, session);
@@ -647,16 +661,17 @@ public class GameService {
             return Optional.empty();
         }
 
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        int[] questionIds = questionIdsOf(session);
         if (questionIds.length == 0) {
             return Optional.empty();
         }
 
-        if (areBothUsersFinishedRound2(session)) {
+        GameAnswerProgress progress = loadAnswerProgress(sessionId);
+        if (areBothUsersFinishedRound2(session, progress, questionIds.length)) {
             return Optional.of(completeGameIfReady(sessionId, userId));
         }
 
-        Object currentState = resolveCurrentStateSnapshotForUser(session, userId, questionIds);
+        Object currentState = resolveCurrentStateSnapshotForUser(session, progress, userId, questionIds);
         if (currentState == null) {
             return Optional.empty();
         }
@@ -705,107 +720,121 @@ public class GameService {
             String sort,
             String winnerFilter
     ) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        return getGameHistory(userId, page, size, sort, winnerFilter, null);
+    }
+
+    /**
+     * Completed games for the user, paged in the database.
+     *
+     * Without a cursor this is offset paging with totals. With a cursor (the
+     * nextCursor of a previous page) it is keyset paging: page and totals are left
+     * null, and the cost of a page does not depend on how deep into history it is.
+     */
+    @Transactional(readOnly = true)
+    public GameHistoryPageDto getGameHistory(
+            UUID userId,
+            Integer page,
+            Integer size,
+            String sort,
+            String winnerFilter,
+            String cursor
+    ) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found: " + userId);
+        }
 
         int safePage = page == null || page < 0 ? 0 : page;
         int safeSize = size == null ? 10 : Math.min(Math.max(size, 1), 50);
-
-        List<GameSession> sessions = new ArrayList<>(
-                gameSessionRepository.findAllByUserIdAndStatusOrderByCompletedAtDesc(
-                        userId,
-                        GameSession.GameStatus.COMPLETED
-                )
+        boolean oldestFirst = "oldest".equalsIgnoreCase(sort);
+        String winner = normalizeWinnerFilter(winnerFilter);
+        GameHistoryCursor after = cursor == null || cursor.isBlank() ? null : GameHistoryCursor.decode(cursor);
+
+        List<UUID> coupleIds = coupleRepository.findIdsByUserId(userId);
+        if (coupleIds.isEmpty()) {
+            return buildHistoryPage(List.of(), userId, after == null ? safePage : null, safeSize,
+                    after == null ? 0L : null, false);
+        }
+
+        if (after != null) {
+            Pageable limit = PageRequest.of(0, safeSize + 1);
+            List<GameSession> sessions = oldestFirst
+                    ? gameSessionRepository.findCompletedHistoryAfter(
+                            coupleIds, userId, winner, after.completedAt(), after.sessionId(), limit)
+                    : gameSessionRepository.findCompletedHistoryBefore(
+                            coupleIds, userId, winner, after.completedAt(), after.sessionId(), limit);
+            boolean hasNext = sessions.size() > safeSize;
+            return buildHistoryPage(hasNext ? sessions.subList(0, safeSize) : sessions,
+                    userId, null, safeSize, null, hasNext);
+        }
+
+        Sort.Direction direction = oldestFirst ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Page<GameSession> sessions = gameSessionRepository.findCompletedHistoryPage(
+                coupleIds,
+                userId,
+                winner,
+                PageRequest.of(safePage, safeSize, Sort.by(direction, "completedAt").and(Sort.by(direction, "id")))
         );
-        sessions.sort(buildHistoryComparator(sort));
-
-        List<GameSession> filteredSessions = sessions.stream()
-                .filter(session -> matchesWinnerFilter(session, userId, winnerFilter))
-                .toList();
-
-        int totalElements = filteredSessions.size();
-        int fromIndex = Math.min(safePage * safeSize, totalElements);
-        int toIndex = Math.min(fromIndex + safeSize, totalElements);
+        return buildHistoryPage(sessions.getContent(), userId, safePage, safeSize,
+                sessions.getTotalElements(), sessions.hasNext());
+    }
 
-        List<GameHistoryItemDto> items = filteredSessions.subList(fromIndex, toIndex).stream()
-                .map(session -> toGameHistoryItemDto(session, userId))
+    private GameHistoryPageDto buildHistoryPage(
+            List<GameSession> sessions,
+            UUID userId,
+            Integer page,
+            int size,
+            Long totalElements,
+            boolean hasNext
+    ) {
+        Set<Integer> categoryIds = sessions.stream()
+                .map(GameSession::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, QuestionCategory> categoriesById = categoryIds.isEmpty()
+                ? Map.of()
+                : categoryRepository.findAllById(categoryIds).stream()
+                        .collect(Collectors.toMap(QuestionCategory::getId, Function.identity()));
+
+        List<GameHistoryItemDto> items = sessions.stream()
+                .map(session -> toGameHistoryItemDto(session, userId, categoriesById.get(session.getCategoryId())))
                 .toList();
 
-        int totalPages = totalElements == 0 ? 0 : (int) Math.ceil(totalElements / (double) safeSize);
+        String nextCursor = null;
+        if (hasNext && !sessions.isEmpty()) {
+            GameSession last = sessions.get(sessions.size() - 1);
+            if (last.getCompletedAt() != null) {
+                nextCursor = new GameHistoryCursor(last.getCompletedAt(), last.getId()).encode();
+            }
+        }
 
+        Integer totalPages = totalElements == null ? null : (int) ((totalElements + size - 1) / size);
         return GameHistoryPageDto.builder()
                 .items(items)
-                .page(safePage)
-                .size(safeSize)
-                .totalElements((long) totalElements)
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
                 .totalPages(totalPages)
-                .hasNext(toIndex < totalElements)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
                 .build();
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
     public DashboardStatsDto getDashboardStats(UUID userId) {
-        userRepository.findById(userId)
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
 
-        List<GameSession> completedSessions = gameSessionRepository.findAllByUserIdAndStatusOrderByCompletedAtDesc(
-                userId,
-                GameSession.GameStatus.COMPLETED
-        );
-        List<GameSession> allSessions = gameSessionRepository.findAllByUserIdOrderByCreatedAtDesc(userId);
-
-        int gamesPlayed = completedSessions.size();
-        int bestScore = completedSessions.stream()
-                .mapToInt(session -> resolveMyScore(session, userId))
-                .max()
-                .orElse(0);
-        double averageScore = completedSessions.stream()
-                .mapToInt(session -> resolveMyScore(session, userId))
-                .average()
-                .orElse(0.0);
-        int streakDays = calculateConsecutiveStreakDays(completedSessions);
-
-        long respondedInvitationCount = allSessions.stream()
-                .filter(session -> session.getStatus() != GameSession.GameStatus.INVITED)
-                .count();
-        long acceptedInvitationCount = allSessions.stream()
-                .filter(session -> ACCEPTED_INVITATION_STATUSES.contains(session.getStatus()))
-                .count();
-        double invitationAcceptanceRate = respondedInvitationCount == 0
-                ? 0.0
-                : ((double) acceptedInvitationCount / respondedInvitationCount) * 100.0;
-
-        double avgInvitationResponseSeconds = allSessions.stream()
-                .filter(session -> ACCEPTED_INVITATION_STATUSES.contains(session.getStatus()))
-                .filter(session -> session.getCreatedAt() != null && session.getStartedAt() != null)
-                .mapToLong(session -> session.getStartedAt().getTime() - session.getCreatedAt().getTime())
-                .filter(diffMillis -> diffMillis >= 0)
-                .average()
-                .orElse(0.0) / 1000.0;
-
-        return DashboardStatsDto.builder()
-                .gamesPlayed(gamesPlayed)
-                .averageScore(roundToTwoDecimals(averageScore))
-                .bestScore(bestScore)
-                .streakDays(streakDays)
-                .invitationAcceptanceRate(roundToTwoDecimals(invitationAcceptanceRate))
-                .avgInvitationResponseSeconds(roundToTwoDecimals(avgInvitationResponseSeconds))
-                .build();
+        return toDashboardStatsDto(userGameStatsService.getOrInitialize(user));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
     public List<BadgeDto> getBadges(UUID userId) {
-        userRepository.findById(userId)
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
 
-        List<GameSession> completedDesc = gameSessionRepository.findAllByUserIdAndStatusOrderByCompletedAtDesc(
-                userId,
-                GameSession.GameStatus.COMPLETED
-        );
-        List<GameSession> completedAsc = new ArrayList<>(completedDesc);
-        completedAsc.sort(Comparator.comparing(this::resolveSessionReferenceDate, Comparator.nullsLast(Date::compareTo)));
-
-        DashboardStatsDto stats = getDashboardStats(userId);
+        UserGameStats gameStats = userGameStatsService.getOrInitialize(user);
+        DashboardStatsDto stats = toDashboardStatsDto(gameStats);
+        Long lastCompletedAt = toEpochMillis(gameStats.getLastCompletedAt());
         List<BadgeDto> badges = new ArrayList<>();
 
         if (stats.getGamesPlayed() >= 1) {
@@ -813,7 +842,7 @@ public class GameService {
                     .code("FIRST_GAME")
                     .title("First Spark")
                     .description("Complete your first game together.")
-                    .earnedAt(resolveNthCompletionTimestamp(completedAsc, 1))
+                    .earnedAt(toEpochMillis(gameStats.getFirstCompletedAt()))
                     .build());
         }
         if (stats.getGamesPlayed() >= 5) {
@@ -821,7 +850,7 @@ public class GameService {
                     .code("FIVE_GAMES")
                     .title("Rhythm Builders")
                     .description("Complete 5 games as a couple.")
-                    .earnedAt(resolveNthCompletionTimestamp(completedAsc, 5))
+                    .earnedAt(toEpochMillis(gameStats.getFifthCompletedAt()))
                     .build());
         }
         if (stats.getGamesPlayed() >= 10) {
@@ -829,15 +858,15 @@ public class GameService {
                     .code("TEN_GAMES")
                     .title("Deeply In Sync")
                     .description("Complete 10 games as a couple.")
-                    .earnedAt(resolveNthCompletionTimestamp(completedAsc, 10))
+                    .earnedAt(toEpochMillis(gameStats.getTenthCompletedAt()))
                     .build());
         }
-        if (stats.getBestScore() >= 7) {
+        if (stats.getBestScore() >= UserGameStatsService.SHARP_GUESSER_SCORE) {
             badges.add(BadgeDto.builder()
                     .code("SHARP_GUESSER")
                     .title("Sharp Guesser")
                     .description("Score at least 7 in a single game.")
-                    .earnedAt(resolveScoreThresholdTimestamp(completedAsc, userId, 7))
+                    .earnedAt(toEpochMillis(gameStats.getSharpGuesserAt()))
                     .build());
         }
         if (stats.getStreakDays() >= 3) {
@@ -845,7 +874,7 @@ public class GameService {
                     .code("STREAK_3")
                     .title("Hot Streak")
                     .description("Play on 3 consecutive days.")
-                    .earnedAt(resolveLatestCompletionTimestamp(completedDesc))
+                    .earnedAt(lastCompletedAt)
                     .build());
         }
         if (stats.getInvitationAcceptanceRate() >= 70.0 && stats.getGamesPlayed() >= 3) {
@@ -853,14 +882,50 @@ public class GameService {
                     .code("RESPONSIVE_COUPLE")
                     .title("Responsive Couple")
                     .description("Keep your invitation acceptance rate above 70%.")
-                    .earnedAt(resolveLatestCompletionTimestamp(completedDesc))
+                    .earnedAt(lastCompletedAt)
                     .build());
         }
 
         return badges;
     }
 
+    private DashboardStatsDto toDashboardStatsDto(UserGameStats stats) {
+        int gamesPlayed = stats.getGamesCompleted();
+        double averageScore = gamesPlayed == 0 ? 0.0 : (double) stats.getTotalScore() / gamesPlayed;
+        double invitationAcceptanceRate = stats.getInvitationsResponded() == 0
+                ? 0.0
+                : ((double) stats.getInvitationsAccepted() / stats.getInvitationsResponded()) * 100.0;
+        double avgInvitationResponseSeconds = stats.getResponseTimeSamples() == 0
+                ? 0.0
+                : ((double) stats.getResponseTimeTotalMs() / stats.getResponseTimeSamples()) / 1000.0;
+
+        return DashboardStatsDto.builder()
+                .gamesPlayed(gamesPlayed)
+                .averageScore(roundToTwoDecimals(averageScore))
+                .bestScore(stats.getBestScore())
+                .streakDays(stats.getCurrentStreakDays())
+                .invitationAcceptanceRate(roundToTwoDecimals(invitationAcceptanceRate))
+                .avgInvitationResponseSeconds(roundToTwoDecimals(avgInvitationResponseSeconds))
+                .build();
+    }
+
+    /**
+     * Latest session that is active and not past its expiry. Read-only: sessions past
+     * expiry are skipped here and left for GameSessionExpirySweeper to transition.
+     */
     private Optional<GameSession> findLatestActiveSessionForCouple(UUID coupleId) {
+        Date now = new Date();
+        return gameSessionRepository.findByCouple_IdAndStatusIn(coupleId, ACTIVE_STATUSES).stream()
+                .filter(session -> !isPastExpiry(session, now))
+                .max(Comparator.comparing(GameSession::getCreatedAt, Comparator.nullsLast(Date::compareTo)));
+    }
+
+    /**
+     * Write-path variant used before creating an invitation: a stale session the sweeper
+     * has not reached yet would otherwise block the new one on the one-active-session
+     * index, so it is expired here.
+     */
+    private Optional<GameSession> expireStaleSessionsForCouple(UUID coupleId) {
         List<GameSession> candidateSessions =
                 gameSessionRepository.findByCouple_IdAndStatusIn(coupleId, ACTIVE_STATUSES);
         if (candidateSessions.isEmpty()) {
@@ -869,11 +934,16 @@ public class GameService {
 
         Date now = new Date();
         List<GameSession> expiredSessions = new ArrayList<>();
+        List<GameSession> expiredInvitations = new ArrayList<>();
         List<GameSession> activeSessions = new ArrayList<>();
 
         for (GameSession session : candidateSessions) {
+            GameSession.GameStatus previousStatus = session.getStatus();
             if (expireIfNeeded(session, now)) {
                 expiredSessions.add(session);
+                if (previousStatus == GameSession.GameStatus.INVITED) {
+                    expiredInvitations.add(session);
+                }
                 continue;
             }
             activeSessions.add(session);
@@ -881,6 +951,7 @@ public class GameService {
 
         if (!expiredSessions.isEmpty()) {
             gameSessionRepository.saveAll(expiredSessions);
+            expiredInvitations.forEach(this::recordExpiredInvitation);
         }
 
         return activeSessions.stream()
@@ -924,28 +995,51 @@ public class GameService {
             session.setCompletedAt(now);
         }
         session.setLastActivityAt(now);
+        sessionQuestionCache.evictAfterCommit(session.getId());
+        presenceRegistry.invalidateCoupleAfterCommit(session.getCouple());
         log.info("Session auto-expired: sessionId={}", session.getId());
         return true;
     }
 
+    private boolean isPastExpiry(GameSession session, Date now) {
+        if (!ACTIVE_STATUSES.contains(session.getStatus())) {
+            return false;
+        }
+        Date expiresAt = session.getExpiresAt();
+        if (expiresAt == null && session.getCreatedAt() != null) {
+            expiresAt = new Date(session.getCreatedAt().getTime() + SESSION_TTL_MILLIS);
+        }
+        return expiresAt != null && !expiresAt.after(now);
+    }
+
+    /**
+     * Read-path check: reports an expired session without writing the transition.
+     */
+    private void assertSessionNotPastExpiry(GameSession session) {
+        if (isPastExpiry(session, new Date())) {
+            throw new SessionExpiredException(session.getId());
+        }
+    }
+
     private void assertSessionNotExpired(GameSession session) {
         Date now = new Date();
+        GameSession.GameStatus previousStatus = session.getStatus();
         if (expireIfNeeded(session, now)) {
             gameSessionRepository.save(session);
+            if (previousStatus == GameSession.GameStatus.INVITED) {
+                recordExpiredInvitation(session);
+            }
             throw new SessionExpiredException(session.getId());
         }
     }
 
-    private Integer[] parseQuestionIds(String questionIdsCsv) {
-        if (questionIdsCsv == null || questionIdsCsv.isBlank()) {
-            return new Integer[0];
-        }
+    private void recordExpiredInvitation(GameSession session) {
+        userGameStatsService.recordInvitationExpired(session);
+    }
 
-        return Arrays.stream(questionIdsCsv.split(","))
-                .map(String::trim)
-                .filter(value -> !value.isEmpty())
-                .map(Integer::parseInt)
-                .toArray(Integer[]::new);
+    private int[] questionIdsOf(GameSession session) {
+        int[] questionIds = session.getQuestionIds();
+        return questionIds == null ? new int[0] : questionIds;
     }
 
     private int safeCurrentQuestionIndex(GameSession session, int totalQuestions) {
@@ -964,9 +1058,10 @@ public class GameService {
 
     private Integer resolveCurrentQuestionNumberForUser(
             GameSession session,
+            GameAnswerProgress progress,
             UUID userId,
             int totalQuestions,
-            Integer[] questionIds
+            int[] questionIds
     ) {
         if (session.getStatus() == GameSession.GameStatus.INVITED || totalQuestions <= 0) {
             return null;
@@ -977,8 +1072,8 @@ public class GameService {
         }
 
         Integer nextQuestionId = session.getStatus() == GameSession.GameStatus.ROUND2
-                ? resolveNextRound2QuestionIdForUser(session, userId, questionIds)
-                : resolveNextRound1QuestionIdForUser(session, userId, questionIds);
+                ? progress.nextRound2QuestionId(userId, questionIds)
+                : progress.nextRound1QuestionId(userId, questionIds);
 
         if (nextQuestionId == null) {
             return totalQuestions;
@@ -999,45 +1094,273 @@ public class GameService {
         gameSessionRepository.save(session);
     }
 
-    private Object resolveCurrentStateSnapshotForUser(GameSession session, UUID userId, Integer[] questionIds) {
+    private Object resolveCurrentStateSnapshotForUser(
+            GameSession session,
+            GameAnswerProgress progress,
+            UUID userId,
+            int[] questionIds
+    ) {
         if (session.getStatus() == GameSession.GameStatus.ROUND1) {
-            Integer nextQuestionId = resolveNextRound1QuestionIdForUser(session, userId, questionIds);
+            Integer nextQuestionId = progress.nextRound1QuestionId(userId, questionIds);
             if (nextQuestionId != null) {
-                return buildRound1QuestionPayload(session, nextQuestionId, questionIds, userId);
+                return buildRound1QuestionPayload(session, nextQuestionId, questionIds);
             }
 
-            return buildWaitingState(session, userId, "ROUND1", questionIds);
+            return buildWaitingState(session, progress, userId, "ROUND1", questionIds);
         }
 
         if (session.getStatus() == GameSession.GameStatus.ROUND2) {
-            Integer nextQuestionId = resolveNextRound2QuestionIdForUser(session, userId, questionIds);
+            Integer nextQuestionId = progress.nextRound2QuestionId(userId, questionIds);
             if (nextQuestionId != null) {
-                return buildRound2QuestionPayloadForQuestionIds(session, nextQuestionId, questionIds, userId);
+                return buildRound2QuestionPayloadForQuestionIds(session, progress, nextQuestionId, questionIds, userId);
             }
 
-            return buildWaitingState(session, userId, "ROUND2", questionIds);
+            return buildWaitingState(session, progress, userId, "ROUND2", questionIds);
         }
 
         return null;
     }
 
+    private Optional<QuestionPayloadDto> submitAnswerToLiveSession(
+            GameSessionState state,
+            UUID userId,
+            Integer questionId,
+            String answer
+    ) {
+        int player = requireLivePlayer(state, userId);
+        if (state.getStatus() != GameSession.GameStatus.ROUND1) {
+            throw new IllegalStateException("Game is not in ROUND1 state: " + state.getStatus());
+        }
+
+        int expectedPosition = state.nextRound1Position(player);
+        if (expectedPosition < 0) {
+            if (state.isRound1Complete()) {
+                gameSessionStateEngine.startRound2(state);
+                return Optional.of(buildLiveQuestionPayload(state, player, 0));
+            }
+            return Optional.empty();
+        }
+
+        int position = state.positionOf(questionId);
+        if (position >= 0 && state.hasRound1Answer(player, position)) {
+            log.warn("Answer already recorded for user {}, question {}. Ignoring duplicate.",
+                    userId, questionId);
+            return Optional.of(buildLiveQuestionPayload(state, player, expectedPosition));
+        }
+
+        if (position != expectedPosition) {
+            throw new IllegalStateException(
+                    String.format(
+                            "Question submission out of order. Expected question %s but received %s",
+                            state.questionIdAt(expectedPosition),
+                            questionId
+                    )
+            );
+        }
+
+        gameSessionStateEngine.recordRound1Answer(state, player, position, answer);
+        log.info("Answer recorded: session={}, user={}, question={}", state.getSessionId(), userId, questionId);
+
+        if (state.isRound1Complete()) {
+            log.info("Round 1 complete for session {}", state.getSessionId());
+            gameSessionStateEngine.startRound2(state);
+            return Optional.of(buildLiveQuestionPayload(state, player, 0));
+        }
+
+        int nextPosition = state.nextRound1Position(player);
+        if (nextPosition < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(buildLiveQuestionPayload(state, player, nextPosition));
+    }
+
+    private GuessResultDto submitGuessToLiveSession(
+            GameSessionState state,
+            UUID userId,
+            Integer questionId,
+            String guess
+    ) {
+        int player = requireLivePlayer(state, userId);
+        if (state.getStatus() != GameSession.GameStatus.ROUND2) {
+            throw new IllegalStateException("Game is not in ROUND2 state: " + state.getStatus());
+        }
+
+        int expectedPosition = state.nextRound2Position(player);
+        if (expectedPosition < 0) {
+            if (state.isRound2Complete()) {
+                throw new IllegalStateException("Round 2 already completed for this user");
+            }
+            throw new IllegalStateException("No Round 2 question available for this user");
+        }
+
+        int position = state.positionOf(questionId);
+        if (position < 0 || !state.hasRound1Answer(player, position)) {
+            throw new IllegalStateException("No Round 1 answer found for this user and question");
+        }
+
+        if (state.hasRound2Guess(player, position)) {
+            log.warn("Guess already recorded for user {}, question {}. Ignoring duplicate.", userId, questionId);
+            return buildLiveGuessResult(state, player, position);
+        }
+
+        if (position != expectedPosition) {
+            throw new IllegalStateException(
+                    String.format(
+                            "Guess submission out of order. Expected question %s but received %s",
+                            state.questionIdAt(expectedPosition),
+                            questionId
+                    )
+            );
+        }
+
+        gameSessionStateEngine.recordRound2Guess(state, player, position, guess);
+        log.info("Guess recorded: session={}, user={}, question={}", state.getSessionId(), userId, questionId);
+
+        return buildLiveGuessResult(state, player, position);
+    }
+
+    private GuessResultDto buildLiveGuessResult(GameSessionState state, int player, int position) {
+        String partnerAnswer = state.round1Answer(1 - player, position);
+        if (partnerAnswer == null) {
+            throw new IllegalStateException("Partner's Round 1 answer not found");
+        }
+
+        Integer questionId = state.questionIdAt(position);
+        SessionQuestionCache.CachedQuestion question = sessionQuestionCache.get(state.getSessionId(), questionId);
+        String yourGuess = state.round2Guess(player, position);
+
+        return GuessResultDto.builder()
+                .sessionId(state.getSessionId())
+                .questionId(questionId)
+                .questionNumber(position + 1)
+                .questionText(question.text())
+                .yourGuess(yourGuess)
+                .partnerAnswer(partnerAnswer)
+                .correct(partnerAnswer.equals(yourGuess))
+                .correctCount(state.correctGuessCount(player))
+                .build();
+    }
+
+    private Optional<Object> resolveLiveStateAfterGuessSubmission(GameSessionState state, UUID userId) {
+        int player = requireLivePlayer(state, userId);
+        if (state.getStatus() != GameSession.GameStatus.ROUND2) {
+            return Optional.empty();
+        }
+
+        if (state.isRound2Complete()) {
+            gameSessionStateEngine.flushSession(state.getSessionId());
+            GameResultsDto results = completeGameIfReady(state.getSessionId(), userId);
+            gameSessionStateEngine.markCompleted(state);
+            return Optional.of(results);
+        }
+
+        gameSessionStateEngine.recordActivity(state);
+        return Optional.ofNullable(resolveLiveStateSnapshot(state, player));
+    }
+
+    private Object resolveLiveStateSnapshot(GameSessionState state, int player) {
+        if (state.getStatus() == GameSession.GameStatus.ROUND1) {
+            int nextPosition = state.nextRound1Position(player);
+            if (nextPosition >= 0) {
+                return buildLiveQuestionPayload(state, player, nextPosition);
+            }
+            return buildLiveWaitingState(state, player, "ROUND1");
+        }
+
+        if (state.getStatus() == GameSession.GameStatus.ROUND2) {
+            int nextPosition = state.nextRound2Position(player);
+            if (nextPosition >= 0) {
+                return buildLiveQuestionPayload(state, player, nextPosition);
+            }
+            return buildLiveWaitingState(state, player, "ROUND2");
+        }
+
+        return null;
+    }
+
+    private QuestionPayloadDto buildLiveResumePayload(GameSessionState state, UUID userId) {
+        int player = requireLivePlayer(state, userId);
+        int nextPosition = state.getStatus() == GameSession.GameStatus.ROUND2
+                ? state.nextRound2Position(player)
+                : state.nextRound1Position(player);
+        if (nextPosition < 0) {
+            throw new ActiveGameSessionExistsException(state.getSessionId());
+        }
+        return buildLiveQuestionPayload(state, player, nextPosition);
+    }
+
+    private Integer resolveLiveQuestionNumber(GameSessionState state, UUID userId) {
+        int player = requireLivePlayer(state, userId);
+        int nextPosition = state.getStatus() == GameSession.GameStatus.ROUND2
+                ? state.nextRound2Position(player)
+                : state.nextRound1Position(player);
+        return nextPosition < 0 ? state.questionCount() : nextPosition + 1;
+    }
+
+    private QuestionPayloadDto buildLiveQuestionPayload(GameSessionState state, int player, int position) {
+        boolean roundTwo = state.getStatus() == GameSession.GameStatus.ROUND2;
+        return buildQuestionPayload(
+                state.getSessionId(),
+                state.questionIdAt(position),
+                position + 1,
+                roundTwo ? "ROUND2" : "ROUND1",
+                roundTwo ? state.correctGuessCount(player) : null
+        );
+    }
+
+    private GameRoundStateDto buildLiveWaitingState(GameSessionState state, int player, String round) {
+        boolean roundTwo = "ROUND2".equals(round);
+        int[] questionIds = new int[state.questionCount()];
+        for (int position = 0; position < questionIds.length; position++) {
+            questionIds[position] = state.questionIdAt(position);
+        }
+
+        return buildWaitingState(
+                state.getSessionId(),
+                round,
+                questionIds.length,
+                roundTwo ? state.correctGuessCount(player) : null,
+                buildReviewItems(questionIds, questionId -> {
+                    int position = state.positionOf(questionId);
+                    return roundTwo ? state.round2Guess(player, position) : state.round1Answer(player, position);
+                })
+        );
+    }
+
+    private int requireLivePlayer(GameSessionState state, UUID userId) {
+        int player = state.playerIndexOf(userId);
+        if (player < 0) {
+            throw new IllegalStateException("User is not part of this game session");
+        }
+        return player;
+    }
+
     private QuestionPayloadDto buildResumePayloadForAcceptedSession(GameSession session, UUID userId) {
-        Integer[] questionIds = parseQuestionIds(session.getQuestionIds());
+        Optional<QuestionPayloadDto> livePayload = gameSessionStateEngine.withLiveState(
+                session.getId(),
+                state -> buildLiveResumePayload(state, userId)
+        );
+        if (livePayload.isPresent()) {
+            return livePayload.get();
+        }
+
+        int[] questionIds = questionIdsOf(session);
         if (questionIds.length == 0) {
             throw new IllegalStateException("Session has no question IDs assigned");
         }
 
+        GameAnswerProgress progress = loadAnswerProgress(session.getId());
         if (session.getStatus() == GameSession.GameStatus.ROUND1) {
-            Integer nextQuestionId = resolveNextRound1QuestionIdForUser(session, userId, questionIds);
+            Integer nextQuestionId = progress.nextRound1QuestionId(userId, questionIds);
             if (nextQuestionId != null) {
-                return buildRound1QuestionPayload(session, nextQuestionId, questionIds, userId);
+                return buildRound1QuestionPayload(session, nextQuestionId, questionIds);
             }
         }
 
         if (session.getStatus() == GameSession.GameStatus.ROUND2) {
-            Integer nextQuestionId = resolveNextRound2QuestionIdForUser(session, userId, questionIds);
+            Integer nextQuestionId = progress.nextRound2QuestionId(userId, questionIds);
             if (nextQuestionId != null) {
-                return buildRound2QuestionPayloadForQuestionIds(session, nextQuestionId, questionIds, userId);
+                return buildRound2QuestionPayloadForQuestionIds(session, progress, nextQuestionId, questionIds, userId);
             }
         }
 
@@ -1049,7 +1372,8 @@ public class GameService {
         if (lockedSession.getStatus() == GameSession.GameStatus.COMPLETED) {
             return getCompletedResultsForUser(sessionId, userId);
         }
-        if (!areBothUsersFinishedRound2(lockedSession)) {
+        int[] questionIds = questionIdsOf(lockedSession);
+        if (!areBothUsersFinishedRound2(lockedSession, loadAnswerProgress(sessionId), questionIds.length)) {
             throw new IllegalStateException("Game results are not available until both players finish Round 2");
         }
         return calculateAndCompleteGame(sessionId);
@@ -1057,87 +1381,42 @@ public class GameService {
 
     private Optional<QuestionPayloadDto> resolveNextRound1QuestionForUser(
             GameSession session,
+            GameAnswerProgress progress,
             UUID userId,
-            Integer[] questionIds
+            int[] questionIds
     ) {
-        Integer nextQuestionId = resolveNextRound1QuestionIdForUser(session, userId, questionIds);
+        Integer nextQuestionId = progress.nextRound1QuestionId(userId, questionIds);
         if (nextQuestionId == null) {
             return Optional.empty();
         }
-        return Optional.of(buildRound1QuestionPayload(session, nextQuestionId, questionIds, userId));
-    }
-
-    private Integer resolveNextRound1QuestionIdForUser(GameSession session, UUID userId, Integer[] questionIds) {
-        Map<Integer, GameAnswer> answerByQuestionId = findAnswersByQuestionId(session.getId(), userId);
-        for (Integer questionId : questionIds) {
-            GameAnswer answer = answerByQuestionId.get(questionId);
-            if (answer == null || answer.getRound1Answer() == null) {
-                return questionId;
-            }
-        }
-        return null;
+        return Optional.of(buildRound1QuestionPayload(session, nextQuestionId, questionIds));
     }
 
-    private Integer resolveNextRound2QuestionIdForUser(GameSession session, UUID userId, Integer[] questionIds) {
-        Map<Integer, GameAnswer> answerByQuestionId = findAnswersByQuestionId(session.getId(), userId);
-        for (Integer questionId : questionIds) {
-            GameAnswer answer = answerByQuestionId.get(questionId);
-            if (answer == null || answer.getRound2Guess() == null) {
-                return questionId;
-            }
-        }
-        return null;
+    private GameAnswerProgress loadAnswerProgress(UUID sessionId) {
+        return GameAnswerProgress.from(gameAnswerRepository.findAnswerStatesByGameSessionId(sessionId));
     }
 
-    private boolean areBothUsersFinishedRound1(GameSession session) {
-        Couple couple = session.getCouple();
-        long totalQuestions = parseQuestionIds(session.getQuestionIds()).length;
+    private boolean areBothUsersFinishedRound1(GameSession session, GameAnswerProgress progress, int totalQuestions) {
         if (totalQuestions == 0) {
             return false;
         }
 
-        return gameAnswerRepository.countByGameSession_IdAndUser_IdAndRound1AnswerIsNotNull(session.getId(), couple.getUser1().getId()) >= totalQuestions
-                && gameAnswerRepository.countByGameSession_IdAndUser_IdAndRound1AnswerIsNotNull(session.getId(), couple.getUser2().getId()) >= totalQuestions;
+        Couple couple = session.getCouple();
+        return progress.round1Count(couple.getUser1().getId()) >= totalQuestions
+                && progress.round1Count(couple.getUser2().getId()) >= totalQuestions;
     }
 
-    private boolean areBothUsersFinishedRound2(GameSession session) {
-        Couple couple = session.getCouple();
-        long totalQuestions = parseQuestionIds(session.getQuestionIds()).length;
+    private boolean areBothUsersFinishedRound2(GameSession session, GameAnswerProgress progress, int totalQuestions) {
         if (totalQuestions == 0) {
             return false;
         }
 
-        return gameAnswerRepository.countByGameSession_IdAndUser_IdAndRound2GuessIsNotNull(session.getId(), couple.getUser1().getId()) >= totalQuestions
-                && gameAnswerRepository.countByGameSession_IdAndUser_IdAndRound2GuessIsNotNull(session.getId(), couple.getUser2().getId()) >= totalQuestions;
-    }
-
-    private Map<Integer, GameAnswer> findAnswersByQuestionId(UUID sessionId, UUID userId) {
-        return gameAnswerRepository.findByGameSession_IdAndUser_Id(sessionId, userId)
-                .stream()
-                .collect(Collectors.toMap(
-                        answer -> answer.getQuestion().getId(),
-                        answer -> answer,
-                        this::preferMostCompleteAnswer
-                ));
-    }
-
-    private GameAnswer preferMostCompleteAnswer(GameAnswer existingAnswer, GameAnswer candidateAnswer) {
-        boolean existingHasGuess = existingAnswer.getRound2Guess() != null;
-        boolean candidateHasGuess = candidateAnswer.getRound2Guess() != null;
-        if (candidateHasGuess && !existingHasGuess) {
-            return candidateAnswer;
-        }
-
-        boolean existingHasRound1 = existingAnswer.getRound1Answer() != null;
-        boolean candidateHasRound1 = candidateAnswer.getRound1Answer() != null;
-        if (candidateHasRound1 && !existingHasRound1) {
-            return candidateAnswer;
-        }
-
-        return existingAnswer;
+        Couple couple = session.getCouple();
+        return progress.round2Count(couple.getUser1().getId()) >= totalQuestions
+                && progress.round2Count(couple.getUser2().getId()) >= totalQuestions;
     }
 
-    private int resolveQuestionNumber(Integer questionId, Integer[] questionIds) {
+    private int resolveQuestionNumber(Integer questionId, int[] questionIds) {
         for (int i = 0; i < questionIds.length; i++) {
             if (Objects.equals(questionIds[i], questionId)) {
                 return i + 1;
@@ -1146,102 +1425,107 @@ public class GameService {
         throw new IllegalStateException("Question " + questionId + " is not part of this game session");
     }
 
-    private int calculateCorrectGuessCount(GameSession session, UUID userId) {
+    private UUID resolvePartnerId(GameSession session, UUID userId) {
         Couple couple = session.getCouple();
-        UUID partnerId = couple.getUser1().getId().equals(userId)
+        return couple.getUser1().getId().equals(userId)
                 ? couple.getUser2().getId()
                 : couple.getUser1().getId();
-
-        Map<Integer, GameAnswer> myAnswers = findAnswersByQuestionId(session.getId(), userId);
-        Map<Integer, GameAnswer> partnerAnswers = findAnswersByQuestionId(session.getId(), partnerId);
-
-        int correctCount = 0;
-        for (Map.Entry<Integer, GameAnswer> entry : myAnswers.entrySet()) {
-            GameAnswer myAnswer = entry.getValue();
-            GameAnswer partnerAnswer = partnerAnswers.get(entry.getKey());
-            if (myAnswer != null
-                    && partnerAnswer != null
-                    && myAnswer.getRound2Guess() != null
-                    && myAnswer.getRound2Guess().equals(partnerAnswer.getRound1Answer())) {
-                correctCount++;
-            }
-        }
-        return correctCount;
     }
 
     private QuestionPayloadDto buildRound1QuestionPayload(
             GameSession session,
             Integer questionId,
-            Integer[] questionIds,
-            UUID userId
+            int[] questionIds
     ) {
         int questionNumber = resolveQuestionNumber(questionId, questionIds);
-        return buildQuestionPayload(session, questionId, questionNumber, "ROUND1", null);
+        return buildQuestionPayload(session.getId(), questionId, questionNumber, "ROUND1", null);
     }
 
     private QuestionPayloadDto buildRound2QuestionPayload(
             GameSession session,
+            GameAnswerProgress progress,
             Integer questionId,
             int questionNumber,
             UUID userId
     ) {
         return buildQuestionPayload(
-                session,
+                session.getId(),
                 questionId,
                 questionNumber,
                 "ROUND2",
-                calculateCorrectGuessCount(session, userId)
+                progress.correctGuessCount(userId, resolvePartnerId(session, userId))
         );
     }
 
     private QuestionPayloadDto buildRound2QuestionPayloadForQuestionIds(
             GameSession session,
+            GameAnswerProgress progress,
             Integer questionId,
-            Integer[] questionIds,
+            int[] questionIds,
             UUID userId
     ) {
-        return buildRound2QuestionPayload(session, questionId, resolveQuestionNumber(questionId, questionIds), userId);
+        return buildRound2QuestionPayload(
+                session, progress, questionId, resolveQuestionNumber(questionId, questionIds), userId);
     }
 
     private GameRoundStateDto buildWaitingState(
             GameSession session,
+            GameAnswerProgress progress,
             UUID userId,
             String round,
-            Integer[] questionIds
+            int[] questionIds
+    ) {
+        boolean roundTwo = "ROUND2".equals(round);
+        return buildWaitingState(
+                session.getId(),
+                round,
+                questionIds.length,
+                roundTwo ? progress.correctGuessCount(userId, resolvePartnerId(session, userId)) : null,
+                buildReviewItems(
+                        questionIds,
+                        questionId -> roundTwo
+                                ? progress.round2Guess(userId, questionId)
+                                : progress.round1Answer(userId, questionId)
+                )
+        );
+    }
+
+    private GameRoundStateDto buildWaitingState(
+            UUID sessionId,
+            String round,
+            int totalQuestions,
+            Integer correctCount,
+            List<GameReviewItemDto> reviewItems
     ) {
         String submittedLabel = "ROUND2".equals(round) ? "guesses" : "answers";
         return GameRoundStateDto.builder()
-                .sessionId(session.getId())
+                .sessionId(sessionId)
                 .round(round)
                 .status("WAITING_FOR_PARTNER")
                 .message("You finished your " + submittedLabel + ". Waiting for your partner to finish.")
-                .totalQuestions(questionIds.length)
-                .completedCount(questionIds.length)
-                .correctCount("ROUND2".equals(round) ? calculateCorrectGuessCount(session, userId) : null)
-                .reviewItems(buildReviewItems(session, userId, round, questionIds))
+                .totalQuestions(totalQuestions)
+                .completedCount(totalQuestions)
+                .correctCount(correctCount)
+                .reviewItems(reviewItems)
                 .build();
     }
 
     private List<GameReviewItemDto> buildReviewItems(
-            GameSession session,
-            UUID userId,
-            String round,
-            Integer[] questionIds
+            int[] questionIds,
+            Function<Integer, String> submittedValueByQuestionId
     ) {
-        Map<Integer, GameAnswer> answerByQuestionId = findAnswersByQuestionId(session.getId(), userId);
-        List<GameReviewItemDto> reviewItems = new ArrayList<>();
+        List<Integer> submittedQuestionIds = Arrays.stream(questionIds)
+                .boxed()
+                .filter(questionId -> submittedValueByQuestionId.apply(questionId) != null)
+                .toList();
+        Map<Integer, String> questionTextById = questionRepository.findAllById(submittedQuestionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Question::getText));
 
+        List<GameReviewItemDto> reviewItems = new ArrayList<>();
         for (int i = 0; i < questionIds.length; i++) {
             Integer questionId = questionIds[i];
-            GameAnswer answer = answerByQuestionId.get(questionId);
-            if (answer == null) {
-                continue;
-            }
-
-            String submittedValue = "ROUND2".equals(round)
-                    ? answer.getRound2Guess()
-                    : answer.getRound1Answer();
-            if (submittedValue == null) {
+            String submittedValue = submittedValueByQuestionId.apply(questionId);
+            if (submittedValue == null || !questionTextById.containsKey(questionId)) {
                 continue;
             }
 
@@ -1249,7 +1533,7 @@ public class GameService {
                     GameReviewItemDto.builder()
                             .questionId(questionId)
                             .questionNumber(i + 1)
-                            .questionText(answer.getQuestion().getText())
+                            .questionText(questionTextById.get(questionId))
                             .submittedValue(submittedValue)
                             .build()
             );
@@ -1258,29 +1542,16 @@ public class GameService {
         return reviewItems;
     }
 
-    private Comparator<GameSession> buildHistoryComparator(String sortOrder) {
-        Comparator<GameSession> comparator = Comparator
-                .comparing(this::resolveSessionReferenceDate, Comparator.nullsLast(Date::compareTo))
-                .thenComparing(GameSession::getCreatedAt, Comparator.nullsLast(Date::compareTo));
-        if ("oldest".equalsIgnoreCase(sortOrder)) {
-            return comparator;
-        }
-        return comparator.reversed();
-    }
-
-    private boolean matchesWinnerFilter(GameSession session, UUID userId, String winnerFilter) {
-        int myScore = resolveMyScore(session, userId);
-        int partnerScore = resolvePartnerScore(session, userId);
+    private String normalizeWinnerFilter(String winnerFilter) {
         String normalized = winnerFilter == null ? "all" : winnerFilter.trim().toLowerCase(Locale.ROOT);
-
         return switch (normalized) {
-            case "self" -> myScore > partnerScore;
-            case "partner" -> myScore < partnerScore;
-            default -> true;
+            case "self" -> "SELF";
+            case "partner" -> "PARTNER";
+            default -> "ALL";
         };
     }
 
-    private GameHistoryItemDto toGameHistoryItemDto(GameSession session, UUID userId) {
+    private GameHistoryItemDto toGameHistoryItemDto(GameSession session, UUID userId, QuestionCategory category) {
         Couple couple = session.getCouple();
         boolean isUser1 = couple.getUser1().getId().equals(userId);
         String partnerName = isUser1 ? couple.getUser2().getName() : couple.getUser1().getName();
@@ -1304,7 +1575,7 @@ public class GameService {
                 .partnerName(partnerName)
                 .categoryId(session.getCategoryId())
                 .deckType(session.getDeckType() == null ? GameSession.DeckType.STANDARD_CATEGORY.name() : session.getDeckType().name())
-                .deckName(resolveDeckName(session, null))
+                .deckName(resolveDeckName(session, category))
                 .result(result)
                 .build();
     }
@@ -1321,58 +1592,6 @@ public class GameService {
         return partnerScore == null ? 0 : partnerScore;
     }
 
-    private int calculateConsecutiveStreakDays(List<GameSession> completedSessions) {
-        List<LocalDate> completionDates = completedSessions.stream()
-                .map(this::resolveSessionReferenceDate)
-                .filter(Objects::nonNull)
-                .map(date -> date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate())
-                .distinct()
-                .sorted(Comparator.reverseOrder())
-                .toList();
-
-        if (completionDates.isEmpty()) {
-            return 0;
-        }
-
-        int streak = 1;
-        LocalDate expectedNextDate = completionDates.get(0).minusDays(1);
-        for (int i = 1; i < completionDates.size(); i++) {
-            LocalDate current = completionDates.get(i);
-            if (!current.equals(expectedNextDate)) {
-                break;
-            }
-            streak++;
-            expectedNextDate = expectedNextDate.minusDays(1);
-        }
-        return streak;
-    }
-
-    private Long resolveNthCompletionTimestamp(List<GameSession> completedAsc, int n) {
-        if (n <= 0 || completedAsc.size() < n) {
-            return null;
-        }
-        return toEpochMillis(resolveSessionReferenceDate(completedAsc.get(n - 1)));
-    }
-
-    private Long resolveScoreThresholdTimestamp(List<GameSession> completedAsc, UUID userId, int threshold) {
-        return completedAsc.stream()
-                .filter(session -> resolveMyScore(session, userId) >= threshold)
-                .map(this::resolveSessionReferenceDate)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .map(this::toEpochMillis)
-                .orElse(null);
-    }
-
-    private Long resolveLatestCompletionTimestamp(List<GameSession> completedDesc) {
-        return completedDesc.stream()
-                .map(this::resolveSessionReferenceDate)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .map(this::toEpochMillis)
-                .orElse(null);
-    }
-
     private Date resolveSessionReferenceDate(GameSession session) {
         if (session.getCompletedAt() != null) {
             return session.getCompletedAt();
@@ -1402,34 +1621,33 @@ public class GameService {
         return value == null ? null : value.getTime();
     }
 
-    private List<Question> loadQuestionsForSessionStart(GameSession session) {
+    private Long toEpochMillis(Instant value) {
+        return value == null ? null : value.toEpochMilli();
+    }
+
+    private QuestionSampler.Sample sampleQuestionsForSessionStart(GameSession session) {
         GameSession.DeckType deckType = session.getDeckType() == null
                 ? GameSession.DeckType.STANDARD_CATEGORY
                 : session.getDeckType();
 
         if (deckType == GameSession.DeckType.CUSTOM_COUPLE) {
-            ensureCustomDeckPlayable(session.getCouple());
-            return questionRepository.findByCouple_IdAndSourceTypeAndArchivedFalse(
-                    session.getCouple().getId(),
-                    Question.SourceType.CUSTOM_COUPLE
-            );
+            CustomDeckCache.CustomDeck deck = ensureCustomDeckPlayable(session.getCouple());
+            return questionSampler.sampleCustomDeck(session.getCouple().getId(), deck, QUESTIONS_PER_GAME);
         }
 
-        return questionRepository.findByCategory_Id(session.getCategoryId());
+        return questionSampler.sampleCategory(session.getCategoryId(), session.getCouple().getId(), QUESTIONS_PER_GAME);
     }
 
-    private void ensureCustomDeckPlayable(Couple couple) {
-        long customQuestionCount = questionRepository.countByCouple_IdAndSourceTypeAndArchivedFalse(
-                couple.getId(),
-                Question.SourceType.CUSTOM_COUPLE
-        );
-        if (customQuestionCount < CustomQuestionDeckMetadata.MINIMUM_PLAYABLE_QUESTIONS) {
+    private CustomDeckCache.CustomDeck ensureCustomDeckPlayable(Couple couple) {
+        CustomDeckCache.CustomDeck deck = customDeckCache.deck(couple.getId());
+        if (deck.size() < CustomQuestionDeckMetadata.MINIMUM_PLAYABLE_QUESTIONS) {
             throw new IllegalStateException(String.format(
                     "Your custom couple deck needs at least %d active questions to play. Current count: %d",
                     CustomQuestionDeckMetadata.MINIMUM_PLAYABLE_QUESTIONS,
-                    customQuestionCount
+                    deck.size()
             ));
         }
+        return deck;
     }
 
     private String resolveDeckName(GameSession session, QuestionCategory category) {
@@ -1469,28 +1687,12 @@ public class GameService {
     }
 
     private QuestionPayloadDto buildQuestionPayload(
-            GameSession session,
+            UUID sessionId,
             Integer questionId,
             int questionNumber,
             String round,
             Integer correctCountSoFar) {
-
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new IllegalStateException("Question not found: " + questionId));
-
-        return QuestionPayloadDto.builder()
-                .sessionId(session.getId())
-                .questionId(question.getId())
-                .questionNumber(questionNumber)
-                .totalQuestions(QUESTIONS_PER_GAME)
-                .questionText(question.getText())
-                .optionA(question.getOptionA())
-                .optionB(question.getOptionB())
-                .optionC(question.getOptionC())
-                .optionD(question.getOptionD())
-                .round(round)
-                .customQuestion(question.getSourceType() == Question.SourceType.CUSTOM_COUPLE)
-                .correctCountSoFar(correctCountSoFar)
-                .build();
+        return sessionQuestionCache.get(sessionId, questionId)
+                .toPayload(sessionId, questionNumber, QUESTIONS_PER_GAME, round, correctCountSoFar);
     }
 }
@@ -0,0 +1,173 @@
+package com.onlyyours.service;
+
+import com.onlyyours.dto.GameStatusDto;
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.repository.GameSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves active sessions past their expires_at to EXPIRED, so request paths never
+ * have to write the transition themselves.
+ *
+ * Each chunk runs in its own transaction: it takes the sweep advisory lock (another
+ * instance holding it ends this run), claims due rows with SKIP LOCKED, flips them in
+ * one bulk UPDATE and, in the same transaction, records expired invitations in the
+ * stats rows and queues SESSION_EXPIRED pushes in the outbox. Connected clients are
+ * told on the game topic once the chunk has committed.
+ */
+@Component
+@Slf4j
+public class GameSessionExpirySweeper {
+
+    static final long ADVISORY_LOCK_KEY = 0x4F59_0001L;
+
+    private static final EnumSet<GameSession.GameStatus> ACTIVE_STATUSES = EnumSet.of(
+            GameSession.GameStatus.INVITED,
+            GameSession.GameStatus.ROUND1,
+            GameSession.GameStatus.ROUND2
+    );
+
+    private final GameSessionRepository gameSessionRepository;
+    private final UserGameStatsService userGameStatsService;
+    private final PushNotificationService pushNotificationService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final DatabaseAdvisoryLock advisoryLock;
+    private final SessionQuestionCache sessionQuestionCache;
+    private final PresenceRegistry presenceRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public GameSessionExpirySweeper(
+            GameSessionRepository gameSessionRepository,
+            UserGameStatsService userGameStatsService,
+            PushNotificationService pushNotificationService,
+            SimpMessagingTemplate messagingTemplate,
+            DatabaseAdvisoryLock advisoryLock,
+            SessionQuestionCache sessionQuestionCache,
+            PresenceRegistry presenceRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${game.expiry-sweeper.enabled:true}") boolean enabled,
+            @Value("${game.expiry-sweeper.batch-size:200}") int batchSize
+    ) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.userGameStatsService = userGameStatsService;
+        this.pushNotificationService = pushNotificationService;
+        this.messagingTemplate = messagingTemplate;
+        this.advisoryLock = advisoryLock;
+        this.sessionQuestionCache = sessionQuestionCache;
+        this.presenceRegistry = presenceRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(
+            initialDelayString = "${game.expiry-sweeper.initial-delay-ms:15000}",
+            fixedDelayString = "${game.expiry-sweeper.interval-ms:60000}"
+    )
+    public void runScheduledSweep() {
+        if (enabled) {
+            sweepExpiredSessions();
+        }
+    }
+
+    /**
+     * @return number of sessions expired in this run
+     */
+    public int sweepExpiredSessions() {
+        int expired = 0;
+        List<UUID> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> expireChunk());
+            if (chunk == null) {
+                break;
+            }
+            chunk.forEach(this::broadcastExpired);
+            expired += chunk.size();
+        } while (chunk.size() == batchSize);
+
+        if (expired > 0) {
+            log.info("Expired {} game session(s)", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * @return ids of the sessions expired, or null when another instance is sweeping
+     */
+    private List<UUID> expireChunk() {
+        if (!advisoryLock.tryLockForTransaction(ADVISORY_LOCK_KEY)) {
+            log.debug("Skipping expiry sweep: another instance holds the lock");
+            return null;
+        }
+
+        Date now = new Date();
+        List<GameSession> due = gameSessionRepository.findByStatusInAndExpiresAtBefore(
+                ACTIVE_STATUSES,
+                now,
+                PageRequest.of(0, batchSize, Sort.by("expiresAt"))
+        );
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = due.stream().map(GameSession::getId).toList();
+        gameSessionRepository.expireSessions(ids, ACTIVE_STATUSES, now);
+
+        for (GameSession session : due) {
+            boolean invitation = session.getStatus() == GameSession.GameStatus.INVITED;
+            if (invitation) {
+                userGameStatsService.recordInvitationExpired(session);
+            }
+            presenceRegistry.invalidateCoupleAfterCommit(session.getCouple());
+            notifyPlayers(session, invitation);
+        }
+        return ids;
+    }
+
+    private void notifyPlayers(GameSession session, boolean invitation) {
+        String title = invitation ? "Invitation Expired" : "Game Expired";
+        String body = invitation
+                ? "Your game invitation expired. Start a new game to play together."
+                : "Your game expired before it was finished. Start a new game to continue.";
+        Couple couple = session.getCouple();
+        for (UUID userId : List.of(couple.getUser1().getId(), couple.getUser2().getId())) {
+            pushNotificationService.sendGameplayEventToUser(
+                    userId,
+                    PushNotificationService.GameplayEventType.SESSION_EXPIRED,
+                    session.getId(),
+                    title,
+                    body
+            );
+        }
+    }
+
+    private void broadcastExpired(UUID sessionId) {
+        sessionQuestionCache.evict(sessionId);
+        messagingTemplate.convertAndSend(
+                "/topic/game/" + sessionId,
+                GameStatusDto.builder()
+                        .sessionId(sessionId)
+                        .status("SESSION_EXPIRED")
+                        .message("This game session expired. Start a new game to continue.")
+                        .eventType("SESSION_EXPIRED")
+                        .timestamp(System.currentTimeMillis())
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,220 @@
+package com.onlyyours.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs work for a game session one task at a time, in submission order, while
+ * different sessions run in parallel on a shared worker pool.
+ *
+ * Each session with pending work has a mailbox; the first task to arrive schedules
+ * a drain on the pool and later tasks queue behind it. Moves for the same session
+ * therefore never wait on each other's row lock while holding a JDBC connection,
+ * and findByIdForUpdate is left as a safety net for writers on other instances.
+ * A mailbox is dropped as soon as it is empty, so idle sessions cost nothing.
+ *
+ * The caller's message handler returns once the task is queued, so the queue wait
+ * and run timers are tagged with the STOMP destination that produced the task.
+ */
+@Component
+@Slf4j
+public class GameSessionMailbox {
+
+    static final String UNTAGGED_DESTINATION = "none";
+
+    private final Map<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final int maxPendingPerSession;
+    private final int throughput;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Map<String, TaskTimers> timersByDestination = new ConcurrentHashMap<>();
+
+    public GameSessionMailbox(
+            MeterRegistry meterRegistry,
+            @Value("${game.mailbox.pool-size:8}") int poolSize,
+            @Value("${game.mailbox.max-pending-per-session:64}") int maxPendingPerSession,
+            @Value("${game.mailbox.throughput:16}") int throughput
+    ) {
+        this.workers = new ThreadPoolExecutor(
+                Math.max(1, poolSize),
+                Math.max(1, poolSize),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                namedThreadFactory()
+        );
+        this.maxPendingPerSession = Math.max(1, maxPendingPerSession);
+        this.throughput = Math.max(1, throughput);
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("game.mailbox.rejected")
+                .description("Session tasks rejected because the session mailbox was full")
+                .register(meterRegistry);
+        Gauge.builder("game.mailbox.active", mailboxes, Map::size)
+                .description("Game sessions with queued or running work")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Same as {@link #submit(UUID, String, Supplier)} with the {@code none} timer tag.
+     */
+    public <T> CompletableFuture<T> submit(UUID sessionId, Supplier<T> task) {
+        return submit(sessionId, UNTAGGED_DESTINATION, task);
+    }
+
+    /**
+     * Queues work for a session. The returned future completes with the task's result
+     * or exception once every task submitted earlier for the same session has run.
+     *
+     * @param destination fixed STOMP destination the task handles, used as the timer
+     *                    tag; callers must not pass client-supplied strings
+     */
+    public <T> CompletableFuture<T> submit(UUID sessionId, String destination, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        TaskTimers timers = timersByDestination.computeIfAbsent(destination, this::registerTimers);
+        long enqueuedAt = System.nanoTime();
+        Runnable envelope = () -> {
+            long startedAt = System.nanoTime();
+            timers.waitTimer().record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                result.complete(task.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                timers.runTimer().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+
+        boolean[] scheduleDrain = {false};
+        boolean[] full = {false};
+        Mailbox mailbox = mailboxes.compute(sessionId, (id, existing) -> {
+            Mailbox box = existing;
+            if (box == null) {
+                box = new Mailbox(id);
+                scheduleDrain[0] = true;
+            } else if (box.pending.get() >= maxPendingPerSession) {
+                full[0] = true;
+                return box;
+            }
+            box.tasks.add(new Task(envelope, result));
+            box.pending.incrementAndGet();
+            return box;
+        });
+
+        if (full[0]) {
+            rejected.increment();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Too many pending moves for session " + sessionId));
+            return result;
+        }
+        if (scheduleDrain[0]) {
+            schedule(mailbox);
+        }
+        return result;
+    }
+
+    private TaskTimers registerTimers(String destination) {
+        return new TaskTimers(
+                Timer.builder("game.mailbox.wait")
+                        .description("Time a session task spent queued behind earlier tasks for the same session")
+                        .tag("destination", destination)
+                        .register(meterRegistry),
+                Timer.builder("game.mailbox.run")
+                        .description("Time spent running a session task")
+                        .tag("destination", destination)
+                        .register(meterRegistry)
+        );
+    }
+
+    int activeMailboxes() {
+        return mailboxes.size();
+    }
+
+    private void schedule(Mailbox mailbox) {
+        try {
+            workers.execute(() -> drain(mailbox));
+        } catch (RejectedExecutionException e) {
+            // Only happens while shutting down. Once the mailbox is unmapped nothing
+            // else can be queued on it, so fail whatever is left.
+            mailboxes.remove(mailbox.sessionId, mailbox);
+            int dropped = 0;
+            Task task;
+            while ((task = mailbox.tasks.poll()) != null) {
+                mailbox.pending.decrementAndGet();
+                task.result().completeExceptionally(new RejectedExecutionException(
+                        "Game session worker pool is shut down", e));
+                dropped++;
+            }
+            log.warn("Dropped {} queued task(s) for session {}: worker pool unavailable",
+                    dropped, mailbox.sessionId);
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        for (int processed = 0; processed < throughput; processed++) {
+            Task task = mailbox.tasks.poll();
+            if (task == null) {
+                Mailbox remaining = mailboxes.computeIfPresent(mailbox.sessionId,
+                        (id, box) -> box.tasks.isEmpty() ? null : box);
+                if (remaining == null) {
+                    return;
+                }
+                continue;
+            }
+            mailbox.pending.decrementAndGet();
+            task.envelope().run();
+        }
+        // Give other sessions a turn on this worker before continuing.
+        schedule(mailbox);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "game-session-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record TaskTimers(Timer waitTimer, Timer runTimer) {
+    }
+
+    private record Task(Runnable envelope, CompletableFuture<?> result) {
+    }
+
+    private static final class Mailbox {
+        private final UUID sessionId;
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Mailbox(UUID sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.GameSession;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compact in-memory view of a live (ROUND1/ROUND2) game session.
+ *
+ * Question ids are held in a primitive array and each player's progress is a
+ * bitmap over question positions plus the submitted option letters, so move
+ * validation and round transition checks never need to query game_answers.
+ *
+ * Player index 0 is always couple.user1 and index 1 is couple.user2, matching
+ * the player1/player2 score columns on game_sessions.
+ *
+ * Every accessor assumes the caller holds {@link #lock()}; GameSessionStateEngine
+ * is the only component that acquires it.
+ */
+public final class GameSessionState {
+
+    private static final int MAX_QUESTIONS = Long.SIZE;
+    private static final char NO_VALUE = '\0';
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final UUID sessionId;
+    private final UUID[] playerIds;
+    private final int[] questionIds;
+    private final long completeMask;
+    private final long[] round1Masks = new long[2];
+    private final long[] round2Masks = new long[2];
+    private final char[][] round1Answers;
+    private final char[][] round2Guesses;
+    private final Date expiresAt;
+
+    private GameSession.GameStatus status;
+    private boolean retired;
+    private long lastTouchedAtMillis;
+
+    private List<PendingWrite> pendingWrites = new ArrayList<>();
+    private Date pendingActivityAt;
+    private boolean queuedForFlush;
+
+    public GameSessionState(
+            UUID sessionId,
+            UUID user1Id,
+            UUID user2Id,
+            int[] questionIds,
+            GameSession.GameStatus status,
+            Date expiresAt
+    ) {
+        if (questionIds.length == 0 || questionIds.length > MAX_QUESTIONS) {
+            throw new IllegalArgumentException("Unsupported question count for live session: " + questionIds.length);
+        }
+        this.sessionId = sessionId;
+        this.playerIds = new UUID[] {user1Id, user2Id};
+        this.questionIds = questionIds.clone();
+        this.completeMask = questionIds.length == MAX_QUESTIONS ? -1L : (1L << questionIds.length) - 1;
+        this.round1Answers = new char[2][questionIds.length];
+        this.round2Guesses = new char[2][questionIds.length];
+        this.status = status;
+        this.expiresAt = expiresAt;
+        this.lastTouchedAtMillis = System.currentTimeMillis();
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public UUID getPlayerIdAt(int player) {
+        return playerIds[player];
+    }
+
+    public GameSession.GameStatus getStatus() {
+        return status;
+    }
+
+    void setStatus(GameSession.GameStatus status) {
+        this.status = status;
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    void setRetired(boolean retired) {
+        this.retired = retired;
+    }
+
+    public boolean isExpired(Date now) {
+        return expiresAt != null && !expiresAt.after(now);
+    }
+
+    long getLastTouchedAtMillis() {
+        return lastTouchedAtMillis;
+    }
+
+    void touch() {
+        this.lastTouchedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return 0 for couple.user1, 1 for couple.user2, -1 when the user is not part of this session
+     */
+    public int playerIndexOf(UUID userId) {
+        if (playerIds[0].equals(userId)) {
+            return 0;
+        }
+        if (playerIds[1].equals(userId)) {
+            return 1;
+        }
+        return -1;
+    }
+
+    public int questionCount() {
+        return questionIds.length;
+    }
+
+    public int questionIdAt(int position) {
+        return questionIds[position];
+    }
+
+    public int positionOf(Integer questionId) {
+        if (questionId == null) {
+            return -1;
+        }
+        for (int i = 0; i < questionIds.length; i++) {
+            if (questionIds[i] == questionId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean hasRound1Answer(int player, int position) {
+        return (round1Masks[player] & (1L << position)) != 0;
+    }
+
+    public boolean hasRound2Guess(int player, int position) {
+        return (round2Masks[player] & (1L << position)) != 0;
+    }
+
+    public String round1Answer(int player, int position) {
+        return toValue(round1Answers[player][position]);
+    }
+
+    public String round2Guess(int player, int position) {
+        return toValue(round2Guesses[player][position]);
+    }
+
+    /**
+     * @return position of the first unanswered Round 1 question, or -1 when the player is done
+     */
+    public int nextRound1Position(int player) {
+        return firstClearBit(round1Masks[player]);
+    }
+
+    /**
+     * @return position of the first unguessed Round 2 question, or -1 when the player is done
+     */
+    public int nextRound2Position(int player) {
+        return firstClearBit(round2Masks[player]);
+    }
+
+    public boolean isRound1Complete() {
+        return round1Masks[0] == completeMask && round1Masks[1] == completeMask;
+    }
+
+    public boolean isRound2Complete() {
+        return round2Masks[0] == completeMask && round2Masks[1] == completeMask;
+    }
+
+    /**
+     * Counts positions where this player's guess matches the partner's Round 1 answer.
+     */
+    public int correctGuessCount(int player) {
+        int partner = 1 - player;
+        long comparable = round2Masks[player] & round1Masks[partner];
+        int correct = 0;
+        while (comparable != 0) {
+            int position = Long.numberOfTrailingZeros(comparable);
+            if (round2Guesses[player][position] == round1Answers[partner][position]) {
+                correct++;
+            }
+            comparable &= comparable - 1;
+        }
+        return correct;
+    }
+
+    void recordRound1Answer(int player, int position, String answer) {
+        round1Answers[player][position] = toChar(answer);
+        round1Masks[player] |= 1L << position;
+    }
+
+    void recordRound2Guess(int player, int position, String guess) {
+        round2Guesses[player][position] = toChar(guess);
+        round2Masks[player] |= 1L << position;
+    }
+
+    void clearRound1Answer(int player, int position) {
+        round1Answers[player][position] = NO_VALUE;
+        round1Masks[player] &= ~(1L << position);
+    }
+
+    void clearRound2Guess(int player, int position) {
+        round2Guesses[player][position] = NO_VALUE;
+        round2Masks[player] &= ~(1L << position);
+    }
+
+    void addPendingWrite(PendingWrite write, Date activityAt) {
+        pendingWrites.add(write);
+        pendingActivityAt = activityAt;
+    }
+
+    /**
+     * Removes this exact write from the buffer.
+     *
+     * @return false when it is no longer buffered because a flush already wrote it
+     */
+    boolean removePendingWrite(PendingWrite write) {
+        for (int i = 0; i < pendingWrites.size(); i++) {
+            if (pendingWrites.get(i) == write) {
+                pendingWrites.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean hasPendingWrites() {
+        return !pendingWrites.isEmpty() || pendingActivityAt != null;
+    }
+
+    Date getPendingActivityAt() {
+        return pendingActivityAt;
+    }
+
+    void markActivity(Date activityAt) {
+        pendingActivityAt = activityAt;
+    }
+
+    /**
+     * Hands the buffered writes to the caller and starts a fresh buffer.
+     */
+    List<PendingWrite> drainPendingWrites() {
+        List<PendingWrite> drained = pendingWrites;
+        pendingWrites = new ArrayList<>();
+        pendingActivityAt = null;
+        return drained;
+    }
+
+    /**
+     * Puts writes from a rolled back flush back in front of anything recorded since.
+     */
+    void restorePendingWrites(List<PendingWrite> writes, Date activityAt) {
+        List<PendingWrite> restored = new ArrayList<>(writes.size() + pendingWrites.size());
+        restored.addAll(writes);
+        restored.addAll(pendingWrites);
+        pendingWrites = restored;
+        if (pendingActivityAt == null) {
+            pendingActivityAt = activityAt;
+        }
+    }
+
+    boolean isQueuedForFlush() {
+        return queuedForFlush;
+    }
+
+    void setQueuedForFlush(boolean queuedForFlush) {
+        this.queuedForFlush = queuedForFlush;
+    }
+
+    private int firstClearBit(long mask) {
+        long missing = ~mask & completeMask;
+        return missing == 0 ? -1 : Long.numberOfTrailingZeros(missing);
+    }
+
+    private static char toChar(String value) {
+        if (value == null || value.length() != 1) {
+            throw new IllegalArgumentException("Expected a single option letter but received: " + value);
+        }
+        return value.charAt(0);
+    }
+
+    private static String toValue(char value) {
+        return value == NO_VALUE ? null : String.valueOf(value);
+    }
+
+    /**
+     * A single answer or guess waiting to be written to game_answers.
+     * A null round2Guess means a Round 1 insert; otherwise it is a Round 2 update.
+     */
+    record PendingWrite(UUID userId, Integer questionId, String round1Answer, String round2Guess) {
+
+        boolean isRound1Answer() {
+            return round2Guess == null;
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.GameAnswer;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.repository.GameAnswerRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.QuestionRepository;
+import com.onlyyours.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Optional authoritative in-memory store for live game sessions.
+ *
+ * When enabled, GameService validates moves and round transitions against a
+ * {@link GameSessionState} instead of locking the game_sessions row and counting
+ * game_answers on every submission. Answers and guesses are buffered per session
+ * and written through in batched transactions by {@link #flushPendingWrites()}.
+ *
+ * Writes are flushed synchronously (inside the caller's transaction) before any
+ * step that reads game_answers from the database: the ROUND2 transition and game
+ * completion. Completed sessions stay in the map as retired tombstones until the
+ * completing transaction commits, so concurrent callers fall back to the locked
+ * database path instead of re-hydrating a stale snapshot.
+ *
+ * A move is applied to the state as soon as it is validated, so later checks in the
+ * same transaction see it. If that transaction rolls back, the move is taken out
+ * of the state and the write buffer again. When a scheduled flush has already
+ * committed it by then, the move stays, matching what the database holds.
+ *
+ * The state is process-local. Only enable this when both players of a session are
+ * routed to the same backend instance.
+ */
+@Component
+@Slf4j
+public class GameSessionStateEngine {
+
+    private static final EnumSet<GameSession.GameStatus> LIVE_STATUSES = EnumSet.of(
+            GameSession.GameStatus.ROUND1,
+            GameSession.GameStatus.ROUND2
+    );
+
+    private final GameSessionRepository gameSessionRepository;
+    private final GameAnswerRepository gameAnswerRepository;
+    private final QuestionRepository questionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int flushBatchSize;
+    private final long idleEvictionMillis;
+
+    private final ConcurrentMap<UUID, GameSessionState> liveSessions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<GameSessionState> dirtySessions = new ConcurrentLinkedQueue<>();
+
+    public GameSessionStateEngine(
+            GameSessionRepository gameSessionRepository,
+            GameAnswerRepository gameAnswerRepository,
+            QuestionRepository questionRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${game.state-engine.enabled:false}") boolean enabled,
+            @Value("${game.state-engine.flush-batch-size:200}") int flushBatchSize,
+            @Value("${game.state-engine.idle-eviction-ms:900000}") long idleEvictionMillis
+    ) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameAnswerRepository = gameAnswerRepository;
+        this.questionRepository = questionRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+        this.idleEvictionMillis = idleEvictionMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs the action against the live state for a session while holding its lock.
+     *
+     * @return empty when the engine is disabled or the session is not live (not in
+     *         ROUND1/ROUND2, expired, or being completed); callers then use the
+     *         database path, which produces the appropriate errors.
+     */
+    public <T> Optional<T> withLiveState(UUID sessionId, Function<GameSessionState, T> action) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        while (true) {
+            GameSessionState state = liveSessions.get(sessionId);
+            if (state == null) {
+                state = hydrate(sessionId);
+                if (state == null) {
+                    return Optional.empty();
+                }
+            }
+
+            state.lock().lock();
+            try {
+                if (state.isRetired()) {
+                    if (liveSessions.get(sessionId) == state) {
+                        return Optional.empty();
+                    }
+                    continue;
+                }
+                if (state.isExpired(new Date())) {
+                    return Optional.empty();
+                }
+                state.touch();
+                return Optional.of(action.apply(state));
+            } finally {
+                state.lock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Membership check against live state already in memory; never hydrates.
+     *
+     * @return empty when the session has no live state on this instance
+     */
+    public Optional<Boolean> isLiveParticipant(UUID sessionId, UUID userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        // Players never change, so even a retired tombstone answers correctly.
+        GameSessionState state = liveSessions.get(sessionId);
+        if (state == null) {
+            return Optional.empty();
+        }
+        return Optional.of(state.playerIndexOf(userId) >= 0);
+    }
+
+    public void recordRound1Answer(GameSessionState state, int player, int position, String answer) {
+        state.recordRound1Answer(player, position, answer);
+        GameSessionState.PendingWrite write = new GameSessionState.PendingWrite(
+                state.getPlayerIdAt(player), state.questionIdAt(position), answer, null);
+        enqueue(state, write);
+        undoOnRollback(state, write, () -> state.clearRound1Answer(player, position));
+    }
+
+    public void recordRound2Guess(GameSessionState state, int player, int position, String guess) {
+        state.recordRound2Guess(player, position, guess);
+        GameSessionState.PendingWrite write = new GameSessionState.PendingWrite(
+                state.getPlayerIdAt(player), state.questionIdAt(position), null, guess);
+        enqueue(state, write);
+        undoOnRollback(state, write, () -> state.clearRound2Guess(player, position));
+    }
+
+    public void recordActivity(GameSessionState state) {
+        state.markActivity(new Date());
+        markDirty(state);
+    }
+
+    /**
+     * Flushes buffered answers, then persists the ROUND1 → ROUND2 transition in the
+     * caller's transaction.
+     */
+    public void startRound2(GameSessionState state) {
+        flush(state);
+        gameSessionRepository.startRound2(state.getSessionId(), new Date());
+        state.setStatus(GameSession.GameStatus.ROUND2);
+        afterTransaction(() -> {
+        }, () -> state.setStatus(GameSession.GameStatus.ROUND1), state);
+    }
+
+    /**
+     * Retires the state once the caller has recorded the completed session. The
+     * tombstone is removed after commit; a rollback makes the state live again.
+     */
+    public void markCompleted(GameSessionState state) {
+        state.setRetired(true);
+        afterTransaction(
+                () -> liveSessions.remove(state.getSessionId(), state),
+                () -> state.setRetired(false),
+                state
+        );
+    }
+
+    /**
+     * Writes any buffered moves for the session in the caller's transaction (or a new
+     * one). Database-backed readers call this before querying game_answers.
+     */
+    public void flushSession(UUID sessionId) {
+        if (!enabled) {
+            return;
+        }
+        GameSessionState state = liveSessions.get(sessionId);
+        if (state == null) {
+            return;
+        }
+        state.lock().lock();
+        try {
+            flush(state);
+        } finally {
+            state.lock().unlock();
+        }
+    }
+
+    public int liveSessionCount() {
+        return liveSessions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${game.state-engine.flush-interval-ms:250}")
+    public void flushPendingWrites() {
+        if (!enabled) {
+            return;
+        }
+
+        int remaining = dirtySessions.size();
+        while (remaining > 0) {
+            List<GameSessionState> locked = new ArrayList<>();
+            List<GameSessionState> busy = new ArrayList<>();
+            while (remaining > 0 && locked.size() < flushBatchSize) {
+                GameSessionState state = dirtySessions.poll();
+                remaining--;
+                if (state == null) {
+                    break;
+                }
+                if (state.lock().tryLock()) {
+                    locked.add(state);
+                } else {
+                    busy.add(state);
+                }
+            }
+
+            try {
+                writeBatch(locked);
+            } finally {
+                for (GameSessionState state : locked) {
+                    state.lock().unlock();
+                }
+            }
+            dirtySessions.addAll(busy);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${game.state-engine.eviction-interval-ms:60000}")
+    public void evictIdleSessions() {
+        if (!enabled) {
+            return;
+        }
+
+        long idleBefore = System.currentTimeMillis() - idleEvictionMillis;
+        Date now = new Date();
+        for (GameSessionState state : liveSessions.values()) {
+            if (!state.lock().tryLock()) {
+                continue;
+            }
+            try {
+                boolean idle = state.getLastTouchedAtMillis() < idleBefore || state.isExpired(now);
+                if (idle && !state.isRetired() && !state.hasPendingWrites()) {
+                    retire(state);
+                    log.debug("Evicted idle live session state: sessionId={}", state.getSessionId());
+                }
+            } finally {
+                state.lock().unlock();
+            }
+        }
+    }
+
+    private GameSessionState hydrate(UUID sessionId) {
+        Optional<GameSessionRepository.LiveSessionView> viewOptional =
+                gameSessionRepository.findLiveSessionViewById(sessionId);
+        if (viewOptional.isEmpty()) {
+            return null;
+        }
+
+        GameSessionRepository.LiveSessionView view = viewOptional.get();
+        if (!LIVE_STATUSES.contains(view.getStatus())
+                || (view.getExpiresAt() != null && !view.getExpiresAt().after(new Date()))) {
+            return null;
+        }
+
+        int[] questionIds = view.getQuestionIds();
+        if (questionIds == null || questionIds.length == 0) {
+            return null;
+        }
+
+        GameSessionState state = new GameSessionState(
+                sessionId,
+                view.getUser1Id(),
+                view.getUser2Id(),
+                questionIds,
+                view.getStatus(),
+                view.getExpiresAt()
+        );
+        for (GameAnswerRepository.AnswerStateView answer : gameAnswerRepository.findAnswerStatesByGameSessionId(sessionId)) {
+            int player = state.playerIndexOf(answer.getUserId());
+            int position = state.positionOf(answer.getQuestionId());
+            if (player < 0 || position < 0) {
+                continue;
+            }
+            if (answer.getRound1Answer() != null) {
+                state.recordRound1Answer(player, position, answer.getRound1Answer());
+            }
+            if (answer.getRound2Guess() != null) {
+                state.recordRound2Guess(player, position, answer.getRound2Guess());
+            }
+        }
+
+        GameSessionState existing = liveSessions.putIfAbsent(sessionId, state);
+        if (existing != null) {
+            return existing;
+        }
+        log.debug("Hydrated live session state: sessionId={}, status={}", sessionId, view.getStatus());
+        return state;
+    }
+
+    private void enqueue(GameSessionState state, GameSessionState.PendingWrite write) {
+        state.addPendingWrite(write, new Date());
+        markDirty(state);
+    }
+
+    private void markDirty(GameSessionState state) {
+        if (!state.isQueuedForFlush()) {
+            state.setQueuedForFlush(true);
+            dirtySessions.add(state);
+        }
+    }
+
+    /**
+     * Must be called with the state lock held.
+     */
+    private void flush(GameSessionState state) {
+        if (!state.hasPendingWrites()) {
+            return;
+        }
+        Date activityAt = state.getPendingActivityAt();
+        List<GameSessionState.PendingWrite> writes = state.drainPendingWrites();
+        transactionTemplate.executeWithoutResult(status -> {
+            applyWrites(state.getSessionId(), writes, activityAt);
+            afterTransaction(() -> {
+            }, () -> state.restorePendingWrites(writes, activityAt), state);
+        });
+    }
+
+    /**
+     * Must be called with the lock of every state held.
+     */
+    private void writeBatch(List<GameSessionState> states) {
+        List<GameSessionState> flushing = new ArrayList<>();
+        List<List<GameSessionState.PendingWrite>> drainedWrites = new ArrayList<>();
+        List<Date> drainedActivity = new ArrayList<>();
+        for (GameSessionState state : states) {
+            state.setQueuedForFlush(false);
+            if (!state.hasPendingWrites()) {
+                continue;
+            }
+            flushing.add(state);
+            drainedActivity.add(state.getPendingActivityAt());
+            drainedWrites.add(state.drainPendingWrites());
+        }
+        if (flushing.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < flushing.size(); i++) {
+                    applyWrites(flushing.get(i).getSessionId(), drainedWrites.get(i), drainedActivity.get(i));
+                }
+            });
+            log.debug("Flushed live session writes: sessions={}", flushing.size());
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batched live session flush failed, retrying per session: sessions={}, error={}",
+                    flushing.size(), batchFailure.getMessage());
+            for (int i = 0; i < flushing.size(); i++) {
+                GameSessionState state = flushing.get(i);
+                List<GameSessionState.PendingWrite> writes = drainedWrites.get(i);
+                Date activityAt = drainedActivity.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> applyWrites(state.getSessionId(), writes, activityAt));
+                } catch (DataIntegrityViolationException sessionFailure) {
+                    log.error("Dropping {} live session writes rejected by the database, retiring live state: sessionId={}",
+                            writes.size(), state.getSessionId(), sessionFailure);
+                    retire(state);
+                } catch (RuntimeException sessionFailure) {
+                    log.warn("Live session flush failed, will retry: sessionId={}, error={}",
+                            state.getSessionId(), sessionFailure.getMessage());
+                    state.restorePendingWrites(writes, activityAt);
+                    markDirty(state);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops live state whose moves the database refused, so the next read hydrates
+     * from what was actually stored instead of serving the rejected moves.
+     * Must be called with the state lock held.
+     */
+    private void retire(GameSessionState state) {
+        state.setRetired(true);
+        liveSessions.remove(state.getSessionId(), state);
+    }
+
+    private void applyWrites(UUID sessionId, List<GameSessionState.PendingWrite> writes, Date activityAt) {
+        GameSession sessionReference = gameSessionRepository.getReferenceById(sessionId);
+        List<GameAnswer> inserts = new ArrayList<>();
+        for (GameSessionState.PendingWrite write : writes) {
+            if (!write.isRound1Answer()) {
+                continue;
+            }
+            GameAnswer gameAnswer = new GameAnswer();
+            gameAnswer.setGameSession(sessionReference);
+            gameAnswer.setQuestion(questionRepository.getReferenceById(write.questionId()));
+            gameAnswer.setUser(userRepository.getReferenceById(write.userId()));
+            gameAnswer.setRound1Answer(write.round1Answer());
+            inserts.add(gameAnswer);
+        }
+        if (!inserts.isEmpty()) {
+            gameAnswerRepository.saveAll(inserts);
+        }
+
+        for (GameSessionState.PendingWrite write : writes) {
+            if (write.isRound1Answer()) {
+                continue;
+            }
+            int updated = gameAnswerRepository.updateRound2Guess(
+                    sessionId, write.questionId(), write.userId(), write.round2Guess());
+            if (updated == 0) {
+                log.warn("Round 2 guess had no matching answer row: session={}, user={}, question={}",
+                        sessionId, write.userId(), write.questionId());
+            }
+        }
+
+        if (activityAt != null) {
+            gameSessionRepository.updateLastActivityAtForStatuses(sessionId, activityAt, LIVE_STATUSES);
+        }
+    }
+
+    private void afterTransaction(Runnable onCommit, Runnable onRollback, GameSessionState state) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // Before any undoOnRollback, so writes drained by an in-transaction
+                // flush are back in the buffer when the move looks for them.
+                return Ordered.LOWEST_PRECEDENCE - 1;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                    return;
+                }
+                state.lock().lock();
+                try {
+                    onRollback.run();
+                    if (state.hasPendingWrites()) {
+                        markDirty(state);
+                    }
+                } finally {
+                    state.lock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes a recorded move back out of the state if the caller's transaction rolls
+     * back. A move no longer in the buffer was committed by a scheduled flush, so it
+     * is kept.
+     */
+    private void undoOnRollback(GameSessionState state, GameSessionState.PendingWrite write, Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                state.lock().lock();
+                try {
+                    if (state.removePendingWrite(write)) {
+                        undo.run();
+                        log.debug("Undid rolled back live move: sessionId={}, questionId={}",
+                                state.getSessionId(), write.questionId());
+                    }
+                } finally {
+                    state.lock().unlock();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.onlyyours.service;
+
+/**
+ * Thrown when a question pack import is requested while another one is still
+ * running on this instance. Mapped to 409 by AdminController.
+ */
+public class ImportAlreadyRunningException extends RuntimeException {
+
+    public ImportAlreadyRunningException() {
+        super("A question pack import is already running");
+    }
+}
@@ -1,27 +1,59 @@
 package com.onlyyours.service;
 
+import com.onlyyours.util.TokenHashUtil;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
     private static final int ACCESS_TOKEN_EXPIRY_SECONDS = 15 * 60;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    /**
+     * Claims of tokens whose signature has already been verified, keyed by the
+     * SHA-256 of the raw token. Entries are only served until the token's own
+     * expiry, so the cache never extends a token's lifetime. Past max-entries the
+     * least recently used token is dropped; expired ones are swept periodically.
+     */
+    private final Map<String, VerifiedClaims> verifiedTokens;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries
+    ) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        int maxEntries = Math.max(0, verifiedCacheMaxEntries);
+        this.verifiedTokens = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedClaims> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -36,16 +68,57 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(getSigningKey()).parseClaimsJws(token).getBody();
+    /**
+     * Verifies the token once and returns its claims. Repeat calls with the same token
+     * are answered from the verified-claims cache until the token expires.
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, tampered with or expired
+     * @throws IllegalArgumentException when the token is blank
+     */
+    public VerifiedClaims verifyToken(String token) {
+        String cacheKey = TokenHashUtil.hashToken(token);
+        Instant now = Instant.now();
+
+        VerifiedClaims cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            if (cached.isValidAt(now)) {
+                return cached;
+            }
+            verifiedTokens.remove(cacheKey, cached);
+        }
+
+        Claims claims = extractAllClaims(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        VerifiedClaims verified = new VerifiedClaims(
+                claims.getSubject(),
+                userId == null ? null : UUID.fromString(userId),
+                claims.get(NAME_CLAIM, String.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
+        if (verified.expiresAt() != null) {
+            verifiedTokens.put(cacheKey, verified);
+        }
+        return verified;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.verified-cache.sweep-interval-ms:60000}")
+    public void evictExpiredVerifiedTokens() {
+        evictExpiredVerifiedTokens(Instant.now());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    void evictExpiredVerifiedTokens(Instant now) {
+        synchronized (verifiedTokens) {
+            verifiedTokens.values().removeIf(entry -> !entry.isValidAt(now));
+        }
+    }
+
+    int verifiedCacheSize() {
+        return verifiedTokens.size();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -53,10 +126,23 @@ public class JwtService {
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Access token that also carries the user's id and display name, so authenticated
+     * requests can build their principal without loading the user.
+     */
+    public String generateToken(UserDetails userDetails, UUID userId, String displayName) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId.toString());
+        if (displayName != null) {
+            claims.put(NAME_CLAIM, displayName);
+        }
+        return createToken(claims, userDetails.getUsername());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRY_SECONDS * 1000L))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
 
     public int getAccessTokenExpirySeconds() {
@@ -64,7 +150,17 @@ public class JwtService {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verifyToken(token).username().equals(userDetails.getUsername());
+    }
+
+    /**
+     * Claims of a token whose signature and expiry have been checked. userId and name
+     * are null for tokens issued without them.
+     */
+    public record VerifiedClaims(String username, UUID userId, String name, Instant issuedAt, Instant expiresAt) {
+
+        public boolean isValidAt(Instant now) {
+            return expiresAt == null || expiresAt.isAfter(now);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.onlyyours.service;
+
+/**
+ * Thrown when the password hashing pool has no room for another request. Mapped
+ * to 503 with a Retry-After header.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Too many sign-in requests right now. Please try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,184 @@
+package com.onlyyours.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password hashing on a dedicated, bounded worker pool.
+ *
+ * A bcrypt hash keeps a core busy for tens to hundreds of milliseconds, so running
+ * it on request threads lets a burst of logins starve every other endpoint. Here at
+ * most pool-size hashes run at once and at most queue-capacity wait behind them.
+ * The default capacity of 0 is a direct handoff: a hash either starts on an idle
+ * worker or is refused on submit. A caller that finds the queue full, or whose hash
+ * has not started within max-wait-ms, gets a {@link PasswordHashingBusyException}
+ * straight away instead of joining a backlog. A hash that has started always runs
+ * to completion, so max-wait-ms bounds queueing only, not bcrypt itself.
+ *
+ * Queue depth, running hashes, hash and wait latency and rejections are exported
+ * under {@code auth.password.*}.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor workers;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedFull;
+    private final Counter rejectedTimeout;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${auth.password.pool-size:4}") int poolSize,
+            @Value("${auth.password.queue-capacity:0}") int queueCapacity,
+            @Value("${auth.password.max-wait-ms:50}") long maxWaitMillis,
+            @Value("${auth.password.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.workers = new ThreadPoolExecutor(
+                Math.max(1, poolSize),
+                Math.max(1, poolSize),
+                60, TimeUnit.SECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                namedThreadFactory()
+        );
+        this.maxWaitMillis = Math.max(1, maxWaitMillis);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.waitTimer = Timer.builder("auth.password.wait")
+                .description("Time a password hash spent queued for a worker")
+                .register(meterRegistry);
+        this.rejectedFull = rejectedCounter(meterRegistry, "full");
+        this.rejectedTimeout = rejectedCounter(meterRegistry, "timeout");
+        Gauge.builder("auth.password.queued", workers, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws PasswordHashingBusyException when the pool cannot take the hash in time
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * @throws PasswordHashingBusyException when the pool cannot take the hash in time
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when the stored hash was made with weaker settings (e.g. a lower bcrypt
+     * cost) than the encoder now uses. Only parses the hash, so it runs inline.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer hashTimer, Callable<T> hash) {
+        long enqueuedAt = System.nanoTime();
+        // Whoever flips this first decides: the worker starts the hash, or the caller gives up.
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = workers.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedFull.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            try {
+                return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    future.cancel(false);
+                    rejectedTimeout.increment();
+                    log.warn("Password hash waited over {} ms for a worker, rejecting request", maxWaitMillis);
+                    throw new PasswordHashingBusyException(retryAfterSeconds);
+                }
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.password.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
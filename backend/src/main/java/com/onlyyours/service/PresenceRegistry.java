@@ -0,0 +1,226 @@
+package com.onlyyours.service;
+
+import com.onlyyours.dto.PartnerPresenceDto;
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Which users have a live WebSocket connection, and who each user's partner is.
+ *
+ * Sockets are tracked per user id, so online checks never touch the database. The
+ * partner and the couple's active game session are loaded once per user (two
+ * indexed queries) and kept until a couple or session lifecycle change invalidates
+ * them, so a burst of reconnects costs no queries at all.
+ *
+ * Both maps are process-local. Changes made on another instance are only picked up
+ * once the cached context is older than context-ttl-ms.
+ */
+@Component
+public class PresenceRegistry {
+
+    private static final EnumSet<GameSession.GameStatus> ACTIVE_STATUSES = EnumSet.of(
+            GameSession.GameStatus.INVITED,
+            GameSession.GameStatus.ROUND1,
+            GameSession.GameStatus.ROUND2
+    );
+
+    /**
+     * The user's partner and the couple's active session. partnerId is null when the
+     * user has no active couple; activeSessionId is null when no game is running.
+     */
+    public record PresenceContext(
+            UUID partnerId,
+            String partnerEmail,
+            String partnerName,
+            UUID activeSessionId,
+            long loadedAtMillis
+    ) {
+
+        public boolean isLinked() {
+            return partnerId != null;
+        }
+    }
+
+    private final CoupleRepository coupleRepository;
+    private final GameSessionRepository gameSessionRepository;
+    private final long contextTtlMillis;
+    private final Counter contextLoads;
+
+    private final ConcurrentMap<UUID, Set<String>> socketsByUser = new ConcurrentHashMap<>();
+    private final Map<UUID, PresenceContext> contexts;
+
+    public PresenceRegistry(
+            CoupleRepository coupleRepository,
+            GameSessionRepository gameSessionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${game.presence.context-ttl-ms:600000}") long contextTtlMillis,
+            @Value("${game.presence.max-contexts:10000}") int maxContexts
+    ) {
+        this.coupleRepository = coupleRepository;
+        this.gameSessionRepository = gameSessionRepository;
+        this.contextTtlMillis = Math.max(0, contextTtlMillis);
+        this.contexts = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, PresenceContext> eldest) {
+                return size() > Math.max(1, maxContexts);
+            }
+        });
+        this.contextLoads = Counter.builder("game.presence.context.loads")
+                .description("Presence contexts loaded from the database")
+                .register(meterRegistry);
+        Gauge.builder("game.presence.online.users", socketsByUser, Map::size)
+                .description("Users with at least one live WebSocket connection on this instance")
+                .register(meterRegistry);
+        Gauge.builder("game.presence.contexts", contexts, Map::size)
+                .description("Cached partner and active session contexts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true when this socket took the user from no live sockets to one
+     */
+    public boolean socketConnected(UUID userId, String socketSessionId) {
+        // Decided inside compute: reading size() afterwards races with a second
+        // connect or a disconnect of the same user.
+        boolean[] firstSocket = {false};
+        socketsByUser.compute(userId, (key, sockets) -> {
+            Set<String> updated = sockets == null ? ConcurrentHashMap.newKeySet() : sockets;
+            firstSocket[0] = updated.add(socketSessionId) && updated.size() == 1;
+            return updated;
+        });
+        return firstSocket[0];
+    }
+
+    /**
+     * @return true when the user has no live sockets left
+     */
+    public boolean socketDisconnected(UUID userId, String socketSessionId) {
+        return socketsByUser.computeIfPresent(userId, (key, sockets) -> {
+            sockets.remove(socketSessionId);
+            return sockets.isEmpty() ? null : sockets;
+        }) == null;
+    }
+
+    public boolean isOnline(UUID userId) {
+        return userId != null && socketsByUser.containsKey(userId);
+    }
+
+    /**
+     * Cached context for the user, loaded from the database on a miss or once the
+     * entry is older than the TTL.
+     */
+    public PresenceContext context(UUID userId) {
+        long now = System.currentTimeMillis();
+        PresenceContext cached = contexts.get(userId);
+        if (cached != null && now - cached.loadedAtMillis() < contextTtlMillis) {
+            return cached;
+        }
+
+        PresenceContext loaded = load(userId, now);
+        contexts.put(userId, loaded);
+        return loaded;
+    }
+
+    public PartnerPresenceDto partnerPresence(UUID userId) {
+        PresenceContext context = context(userId);
+        if (!context.isLinked()) {
+            return PartnerPresenceDto.builder().linked(false).build();
+        }
+        return PartnerPresenceDto.builder()
+                .linked(true)
+                .partnerName(context.partnerName())
+                .partnerOnline(isOnline(context.partnerId()))
+                .activeSessionId(context.activeSessionId())
+                .build();
+    }
+
+    public void invalidate(UUID... userIds) {
+        for (UUID userId : userIds) {
+            if (userId != null) {
+                contexts.remove(userId);
+            }
+        }
+    }
+
+    /**
+     * Invalidates once the current transaction commits, so a concurrent reload cannot
+     * cache the pre-commit couple or session; immediately when no transaction is active.
+     */
+    public void invalidateAfterCommit(UUID... userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userIds);
+            }
+        });
+    }
+
+    /**
+     * Invalidates both members of the couple after commit.
+     */
+    public void invalidateCoupleAfterCommit(Couple couple) {
+        if (couple == null) {
+            return;
+        }
+        invalidateAfterCommit(userId(couple.getUser1()), userId(couple.getUser2()));
+    }
+
+    int cachedContextCount() {
+        return contexts.size();
+    }
+
+    private PresenceContext load(UUID userId, long now) {
+        contextLoads.increment();
+        List<Couple> couples = coupleRepository.findByUserIdAndStatusOrderByCreatedAtDesc(
+                userId, Couple.RelationshipStatus.ACTIVE);
+        if (couples.isEmpty()) {
+            return new PresenceContext(null, null, null, null, now);
+        }
+
+        Couple couple = couples.get(0);
+        User partner = couple.getUser1() != null && Objects.equals(couple.getUser1().getId(), userId)
+                ? couple.getUser2()
+                : couple.getUser1();
+        if (partner == null) {
+            return new PresenceContext(null, null, null, null, now);
+        }
+
+        UUID activeSessionId = gameSessionRepository.findLatestActiveSessionIds(
+                        couple.getId(), ACTIVE_STATUSES, new Date(now), PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElse(null);
+        return new PresenceContext(partner.getId(), partner.getEmail(), partner.getName(), activeSessionId, now);
+    }
+
+    private static UUID userId(User user) {
+        return user == null ? null : user.getId();
+    }
+}
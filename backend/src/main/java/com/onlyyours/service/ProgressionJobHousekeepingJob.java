@@ -0,0 +1,69 @@
+package com.onlyyours.service;
+
+import com.onlyyours.repository.ProgressionJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes progression_jobs rows that were applied (DONE) more than the retention
+ * period ago. A session without a job counts as applied for history bootstraps, so
+ * removing DONE rows changes nothing else; PENDING, PROCESSING and FAILED rows stay.
+ */
+@Component
+public class ProgressionJobHousekeepingJob {
+
+    static final long ADVISORY_LOCK_KEY = 0x4F59_0004L;
+
+    private final ChunkedPurge purge;
+    private final boolean enabled;
+    private final Duration retention;
+
+    public ProgressionJobHousekeepingJob(
+            ProgressionJobRepository progressionJobRepository,
+            DatabaseAdvisoryLock advisoryLock,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${progression.housekeeping.enabled:true}") boolean enabled,
+            @Value("${progression.housekeeping.retention-hours:168}") long retentionHours,
+            @Value("${progression.housekeeping.batch-size:1000}") int batchSize
+    ) {
+        this.purge = new ChunkedPurge(
+                "progression_jobs",
+                ADVISORY_LOCK_KEY,
+                advisoryLock,
+                transactionManager,
+                batchSize,
+                progressionJobRepository::findPurgeableIds,
+                progressionJobRepository::deleteByIdIn,
+                Counter.builder("progression.jobs.purged")
+                        .description("Applied progression jobs deleted by housekeeping")
+                        .register(meterRegistry)
+        );
+        this.enabled = enabled;
+        this.retention = Duration.ofHours(Math.max(0, retentionHours));
+    }
+
+    @Scheduled(
+            initialDelayString = "${progression.housekeeping.initial-delay-ms:120000}",
+            fixedDelayString = "${progression.housekeeping.interval-ms:3600000}"
+    )
+    public void runScheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * @return number of job rows deleted
+     */
+    public int purge() {
+        return purge.run(Instant.now().minus(retention)).deleted();
+    }
+}
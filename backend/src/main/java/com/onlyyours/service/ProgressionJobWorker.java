@@ -0,0 +1,208 @@
+package com.onlyyours.service;
+
+import com.onlyyours.dto.ProgressionUpdateDto;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.ProgressionJob;
+import com.onlyyours.repository.ProgressionJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies queued progression_jobs outside the game completion transaction.
+ *
+ * Jobs are claimed in a short transaction (SKIP LOCKED, with a lease in
+ * nextAttemptAt) and each one is then applied in its own transaction together with
+ * marking it DONE. ProgressionService skips sessions whose couple completion event
+ * already exists, so a job that is claimed again after a lost lease is harmless.
+ * Every claim counts as an attempt, so a job whose lease keeps expiring (the worker
+ * crashed or hung mid-job) becomes FAILED once it is out of attempts instead of
+ * being claimed forever.
+ * Once applied, the couple snapshot and milestones are broadcast on the game topic.
+ */
+@Component
+@Slf4j
+public class ProgressionJobWorker {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final EnumSet<ProgressionJob.Status> CLAIMABLE_STATUSES = EnumSet.of(
+            ProgressionJob.Status.PENDING,
+            ProgressionJob.Status.PROCESSING
+    );
+
+    private final ProgressionJobRepository progressionJobRepository;
+    private final ProgressionService progressionService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public ProgressionJobWorker(
+            ProgressionJobRepository progressionJobRepository,
+            ProgressionService progressionService,
+            SimpMessagingTemplate messagingTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${progression.worker.batch-size:50}") int batchSize,
+            @Value("${progression.worker.lease-ms:60000}") long leaseMillis,
+            @Value("${progression.worker.base-backoff-ms:5000}") long baseBackoffMillis,
+            @Value("${progression.worker.max-backoff-ms:300000}") long maxBackoffMillis,
+            @Value("${progression.worker.max-attempts:5}") int maxAttempts
+    ) {
+        this.progressionJobRepository = progressionJobRepository;
+        this.progressionService = progressionService;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Drains due jobs until a claim comes back short of a full batch.
+     *
+     * @return number of jobs applied in this cycle
+     */
+    @Scheduled(fixedDelayString = "${progression.worker.poll-interval-ms:1000}")
+    public int processDueJobs() {
+        int applied = 0;
+        List<UUID> claimed;
+        do {
+            claimed = claimBatch();
+            for (UUID jobId : claimed) {
+                if (processJob(jobId)) {
+                    applied++;
+                }
+            }
+        } while (claimed.size() == batchSize);
+        return applied;
+    }
+
+    /**
+     * Returns jobs that exhausted their attempts to the queue, e.g. after the cause
+     * of the failure was fixed. They are excluded from history bootstraps until
+     * then, so requeueing is what eventually applies their XP and milestones.
+     *
+     * @return number of jobs requeued
+     */
+    public int requeueFailedJobs() {
+        Integer requeued = transactionTemplate.execute(status -> progressionJobRepository.requeueFailed(Instant.now()));
+        int count = requeued == null ? 0 : requeued;
+        if (count > 0) {
+            log.info("Requeued {} failed progression job(s)", count);
+        }
+        return count;
+    }
+
+    private List<UUID> claimBatch() {
+        List<UUID> claimed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<ProgressionJob> due = progressionJobRepository.findDueForUpdate(
+                    CLAIMABLE_STATUSES, now, PageRequest.of(0, batchSize));
+            List<UUID> ids = new ArrayList<>(due.size());
+            for (ProgressionJob job : due) {
+                if (job.getStatus() == ProgressionJob.Status.PROCESSING && job.getAttempts() >= maxAttempts) {
+                    job.setStatus(ProgressionJob.Status.FAILED);
+                    job.setLastError("Lease expired on attempt " + job.getAttempts());
+                    log.error("Giving up on progression job {} after its lease expired on attempt {}",
+                            job.getId(), job.getAttempts());
+                    continue;
+                }
+                job.setStatus(ProgressionJob.Status.PROCESSING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setNextAttemptAt(now.plus(lease));
+                ids.add(job.getId());
+            }
+            return ids;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private boolean processJob(UUID jobId) {
+        ProgressionUpdateDto update;
+        try {
+            update = transactionTemplate.execute(status -> applyJob(jobId));
+        } catch (Exception e) {
+            log.warn("Progression job {} failed: {}", jobId, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> recordFailure(jobId, e.getMessage()));
+            return false;
+        }
+        if (update == null) {
+            return false;
+        }
+
+        messagingTemplate.convertAndSend("/topic/game/" + update.getSessionId(), update);
+        return true;
+    }
+
+    private ProgressionUpdateDto applyJob(UUID jobId) {
+        ProgressionJob job = progressionJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ProgressionJob.Status.PROCESSING) {
+            return null;
+        }
+
+        GameSession session = job.getSession();
+        ProgressionService.GameCompletionProgressionResult result = progressionService.processCompletedGame(
+                session,
+                job.getPlayer1Score(),
+                job.getPlayer2Score()
+        );
+
+        job.setStatus(ProgressionJob.Status.DONE);
+        job.setProcessedAt(Instant.now());
+        job.setLastError(null);
+        log.debug("Applied progression for session {}", session.getId());
+
+        return ProgressionUpdateDto.builder()
+                .sessionId(session.getId())
+                .coupleProgression(result.coupleProgression())
+                .recentMilestones(result.recentMilestones())
+                .build();
+    }
+
+    private void recordFailure(UUID jobId, String error) {
+        ProgressionJob job = progressionJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ProgressionJob.Status.PROCESSING) {
+            return;
+        }
+        job.setLastError(truncate(error));
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(ProgressionJob.Status.FAILED);
+            log.error("Giving up on progression job {} for session {} after {} attempts",
+                    jobId, job.getSession().getId(), job.getAttempts());
+        } else {
+            job.setStatus(ProgressionJob.Status.PENDING);
+            job.setNextAttemptAt(Instant.now().plus(backoffFor(job.getAttempts())));
+        }
+    }
+
+    private Duration backoffFor(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration backoff = baseBackoff.multipliedBy(1L << exponent);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
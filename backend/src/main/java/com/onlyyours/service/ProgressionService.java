@@ -8,6 +8,7 @@ import com.onlyyours.model.Couple;
 import com.onlyyours.model.CoupleProgression;
 import com.onlyyours.model.GameSession;
 import com.onlyyours.model.ProgressionEvent;
+import com.onlyyours.model.ProgressionJob;
 import com.onlyyours.model.User;
 import com.onlyyours.model.UserProgression;
 import com.onlyyours.repository.CoupleProgressionRepository;
@@ -15,6 +16,7 @@ import com.onlyyours.repository.CoupleRepository;
 import com.onlyyours.repository.GameAnswerRepository;
 import com.onlyyours.repository.GameSessionRepository;
 import com.onlyyours.repository.ProgressionEventRepository;
+import com.onlyyours.repository.ProgressionJobRepository;
 import com.onlyyours.repository.UserProgressionRepository;
 import com.onlyyours.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -62,6 +64,7 @@ public class ProgressionService {
     private final UserProgressionRepository userProgressionRepository;
     private final CoupleProgressionRepository coupleProgressionRepository;
     private final ProgressionEventRepository progressionEventRepository;
+    private final ProgressionJobRepository progressionJobRepository;
 
     @Transactional
     public ProgressionSummaryDto getProgressionSummary(UUID userId) {
@@ -102,6 +105,38 @@ public class ProgressionService {
         evaluateUserAchievements(userProgression, new ArrayList<>());
     }
 
+    /**
+     * Queues a completed game for ProgressionJobWorker. Runs inside the completion
+     * transaction, so the job exists exactly when the COMPLETED status does.
+     */
+    @Transactional
+    public void enqueueCompletedGame(GameSession session, int player1Score, int player2Score) {
+        if (progressionJobRepository.findBySession_Id(session.getId()).isPresent()) {
+            return;
+        }
+        ProgressionJob job = new ProgressionJob();
+        job.setSession(session);
+        job.setPlayer1Score(player1Score);
+        job.setPlayer2Score(player2Score);
+        progressionJobRepository.save(job);
+    }
+
+    /**
+     * Current couple snapshot without taking row locks or bootstrapping. The game that
+     * just completed may not be applied yet.
+     */
+    @Transactional(readOnly = true)
+    public ProgressionSnapshotDto getCoupleProgressionSnapshot(Couple couple) {
+        return coupleProgressionRepository.findByCouple_Id(couple.getId())
+                .map(progression -> toSnapshotDto(
+                        "COUPLE",
+                        buildCoupleLabel(couple),
+                        progression,
+                        countAchievementUnlocks(ProgressionEvent.ScopeType.COUPLE, couple.getId())
+                ))
+                .orElse(null);
+    }
+
     @Transactional
     public GameCompletionProgressionResult processCompletedGame(
             GameSession session,
@@ -113,6 +148,12 @@ public class ProgressionService {
         User player2 = couple.getUser2();
         UUID sessionId = session.getId();
 
+        if (progressionEventRepository.existsByScopeTypeAndScopeRefIdAndEventKey(
+                ProgressionEvent.ScopeType.COUPLE, couple.getId(), "couple-game-complete:" + sessionId)) {
+            log.debug("Progression already applied for session {}", sessionId);
+            return new GameCompletionProgressionResult(getCoupleProgressionSnapshot(couple), List.of());
+        }
+
         UserProgression player1Progression = getOrInitializeUserProgression(player1, sessionId);
         UserProgression player2Progression = getOrInitializeUserProgression(player2, sessionId);
         CoupleProgression coupleProgression = getOrInitializeCoupleProgression(couple, sessionId);
@@ -341,11 +382,13 @@ public class ProgressionService {
 
     private UserProgression bootstrapUserProgression(User user, UUID excludeSessionId) {
         log.info("Bootstrapping user progression: userId={}, excludeSessionId={}", user.getId(), excludeSessionId);
+        Set<UUID> unappliedSessionIds = progressionJobRepository.findUnappliedSessionIdsForUser(user.getId());
         List<GameSession> completedSessions = gameSessionRepository.findAllByUserIdAndStatusOrderByCompletedAtDesc(
                 user.getId(),
                 GameSession.GameStatus.COMPLETED
         ).stream()
                 .filter(session -> excludeSessionId == null || !session.getId().equals(excludeSessionId))
+                .filter(session -> !unappliedSessionIds.contains(session.getId()))
                 .toList();
 
         UserProgression progression = new UserProgression();
@@ -397,10 +440,12 @@ public class ProgressionService {
 
     private CoupleProgression bootstrapCoupleProgression(Couple couple, UUID excludeSessionId) {
         log.info("Bootstrapping couple progression: coupleId={}, excludeSessionId={}", couple.getId(), excludeSessionId);
+        Set<UUID> unappliedSessionIds = progressionJobRepository.findUnappliedSessionIdsForCouple(couple.getId());
         List<GameSession> completedSessions = gameSessionRepository.findByCouple_IdOrderByCreatedAtDesc(couple.getId())
                 .stream()
                 .filter(session -> session.getStatus() == GameSession.GameStatus.COMPLETED)
                 .filter(session -> excludeSessionId == null || !session.getId().equals(excludeSessionId))
+                .filter(session -> !unappliedSessionIds.contains(session.getId()))
                 .toList();
 
         CoupleProgression progression = new CoupleProgression();
@@ -1,45 +1,53 @@
 package com.onlyyours.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyyours.model.PushOutboxMessage;
 import com.onlyyours.model.PushToken;
 import com.onlyyours.model.User;
+import com.onlyyours.repository.PushOutboxRepository;
 import com.onlyyours.repository.PushTokenRepository;
 import com.onlyyours.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Entry point for push notifications.
+ *
+ * Sending only records one push_outbox row per device token; PushOutboxDispatcher
+ * delivers them to Expo in the background, so callers on the STOMP and REST paths
+ * never wait on Expo's response time.
+ */
 @Service
 @Slf4j
 public class PushNotificationService {
 
-    private static final String EXPO_PUSH_URL = "https://exp.host/--/api/v2/push/send";
     private static final long DISPATCH_DEDUP_TTL_MILLIS = Duration.ofHours(6).toMillis();
     private static final int DISPATCH_CACHE_CLEANUP_THRESHOLD = 500;
 
     private final PushTokenRepository pushTokenRepository;
     private final UserRepository userRepository;
-    private final RestClient restClient;
+    private final PushOutboxRepository pushOutboxRepository;
+    private final ObjectMapper objectMapper;
     private final ConcurrentHashMap<String, Instant> dispatchCache = new ConcurrentHashMap<>();
 
     public PushNotificationService(PushTokenRepository pushTokenRepository,
-                                   UserRepository userRepository) {
+                                   UserRepository userRepository,
+                                   PushOutboxRepository pushOutboxRepository,
+                                   ObjectMapper objectMapper) {
         this.pushTokenRepository = pushTokenRepository;
         this.userRepository = userRepository;
-        this.restClient = RestClient.builder()
-                .baseUrl(EXPO_PUSH_URL)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+        this.pushOutboxRepository = pushOutboxRepository;
+        this.objectMapper = objectMapper;
     }
 
     @Transactional
@@ -121,9 +129,18 @@ public class PushNotificationService {
             return;
         }
 
+        String dataJson = serializeData(data);
+        List<PushOutboxMessage> messages = new ArrayList<>(tokens.size());
         for (PushToken pt : tokens) {
-            sendSingle(pt.getToken(), title, body, data);
+            PushOutboxMessage message = new PushOutboxMessage();
+            message.setPushToken(pt.getToken());
+            message.setTitle(title);
+            message.setBody(body);
+            message.setDataJson(dataJson);
+            messages.add(message);
         }
+        pushOutboxRepository.saveAll(messages);
+        log.debug("Queued {} push message(s) for userId={}", messages.size(), userId);
     }
 
     private boolean registerDispatch(String dedupeKey) {
@@ -156,25 +173,15 @@ public class PushNotificationService {
         };
     }
 
-    private void sendSingle(String pushToken, String title, String body,
-                            Map<String, Object> data) {
-        Map<String, Object> payload = new java.util.LinkedHashMap<>();
-        payload.put("to", pushToken);
-        payload.put("title", title);
-        payload.put("body", body);
-        payload.put("sound", "default");
-        if (data != null && !data.isEmpty()) {
-            payload.put("data", data);
+    private String serializeData(Map<String, Object> data) {
+        if (data == null || data.isEmpty()) {
+            return null;
         }
-
         try {
-            restClient.post()
-                    .body(payload)
-                    .retrieve()
-                    .toBodilessEntity();
-            log.debug("Push sent to token={}", pushToken.substring(0, Math.min(20, pushToken.length())));
-        } catch (Exception e) {
-            log.error("Failed to send push notification: {}", e.getMessage());
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.error("Dropping push data payload that could not be serialized: {}", e.getMessage());
+            return null;
         }
     }
 
@@ -0,0 +1,271 @@
+package com.onlyyours.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.onlyyours.model.PushOutboxMessage;
+import com.onlyyours.repository.PushOutboxRepository;
+import com.onlyyours.repository.PushTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers push_outbox rows to Expo in batches.
+ *
+ * Each cycle claims due messages in a short transaction (SKIP LOCKED, so several
+ * instances can run this concurrently), posts them to Expo as one request of up to
+ * {@code push.outbox.batch-size} messages, and records the per-ticket outcome in a
+ * second transaction. The HTTP call itself never holds a database transaction open.
+ *
+ * A claimed message carries a lease in nextAttemptAt; if the instance dies before
+ * recording the outcome the lease expires and the message is claimed again.
+ * Transient failures back off exponentially until {@code push.outbox.max-attempts};
+ * DeviceNotRegistered fails the message immediately and removes the stale token.
+ */
+@Component
+@Slf4j
+public class PushOutboxDispatcher {
+
+    /** Expo rejects requests with more than 100 messages. */
+    private static final int EXPO_MAX_BATCH_SIZE = 100;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String DEVICE_NOT_REGISTERED = "DeviceNotRegistered";
+
+    private static final EnumSet<PushOutboxMessage.Status> CLAIMABLE_STATUSES = EnumSet.of(
+            PushOutboxMessage.Status.PENDING,
+            PushOutboxMessage.Status.SENDING
+    );
+
+    private final PushOutboxRepository pushOutboxRepository;
+    private final PushTokenRepository pushTokenRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final RestClient restClient;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public PushOutboxDispatcher(
+            PushOutboxRepository pushOutboxRepository,
+            PushTokenRepository pushTokenRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${push.expo.url:https://exp.host/--/api/v2/push/send}") String expoPushUrl,
+            @Value("${push.outbox.batch-size:100}") int batchSize,
+            @Value("${push.outbox.lease-ms:60000}") long leaseMillis,
+            @Value("${push.outbox.base-backoff-ms:5000}") long baseBackoffMillis,
+            @Value("${push.outbox.max-backoff-ms:900000}") long maxBackoffMillis,
+            @Value("${push.outbox.max-attempts:8}") int maxAttempts
+    ) {
+        this.pushOutboxRepository = pushOutboxRepository;
+        this.pushTokenRepository = pushTokenRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, Math.min(batchSize, EXPO_MAX_BATCH_SIZE));
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.restClient = RestClient.builder()
+                .baseUrl(expoPushUrl)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    /**
+     * Drains due messages until a claim comes back short of a full batch.
+     *
+     * @return number of messages handed to Expo in this cycle
+     */
+    @Scheduled(fixedDelayString = "${push.outbox.poll-interval-ms:1000}")
+    public int dispatchDueMessages() {
+        int dispatched = 0;
+        List<PushOutboxMessage> claimed;
+        do {
+            claimed = claimBatch();
+            if (!claimed.isEmpty()) {
+                sendBatch(claimed);
+                dispatched += claimed.size();
+            }
+        } while (claimed.size() == batchSize);
+        return dispatched;
+    }
+
+    private List<PushOutboxMessage> claimBatch() {
+        List<PushOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<PushOutboxMessage> due = pushOutboxRepository.findDueForUpdate(
+                    CLAIMABLE_STATUSES, now, PageRequest.of(0, batchSize));
+            for (PushOutboxMessage message : due) {
+                message.setStatus(PushOutboxMessage.Status.SENDING);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plus(lease));
+            }
+            return due;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void sendBatch(List<PushOutboxMessage> batch) {
+        List<TicketOutcome> outcomes;
+        try {
+            JsonNode response = restClient.post()
+                    .body(buildRequestBody(batch))
+                    .retrieve()
+                    .body(JsonNode.class);
+            outcomes = parseTickets(response, batch.size());
+        } catch (Exception e) {
+            log.warn("Expo push request for {} message(s) failed: {}", batch.size(), e.getMessage());
+            outcomes = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                outcomes.add(TicketOutcome.retry(e.getMessage()));
+            }
+        }
+
+        List<TicketOutcome> results = outcomes;
+        transactionTemplate.executeWithoutResult(status -> recordOutcomes(batch, results));
+    }
+
+    private ArrayNode buildRequestBody(List<PushOutboxMessage> batch) {
+        ArrayNode messages = objectMapper.createArrayNode();
+        for (PushOutboxMessage message : batch) {
+            ObjectNode node = messages.addObject();
+            node.put("to", message.getPushToken());
+            node.put("title", message.getTitle());
+            node.put("body", message.getBody());
+            node.put("sound", "default");
+            node.set("data", readData(message));
+        }
+        return messages;
+    }
+
+    private JsonNode readData(PushOutboxMessage message) {
+        if (message.getDataJson() == null) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            return objectMapper.readTree(message.getDataJson());
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable push data for outbox message {}: {}", message.getId(), e.getMessage());
+            return objectMapper.createObjectNode();
+        }
+    }
+
+    /**
+     * Expo answers with one ticket per message, in request order. A response without
+     * a usable ticket list (e.g. a request-level error) retries the whole batch.
+     */
+    private List<TicketOutcome> parseTickets(JsonNode response, int expected) {
+        JsonNode tickets = response == null ? null : response.get("data");
+        List<TicketOutcome> outcomes = new ArrayList<>(expected);
+        for (int i = 0; i < expected; i++) {
+            JsonNode ticket = tickets != null && tickets.isArray() ? tickets.get(i) : null;
+            if (ticket == null) {
+                outcomes.add(TicketOutcome.retry("Missing push ticket in Expo response"));
+            } else if ("ok".equals(ticket.path("status").asText())) {
+                outcomes.add(TicketOutcome.ok());
+            } else if (DEVICE_NOT_REGISTERED.equals(ticket.path("details").path("error").asText())) {
+                outcomes.add(TicketOutcome.deviceNotRegistered(ticket.path("message").asText(DEVICE_NOT_REGISTERED)));
+            } else {
+                outcomes.add(TicketOutcome.retry(ticket.path("message").asText("Expo push ticket error")));
+            }
+        }
+        return outcomes;
+    }
+
+    private void recordOutcomes(List<PushOutboxMessage> batch, List<TicketOutcome> outcomes) {
+        Map<UUID, PushOutboxMessage> managed = pushOutboxRepository
+                .findAllById(batch.stream().map(PushOutboxMessage::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(PushOutboxMessage::getId, Function.identity()));
+
+        Instant now = Instant.now();
+        for (int i = 0; i < batch.size(); i++) {
+            PushOutboxMessage message = managed.get(batch.get(i).getId());
+            if (message == null || message.getStatus() != PushOutboxMessage.Status.SENDING) {
+                continue;
+            }
+            TicketOutcome outcome = outcomes.get(i);
+            switch (outcome.kind()) {
+                case OK -> {
+                    message.setStatus(PushOutboxMessage.Status.SENT);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                }
+                case DEVICE_NOT_REGISTERED -> {
+                    message.setStatus(PushOutboxMessage.Status.FAILED);
+                    message.setLastError(truncate(outcome.error()));
+                    pushTokenRepository.deleteByToken(message.getPushToken());
+                    log.info("Removed unregistered push token after Expo rejected outbox message {}", message.getId());
+                }
+                case RETRY -> {
+                    message.setLastError(truncate(outcome.error()));
+                    if (message.getAttempts() >= maxAttempts) {
+                        message.setStatus(PushOutboxMessage.Status.FAILED);
+                        log.warn("Giving up on push outbox message {} after {} attempts: {}",
+                                message.getId(), message.getAttempts(), outcome.error());
+                    } else {
+                        message.setStatus(PushOutboxMessage.Status.PENDING);
+                        message.setNextAttemptAt(now.plus(backoffFor(message.getAttempts())));
+                    }
+                }
+            }
+        }
+    }
+
+    private Duration backoffFor(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration backoff = baseBackoff.multipliedBy(1L << exponent);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private enum OutcomeKind {
+        OK,
+        DEVICE_NOT_REGISTERED,
+        RETRY
+    }
+
+    private record TicketOutcome(OutcomeKind kind, String error) {
+
+        static TicketOutcome ok() {
+            return new TicketOutcome(OutcomeKind.OK, null);
+        }
+
+        static TicketOutcome deviceNotRegistered(String error) {
+            return new TicketOutcome(OutcomeKind.DEVICE_NOT_REGISTERED, error);
+        }
+
+        static TicketOutcome retry(String error) {
+            return new TicketOutcome(OutcomeKind.RETRY, error);
+        }
+    }
+}
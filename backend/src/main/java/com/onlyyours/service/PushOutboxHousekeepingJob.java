@@ -0,0 +1,77 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.PushOutboxMessage;
+import com.onlyyours.repository.PushOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+
+/**
+ * Deletes push_outbox rows that were delivered (SENT) or given up on (FAILED) once
+ * they were queued more than the retention period ago. The dispatcher never touches
+ * either status again; keeping them for a while leaves recent failures around for
+ * investigation.
+ */
+@Component
+public class PushOutboxHousekeepingJob {
+
+    static final long ADVISORY_LOCK_KEY = 0x4F59_0003L;
+
+    private static final EnumSet<PushOutboxMessage.Status> FINISHED_STATUSES = EnumSet.of(
+            PushOutboxMessage.Status.SENT,
+            PushOutboxMessage.Status.FAILED
+    );
+
+    private final ChunkedPurge purge;
+    private final boolean enabled;
+    private final Duration retention;
+
+    public PushOutboxHousekeepingJob(
+            PushOutboxRepository pushOutboxRepository,
+            DatabaseAdvisoryLock advisoryLock,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${push.outbox.housekeeping.enabled:true}") boolean enabled,
+            @Value("${push.outbox.housekeeping.retention-hours:168}") long retentionHours,
+            @Value("${push.outbox.housekeeping.batch-size:1000}") int batchSize
+    ) {
+        this.purge = new ChunkedPurge(
+                "push_outbox",
+                ADVISORY_LOCK_KEY,
+                advisoryLock,
+                transactionManager,
+                batchSize,
+                (cutoff, page) -> pushOutboxRepository.findPurgeableIds(FINISHED_STATUSES, cutoff, page),
+                pushOutboxRepository::deleteByIdIn,
+                Counter.builder("push.outbox.purged")
+                        .description("Sent or failed push outbox rows deleted by housekeeping")
+                        .register(meterRegistry)
+        );
+        this.enabled = enabled;
+        this.retention = Duration.ofHours(Math.max(0, retentionHours));
+    }
+
+    @Scheduled(
+            initialDelayString = "${push.outbox.housekeeping.initial-delay-ms:90000}",
+            fixedDelayString = "${push.outbox.housekeeping.interval-ms:3600000}"
+    )
+    public void runScheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * @return number of outbox rows deleted
+     */
+    public int purge() {
+        return purge.run(Instant.now().minus(retention)).deleted();
+    }
+}
@@ -0,0 +1,63 @@
+package com.onlyyours.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * One-shot command line import:
+ * {@code java -jar only-yours.jar --import-questions=pack.jsonl [--import-format=csv]}.
+ *
+ * Imports the pack with {@link QuestionPackImporter} and shuts the application
+ * down; the exit code is 0 on success and 1 on failure. Without the option the
+ * runner does nothing.
+ */
+@Component
+@Slf4j
+public class QuestionPackImportRunner implements ApplicationRunner {
+
+    static final String PATH_OPTION = "import-questions";
+    static final String FORMAT_OPTION = "import-format";
+
+    private final QuestionPackImporter importer;
+    private final ConfigurableApplicationContext context;
+
+    public QuestionPackImportRunner(QuestionPackImporter importer, ConfigurableApplicationContext context) {
+        this.importer = importer;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> paths = args.getOptionValues(PATH_OPTION);
+        if (paths == null || paths.isEmpty()) {
+            return;
+        }
+
+        int exitCode = 0;
+        for (String value : paths) {
+            Path path = Path.of(value);
+            List<String> formats = args.getOptionValues(FORMAT_OPTION);
+            String format = formats == null || formats.isEmpty() ? path.getFileName().toString() : formats.get(0);
+            try (InputStream input = Files.newInputStream(path)) {
+                QuestionPackImporter.ImportReport report =
+                        importer.importPack(input, QuestionPackImporter.Format.fromName(format));
+                log.info("Imported question pack {}: {}", path, report);
+            } catch (Exception e) {
+                log.error("Question pack import failed: {}", path, e);
+                exitCode = 1;
+            }
+        }
+
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
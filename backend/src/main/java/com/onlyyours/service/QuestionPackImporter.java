@@ -0,0 +1,559 @@
+package com.onlyyours.service;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.onlyyours.model.QuestionCategory;
+import com.onlyyours.repository.QuestionCategoryRepository;
+import com.onlyyours.util.QuestionTextUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams standard questions from a JSONL or CSV question pack into the questions
+ * table, independently of Flyway seed migrations.
+ *
+ * Rows are read one at a time and written with JDBC batch inserts, one transaction
+ * per chunk, so memory stays flat apart from the duplicate check: one 64-bit
+ * fingerprint per question in each category touched, held in a primitive
+ * open-addressing set kept at most half full (about 8 MB for 500k rows).
+ * A question is a duplicate when its normalized text already exists in the same
+ * category, either in the database or earlier in the pack. Unknown categories are
+ * created on first use. Only one import runs at a time.
+ *
+ * A chunk the database rejects is rolled back, counted as failed and skipped;
+ * chunks already committed stay, and the import carries on with the next chunk.
+ *
+ * JSONL: one object per line with category, text, optionA..optionD and optional
+ * sensitive and categoryDescription. CSV: a header row naming the same columns
+ * (option_a style names are accepted too); quoted fields may span lines.
+ */
+@Service
+@Slf4j
+public class QuestionPackImporter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO questions (category_id, source_type, text, text_hash, option_a, option_b, option_c, option_d,
+                                   archived, created_at, updated_at)
+            VALUES (?, 'STANDARD', ?, ?, ?, ?, ?, ?, false, ?, ?)
+            """;
+    private static final int MAX_OPTION_LENGTH = 255;
+    private static final int LOGGED_INVALID_ROWS = 20;
+
+    public enum Format {
+        JSONL,
+        CSV;
+
+        public static Format fromName(String value) {
+            String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+            if (normalized.endsWith("csv")) {
+                return CSV;
+            }
+            if (normalized.endsWith("jsonl") || normalized.endsWith("ndjson") || normalized.endsWith("json")) {
+                return JSONL;
+            }
+            throw new IllegalArgumentException("Unsupported question pack format: " + value);
+        }
+    }
+
+    public record ImportReport(
+            long rowsRead,
+            long inserted,
+            long duplicates,
+            long invalid,
+            long failed,
+            int categoriesCreated,
+            long durationMs
+    ) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record PackRow(
+            String category,
+            String categoryDescription,
+            Boolean sensitive,
+            String text,
+            @JsonAlias("option_a") String optionA,
+            @JsonAlias("option_b") String optionB,
+            @JsonAlias("option_c") String optionC,
+            @JsonAlias("option_d") String optionD
+    ) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuestionCategoryRepository categoryRepository;
+    private final QuestionSampler questionSampler;
+    private final CategoryCatalogService categoryCatalogService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+    private final long progressLogInterval;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final Counter insertedCounter;
+    private final Counter duplicateCounter;
+    private final Counter invalidCounter;
+    private final Counter failedCounter;
+    private final Timer importTimer;
+
+    public QuestionPackImporter(
+            JdbcTemplate jdbcTemplate,
+            QuestionCategoryRepository categoryRepository,
+            QuestionSampler questionSampler,
+            CategoryCatalogService categoryCatalogService,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${questions.import.batch-size:1000}") int batchSize,
+            @Value("${questions.import.progress-log-interval:50000}") long progressLogInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.questionSampler = questionSampler;
+        this.categoryCatalogService = categoryCatalogService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(PackRow.class);
+        this.batchSize = Math.max(1, batchSize);
+        this.progressLogInterval = Math.max(1, progressLogInterval);
+
+        this.insertedCounter = rowCounter(meterRegistry, "inserted");
+        this.duplicateCounter = rowCounter(meterRegistry, "duplicate");
+        this.invalidCounter = rowCounter(meterRegistry, "invalid");
+        this.failedCounter = rowCounter(meterRegistry, "failed");
+        this.importTimer = Timer.builder("questions.import.duration")
+                .description("Time taken by question pack imports")
+                .register(meterRegistry);
+        Gauge.builder("questions.import.active", running, flag -> flag.get() ? 1 : 0)
+                .description("Whether a question pack import is running")
+                .register(meterRegistry);
+        Gauge.builder("questions.import.progress", rowsProcessed, AtomicLong::get)
+                .description("Rows read by the running (or last) question pack import")
+                .register(meterRegistry);
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("questions.import.rows")
+                .description("Question pack rows by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports a pack. The stream is read to the end but not closed.
+     *
+     * @throws ImportAlreadyRunningException when another import is already running
+     */
+    public ImportReport importPack(InputStream input, Format format) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new ImportAlreadyRunningException();
+        }
+        rowsProcessed.set(0);
+        long startedAt = System.nanoTime();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            ImportRun run = new ImportRun();
+            if (format == Format.CSV) {
+                readCsv(reader, run);
+            } else {
+                readJsonl(reader, run);
+            }
+            run.flush();
+
+            long durationNanos = System.nanoTime() - startedAt;
+            importTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+            run.touchedCategories.forEach(questionSampler::invalidateCategory);
+            if (!run.touchedCategories.isEmpty()) {
+                categoryCatalogService.refresh();
+            }
+
+            ImportReport report = new ImportReport(
+                    run.rowsRead,
+                    run.inserted,
+                    run.duplicates,
+                    run.invalid,
+                    run.failed,
+                    run.categoriesCreated,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos)
+            );
+            log.info("Question pack imported: {}", report);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void readJsonl(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            PackRow row;
+            try {
+                row = rowReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.rejectUnreadableRow("malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(row);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        for (String required : List.of("category", "text", "optiona", "optionb", "optionc", "optiond")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV question pack is missing column: " + required);
+            }
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            String sensitive = column(record, columns, "sensitive");
+            run.accept(new PackRow(
+                    column(record, columns, "category"),
+                    column(record, columns, "categorydescription"),
+                    sensitive == null || sensitive.isBlank() ? null : Boolean.parseBoolean(sensitive.trim()),
+                    column(record, columns, "text"),
+                    column(record, columns, "optiona"),
+                    column(record, columns, "optionb"),
+                    column(record, columns, "optionc"),
+                    column(record, columns, "optiond")
+            ));
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    /**
+     * State for one import: category ids, duplicate fingerprints and the pending chunk.
+     */
+    private final class ImportRun {
+        private final Map<String, Integer> categoryIdsByName = new HashMap<>();
+        private final Set<Integer> loadedCategories = new HashSet<>();
+        private final Set<Integer> touchedCategories = new HashSet<>();
+        private final LongHashSet seenFingerprints = new LongHashSet();
+        private final List<Object[]> pending = new ArrayList<>();
+        private long rowsRead;
+        private long inserted;
+        private long duplicates;
+        private long invalid;
+        private long failed;
+        private int categoriesCreated;
+
+        private ImportRun() {
+            for (QuestionCategory category : categoryRepository.findAll()) {
+                categoryIdsByName.putIfAbsent(category.getName().trim().toLowerCase(Locale.ROOT), category.getId());
+            }
+        }
+
+        void accept(PackRow row) {
+            rowsRead++;
+            if (rowsProcessed.incrementAndGet() % progressLogInterval == 0) {
+                log.info("Question pack import progress: rows={}, inserted={}, duplicates={}, invalid={}",
+                        rowsRead, inserted + pending.size(), duplicates, invalid);
+            }
+
+            String problem = validate(row);
+            if (problem != null) {
+                rejectRow(problem);
+                return;
+            }
+
+            Integer categoryId = resolveCategory(row);
+            String text = row.text().trim();
+            String normalized = QuestionTextUtil.normalize(text);
+            if (!seenFingerprints.add(QuestionTextUtil.fingerprint(categoryId + ":" + normalized))) {
+                duplicates++;
+                duplicateCounter.increment();
+                return;
+            }
+
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            pending.add(new Object[]{
+                    categoryId,
+                    text,
+                    QuestionTextUtil.textHash(text),
+                    row.optionA().trim(),
+                    row.optionB().trim(),
+                    row.optionC().trim(),
+                    row.optionD().trim(),
+                    now,
+                    now
+            });
+            touchedCategories.add(categoryId);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void rejectUnreadableRow(String problem) {
+            rowsRead++;
+            rowsProcessed.incrementAndGet();
+            rejectRow(problem);
+        }
+
+        private void rejectRow(String problem) {
+            invalid++;
+            invalidCounter.increment();
+            if (invalid <= LOGGED_INVALID_ROWS) {
+                log.warn("Skipping question pack row {}: {}", rowsRead, problem);
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Object[]> chunk = List.copyOf(pending);
+            pending.clear();
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, chunk));
+            } catch (DataAccessException e) {
+                failed += chunk.size();
+                failedCounter.increment(chunk.size());
+                log.warn("Skipping question pack chunk of {} row(s) up to row {}: {}",
+                        chunk.size(), rowsRead, e.getMostSpecificCause().getMessage());
+                return;
+            }
+            inserted += chunk.size();
+            insertedCounter.increment(chunk.size());
+        }
+
+        private String validate(PackRow row) {
+            if (isBlank(row.category())) {
+                return "category is required";
+            }
+            if (isBlank(row.text())) {
+                return "text is required";
+            }
+            for (String option : new String[]{row.optionA(), row.optionB(), row.optionC(), row.optionD()}) {
+                if (isBlank(option)) {
+                    return "all four options are required";
+                }
+                if (option.trim().length() > MAX_OPTION_LENGTH) {
+                    return "options must be at most " + MAX_OPTION_LENGTH + " characters";
+                }
+            }
+            return null;
+        }
+
+        private Integer resolveCategory(PackRow row) {
+            String name = row.category().trim();
+            String key = name.toLowerCase(Locale.ROOT);
+            Integer categoryId = categoryIdsByName.get(key);
+            if (categoryId == null) {
+                QuestionCategory category = new QuestionCategory();
+                category.setName(name);
+                category.setDescription(row.categoryDescription());
+                category.setSensitive(Boolean.TRUE.equals(row.sensitive()));
+                categoryId = transactionTemplate.execute(status -> categoryRepository.save(category).getId());
+                categoryIdsByName.put(key, categoryId);
+                categoriesCreated++;
+                log.info("Created question category from pack: name={}, id={}", name, categoryId);
+            }
+            if (loadedCategories.add(categoryId)) {
+                loadExistingFingerprints(categoryId);
+            }
+            return categoryId;
+        }
+
+        private void loadExistingFingerprints(Integer categoryId) {
+            jdbcTemplate.query(
+                    "SELECT text FROM questions WHERE category_id = ? AND source_type = 'STANDARD'",
+                    resultSet -> {
+                        String normalized = QuestionTextUtil.normalize(resultSet.getString(1));
+                        seenFingerprints.add(QuestionTextUtil.fingerprint(categoryId + ":" + normalized));
+                    },
+                    categoryId
+            );
+        }
+
+        private boolean isBlank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+
+    /**
+     * Set of longs in a single open-addressing table with linear probing, so each
+     * entry costs one slot instead of a boxed Long plus a HashMap node. Zero marks an
+     * empty slot and is tracked separately.
+     */
+    static final class LongHashSet {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] slots = new long[INITIAL_CAPACITY];
+        private boolean containsZero;
+        private int size;
+
+        /**
+         * @return true when the value was not in the set yet
+         */
+        boolean add(long value) {
+            if (value == 0) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                size++;
+                return true;
+            }
+            int mask = slots.length - 1;
+            int index = slot(value, mask);
+            while (slots[index] != 0) {
+                if (slots[index] == value) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            slots[index] = value;
+            if (++size * 2 > slots.length) {
+                grow();
+            }
+            return true;
+        }
+
+        boolean contains(long value) {
+            if (value == 0) {
+                return containsZero;
+            }
+            int mask = slots.length - 1;
+            int index = slot(value, mask);
+            while (slots[index] != 0) {
+                if (slots[index] == value) {
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+            return false;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void grow() {
+            long[] previous = slots;
+            slots = new long[previous.length * 2];
+            int mask = slots.length - 1;
+            for (long value : previous) {
+                if (value != 0) {
+                    int index = slot(value, mask);
+                    while (slots[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    slots[index] = value;
+                }
+            }
+        }
+
+        private static int slot(long value, int mask) {
+            return (int) ((value * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain
+     * commas, doubled quotes and line breaks.
+     */
+    static final class CsvRecordReader {
+        private final BufferedReader reader;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return the next record's fields, or null at end of input
+         */
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted CSV field");
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == -1 || c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.CoupleSeenQuestions;
+import com.onlyyours.model.Question;
+import com.onlyyours.repository.CoupleSeenQuestionsRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.QuestionRepository;
+import com.onlyyours.service.SessionQuestionCache.CachedQuestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the questions for a new game without loading the whole deck, avoiding
+ * questions the couple has already played.
+ *
+ * Sampling works on question ids only: category id pools are cached for a short
+ * time, custom decks come from {@link CustomDeckCache}. Each couple has a
+ * seen-question set ({@link CoupleSeenQuestions}); picks probe the pool at random
+ * for unseen ids, so the cost depends on the game size rather than on the deck or
+ * the couple's history. When fewer unseen questions remain than a game needs, the
+ * deck is exhausted: its bits are cleared and a new cycle starts. Only the chosen
+ * category questions are loaded; custom picks use the cached payload templates.
+ *
+ * Must be called inside the transaction that starts the game, so the seen set update
+ * commits or rolls back with it.
+ */
+@Component
+@Slf4j
+public class QuestionSampler {
+
+    /** Random probes per wanted id before falling back to a full pass over the pool. */
+    private static final int PROBE_ATTEMPTS_PER_PICK = 16;
+
+    private final QuestionRepository questionRepository;
+    private final GameSessionRepository gameSessionRepository;
+    private final CoupleSeenQuestionsRepository seenQuestionsRepository;
+    private final long poolTtlMillis;
+    private final ConcurrentMap<Integer, IdPool> categoryPools = new ConcurrentHashMap<>();
+
+    public QuestionSampler(
+            QuestionRepository questionRepository,
+            GameSessionRepository gameSessionRepository,
+            CoupleSeenQuestionsRepository seenQuestionsRepository,
+            @Value("${game.question-sampling.pool-ttl-ms:300000}") long poolTtlMillis
+    ) {
+        this.questionRepository = questionRepository;
+        this.gameSessionRepository = gameSessionRepository;
+        this.seenQuestionsRepository = seenQuestionsRepository;
+        this.poolTtlMillis = poolTtlMillis;
+    }
+
+    /**
+     * @param deckSize number of questions the deck offered, for error messages
+     * @param questions the chosen questions in play order; shorter than requested
+     *                  only when the deck itself is too small
+     */
+    public record Sample(int deckSize, List<CachedQuestion> questions) {
+    }
+
+    /**
+     * @param ids chosen ids in play order
+     * @param exhausted true when the pool had fewer unseen ids than requested, so the
+     *                  pick also contains already-seen ids
+     */
+    public record Pick(List<Integer> ids, boolean exhausted) {
+    }
+
+    public Sample sampleCategory(Integer categoryId, UUID coupleId, int count) {
+        CoupleSeenQuestions seenQuestions = loadSeenQuestions(coupleId);
+        BitSet seen = seenQuestions.seen();
+
+        int[] pool = categoryPool(categoryId, false);
+        Pick pick = pickIds(pool, seen, count, ThreadLocalRandom.current());
+        List<CachedQuestion> questions = loadInOrder(pick.ids());
+        if (questions.size() < count) {
+            // The cached pool is missing new questions or holds deleted ones; reload once.
+            pool = categoryPool(categoryId, true);
+            pick = pickIds(pool, seen, count, ThreadLocalRandom.current());
+            questions = loadInOrder(pick.ids());
+        }
+
+        markSeen(seenQuestions, seen, pool, pick.exhausted(), questions);
+        return new Sample(pool.length, questions);
+    }
+
+    public Sample sampleCustomDeck(UUID coupleId, CustomDeckCache.CustomDeck deck, int count) {
+        CoupleSeenQuestions seenQuestions = loadSeenQuestions(coupleId);
+        BitSet seen = seenQuestions.seen();
+
+        int[] pool = deck.questionIds();
+        Pick pick = pickIds(pool, seen, count, ThreadLocalRandom.current());
+        List<CachedQuestion> questions = pick.ids().stream()
+                .map(deck.questions()::get)
+                .toList();
+
+        markSeen(seenQuestions, seen, pool, pick.exhausted(), questions);
+        return new Sample(pool.length, questions);
+    }
+
+    /**
+     * Drops the cached id pool so the next game in the category sees added or
+     * removed questions immediately.
+     */
+    public void invalidateCategory(Integer categoryId) {
+        categoryPools.remove(categoryId);
+    }
+
+    /**
+     * Chooses up to {@code count} distinct ids from {@code pool}, preferring ids not
+     * set in {@code seen}. Random probing finds unseen ids in O(count) while a fair
+     * share of the pool is unseen; otherwise one pass splits the pool. Public for
+     * the JMH benchmarks.
+     */
+    public static Pick pickIds(int[] pool, BitSet seen, int count, Random random) {
+        if (pool.length >= count * 2) {
+            Set<Integer> chosen = new LinkedHashSet<>();
+            for (int attempt = 0; attempt < count * PROBE_ATTEMPTS_PER_PICK && chosen.size() < count; attempt++) {
+                int id = pool[random.nextInt(pool.length)];
+                if (!seen.get(id)) {
+                    chosen.add(id);
+                }
+            }
+            if (chosen.size() == count) {
+                return new Pick(new ArrayList<>(chosen), false);
+            }
+        }
+
+        List<Integer> unseen = new ArrayList<>();
+        List<Integer> repeats = new ArrayList<>();
+        for (int id : pool) {
+            (seen.get(id) ? repeats : unseen).add(id);
+        }
+        Collections.shuffle(unseen, random);
+        List<Integer> chosen = new ArrayList<>(unseen.subList(0, Math.min(count, unseen.size())));
+        if (chosen.size() == count) {
+            return new Pick(chosen, false);
+        }
+        Collections.shuffle(repeats, random);
+        chosen.addAll(repeats.subList(0, Math.min(count - chosen.size(), repeats.size())));
+        return new Pick(chosen, true);
+    }
+
+    private CoupleSeenQuestions loadSeenQuestions(UUID coupleId) {
+        return seenQuestionsRepository.findByCoupleIdForUpdate(coupleId)
+                .orElseGet(() -> seedSeenQuestions(coupleId));
+    }
+
+    /**
+     * First game since the seen set was introduced: seed it from the couple's past
+     * sessions, once.
+     */
+    private CoupleSeenQuestions seedSeenQuestions(UUID coupleId) {
+        BitSet seen = new BitSet();
+        for (int[] questionIds : gameSessionRepository.findQuestionIdsByCoupleId(coupleId)) {
+            for (int questionId : questionIds) {
+                seen.set(questionId);
+            }
+        }
+        CoupleSeenQuestions seenQuestions = new CoupleSeenQuestions();
+        seenQuestions.setCoupleId(coupleId);
+        seenQuestions.setSeen(seen);
+        log.debug("Seeded seen questions: coupleId={}, seen={}", coupleId, seen.cardinality());
+        return seenQuestions;
+    }
+
+    private void markSeen(
+            CoupleSeenQuestions seenQuestions,
+            BitSet seen,
+            int[] pool,
+            boolean exhausted,
+            List<CachedQuestion> questions
+    ) {
+        if (exhausted) {
+            for (int id : pool) {
+                seen.clear(id);
+            }
+            log.info("Question deck exhausted, starting a new cycle: coupleId={}, deckSize={}",
+                    seenQuestions.getCoupleId(), pool.length);
+        }
+        for (CachedQuestion question : questions) {
+            seen.set(question.id());
+        }
+        seenQuestions.setSeen(seen);
+        seenQuestionsRepository.save(seenQuestions);
+    }
+
+    private List<CachedQuestion> loadInOrder(List<Integer> ids) {
+        Map<Integer, Question> byId = questionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        List<CachedQuestion> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Question question = byId.get(id);
+            if (question != null) {
+                ordered.add(CachedQuestion.of(question));
+            }
+        }
+        return ordered;
+    }
+
+    private int[] categoryPool(Integer categoryId, boolean reload) {
+        long now = System.currentTimeMillis();
+        IdPool pool = categoryPools.get(categoryId);
+        if (reload || pool == null || now - pool.loadedAtMillis() > poolTtlMillis) {
+            pool = new IdPool(toIntArray(questionRepository.findIdsByCategoryId(categoryId)), now);
+            categoryPools.put(categoryId, pool);
+            log.debug("Loaded question id pool: categoryId={}, size={}", categoryId, pool.ids().length);
+        }
+        return pool.ids();
+    }
+
+    private static int[] toIntArray(List<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private record IdPool(int[] ids, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.onlyyours.service;
+
+import com.onlyyours.dto.QuestionPayloadDto;
+import com.onlyyours.model.Question;
+import com.onlyyours.repository.QuestionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Snapshot of the questions selected for each active game session.
+ *
+ * The questions are loaded in one query when the invitation is accepted, so
+ * delivering a question in either round, or resuming via current-question, builds
+ * its payload without reading the questions table. Entries are dropped once the
+ * session completes or expires; a session accepted on another instance (or before
+ * a restart) is filled question by question on first use.
+ */
+@Component
+@Slf4j
+public class SessionQuestionCache {
+
+    private final QuestionRepository questionRepository;
+    private final long idleEvictionMillis;
+    private final ConcurrentMap<UUID, SessionQuestions> sessions = new ConcurrentHashMap<>();
+    private final Counter misses;
+
+    public SessionQuestionCache(
+            QuestionRepository questionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${game.question-cache.idle-eviction-ms:3600000}") long idleEvictionMillis
+    ) {
+        this.questionRepository = questionRepository;
+        this.idleEvictionMillis = idleEvictionMillis;
+        this.misses = Counter.builder("game.question-cache.misses")
+                .description("Question lookups for a session that had to read the questions table")
+                .register(meterRegistry);
+        Gauge.builder("game.question-cache.sessions", sessions, Map::size)
+                .description("Game sessions with cached question payloads")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Caches the questions chosen for a session, replacing anything cached before.
+     */
+    public void preload(UUID sessionId, Collection<CachedQuestion> questions) {
+        SessionQuestions entry = new SessionQuestions();
+        for (CachedQuestion question : questions) {
+            entry.questions.put(question.id(), question);
+        }
+        sessions.put(sessionId, entry);
+    }
+
+    public CachedQuestion get(UUID sessionId, Integer questionId) {
+        SessionQuestions entry = sessions.computeIfAbsent(sessionId, id -> new SessionQuestions());
+        entry.lastAccessMillis = System.currentTimeMillis();
+        CachedQuestion cached = entry.questions.get(questionId);
+        if (cached != null) {
+            return cached;
+        }
+
+        misses.increment();
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new IllegalStateException("Question not found: " + questionId));
+        cached = CachedQuestion.of(question);
+        entry.questions.put(questionId, cached);
+        return cached;
+    }
+
+    public void evict(UUID sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Evicts once the caller's transaction commits, so a rolled-back completion or
+     * expiry keeps serving the session from the cache.
+     */
+    public void evictAfterCommit(UUID sessionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(sessionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(sessionId);
+            }
+        });
+    }
+
+    int cachedSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Safety net for sessions abandoned without completing or being swept, e.g.
+     * when the sweeper runs on another instance.
+     */
+    @Scheduled(fixedDelayString = "${game.question-cache.eviction-interval-ms:300000}")
+    public void evictIdleSessions() {
+        long idleBefore = System.currentTimeMillis() - idleEvictionMillis;
+        sessions.entrySet().removeIf(entry -> entry.getValue().lastAccessMillis < idleBefore);
+    }
+
+    /**
+     * Immutable copy of the question fields a payload needs.
+     */
+    public record CachedQuestion(
+            Integer id,
+            String text,
+            String optionA,
+            String optionB,
+            String optionC,
+            String optionD,
+            boolean custom
+    ) {
+        static CachedQuestion of(Question question) {
+            return new CachedQuestion(
+                    question.getId(),
+                    question.getText(),
+                    question.getOptionA(),
+                    question.getOptionB(),
+                    question.getOptionC(),
+                    question.getOptionD(),
+                    question.getSourceType() == Question.SourceType.CUSTOM_COUPLE
+            );
+        }
+
+        public QuestionPayloadDto toPayload(
+                UUID sessionId,
+                int questionNumber,
+                int totalQuestions,
+                String round,
+                Integer correctCountSoFar
+        ) {
+            return QuestionPayloadDto.builder()
+                    .sessionId(sessionId)
+                    .questionId(id)
+                    .questionNumber(questionNumber)
+                    .totalQuestions(totalQuestions)
+                    .questionText(text)
+                    .optionA(optionA)
+                    .optionB(optionB)
+                    .optionC(optionC)
+                    .optionD(optionD)
+                    .round(round)
+                    .customQuestion(custom)
+                    .correctCountSoFar(correctCountSoFar)
+                    .build();
+        }
+    }
+
+    private static final class SessionQuestions {
+        private final Map<Integer, CachedQuestion> questions = new ConcurrentHashMap<>();
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+    }
+}
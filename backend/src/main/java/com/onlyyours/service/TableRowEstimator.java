@@ -0,0 +1,52 @@
+package com.onlyyours.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cheap row counts for table size gauges.
+ *
+ * On PostgreSQL this reads the planner estimate (pg_class.reltuples), kept current by
+ * autovacuum and ANALYZE, instead of a COUNT(*) that scans the whole table. Other
+ * databases (H2 in tests) hold small tables, so they get an exact count.
+ */
+@Component
+@Slf4j
+public class TableRowEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public TableRowEstimator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param table a table name from code, never from user input
+     * @return estimated rows, or -1 when PostgreSQL has not analyzed the table yet
+     */
+    public long estimateRows(String table) {
+        if (!isPostgres()) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            return count == null ? 0 : count;
+        }
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(reltuples), -1)::bigint FROM pg_class WHERE oid = to_regclass(?)",
+                Long.class, table);
+        return estimate == null || estimate < 0 ? -1 : estimate;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase().contains("postgresql");
+            postgres = result;
+            log.debug("Row estimates from {} on {}", result ? "pg_class" : "COUNT(*)", product);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package com.onlyyours.service;
+
+import com.onlyyours.repository.PasswordResetTokenRepository;
+import com.onlyyours.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Deletes refresh and password reset tokens that are no longer usable.
+ *
+ * Every login and refresh inserts a refresh token and rotation only revokes the old
+ * one, so without this job both tables (and their token_hash indexes) grow forever.
+ * A token is purged once it expired, or was revoked/used, more than the retention
+ * period ago; the retention keeps recently rotated tokens around for investigating
+ * replayed refresh tokens. Both tables share one advisory lock.
+ *
+ * The auth.tokens.rows gauge is refreshed only by the instance that purged, from the
+ * planner's row estimate rather than a COUNT(*); other instances report NaN.
+ */
+@Component
+public class TokenHousekeepingJob {
+
+    static final long ADVISORY_LOCK_KEY = 0x4F59_0002L;
+
+    private final boolean enabled;
+    private final Duration retention;
+    private final TableRowEstimator rowEstimator;
+    private final List<TokenTable> tables;
+
+    public TokenHousekeepingJob(
+            RefreshTokenRepository refreshTokenRepository,
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            DatabaseAdvisoryLock advisoryLock,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            TableRowEstimator rowEstimator,
+            @Value("${auth.token-housekeeping.enabled:true}") boolean enabled,
+            @Value("${auth.token-housekeeping.retention-hours:168}") long retentionHours,
+            @Value("${auth.token-housekeeping.batch-size:1000}") int batchSize
+    ) {
+        this.enabled = enabled;
+        this.retention = Duration.ofHours(Math.max(0, retentionHours));
+        this.rowEstimator = rowEstimator;
+        this.tables = List.of(
+                new TokenTable("refresh_tokens", meterRegistry, advisoryLock, transactionManager, batchSize,
+                        refreshTokenRepository::findPurgeableIds,
+                        refreshTokenRepository::deleteByIdIn),
+                new TokenTable("password_reset_tokens", meterRegistry, advisoryLock, transactionManager, batchSize,
+                        passwordResetTokenRepository::findPurgeableIds,
+                        passwordResetTokenRepository::deleteByIdIn)
+        );
+    }
+
+    @Scheduled(
+            initialDelayString = "${auth.token-housekeeping.initial-delay-ms:60000}",
+            fixedDelayString = "${auth.token-housekeeping.interval-ms:3600000}"
+    )
+    public void runScheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * @return number of token rows deleted across both tables
+     */
+    public int purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        int purged = 0;
+        for (TokenTable table : tables) {
+            ChunkedPurge.Result result = table.purge.run(cutoff);
+            purged += result.deleted();
+            if (!result.skipped()) {
+                table.rows.set(rowEstimator.estimateRows(table.name));
+            }
+        }
+        return purged;
+    }
+
+    private static final class TokenTable {
+        private final String name;
+        private final ChunkedPurge purge;
+        private final AtomicLong rows = new AtomicLong(-1);
+
+        private TokenTable(
+                String name,
+                MeterRegistry meterRegistry,
+                DatabaseAdvisoryLock advisoryLock,
+                PlatformTransactionManager transactionManager,
+                int batchSize,
+                BiFunction<Instant, Pageable, List<UUID>> finder,
+                Function<Collection<UUID>, Integer> deleter
+        ) {
+            this.name = name;
+            this.purge = new ChunkedPurge(name, ADVISORY_LOCK_KEY, advisoryLock, transactionManager, batchSize,
+                    finder, deleter,
+                    Counter.builder("auth.tokens.purged")
+                            .description("Expired, revoked or used token rows deleted by housekeeping")
+                            .tag("table", name)
+                            .register(meterRegistry));
+            Gauge.builder("auth.tokens.rows", rows, value -> value.get() < 0 ? Double.NaN : value.get())
+                    .description("Estimated token rows after the last housekeeping run on this instance")
+                    .tag("table", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.onlyyours.service;
+
+import com.onlyyours.repository.UserGameStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates user_game_stats rows for users that predate the table, so their first
+ * dashboard read does not pay for the history replay. Each user is bootstrapped in
+ * its own transaction; once every user has a row a run costs one empty query.
+ */
+@Component
+@Slf4j
+public class UserGameStatsBackfillJob {
+
+    private final UserGameStatsRepository userGameStatsRepository;
+    private final UserGameStatsService userGameStatsService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public UserGameStatsBackfillJob(
+            UserGameStatsRepository userGameStatsRepository,
+            UserGameStatsService userGameStatsService,
+            @Value("${stats.backfill.enabled:true}") boolean enabled,
+            @Value("${stats.backfill.batch-size:200}") int batchSize
+    ) {
+        this.userGameStatsRepository = userGameStatsRepository;
+        this.userGameStatsService = userGameStatsService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(
+            initialDelayString = "${stats.backfill.initial-delay-ms:30000}",
+            fixedDelayString = "${stats.backfill.interval-ms:3600000}"
+    )
+    public void runScheduledBackfill() {
+        if (enabled) {
+            backfillMissingStats();
+        }
+    }
+
+    /**
+     * @return number of stats rows created
+     */
+    public int backfillMissingStats() {
+        int created = 0;
+        List<UUID> userIds;
+        do {
+            userIds = userGameStatsRepository.findUserIdsWithoutStats(PageRequest.of(0, batchSize));
+            int createdInBatch = 0;
+            for (UUID userId : userIds) {
+                try {
+                    if (userGameStatsService.backfillUser(userId)) {
+                        createdInBatch++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to backfill game stats for userId={}: {}", userId, e.getMessage());
+                }
+            }
+            created += createdInBatch;
+            if (createdInBatch == 0) {
+                break;
+            }
+        } while (userIds.size() == batchSize);
+
+        if (created > 0) {
+            log.info("Backfilled game stats for {} user(s)", created);
+        }
+        return created;
+    }
+}
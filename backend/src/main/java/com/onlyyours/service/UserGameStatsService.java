@@ -0,0 +1,262 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.User;
+import com.onlyyours.model.UserGameStats;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.UserGameStatsRepository;
+import com.onlyyours.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Maintains the per-user user_game_stats row behind the dashboard stats and badges.
+ *
+ * The row is updated in the same transaction as the session transition that changes
+ * it (invitation accepted, declined or expired while still invited, game completed),
+ * so reads never have to replay a user's session history. Users without a row are
+ * bootstrapped from history once, either by UserGameStatsBackfillJob or on first use.
+ *
+ * The row is claimed with INSERT ... ON CONFLICT DO NOTHING, so two transactions
+ * bootstrapping the same user never abort each other. The winner fills the row from
+ * history, which already includes its own uncommitted transition, so no delta is
+ * applied on top. The loser waits for the winner to commit and then applies its
+ * delta to the winner's row, which could not see the loser's transition.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserGameStatsService {
+
+    static final int SHARP_GUESSER_SCORE = 7;
+
+    /** Mirrors the dashboard's historical definition: an expired session counts as accepted. */
+    private static final EnumSet<GameSession.GameStatus> ACCEPTED_INVITATION_STATUSES = EnumSet.of(
+            GameSession.GameStatus.ROUND1,
+            GameSession.GameStatus.ROUND2,
+            GameSession.GameStatus.COMPLETED,
+            GameSession.GameStatus.EXPIRED
+    );
+
+    private final UserRepository userRepository;
+    private final GameSessionRepository gameSessionRepository;
+    private final UserGameStatsRepository userGameStatsRepository;
+
+    /**
+     * Returns the user's stats row, bootstrapping it from history if it does not exist yet.
+     */
+    @Transactional
+    public UserGameStats getOrInitialize(User user) {
+        return userGameStatsRepository.findByUser_Id(user.getId())
+                .orElseGet(() -> {
+                    bootstrap(user);
+                    return userGameStatsRepository.findByUser_Id(user.getId()).orElseThrow();
+                });
+    }
+
+    /**
+     * Creates the stats row for a user that does not have one yet.
+     *
+     * @return true when a row was created
+     */
+    @Transactional
+    public boolean backfillUser(UUID userId) {
+        if (userGameStatsRepository.findByUser_Id(userId).isPresent()) {
+            return false;
+        }
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return false;
+        }
+        return bootstrap(user);
+    }
+
+    @Transactional
+    public void recordInvitationAccepted(GameSession session) {
+        long responseMillis = responseTimeMillis(session);
+        forEachPlayer(session, stats -> {
+            stats.setInvitationsResponded(stats.getInvitationsResponded() + 1);
+            stats.setInvitationsAccepted(stats.getInvitationsAccepted() + 1);
+            if (responseMillis >= 0) {
+                stats.setResponseTimeTotalMs(stats.getResponseTimeTotalMs() + responseMillis);
+                stats.setResponseTimeSamples(stats.getResponseTimeSamples() + 1);
+            }
+        });
+    }
+
+    @Transactional
+    public void recordInvitationDeclined(GameSession session) {
+        forEachPlayer(session, stats -> stats.setInvitationsResponded(stats.getInvitationsResponded() + 1));
+    }
+
+    /**
+     * Records an invitation that expired before anyone responded. Sessions that expire
+     * mid-game were already counted when the invitation was accepted.
+     */
+    @Transactional
+    public void recordInvitationExpired(GameSession session) {
+        forEachPlayer(session, stats -> {
+            stats.setInvitationsResponded(stats.getInvitationsResponded() + 1);
+            stats.setInvitationsAccepted(stats.getInvitationsAccepted() + 1);
+        });
+    }
+
+    @Transactional
+    public void recordGameCompleted(GameSession session, int player1Score, int player2Score) {
+        UUID player1Id = session.getCouple().getUser1().getId();
+        Date completedAt = resolveSessionReferenceDate(session);
+        forEachPlayer(session, stats -> {
+            int myScore = stats.getUser().getId().equals(player1Id) ? player1Score : player2Score;
+            applyCompletedGame(stats, myScore, completedAt);
+        });
+    }
+
+    private void forEachPlayer(GameSession session, Consumer<UserGameStats> update) {
+        Couple couple = session.getCouple();
+        List<User> players = List.of(couple.getUser1(), couple.getUser2()).stream()
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+        for (User player : players) {
+            UserGameStats stats = userGameStatsRepository.findByUserIdForUpdate(player.getId()).orElse(null);
+            if (stats == null) {
+                if (bootstrap(player)) {
+                    continue;
+                }
+                stats = userGameStatsRepository.findByUserIdForUpdate(player.getId()).orElseThrow();
+            }
+            update.accept(stats);
+            userGameStatsRepository.save(stats);
+        }
+    }
+
+    private void applyCompletedGame(UserGameStats stats, int myScore, Date completedAt) {
+        int gamesCompleted = stats.getGamesCompleted() + 1;
+        stats.setGamesCompleted(gamesCompleted);
+        stats.setTotalScore(stats.getTotalScore() + myScore);
+        stats.setBestScore(Math.max(stats.getBestScore(), myScore));
+
+        Instant completedInstant = completedAt == null ? null : completedAt.toInstant();
+        if (gamesCompleted == 1) {
+            stats.setFirstCompletedAt(completedInstant);
+        } else if (gamesCompleted == 5) {
+            stats.setFifthCompletedAt(completedInstant);
+        } else if (gamesCompleted == 10) {
+            stats.setTenthCompletedAt(completedInstant);
+        }
+        if (myScore >= SHARP_GUESSER_SCORE && stats.getSharpGuesserAt() == null) {
+            stats.setSharpGuesserAt(completedInstant);
+        }
+        if (completedInstant == null) {
+            return;
+        }
+        if (stats.getLastCompletedAt() == null || completedInstant.isAfter(stats.getLastCompletedAt())) {
+            stats.setLastCompletedAt(completedInstant);
+        }
+        advanceStreak(stats, toLocalDate(completedAt));
+    }
+
+    /**
+     * The streak counts consecutive days ending at the latest completion day, matching
+     * how it was previously computed from the full history.
+     */
+    private void advanceStreak(UserGameStats stats, LocalDate completedOn) {
+        LocalDate lastCompletedOn = stats.getLastCompletedOn();
+        if (lastCompletedOn == null || completedOn.isAfter(lastCompletedOn.plusDays(1))) {
+            stats.setCurrentStreakDays(1);
+            stats.setLastCompletedOn(completedOn);
+        } else if (completedOn.equals(lastCompletedOn.plusDays(1))) {
+            stats.setCurrentStreakDays(stats.getCurrentStreakDays() + 1);
+            stats.setLastCompletedOn(completedOn);
+        }
+    }
+
+    /**
+     * Creates the user's row from session history, as seen by the current transaction.
+     *
+     * @return true when this transaction created the row; false when another
+     *         transaction created it first
+     */
+    private boolean bootstrap(User user) {
+        if (userGameStatsRepository.insertIfAbsent(UUID.randomUUID(), user.getId(), Instant.now()) == 0) {
+            log.debug("User game stats bootstrap raced for userId={}, using the existing row", user.getId());
+            return false;
+        }
+        log.info("Bootstrapping user game stats: userId={}", user.getId());
+        UserGameStats stats = userGameStatsRepository.findByUserIdForUpdate(user.getId()).orElseThrow();
+        List<GameSession> completedAsc = gameSessionRepository.findAllByUserIdAndStatusOrderByCompletedAtDesc(
+                user.getId(),
+                GameSession.GameStatus.COMPLETED
+        ).stream()
+                .sorted(Comparator.comparing(this::resolveSessionReferenceDate, Comparator.nullsLast(Date::compareTo)))
+                .toList();
+        List<GameSession> allSessions = gameSessionRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId());
+
+        for (GameSession session : completedAsc) {
+            applyCompletedGame(stats, resolveMyScore(session, user.getId()), resolveSessionReferenceDate(session));
+        }
+
+        for (GameSession session : allSessions) {
+            if (session.getStatus() == GameSession.GameStatus.INVITED) {
+                continue;
+            }
+            stats.setInvitationsResponded(stats.getInvitationsResponded() + 1);
+            if (!ACCEPTED_INVITATION_STATUSES.contains(session.getStatus())) {
+                continue;
+            }
+            stats.setInvitationsAccepted(stats.getInvitationsAccepted() + 1);
+            long responseMillis = responseTimeMillis(session);
+            if (responseMillis >= 0) {
+                stats.setResponseTimeTotalMs(stats.getResponseTimeTotalMs() + responseMillis);
+                stats.setResponseTimeSamples(stats.getResponseTimeSamples() + 1);
+            }
+        }
+
+        userGameStatsRepository.save(stats);
+        return true;
+    }
+
+    /**
+     * @return milliseconds between invitation and start, or -1 when unknown
+     */
+    private long responseTimeMillis(GameSession session) {
+        if (session.getCreatedAt() == null || session.getStartedAt() == null) {
+            return -1;
+        }
+        long diffMillis = session.getStartedAt().getTime() - session.getCreatedAt().getTime();
+        return diffMillis >= 0 ? diffMillis : -1;
+    }
+
+    private int resolveMyScore(GameSession session, UUID userId) {
+        boolean isUser1 = session.getCouple().getUser1().getId().equals(userId);
+        Integer myScore = isUser1 ? session.getPlayer1Score() : session.getPlayer2Score();
+        return myScore == null ? 0 : myScore;
+    }
+
+    private Date resolveSessionReferenceDate(GameSession session) {
+        if (session.getCompletedAt() != null) {
+            return session.getCompletedAt();
+        }
+        if (session.getStartedAt() != null) {
+            return session.getStartedAt();
+        }
+        return session.getCreatedAt();
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        return Objects.requireNonNull(date).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
@@ -0,0 +1,73 @@
+package com.onlyyours.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization used to decide whether two questions are the same question:
+ * surrounding whitespace is dropped, inner runs collapse to one space and case is
+ * ignored.
+ *
+ * Only ASCII is normalized: whitespace means space, tab, LF, VT, FF and CR, and only
+ * A-Z are lower-cased. V28 computes the same hash in SQL, where lower() depends on
+ * the database collation and btrim() only strips spaces; other characters,
+ * including control characters and non-ASCII letters, are compared as they are.
+ */
+public final class QuestionTextUtil {
+
+    private static final Pattern ASCII_WHITESPACE = Pattern.compile("[ \\t\\n\\x0B\\f\\r]+");
+
+    private QuestionTextUtil() {}
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String collapsed = ASCII_WHITESPACE.matcher(text).replaceAll(" ");
+        int start = 0;
+        int end = collapsed.length();
+        while (start < end && collapsed.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && collapsed.charAt(end - 1) == ' ') {
+            end--;
+        }
+        StringBuilder normalized = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = collapsed.charAt(i);
+            normalized.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Hex SHA-256 of the normalized text, as stored in questions.text_hash. V28
+     * computes the same value in SQL for the backfill; keep the two in step.
+     */
+    public static String textHash(String text) {
+        return HexFormat.of().formatHex(sha256(normalize(text)));
+    }
+
+    /**
+     * 64-bit fingerprint of already-normalized text, for in-memory duplicate checks.
+     */
+    public static long fingerprint(String normalizedText) {
+        byte[] hash = sha256(normalizedText);
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (hash[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+}
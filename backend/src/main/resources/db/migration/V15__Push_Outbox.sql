@@ -0,0 +1,21 @@
+-- V15: Durable outbox for Expo push notifications.
+-- Gameplay and couple events enqueue one row per device token; a background
+-- dispatcher claims due rows, sends them to Expo in batches of up to 100 and
+-- reschedules failures with exponential backoff.
+
+CREATE TABLE IF NOT EXISTS push_outbox (
+    id              UUID PRIMARY KEY,
+    push_token      VARCHAR(255) NOT NULL,
+    title           VARCHAR(255) NOT NULL,
+    body            TEXT         NOT NULL,
+    data_json       TEXT,
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    sent_at         TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_push_outbox_status_next_attempt
+ON push_outbox (status, next_attempt_at);
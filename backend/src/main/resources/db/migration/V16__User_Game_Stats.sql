@@ -0,0 +1,25 @@
+-- V16: Per-user dashboard stats maintained alongside invitation responses and
+-- game completion, so the stats and badges endpoints read one row instead of
+-- replaying the user's whole session history. Existing users are filled in by
+-- UserGameStatsBackfillJob (or lazily on first read).
+
+CREATE TABLE IF NOT EXISTS user_game_stats (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL UNIQUE REFERENCES users(id),
+    games_completed INTEGER NOT NULL DEFAULT 0,
+    total_score BIGINT NOT NULL DEFAULT 0,
+    best_score INTEGER NOT NULL DEFAULT 0,
+    current_streak_days INTEGER NOT NULL DEFAULT 0,
+    last_completed_on DATE,
+    invitations_responded INTEGER NOT NULL DEFAULT 0,
+    invitations_accepted INTEGER NOT NULL DEFAULT 0,
+    response_time_total_ms BIGINT NOT NULL DEFAULT 0,
+    response_time_samples INTEGER NOT NULL DEFAULT 0,
+    first_completed_at TIMESTAMP,
+    fifth_completed_at TIMESTAMP,
+    tenth_completed_at TIMESTAMP,
+    sharp_guesser_at TIMESTAMP,
+    last_completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
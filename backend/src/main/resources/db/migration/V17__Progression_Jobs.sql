@@ -0,0 +1,21 @@
+-- V17: Durable queue of completed games awaiting progression processing.
+-- Game completion writes one row per session in its own transaction; a
+-- background worker applies XP, streaks and achievements afterwards and pushes
+-- the resulting milestones to the game topic. The progression_events
+-- event_key uniqueness keeps re-processing idempotent.
+
+CREATE TABLE IF NOT EXISTS progression_jobs (
+    id              UUID PRIMARY KEY,
+    session_id      UUID         NOT NULL UNIQUE REFERENCES game_sessions(id),
+    player1_score   INTEGER      NOT NULL,
+    player2_score   INTEGER      NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    processed_at    TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_progression_jobs_status_next_attempt
+ON progression_jobs (status, next_attempt_at);
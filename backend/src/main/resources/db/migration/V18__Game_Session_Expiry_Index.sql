@@ -0,0 +1,8 @@
+-- V18: Supports the scheduled expiry sweep.
+-- GameSessionExpirySweeper repeatedly asks for active sessions whose
+-- expires_at has passed; the partial index keeps that lookup proportional
+-- to the number of active sessions rather than the whole history.
+
+CREATE INDEX IF NOT EXISTS idx_game_sessions_active_expires_at
+ON game_sessions (expires_at)
+WHERE status IN ('INVITED', 'ROUND1', 'ROUND2');
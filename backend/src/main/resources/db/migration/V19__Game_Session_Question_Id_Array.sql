@@ -0,0 +1,12 @@
+-- V19: Store game session question IDs as integer[] instead of a comma-separated
+-- VARCHAR that every move re-parsed. The column is converted in place, so
+-- existing sessions keep their question order; blank values become NULL.
+
+ALTER TABLE game_sessions
+    ALTER COLUMN question_ids TYPE INTEGER[]
+    USING CASE
+        WHEN question_ids IS NULL OR btrim(question_ids) = '' THEN NULL
+        ELSE string_to_array(regexp_replace(question_ids, '\s', '', 'g'), ',')::INTEGER[]
+    END;
+
+COMMENT ON COLUMN game_sessions.question_ids IS 'Question IDs for the session in play order';
@@ -0,0 +1,9 @@
+-- V20: Per-couple bitmap of questions already dealt, so starting a game can skip
+-- repeats without scanning the couple's session history. Rows are created on a
+-- couple's next game start, seeded once from their past sessions.
+
+CREATE TABLE IF NOT EXISTS couple_seen_questions (
+    couple_id UUID PRIMARY KEY REFERENCES couples(id),
+    seen_bitmap BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,36 @@
+-- V21: Hash of each question's normalized text, so the custom-question duplicate
+-- check is one indexed lookup and two partners saving the same question at once
+-- cannot both get past it. The backfill mirrors QuestionTextUtil.textHash: trim,
+-- collapse whitespace runs to one space, lower-case, then hex SHA-256.
+
+ALTER TABLE questions
+ADD COLUMN IF NOT EXISTS text_hash VARCHAR(64);
+
+UPDATE questions
+SET text_hash = encode(
+        sha256(convert_to(lower(btrim(regexp_replace(text, '[ \t\n\r\f\v]+', ' ', 'g'))), 'UTF8')),
+        'hex')
+WHERE text_hash IS NULL;
+
+-- The old in-memory check could be raced; keep the oldest of any active duplicates
+-- and archive the rest so the unique index can be built.
+UPDATE questions q
+SET archived = TRUE,
+    updated_at = CURRENT_TIMESTAMP
+WHERE q.source_type = 'CUSTOM_COUPLE'
+  AND q.archived = FALSE
+  AND EXISTS (
+      SELECT 1
+      FROM questions older
+      WHERE older.couple_id = q.couple_id
+        AND older.source_type = 'CUSTOM_COUPLE'
+        AND older.archived = FALSE
+        AND older.text_hash = q.text_hash
+        AND older.id < q.id
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_questions_custom_couple_text_hash
+ON questions (couple_id, text_hash)
+WHERE source_type = 'CUSTOM_COUPLE' AND archived = FALSE;
+
+COMMENT ON COLUMN questions.text_hash IS 'Hex SHA-256 of the normalized question text';
@@ -0,0 +1,8 @@
+-- V22: Version counter for each couple's custom question deck. Every custom
+-- question create, update and delete increments it, so cached copies of the deck
+-- can be checked with a primary-key read instead of rescanning the questions.
+
+ALTER TABLE couples
+ADD COLUMN IF NOT EXISTS custom_deck_version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN couples.custom_deck_version IS 'Incremented on every custom question write for the couple';
@@ -0,0 +1,14 @@
+-- V23: Token buckets for the auth endpoint rate limits, shared by every instance
+-- when ratelimit.store=jdbc. Rows are updated with compare-and-set on version and
+-- purged once expires_at (the bucket is full again) has passed.
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(128) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_expires_at
+    ON rate_limit_buckets (expires_at);
@@ -0,0 +1,17 @@
+-- V24: Indexes for TokenHousekeepingJob, which deletes refresh and password reset
+-- tokens that expired, or were revoked/used, longer ago than the retention period.
+-- Without them every purge chunk would scan the whole table.
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at
+    ON refresh_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_revoked_at
+    ON refresh_tokens (revoked_at)
+    WHERE revoked_at IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expires_at
+    ON password_reset_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_used_at
+    ON password_reset_tokens (used_at)
+    WHERE used_at IS NOT NULL;
@@ -0,0 +1,7 @@
+-- V25: Index for PushOutboxHousekeepingJob, which deletes SENT and FAILED outbox
+-- rows older than the retention period. Partial, so it only covers the finished
+-- rows the purge looks for and stays out of the dispatcher's way.
+
+CREATE INDEX IF NOT EXISTS idx_push_outbox_finished_created_at
+    ON push_outbox (created_at)
+    WHERE status IN ('SENT', 'FAILED');
@@ -0,0 +1,7 @@
+-- V26: Index for ProgressionJobHousekeepingJob, which deletes applied (DONE)
+-- progression jobs processed before the retention cutoff. Partial, so it only
+-- covers the rows the purge looks for.
+
+CREATE INDEX IF NOT EXISTS idx_progression_jobs_done_processed_at
+    ON progression_jobs (processed_at)
+    WHERE status = 'DONE';
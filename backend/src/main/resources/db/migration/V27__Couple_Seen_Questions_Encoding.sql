@@ -0,0 +1,7 @@
+-- V27: Seen questions are stored either as the V20 bitmap or as sorted id deltas,
+-- whichever is smaller. A bitmap is sized by the highest question id seen, so after
+-- a large import even a couple with a handful of games stored tens of kilobytes.
+-- Existing rows keep encoding 0 (bitmap) and are rewritten on the couple's next game.
+
+ALTER TABLE couple_seen_questions RENAME COLUMN seen_bitmap TO seen_data;
+ALTER TABLE couple_seen_questions ADD COLUMN IF NOT EXISTS seen_encoding SMALLINT NOT NULL DEFAULT 0;
@@ -0,0 +1,27 @@
+-- V28: Recompute questions.text_hash with the ASCII-only normalization that
+-- QuestionTextUtil.normalize now uses. V21's backfill lower-cased with lower(),
+-- which follows the database collation for non-ASCII letters, while Java trimmed
+-- control characters and lower-cased all of Unicode, so the same text could hash
+-- differently depending on which side wrote it. Both sides now collapse runs of
+-- space/tab/LF/VT/FF/CR to one space, strip leading and trailing spaces, and
+-- lower-case only A-Z.
+--
+-- The new normalization is never coarser than either old one, so no new duplicates
+-- appear. Changed hashes are cleared first so that a row taking over another row's
+-- old hash cannot trip the unique index before that row has been recomputed.
+
+UPDATE questions
+SET text_hash = NULL
+WHERE text_hash IS DISTINCT FROM encode(
+        sha256(convert_to(translate(
+                btrim(regexp_replace(text, '[ \t\n\r\f\v]+', ' ', 'g'), ' '),
+                'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'UTF8')),
+        'hex');
+
+UPDATE questions
+SET text_hash = encode(
+        sha256(convert_to(translate(
+                btrim(regexp_replace(text, '[ \t\n\r\f\v]+', ' ', 'g'), ' '),
+                'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'UTF8')),
+        'hex')
+WHERE text_hash IS NULL;
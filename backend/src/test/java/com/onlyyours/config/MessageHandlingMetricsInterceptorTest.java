@@ -0,0 +1,109 @@
+package com.onlyyours.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.handler.DestinationPatternsMessageCondition;
+import org.springframework.messaging.handler.HandlerMethod;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageMappingInfo;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessageTypeMessageCondition;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageHandlingMetricsInterceptorTest {
+
+    @Mock
+    private SimpAnnotationMethodMessageHandler annotationHandler;
+
+    @Mock
+    private MessageHandler brokerHandler;
+
+    @Mock
+    private MessageChannel channel;
+
+    @Mock
+    private HandlerMethod handlerMethod;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MessageHandlingMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new MessageHandlingMetricsInterceptor(meterRegistry);
+    }
+
+    private void stubMappings() {
+        SimpMessageMappingInfo guessMapping = new SimpMessageMappingInfo(
+                SimpMessageTypeMessageCondition.MESSAGE,
+                new DestinationPatternsMessageCondition("/game.guess"));
+        when(annotationHandler.getDestinationPrefixes()).thenReturn(List.of("/app/"));
+        when(annotationHandler.getHandlerMethods()).thenReturn(Map.of(guessMapping, handlerMethod));
+    }
+
+    private Message<byte[]> messageTo(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private void handle(Message<?> message, MessageHandler handler, Exception ex) {
+        Message<?> intercepted = interceptor.beforeHandle(message, channel, handler);
+        interceptor.afterMessageHandled(intercepted, channel, handler, ex);
+    }
+
+    @Test
+    void mappedDestination_RecordsTimerPerDestinationAndOutcome() {
+        stubMappings();
+
+        handle(messageTo("/app/game.guess"), annotationHandler, null);
+        handle(messageTo("/app/game.guess"), annotationHandler, new IllegalStateException("boom"));
+
+        Timer success = meterRegistry.find(MessageHandlingMetricsInterceptor.TIMER_NAME)
+                .tags("destination", "/game.guess", "outcome", "SUCCESS").timer();
+        Timer error = meterRegistry.find(MessageHandlingMetricsInterceptor.TIMER_NAME)
+                .tags("destination", "/game.guess", "outcome", "ERROR").timer();
+        assertNotNull(success);
+        assertNotNull(error);
+        assertEquals(1, success.count());
+        assertEquals(1, error.count());
+    }
+
+    @Test
+    void unknownDestination_SharesUnmappedTag() {
+        stubMappings();
+
+        handle(messageTo("/app/does.not.exist"), annotationHandler, null);
+        handle(messageTo("/app/another.random.one"), annotationHandler, null);
+
+        Timer unmapped = meterRegistry.find(MessageHandlingMetricsInterceptor.TIMER_NAME)
+                .tag("destination", MessageHandlingMetricsInterceptor.UNMAPPED_DESTINATION).timer();
+        assertNotNull(unmapped);
+        assertEquals(2, unmapped.count());
+        assertEquals(1, meterRegistry.find(MessageHandlingMetricsInterceptor.TIMER_NAME).timers().size());
+    }
+
+    @Test
+    void otherHandlers_AreNotTimed() {
+        handle(messageTo("/topic/game/123"), brokerHandler, null);
+
+        assertNull(meterRegistry.find(MessageHandlingMetricsInterceptor.TIMER_NAME).timer());
+        verifyNoInteractions(annotationHandler);
+    }
+}
@@ -0,0 +1,143 @@
+package com.onlyyours.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StompFloodControlInterceptorTest {
+
+    private static final Principal ALICE = new UsernamePasswordAuthenticationToken("alice@test.com", null);
+
+    @Mock
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @Mock
+    private MessageChannel channel;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StompFloodControlInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new StompFloodControlInterceptor(
+                meterRegistry,
+                () -> messagingTemplate,
+                new StompFloodControlInterceptor.Limit(6, Duration.ofHours(1)),
+                new StompFloodControlInterceptor.Limit(3, Duration.ofHours(1)),
+                new StompFloodControlInterceptor.Limit(1, Duration.ofHours(1)),
+                100,
+                Duration.ofHours(1)
+        );
+    }
+
+    private Message<byte[]> frame(SimpMessageType type, String sessionId, Principal user, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(user);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private boolean send(String sessionId, Principal user, String destination) {
+        return interceptor.preSend(frame(SimpMessageType.MESSAGE, sessionId, user, destination), channel) != null;
+    }
+
+    private double rejected(String scope, String destination) {
+        Counter counter = meterRegistry.find(StompFloodControlInterceptor.REJECTED_COUNTER)
+                .tags("scope", scope, "destination", destination).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void moves_AreLimitedPerUserAndDestinationAcrossSessions() {
+        assertTrue(send("s1", ALICE, "/app/game.answer"));
+        assertTrue(send("s1", ALICE, "/app/game.answer"));
+        assertTrue(send("s2", ALICE, "/app/game.answer"));
+        assertFalse(send("s2", ALICE, "/app/game.answer"));
+
+        // Guess has its own bucket under the same move limit.
+        assertTrue(send("s1", ALICE, "/app/game.guess"));
+        assertEquals(1, rejected("user", "/app/game.answer"));
+    }
+
+    @Test
+    void rejectionCounters_AreRegisteredUpFrontForEveryDestination() {
+        assertNotNull(meterRegistry.find(StompFloodControlInterceptor.REJECTED_COUNTER)
+                .tags("scope", "user", "destination", "/app/game.decline").counter());
+        assertNotNull(meterRegistry.find(StompFloodControlInterceptor.REJECTED_COUNTER)
+                .tags("scope", "session", "destination", StompFloodControlInterceptor.OTHER_DESTINATION).counter());
+        int registered = meterRegistry.find(StompFloodControlInterceptor.REJECTED_COUNTER).counters().size();
+
+        for (int i = 0; i < 10; i++) {
+            send("s1", ALICE, "/app/game.answer");
+        }
+
+        assertEquals(registered, meterRegistry.find(StompFloodControlInterceptor.REJECTED_COUNTER).counters().size());
+    }
+
+    @Test
+    void invitations_UseTheirOwnLimit() {
+        assertTrue(send("s1", ALICE, "/app/game.invite"));
+        assertFalse(send("s1", ALICE, "/app/game.invite"));
+        assertTrue(send("s1", ALICE, "/app/game.accept"));
+    }
+
+    @Test
+    void session_LimitsEveryDestination() {
+        for (int i = 0; i < 6; i++) {
+            assertTrue(send("s1", ALICE, "/app/unknown." + i));
+        }
+
+        assertFalse(send("s1", ALICE, "/app/game.answer"));
+        assertTrue(send("s2", ALICE, "/app/game.answer"));
+        assertEquals(1, rejected("session", "/app/game.answer"));
+        assertEquals(1, interceptor.trackedUserBucketCount());
+    }
+
+    @Test
+    void throttledUser_IsNotifiedOncePerInterval() {
+        send("s1", ALICE, "/app/game.invite");
+        send("s1", ALICE, "/app/game.invite");
+        send("s1", ALICE, "/app/game.invite");
+
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("alice@test.com"), eq("/queue/errors"), any(Map.class));
+        assertEquals(2, rejected("user", "/app/game.invite"));
+    }
+
+    @Test
+    void nonSendFrames_PassAndDisconnectDropsSessionBucket() {
+        send("s1", ALICE, "/app/game.answer");
+        assertEquals(1, interceptor.trackedSessionCount());
+
+        Message<byte[]> subscribe = frame(SimpMessageType.SUBSCRIBE, "s1", ALICE, "/user/queue/errors");
+        assertSame(subscribe, interceptor.preSend(subscribe, channel));
+
+        interceptor.preSend(frame(SimpMessageType.DISCONNECT, "s1", ALICE, null), channel);
+        assertEquals(0, interceptor.trackedSessionCount());
+        verifyNoInteractions(messagingTemplate);
+    }
+}
@@ -0,0 +1,18 @@
+package com.onlyyours.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketChannelConfigTest {
+
+    @Test
+    void virtualThreads_RequireJava21() {
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> WebSocketChannelConfig.requireVirtualThreadSupport(17));
+        assertTrue(failure.getMessage().contains("websocket.channel.virtual-threads"));
+        assertTrue(failure.getMessage().contains("Java 17"));
+
+        assertDoesNotThrow(() -> WebSocketChannelConfig.requireVirtualThreadSupport(21));
+    }
+}
@@ -11,6 +11,7 @@ import com.onlyyours.repository.GameSessionRepository;
 import com.onlyyours.repository.QuestionCategoryRepository;
 import com.onlyyours.repository.QuestionRepository;
 import com.onlyyours.repository.UserRepository;
+import com.onlyyours.security.AdminApiKeyFilter;
 import com.onlyyours.service.GameService;
 import com.onlyyours.service.JwtService;
 import org.junit.jupiter.api.BeforeEach;
@@ -570,6 +571,14 @@ class RestControllerTest {
 
     @Nested
     class ContentControllerTests {
+
+        private void refreshCatalog() throws Exception {
+            mockMvc.perform(post("/api/admin/content/categories/refresh")
+                            .header(AdminApiKeyFilter.HEADER, "test-admin-key"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.etag").isNotEmpty());
+        }
+
         @Test
         void getCategories_ReturnsList() throws Exception {
             QuestionCategory cat = new QuestionCategory();
@@ -577,6 +586,7 @@ class RestControllerTest {
             cat.setDescription("Desc");
             cat.setSensitive(false);
             categoryRepo.save(cat);
+            refreshCatalog();
 
             mockMvc.perform(get("/api/content/categories")
                             .header("Authorization", "Bearer " + validToken))
@@ -592,11 +602,118 @@ class RestControllerTest {
             sensitive.setDescription("Adult content");
             sensitive.setSensitive(true);
             categoryRepo.save(sensitive);
+            refreshCatalog();
 
             mockMvc.perform(get("/api/content/categories")
                             .header("Authorization", "Bearer " + validToken))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$[?(@.name == 'Sensitive Cat')].sensitive").value(true));
         }
+
+        @Test
+        void getCategories_ServesSnapshotWithQuestionCountsUntilRefreshed() throws Exception {
+            refreshCatalog();
+            QuestionCategory cat = new QuestionCategory();
+            cat.setName("Snapshot Cat");
+            cat.setDescription("Desc");
+            cat = categoryRepo.save(cat);
+            for (int i = 0; i < 3; i++) {
+                Question q = new Question();
+                q.setCategory(cat);
+                q.setText("Snapshot question " + i);
+                q.setOptionA("A");
+                q.setOptionB("B");
+                q.setOptionC("C");
+                q.setOptionD("D");
+                questionRepo.save(q);
+            }
+
+            String staleEtag = mockMvc.perform(get("/api/content/categories")
+                            .header("Authorization", "Bearer " + validToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.name == 'Snapshot Cat')]").isEmpty())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            refreshCatalog();
+
+            mockMvc.perform(get("/api/content/categories")
+                            .header("Authorization", "Bearer " + validToken)
+                            .header("If-None-Match", staleEtag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(staleEtag)))
+                    .andExpect(jsonPath("$[?(@.name == 'Snapshot Cat')].questionCount").value(3));
+        }
+
+        @Test
+        void getCategories_MatchingIfNoneMatch_Returns304WithoutBody() throws Exception {
+            String etag = mockMvc.perform(get("/api/content/categories")
+                            .header("Authorization", "Bearer " + validToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", startsWith("\"")))
+                    .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/content/categories")
+                            .header("Authorization", "Bearer " + validToken)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        void refreshCatalog_RequiresAdminKey() throws Exception {
+            mockMvc.perform(post("/api/admin/content/categories/refresh")
+                            .header("Authorization", "Bearer " + validToken))
+                    .andExpect(status().isForbidden());
+
+            mockMvc.perform(post("/api/admin/content/categories/refresh")
+                            .header(AdminApiKeyFilter.HEADER, "wrong-key"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    class AdminControllerTests {
+
+        @Test
+        void importQuestions_StreamsCsvBodyIntoQuestions() throws Exception {
+            String csv = """
+                    category,text,option_a,option_b,option_c,option_d
+                    Admin Import Pack,"Favourite season, honestly?",Spring,Summer,Autumn,Winter
+                    Admin Import Pack,Favourite colour?,Red,Green,Blue,Other
+                    Admin Import Pack,favourite   COLOUR?,Red,Green,Blue,Other
+                    """;
+
+            mockMvc.perform(post("/api/admin/questions/import")
+                            .param("format", "csv")
+                            .header(AdminApiKeyFilter.HEADER, "test-admin-key")
+                            .contentType("text/csv")
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rowsRead", is(3)))
+                    .andExpect(jsonPath("$.inserted", is(2)))
+                    .andExpect(jsonPath("$.duplicates", is(1)))
+                    .andExpect(jsonPath("$.categoriesCreated", is(1)));
+
+            mockMvc.perform(get("/api/content/categories")
+                            .header("Authorization", "Bearer " + validToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.name == 'Admin Import Pack')].questionCount", contains(2)));
+        }
+
+        @Test
+        void importQuestions_RejectsUnknownFormatAndUserTokens() throws Exception {
+            mockMvc.perform(post("/api/admin/questions/import")
+                            .param("format", "xml")
+                            .header(AdminApiKeyFilter.HEADER, "test-admin-key")
+                            .content("<questions/>"))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(post("/api/admin/questions/import")
+                            .header("Authorization", "Bearer " + validToken)
+                            .content("{}"))
+                    .andExpect(status().isForbidden());
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.onlyyours.integration;
 import com.onlyyours.model.QuestionCategory;
 import com.onlyyours.model.User;
 import com.onlyyours.repository.QuestionCategoryRepository;
+import com.onlyyours.service.CategoryCatalogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,14 +21,19 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 3. Sensitive categories include the `sensitive: true` flag in the response
  * 4. An empty category table returns an empty array (not a 500 or null)
  *
- * ContentController is simple (just delegates to the repository), but these tests
- * ensure the JPA query, JSON serialization, and security are all wired together correctly.
+ * ContentController serves a cached catalog snapshot; tests that seed categories
+ * refresh it first, the same way an operator would after a content migration.
+ * These tests ensure the JPA query, JSON serialization, and security are all wired
+ * together correctly.
  */
 class ContentIntegrationTest extends BaseIntegrationTest {
 
     @Autowired
     private QuestionCategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryCatalogService categoryCatalogService;
+
     private User testUser;
 
     @BeforeEach
@@ -49,6 +55,7 @@ class ContentIntegrationTest extends BaseIntegrationTest {
         cat.setDescription("Testing purposes");
         cat.setSensitive(false);
         categoryRepository.save(cat);
+        categoryCatalogService.refresh();
 
         mockMvc.perform(get("/api/content/categories")
                         .header("Authorization", bearerHeader(testUser)))
@@ -64,6 +71,7 @@ class ContentIntegrationTest extends BaseIntegrationTest {
         sensitive.setDescription("Mature content for integration testing");
         sensitive.setSensitive(true);
         categoryRepository.save(sensitive);
+        categoryCatalogService.refresh();
 
         mockMvc.perform(get("/api/content/categories")
                         .header("Authorization", bearerHeader(testUser)))
@@ -79,6 +87,7 @@ class ContentIntegrationTest extends BaseIntegrationTest {
         normal.setDescription("Safe content for integration testing");
         normal.setSensitive(false);
         categoryRepository.save(normal);
+        categoryCatalogService.refresh();
 
         mockMvc.perform(get("/api/content/categories")
                         .header("Authorization", bearerHeader(testUser)))
@@ -94,6 +103,7 @@ class ContentIntegrationTest extends BaseIntegrationTest {
         cat.setDescription("Verify all fields are serialized");
         cat.setSensitive(false);
         categoryRepository.save(cat);
+        categoryCatalogService.refresh();
 
         mockMvc.perform(get("/api/content/categories")
                         .header("Authorization", bearerHeader(testUser)))
@@ -0,0 +1,241 @@
+package com.onlyyours.integration;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal STOMP 1.2 broker over TCP, standing in for RabbitMQ in relay-mode tests.
+ *
+ * Supports what Spring's StompBrokerRelayMessageHandler uses: CONNECT/STOMP,
+ * SUBSCRIBE, UNSUBSCRIBE, SEND and DISCONNECT, with exact-match destinations and
+ * heart-beats disabled. Every SEND is delivered to every matching subscription on
+ * every connection, which is all the fan-out the relay needs across app instances.
+ */
+class InMemoryStompBroker implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong messageIds = new AtomicLong();
+    private volatile boolean running = true;
+
+    InMemoryStompBroker() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "stomp-broker-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        connections.forEach(Connection::close);
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                Thread reader = new Thread(connection::readLoop, "stomp-broker-connection");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (running) {
+                    throw new IllegalStateException("STOMP broker accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void deliver(Map<String, String> sendHeaders, byte[] body) {
+        String destination = sendHeaders.get("destination");
+        Set<Subscription> targets = subscriptions.getOrDefault(destination, Set.of());
+        for (Subscription subscription : targets) {
+            Map<String, String> headers = new LinkedHashMap<>(sendHeaders);
+            headers.remove("receipt");
+            headers.put("subscription", subscription.id());
+            headers.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+            subscription.connection().write("MESSAGE", headers, body);
+        }
+    }
+
+    private record Subscription(Connection connection, String id) {
+    }
+
+    private final class Connection {
+        private final Socket socket;
+        private final OutputStream out;
+        private final Map<String, String> destinationsBySubscriptionId = new ConcurrentHashMap<>();
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = socket.getOutputStream();
+        }
+
+        private void readLoop() {
+            try (InputStream in = new BufferedInputStream(socket.getInputStream())) {
+                while (running) {
+                    Frame frame = readFrame(in);
+                    if (frame == null) {
+                        break;
+                    }
+                    handle(frame);
+                }
+            } catch (IOException ignored) {
+                // Connection closed by the peer.
+            } finally {
+                close();
+            }
+        }
+
+        private void handle(Frame frame) {
+            switch (frame.command()) {
+                case "CONNECT", "STOMP" -> write("CONNECTED", Map.of("version", "1.2", "heart-beat", "0,0"), new byte[0]);
+                case "SUBSCRIBE" -> {
+                    String id = frame.headers().get("id");
+                    String destination = frame.headers().get("destination");
+                    destinationsBySubscriptionId.put(id, destination);
+                    subscriptions.computeIfAbsent(destination, ignored -> ConcurrentHashMap.newKeySet())
+                            .add(new Subscription(this, id));
+                }
+                case "UNSUBSCRIBE" -> removeSubscription(frame.headers().get("id"));
+                case "SEND" -> deliver(frame.headers(), frame.body());
+                case "DISCONNECT" -> {
+                    sendReceiptIfRequested(frame);
+                    close();
+                    return;
+                }
+                default -> {
+                }
+            }
+            sendReceiptIfRequested(frame);
+        }
+
+        private void sendReceiptIfRequested(Frame frame) {
+            String receipt = frame.headers().get("receipt");
+            if (receipt != null) {
+                write("RECEIPT", Map.of("receipt-id", receipt), new byte[0]);
+            }
+        }
+
+        private void removeSubscription(String id) {
+            String destination = destinationsBySubscriptionId.remove(id);
+            if (destination != null) {
+                subscriptions.getOrDefault(destination, Set.of()).remove(new Subscription(this, id));
+            }
+        }
+
+        private synchronized void write(String command, Map<String, String> headers, byte[] body) {
+            if (socket.isClosed()) {
+                return;
+            }
+            StringBuilder frame = new StringBuilder(command).append('\n');
+            headers.forEach((name, value) -> {
+                if (!"content-length".equals(name)) {
+                    frame.append(name).append(':').append(value).append('\n');
+                }
+            });
+            frame.append("content-length:").append(body.length).append("\n\n");
+            try {
+                out.write(frame.toString().getBytes(StandardCharsets.UTF_8));
+                out.write(body);
+                out.write(0);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (!connections.remove(this)) {
+                return;
+            }
+            Set.copyOf(destinationsBySubscriptionId.keySet()).forEach(this::removeSubscription);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already closed.
+            }
+        }
+    }
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {
+    }
+
+    /**
+     * @return the next frame, or null at end of stream. Bare EOLs between frames
+     *         (heart-beats) are skipped.
+     */
+    private static Frame readFrame(InputStream in) throws IOException {
+        String command;
+        do {
+            command = readLine(in);
+            if (command == null) {
+                return null;
+            }
+        } while (command.isEmpty());
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.putIfAbsent(line.substring(0, colon), unescape(line.substring(colon + 1)));
+            }
+        }
+
+        byte[] body;
+        String contentLength = headers.get("content-length");
+        if (contentLength != null) {
+            body = in.readNBytes(Integer.parseInt(contentLength.trim()));
+            in.read();
+        } else {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) > 0) {
+                buffer.write(b);
+            }
+            body = buffer.toByteArray();
+        }
+        return new Frame(command, headers, body);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        return value.replace("\\n", "\n").replace("\\r", "\r").replace("\\c", ":").replace("\\\\", "\\");
+    }
+}
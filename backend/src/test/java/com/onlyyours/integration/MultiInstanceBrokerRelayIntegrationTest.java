@@ -0,0 +1,265 @@
+package com.onlyyours.integration;
+
+import com.onlyyours.OnlyYoursBackendApplication;
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.Question;
+import com.onlyyours.model.QuestionCategory;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.QuestionCategoryRepository;
+import com.onlyyours.repository.QuestionRepository;
+import com.onlyyours.repository.UserRepository;
+import com.onlyyours.service.JwtService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two application instances against one database and one STOMP broker, with
+ * each partner connected to a different instance, and plays a full game across them.
+ *
+ * The broker is InMemoryStompBroker, which speaks enough STOMP for the relay; in
+ * production the same configuration points at RabbitMQ's STOMP plugin.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MultiInstanceBrokerRelayIntegrationTest {
+
+    private static final String DATASOURCE_URL = "jdbc:h2:mem:multinode;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    private static final int QUESTIONS_PER_ROUND = 8;
+
+    private InMemoryStompBroker broker;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private WebSocketStompClient stompClient;
+
+    private QuestionCategory category;
+    private String token1;
+    private String token2;
+
+    @BeforeAll
+    void startCluster() throws Exception {
+        broker = new InMemoryStompBroker();
+        nodeA = startNode("create");
+        nodeB = startNode("none");
+        awaitRelayConnected(nodeA);
+        awaitRelayConnected(nodeB);
+
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        UserRepository userRepository = nodeA.getBean(UserRepository.class);
+        User player1 = new User();
+        player1.setEmail("relay-p1@test.com");
+        player1.setName("RelayPlayer1");
+        player1.setGoogleUserId("google-relay-p1");
+        player1 = userRepository.save(player1);
+
+        User player2 = new User();
+        player2.setEmail("relay-p2@test.com");
+        player2.setName("RelayPlayer2");
+        player2.setGoogleUserId("google-relay-p2");
+        player2 = userRepository.save(player2);
+
+        Couple couple = new Couple();
+        couple.setUser1(player1);
+        couple.setUser2(player2);
+        nodeA.getBean(CoupleRepository.class).save(couple);
+
+        category = new QuestionCategory();
+        category.setName("Relay Test Cat");
+        category.setDescription("Multi-instance relay testing");
+        category.setSensitive(false);
+        category = nodeA.getBean(QuestionCategoryRepository.class).save(category);
+
+        QuestionRepository questionRepository = nodeA.getBean(QuestionRepository.class);
+        for (int i = 1; i <= 10; i++) {
+            Question q = new Question();
+            q.setCategory(category);
+            q.setText("Relay Q" + i);
+            q.setOptionA("A"); q.setOptionB("B");
+            q.setOptionC("C"); q.setOptionD("D");
+            questionRepository.save(q);
+        }
+
+        JwtService jwtService = nodeA.getBean(JwtService.class);
+        token1 = tokenFor(jwtService, player1);
+        token2 = tokenFor(jwtService, player2);
+    }
+
+    @AfterAll
+    void stopCluster() throws Exception {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (broker != null) {
+            broker.close();
+        }
+    }
+
+    private ConfigurableApplicationContext startNode(String ddlAuto) {
+        return new SpringApplicationBuilder(OnlyYoursBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + DATASOURCE_URL,
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--websocket.broker.mode=relay",
+                "--websocket.broker.relay.host=127.0.0.1",
+                "--websocket.broker.relay.port=" + broker.getPort()
+        );
+    }
+
+    private void awaitRelayConnected(ConfigurableApplicationContext node) throws InterruptedException {
+        StompBrokerRelayMessageHandler relay = node.getBean(StompBrokerRelayMessageHandler.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!relay.isBrokerAvailable() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(relay.isBrokerAvailable(), "Relay should connect to the STOMP broker");
+    }
+
+    private String tokenFor(JwtService jwtService, User user) {
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                user.getEmail(), "", Collections.emptyList());
+        return jwtService.generateToken(userDetails, user.getId(), user.getName());
+    }
+
+    private StompSession connect(ConfigurableApplicationContext node, String token) throws Exception {
+        int port = Integer.parseInt(node.getEnvironment().getRequiredProperty("local.server.port"));
+        StompHeaders headers = new StompHeaders();
+        headers.add("Authorization", "Bearer " + token);
+        return stompClient.connectAsync(
+                "ws://localhost:" + port + "/ws-native",
+                new WebSocketHttpHeaders(), headers,
+                new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private void subscribe(StompSession session, String destination, BlockingQueue<Map> sink) {
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override public Type getPayloadType(StompHeaders h) { return Map.class; }
+            @Override public void handleFrame(StompHeaders h, Object p) { sink.add((Map) p); }
+        });
+    }
+
+    private Map awaitMessageOfType(BlockingQueue<Map> queue, String type, long timeoutSeconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            Map message = queue.poll(Math.max(1L, remainingMillis), TimeUnit.MILLISECONDS);
+            if (message == null) {
+                break;
+            }
+            if (type.equals(message.get("type"))) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void partnersOnDifferentInstances_PlayFullGameThroughRelay() throws Exception {
+        StompSession s1 = connect(nodeA, token1);
+        StompSession s2 = connect(nodeB, token2);
+
+        BlockingQueue<Map> p1Events = new LinkedBlockingQueue<>();
+        BlockingQueue<Map> p2Events = new LinkedBlockingQueue<>();
+        BlockingQueue<Map> p1Topic = new LinkedBlockingQueue<>();
+        BlockingQueue<Map> p2Topic = new LinkedBlockingQueue<>();
+
+        subscribe(s1, "/user/queue/game-events", p1Events);
+        subscribe(s2, "/user/queue/game-events", p2Events);
+        Thread.sleep(500);
+
+        // Sent on node A, delivered to player 2 on node B.
+        s1.send("/app/game.invite", Map.of("categoryId", String.valueOf(category.getId())));
+        Map invitation = awaitMessageOfType(p2Events, "INVITATION", 10);
+        assertNotNull(invitation, "Invitation should cross instances through the broker");
+        String sessionId = invitation.get("sessionId").toString();
+
+        subscribe(s1, "/topic/game/" + sessionId, p1Topic);
+        subscribe(s2, "/topic/game/" + sessionId, p2Topic);
+        Thread.sleep(500);
+
+        // Sent on node B, delivered to player 1 on node A.
+        s2.send("/app/game.accept", Map.of("sessionId", sessionId));
+
+        Map p1Question = awaitMessageOfType(p1Events, "QUESTION", 10);
+        Map p2Question = awaitMessageOfType(p2Events, "QUESTION", 10);
+        assertNotNull(p1Question, "Player 1 should receive Round 1 questions from the other instance");
+        assertNotNull(p2Question, "Player 2 should receive Round 1 questions");
+
+        for (int q = 1; q <= QUESTIONS_PER_ROUND; q++) {
+            s1.send("/app/game.answer",
+                    Map.of("sessionId", sessionId, "questionId", p1Question.get("questionId"), "answer", "A"));
+            s2.send("/app/game.answer",
+                    Map.of("sessionId", sessionId, "questionId", p2Question.get("questionId"), "answer", "A"));
+            if (q < QUESTIONS_PER_ROUND) {
+                p1Question = awaitMessageOfType(p1Events, "QUESTION", 10);
+                p2Question = awaitMessageOfType(p2Events, "QUESTION", 10);
+                assertNotNull(p1Question, "Player 1 should receive Round 1 question " + (q + 1));
+                assertNotNull(p2Question, "Player 2 should receive Round 1 question " + (q + 1));
+            }
+        }
+
+        Map p1Round1Complete = awaitMessageOfType(p1Topic, "STATUS", 10);
+        Map p2Round1Complete = awaitMessageOfType(p2Topic, "STATUS", 10);
+        assertNotNull(p1Round1Complete, "Player 1 should see the Round 1 completion broadcast");
+        assertNotNull(p2Round1Complete, "Player 2 should see the Round 1 completion broadcast");
+        assertEquals("ROUND1_COMPLETE", p1Round1Complete.get("eventType"));
+        assertEquals("ROUND1_COMPLETE", p2Round1Complete.get("eventType"));
+
+        Map p1Round2 = awaitMessageOfType(p1Topic, "QUESTION", 10);
+        Map p2Round2 = awaitMessageOfType(p2Topic, "QUESTION", 10);
+        assertNotNull(p1Round2, "Round 2 should start on the game topic for player 1");
+        assertNotNull(p2Round2, "Round 2 should start on the game topic for player 2");
+
+        for (int q = 1; q <= QUESTIONS_PER_ROUND; q++) {
+            s1.send("/app/game.guess",
+                    Map.of("sessionId", sessionId, "questionId", p1Round2.get("questionId"), "guess", "A"));
+            s2.send("/app/game.guess",
+                    Map.of("sessionId", sessionId, "questionId", p2Round2.get("questionId"), "guess", "A"));
+            if (q < QUESTIONS_PER_ROUND) {
+                p1Round2 = awaitMessageOfType(p1Events, "QUESTION", 10);
+                p2Round2 = awaitMessageOfType(p2Events, "QUESTION", 10);
+                assertNotNull(p1Round2, "Player 1 should receive Round 2 question " + (q + 1));
+                assertNotNull(p2Round2, "Player 2 should receive Round 2 question " + (q + 1));
+            }
+        }
+
+        Map p1Results = awaitMessageOfType(p1Topic, "GAME_RESULTS", 10);
+        Map p2Results = awaitMessageOfType(p2Topic, "GAME_RESULTS", 10);
+        assertNotNull(p1Results, "Player 1 should receive results on node A");
+        assertNotNull(p2Results, "Player 2 should receive results on node B");
+        assertEquals(QUESTIONS_PER_ROUND, ((Number) p1Results.get("player1Score")).intValue());
+        assertEquals(QUESTIONS_PER_ROUND, ((Number) p2Results.get("player2Score")).intValue());
+
+        s1.disconnect();
+        s2.disconnect();
+    }
+}
@@ -0,0 +1,120 @@
+package com.onlyyours.security;
+
+import com.onlyyours.model.User;
+import com.onlyyours.repository.UserRepository;
+import com.onlyyours.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatedUserCacheTest {
+
+    private static final String EMAIL = "principal@test.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    private AuthenticatedUserCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtService.getAccessTokenExpirySeconds()).thenReturn(900);
+        cache = new AuthenticatedUserCache(userRepository, jwtService, 60_000, 100);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(EMAIL);
+        user.setName("Stored Name");
+    }
+
+    private JwtService.VerifiedClaims claims(UUID userId, String name, Instant issuedAt) {
+        return new JwtService.VerifiedClaims(EMAIL, userId, name, issuedAt, issuedAt.plusSeconds(900));
+    }
+
+    @Test
+    void resolve_TokenWithIdentityClaims_SkipsDatabase() {
+        AuthenticatedUser resolved = cache.resolve(claims(user.getId(), "Token Name", Instant.now()));
+
+        assertEquals(user.getId(), resolved.getId());
+        assertEquals("Token Name", resolved.getName());
+        assertEquals(EMAIL, resolved.getUsername());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void resolve_AfterInvalidation_ReloadsOlderTokensOnceThenCaches() {
+        JwtService.VerifiedClaims olderToken = claims(user.getId(), "Token Name", Instant.now().minusSeconds(60));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        cache.invalidate(EMAIL);
+        AuthenticatedUser first = cache.resolve(olderToken);
+        AuthenticatedUser second = cache.resolve(olderToken);
+
+        assertEquals("Stored Name", first.getName());
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void resolve_TokenWithoutUserIdClaim_AlwaysLoadsFromDatabase() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        JwtService.VerifiedClaims legacyToken = claims(null, null, Instant.now());
+
+        cache.resolve(legacyToken);
+        AuthenticatedUser resolved = cache.resolve(legacyToken);
+
+        assertEquals(user.getId(), resolved.getId());
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void resolve_InvalidatedTokenForDifferentAccount_IsRejected() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        cache.invalidate(EMAIL);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                cache.resolve(claims(UUID.randomUUID(), "Someone Else", Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void require_ReturnsPrincipalFromAuthenticationWithoutLookup() {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), EMAIL, "Stored Name");
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+
+        assertSame(principal, cache.require(authentication));
+        assertEquals(EMAIL, authentication.getName());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void cache_KeepsMostRecentlyUsedPrincipalsAndSweepsExpired() {
+        AuthenticatedUserCache bounded = new AuthenticatedUserCache(userRepository, jwtService, 60_000, 2);
+        Instant now = Instant.now();
+        for (String email : new String[] {"a@test.com", "b@test.com", "c@test.com"}) {
+            bounded.resolve(new JwtService.VerifiedClaims(email, UUID.randomUUID(), "Name", now, now.plusSeconds(900)));
+        }
+
+        assertEquals(2, bounded.cachedPrincipalCount());
+
+        bounded.evictExpired(now.plusSeconds(61));
+        assertEquals(0, bounded.cachedPrincipalCount());
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,122 @@
+package com.onlyyours.security;
+
+import com.onlyyours.model.RateLimitBucket;
+import com.onlyyours.repository.RateLimitBucketRepository;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not @Transactional: the jdbc store has to see each write committed, as it would
+ * across instances.
+ */
+@SpringBootTest
+class RateLimiterServiceTest {
+
+    @Autowired
+    private RateLimitBucketRepository bucketRepository;
+
+    @AfterEach
+    void cleanUp() {
+        bucketRepository.deleteAll();
+    }
+
+    private RateLimiterService local(int maxBuckets) {
+        return new RateLimiterService(null, new SimpleMeterRegistry(), "local", maxBuckets);
+    }
+
+    private RateLimiterService instance() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new RateLimiterService(
+                new JdbcRateLimitBucketStore(bucketRepository, registry, 5),
+                registry,
+                "jdbc",
+                100
+        );
+    }
+
+    @Test
+    void localStore_KeepsOnlyTheMostRecentlyUsedKeys() {
+        RateLimiterService service = local(2);
+
+        service.tryConsume("10.0.0.1", RateLimiterService.EndpointPolicy.LOGIN);
+        service.tryConsume("10.0.0.2", RateLimiterService.EndpointPolicy.LOGIN);
+        service.tryConsume("10.0.0.3", RateLimiterService.EndpointPolicy.LOGIN);
+
+        assertEquals(2, service.localBucketCount());
+    }
+
+    @Test
+    void localStore_EvictsBucketsIdleForAFullPeriod() {
+        RateLimiterService service = local(100);
+        service.tryConsume("10.0.0.1", RateLimiterService.EndpointPolicy.LOGIN);
+        service.tryConsume("10.0.0.1", RateLimiterService.EndpointPolicy.FORGOT_PASSWORD);
+
+        service.evictIdleLocalBuckets(System.nanoTime() + RateLimiterService.EndpointPolicy.LOGIN.period.toNanos());
+
+        // FORGOT_PASSWORD refills over an hour, so its bucket is still partly drained.
+        assertEquals(1, service.localBucketCount());
+    }
+
+    @Test
+    void localStore_HashesOversizedKeys() {
+        RateLimiterService service = local(100);
+        String forged = "1.2.3.4".repeat(100);
+
+        assertTrue(service.tryConsume(forged, RateLimiterService.EndpointPolicy.LOGIN).isConsumed());
+        assertEquals(
+                RateLimiterService.EndpointPolicy.LOGIN.capacity - 2,
+                service.tryConsume(forged, RateLimiterService.EndpointPolicy.LOGIN).getRemainingTokens()
+        );
+    }
+
+    @Test
+    void jdbcStore_SharesCapacityAcrossInstances() {
+        RateLimiterService first = instance();
+        RateLimiterService second = instance();
+        long capacity = RateLimiterService.EndpointPolicy.LOGIN.capacity;
+
+        for (int i = 0; i < capacity; i++) {
+            RateLimiterService node = i % 2 == 0 ? first : second;
+            assertTrue(node.tryConsume("10.0.0.9", RateLimiterService.EndpointPolicy.LOGIN).isConsumed());
+        }
+
+        ConsumptionProbe rejected = first.tryConsume("10.0.0.9", RateLimiterService.EndpointPolicy.LOGIN);
+        assertFalse(rejected.isConsumed());
+        assertTrue(rejected.getNanosToWaitForRefill() > 0);
+        assertFalse(second.tryConsume("10.0.0.9", RateLimiterService.EndpointPolicy.LOGIN).isConsumed());
+        assertTrue(second.tryConsume("10.0.0.10", RateLimiterService.EndpointPolicy.LOGIN).isConsumed());
+        assertEquals(0, first.localBucketCount());
+    }
+
+    @Test
+    void jdbcStore_PurgesFullyRefilledBuckets() {
+        RateLimiterService service = instance();
+        service.tryConsume("10.0.0.1", RateLimiterService.EndpointPolicy.LOGIN);
+
+        RateLimitBucket stale = new RateLimitBucket();
+        stale.setBucketKey("LOGIN:10.0.0.2");
+        stale.setTokens(3);
+        stale.setRefilledAt(Instant.now().minusSeconds(600));
+        stale.setExpiresAt(Instant.now().minusSeconds(540));
+        bucketRepository.save(stale);
+
+        service.evictIdleBuckets();
+
+        assertTrue(bucketRepository.existsById("LOGIN:10.0.0.1"));
+        assertFalse(bucketRepository.existsById("LOGIN:10.0.0.2"));
+    }
+
+    @Test
+    void unknownStore_IsRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> new RateLimiterService(null, new SimpleMeterRegistry(), "redis", 100));
+    }
+}
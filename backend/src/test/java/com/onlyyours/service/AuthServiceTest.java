@@ -13,6 +13,7 @@ import com.onlyyours.util.TokenHashUtil;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -71,6 +72,23 @@ class AuthServiceTest {
         assertEquals("Registration failed", exception.getMessage());
     }
 
+    @Test
+    void loginEmailUser_RehashesPasswordStoredWithLowerCost() {
+        User user = new User();
+        user.setEmail("carol@test.com");
+        user.setUsername("carol");
+        user.setName("Carol");
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("password123"));
+        user.setAuthProvider(User.AuthProvider.EMAIL_PASSWORD);
+        userRepository.save(user);
+
+        authService.loginEmailUser(new LoginRequestDto("carol@test.com", "password123"));
+
+        String rehashed = userRepository.findByEmail("carol@test.com").orElseThrow().getPasswordHash();
+        assertTrue(rehashed.startsWith("$2a$10$"));
+        assertTrue(passwordEncoder.matches("password123", rehashed));
+    }
+
     @Test
     void loginEmailUser_InvalidPasswordRejected() {
         User user = new User();
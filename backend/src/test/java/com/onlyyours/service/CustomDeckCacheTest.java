@@ -0,0 +1,122 @@
+package com.onlyyours.service;
+
+import com.onlyyours.dto.CustomQuestionDto;
+import com.onlyyours.dto.CustomQuestionRequestDto;
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.Question;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.QuestionRepository;
+import com.onlyyours.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CustomDeckCacheTest {
+
+    @Autowired private CustomDeckCache customDeckCache;
+    @Autowired private CustomQuestionService customQuestionService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CoupleRepository coupleRepository;
+    @Autowired private QuestionRepository questionRepository;
+
+    private User author;
+    private Couple couple;
+
+    @BeforeEach
+    void setUp() {
+        couple = createCouple();
+        author = couple.getUser1();
+    }
+
+    private Couple createCouple() {
+        User user1 = new User();
+        user1.setEmail("deck-1-" + UUID.randomUUID() + "@test.com");
+        user1.setName("Deck 1");
+        User user2 = new User();
+        user2.setEmail("deck-2-" + UUID.randomUUID() + "@test.com");
+        user2.setName("Deck 2");
+
+        Couple created = new Couple();
+        created.setUser1(userRepository.save(user1));
+        created.setUser2(userRepository.save(user2));
+        return coupleRepository.save(created);
+    }
+
+    private CustomQuestionDto create(String text) {
+        CustomQuestionRequestDto request = new CustomQuestionRequestDto();
+        request.setQuestionText(text);
+        request.setOptionA("A");
+        request.setOptionB("B");
+        request.setOptionC("C");
+        request.setOptionD("D");
+        return customQuestionService.createQuestion(author.getId(), request);
+    }
+
+    @Test
+    void deck_IsReusedUntilTheDeckVersionChanges() {
+        create("First?");
+        CustomDeckCache.CustomDeck first = customDeckCache.deck(couple.getId());
+
+        // Written behind the service's back: no version bump, so the cached deck stays.
+        Question sneaky = new Question();
+        sneaky.setSourceType(Question.SourceType.CUSTOM_COUPLE);
+        sneaky.setCouple(couple);
+        sneaky.setCreatedBy(author);
+        sneaky.setText("Not via the service?");
+        sneaky.setOptionA("A");
+        sneaky.setOptionB("B");
+        sneaky.setOptionC("C");
+        sneaky.setOptionD("D");
+        questionRepository.save(sneaky);
+        assertSame(first, customDeckCache.deck(couple.getId()));
+
+        create("Second?");
+        CustomDeckCache.CustomDeck second = customDeckCache.deck(couple.getId());
+
+        assertTrue(second.version() > first.version());
+        assertEquals(3, second.size());
+        assertEquals("Second?", second.questions().get(second.questionIds()[2]).text());
+        assertTrue(second.questions().values().stream().allMatch(SessionQuestionCache.CachedQuestion::custom));
+    }
+
+    @Test
+    void deleteQuestion_DropsItFromTheCachedDeck() {
+        CustomQuestionDto kept = create("Keep me?");
+        CustomQuestionDto removed = create("Remove me?");
+        assertEquals(2, customDeckCache.deck(couple.getId()).size());
+
+        customQuestionService.deleteQuestion(author.getId(), removed.getId());
+
+        CustomDeckCache.CustomDeck deck = customDeckCache.deck(couple.getId());
+        assertArrayEquals(new int[]{kept.getId()}, deck.questionIds());
+    }
+
+    @Test
+    void cache_KeepsOnlyTheMostRecentlyUsedCouples() {
+        CustomDeckCache bounded = new CustomDeckCache(questionRepository, coupleRepository, new SimpleMeterRegistry(), 2);
+        Couple second = createCouple();
+        Couple third = createCouple();
+
+        bounded.deck(couple.getId());
+        bounded.deck(second.getId());
+        bounded.deck(couple.getId());
+        bounded.deck(third.getId());
+
+        assertEquals(2, bounded.cachedCoupleCount());
+    }
+
+    @Test
+    void deck_UnknownCouple_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> customDeckCache.deck(UUID.randomUUID()));
+    }
+}
@@ -9,6 +9,7 @@ import com.onlyyours.model.User;
 import com.onlyyours.repository.CoupleRepository;
 import com.onlyyours.repository.QuestionRepository;
 import com.onlyyours.repository.UserRepository;
+import com.onlyyours.util.QuestionTextUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -75,6 +76,34 @@ class CustomQuestionServiceTest {
         assertTrue(exception.getMessage().contains("already exists"));
     }
 
+    @Test
+    void updateQuestion_ChecksDuplicatesByStoredHash() {
+        customQuestionService.createQuestion(userB.getId(), request("Best road trip snack?"));
+        CustomQuestionDto created = customQuestionService.createQuestion(userA.getId(), request("Dream weekend?"));
+
+        CustomQuestionDto unchanged = customQuestionService.updateQuestion(
+                userA.getId(), created.getId(), request("  DREAM weekend? "));
+        assertEquals(
+                QuestionTextUtil.textHash("dream weekend?"),
+                questionRepository.findById(unchanged.getId()).orElseThrow().getTextHash()
+        );
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> customQuestionService.updateQuestion(userA.getId(), created.getId(), request("best road trip snack?"))
+        );
+    }
+
+    @Test
+    void createQuestion_AllowsTextOfArchivedQuestion() {
+        CustomQuestionDto created = customQuestionService.createQuestion(userA.getId(), request("Retired prompt?"));
+        customQuestionService.deleteQuestion(userA.getId(), created.getId());
+
+        CustomQuestionDto recreated = customQuestionService.createQuestion(userB.getId(), request("retired prompt?"));
+
+        assertNotEquals(created.getId(), recreated.getId());
+    }
+
     @Test
     void getMyQuestions_ReturnsOnlyAuthorsOwnQuestions() {
         customQuestionService.createQuestion(userA.getId(), request("Question from A?"));
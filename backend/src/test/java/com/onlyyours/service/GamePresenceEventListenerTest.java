@@ -1,9 +1,13 @@
 package com.onlyyours.service;
 
+import com.onlyyours.dto.PartnerPresenceDto;
 import com.onlyyours.model.Couple;
-import com.onlyyours.model.GameSession;
 import com.onlyyours.model.User;
-import com.onlyyours.repository.UserRepository;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.security.AuthenticatedUser;
+import com.onlyyours.security.AuthenticatedUserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,13 +18,21 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
-
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -28,45 +40,54 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class GamePresenceEventListenerTest {
 
+    private static final long GRACE_MS = 300;
+
+    @Mock
+    private CoupleRepository coupleRepository;
+
     @Mock
-    private UserRepository userRepository;
+    private GameSessionRepository gameSessionRepository;
 
     @Mock
-    private GameService gameService;
+    private AuthenticatedUserCache authenticatedUserCache;
 
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    private PresenceRegistry presenceRegistry;
     private GamePresenceEventListener listener;
-    private User currentUser;
+    private AuthenticatedUser currentUser;
     private User partnerUser;
-    private GameSession activeSession;
+    private Couple couple;
 
     @BeforeEach
     void setUp() {
-        listener = new GamePresenceEventListener(userRepository, gameService, messagingTemplate);
+        presenceRegistry = new PresenceRegistry(
+                coupleRepository, gameSessionRepository, new SimpleMeterRegistry(), 600_000, 100);
+        listener = new GamePresenceEventListener(presenceRegistry, authenticatedUserCache, messagingTemplate, GRACE_MS, 1);
 
-        currentUser = new User();
-        currentUser.setId(UUID.randomUUID());
-        currentUser.setEmail("current@test.com");
-        currentUser.setName("Current User");
+        currentUser = new AuthenticatedUser(UUID.randomUUID(), "current@test.com", "Current User");
+
+        User current = new User();
+        current.setId(currentUser.getId());
+        current.setEmail(currentUser.getEmail());
+        current.setName(currentUser.getName());
 
         partnerUser = new User();
         partnerUser.setId(UUID.randomUUID());
         partnerUser.setEmail("partner@test.com");
         partnerUser.setName("Partner User");
 
-        Couple couple = new Couple();
-        couple.setUser1(currentUser);
+        couple = new Couple();
+        couple.setId(UUID.randomUUID());
+        couple.setUser1(current);
         couple.setUser2(partnerUser);
 
-        activeSession = new GameSession();
-        activeSession.setId(UUID.randomUUID());
-        activeSession.setCouple(couple);
-        activeSession.setStatus(GameSession.GameStatus.ROUND1);
-
-        when(userRepository.findByEmail(currentUser.getEmail())).thenReturn(Optional.of(currentUser));
-        when(gameService.getLatestActiveSessionForUser(currentUser.getId())).thenReturn(Optional.of(activeSession));
+        lenient().when(authenticatedUserCache.require(any())).thenReturn(currentUser);
+        lenient().when(coupleRepository.findByUserIdAndStatusOrderByCreatedAtDesc(currentUser.getId(), Couple.RelationshipStatus.ACTIVE))
+                .thenReturn(List.of(couple));
+        lenient().when(gameSessionRepository.findLatestActiveSessionIds(eq(couple.getId()), any(), any(), any()))
+                .thenReturn(List.of(UUID.randomUUID()));
     }
 
     @AfterEach
@@ -93,7 +114,7 @@ class GamePresenceEventListenerTest {
         listener.handleSessionDisconnected(mockDisconnectEvent("session-1"));
         listener.handleSessionConnected(mockConnectedEvent("session-2"));
 
-        Thread.sleep(3200);
+        Thread.sleep(GRACE_MS + 500);
 
         verify(messagingTemplate, times(1)).convertAndSendToUser(
                 eq(partnerUser.getEmail()),
@@ -107,7 +128,7 @@ class GamePresenceEventListenerTest {
         listener.handleSessionConnected(mockConnectedEvent("session-1"));
         listener.handleSessionDisconnected(mockDisconnectEvent("session-1"));
 
-        Thread.sleep(3200);
+        Thread.sleep(GRACE_MS + 500);
 
         verify(messagingTemplate, times(2)).convertAndSendToUser(
                 eq(partnerUser.getEmail()),
@@ -116,6 +137,75 @@ class GamePresenceEventListenerTest {
         );
     }
 
+    @Test
+    void partnerLeftIsSentFromTheNotifierPoolNotTheTimerThread() throws Exception {
+        List<String> sendingThreads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            sendingThreads.add(Thread.currentThread().getName());
+            return null;
+        }).when(messagingTemplate).convertAndSendToUser(eq(partnerUser.getEmail()), eq("/queue/game-events"), any());
+
+        listener.handleSessionConnected(mockConnectedEvent("session-1"));
+        listener.handleSessionDisconnected(mockDisconnectEvent("session-1"));
+        Thread.sleep(GRACE_MS + 500);
+
+        assertEquals(2, sendingThreads.size());
+        assertTrue(sendingThreads.get(1).startsWith("presence-notify-"), sendingThreads.get(1));
+    }
+
+    @Test
+    void concurrentConnectsReportExactlyOneFirstSocket() throws Exception {
+        ExecutorService connectors = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 200; round++) {
+                UUID userId = UUID.randomUUID();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<Boolean> first = connectors.submit(() -> {
+                    start.await();
+                    return presenceRegistry.socketConnected(userId, "socket-a");
+                });
+                Future<Boolean> second = connectors.submit(() -> {
+                    start.await();
+                    return presenceRegistry.socketConnected(userId, "socket-b");
+                });
+                start.countDown();
+
+                assertTrue(first.get(5, TimeUnit.SECONDS) ^ second.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            connectors.shutdownNow();
+        }
+    }
+
+    @Test
+    void reconnectStormLoadsPresenceContextOnlyOnce() {
+        for (int i = 0; i < 50; i++) {
+            listener.handleSessionConnected(mockConnectedEvent("session-" + i));
+            listener.handleSessionDisconnected(mockDisconnectEvent("session-" + i));
+        }
+
+        verify(coupleRepository, times(1)).findByUserIdAndStatusOrderByCreatedAtDesc(any(), any());
+        verify(gameSessionRepository, times(1)).findLatestActiveSessionIds(any(), any(), any(), any());
+    }
+
+    @Test
+    void partnerPresenceReflectsLiveSocketsAndReloadsAfterInvalidation() {
+        PartnerPresenceDto partnerView = presenceRegistry.partnerPresence(currentUser.getId());
+        assertTrue(partnerView.isLinked());
+        assertEquals("Partner User", partnerView.getPartnerName());
+        assertFalse(partnerView.isPartnerOnline());
+
+        presenceRegistry.socketConnected(partnerUser.getId(), "partner-socket");
+        assertTrue(presenceRegistry.partnerPresence(currentUser.getId()).isPartnerOnline());
+
+        presenceRegistry.invalidateCoupleAfterCommit(couple);
+        when(coupleRepository.findByUserIdAndStatusOrderByCreatedAtDesc(currentUser.getId(), Couple.RelationshipStatus.ACTIVE))
+                .thenReturn(List.of());
+
+        assertFalse(presenceRegistry.partnerPresence(currentUser.getId()).isLinked());
+        verify(coupleRepository, times(2)).findByUserIdAndStatusOrderByCreatedAtDesc(any(), any());
+    }
+
     private SessionConnectedEvent mockConnectedEvent(String sessionId) {
         SessionConnectedEvent event = mock(SessionConnectedEvent.class);
         when(event.getUser()).thenReturn(mockPrincipal());
@@ -131,7 +221,7 @@ class GamePresenceEventListenerTest {
     }
 
     private Principal mockPrincipal() {
-        return () -> currentUser.getEmail();
+        return new UsernamePasswordAuthenticationToken(currentUser, null, currentUser.getAuthorities());
     }
 
     private Message<byte[]> buildMessage(String sessionId) {
@@ -7,7 +7,9 @@ import com.onlyyours.dto.GuessResultDto;
 import com.onlyyours.dto.ActiveGameSessionDto;
 import com.onlyyours.dto.BadgeDto;
 import com.onlyyours.dto.DashboardStatsDto;
+import com.onlyyours.dto.GameHistoryItemDto;
 import com.onlyyours.dto.GameHistoryPageDto;
+import com.onlyyours.dto.ProgressionSnapshotDto;
 import com.onlyyours.dto.QuestionPayloadDto;
 import com.onlyyours.model.*;
 import com.onlyyours.repository.*;
@@ -36,6 +38,11 @@ class GameServiceTest {
     @Autowired private QuestionRepository questionRepo;
     @Autowired private QuestionCategoryRepository categoryRepo;
     @Autowired private GameAnswerRepository answerRepo;
+    @Autowired private UserGameStatsRepository statsRepo;
+    @Autowired private UserGameStatsBackfillJob statsBackfillJob;
+    @Autowired private ProgressionJobRepository progressionJobRepo;
+    @Autowired private ProgressionJobWorker progressionJobWorker;
+    @Autowired private ProgressionService progressionService;
 
     private User user1, user2;
     private Couple couple;
@@ -210,6 +217,7 @@ class GameServiceTest {
         GameSession session = sessionRepo.findById(invitation.getSessionId()).orElseThrow();
         assertEquals(GameSession.GameStatus.ROUND1, session.getStatus());
         assertNotNull(session.getQuestionIds());
+        assertEquals(8, session.getQuestionIds().length);
         assertEquals(0, session.getCurrentQuestionIndex());
         assertNotNull(session.getStartedAt());
     }
@@ -245,6 +253,22 @@ class GameServiceTest {
         assertEquals("ROUND1", resumedQuestion.getRound());
     }
 
+    @Test
+    void testIsSessionParticipant_OnlyForCoupleMembers() {
+        GameInvitationDto invitation = gameService.createInvitation(user1.getId(), category.getId());
+
+        User outsider = new User();
+        outsider.setEmail("outsider@test.com");
+        outsider.setName("Outsider");
+        outsider.setGoogleUserId("google-outsider");
+        outsider = userRepo.save(outsider);
+
+        assertTrue(gameService.isSessionParticipant(invitation.getSessionId(), user1.getId()));
+        assertTrue(gameService.isSessionParticipant(invitation.getSessionId(), user2.getId()));
+        assertFalse(gameService.isSessionParticipant(invitation.getSessionId(), outsider.getId()));
+        assertFalse(gameService.isSessionParticipant(UUID.randomUUID(), user1.getId()));
+    }
+
     @Test
     void testDeclineInvitation_Success() {
         GameInvitationDto invitation = gameService.createInvitation(user1.getId(), category.getId());
@@ -581,6 +605,37 @@ class GameServiceTest {
         assertEquals("LOSS", partnerWins.getItems().get(0).getResult());
     }
 
+    @Test
+    void testGetGameHistory_CursorPagesContinueWhereOffsetPageEnded() {
+        GameSession oldest = createCompletedHistoricalSession(7, 4, 3, 120);
+        GameSession older = createCompletedHistoricalSession(3, 6, 2, 90);
+        GameSession newer = createCompletedHistoricalSession(5, 5, 1, 60);
+        GameSession newest = createCompletedHistoricalSession(8, 2, 0, 30);
+
+        GameHistoryPageDto firstPage = gameService.getGameHistory(user1.getId(), 0, 2, "recent", "all");
+        assertEquals(List.of(newest.getId(), newer.getId()),
+                firstPage.getItems().stream().map(GameHistoryItemDto::getSessionId).toList());
+        assertNotNull(firstPage.getNextCursor());
+
+        GameHistoryPageDto secondPage = gameService.getGameHistory(
+                user1.getId(), null, 2, "recent", "all", firstPage.getNextCursor());
+        assertEquals(List.of(older.getId(), oldest.getId()),
+                secondPage.getItems().stream().map(GameHistoryItemDto::getSessionId).toList());
+        assertFalse(secondPage.getHasNext());
+        assertNull(secondPage.getNextCursor());
+        assertNull(secondPage.getTotalElements());
+
+        GameHistoryPageDto oldestFirst = gameService.getGameHistory(user1.getId(), 0, 1, "oldest", "self");
+        assertEquals(oldest.getId(), oldestFirst.getItems().get(0).getSessionId());
+        GameHistoryPageDto nextSelfWin = gameService.getGameHistory(
+                user1.getId(), null, 1, "oldest", "self", oldestFirst.getNextCursor());
+        assertEquals(newest.getId(), nextSelfWin.getItems().get(0).getSessionId());
+        assertFalse(nextSelfWin.getHasNext());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                gameService.getGameHistory(user1.getId(), null, 2, "recent", "all", "not-a-cursor"));
+    }
+
     @Test
     void testGetDashboardStats_ComputesAggregateMetrics() {
         createCompletedHistoricalSession(6, 4, 0, 120);
@@ -617,6 +672,58 @@ class GameServiceTest {
         assertTrue(badges.stream().allMatch(badge -> badge.getEarnedAt() != null));
     }
 
+    @Test
+    void testGetDashboardStats_AppliesLaterTransitionsToStoredRow() {
+        createCompletedHistoricalSession(6, 4, 1, 120);
+        DashboardStatsDto before = gameService.getDashboardStats(user1.getId());
+        assertEquals(1, before.getGamesPlayed());
+        assertEquals(100.0, before.getInvitationAcceptanceRate());
+
+        GameInvitationDto declined = gameService.createInvitation(user1.getId(), category.getId());
+        gameService.declineInvitation(declined.getSessionId(), user2.getId());
+
+        GameInvitationDto played = gameService.createInvitation(user1.getId(), category.getId());
+        playRound1ToCompletion(played.getSessionId());
+        QuestionPayloadDto r2Q = gameService.getFirstRound2Question(played.getSessionId());
+        for (int i = 0; i < 8; i++) {
+            gameService.submitGuess(played.getSessionId(), user1.getId(), r2Q.getQuestionId(), "B");
+            gameService.submitGuess(played.getSessionId(), user2.getId(), r2Q.getQuestionId(), "D");
+            Optional<QuestionPayloadDto> next = gameService.getNextRound2Question(played.getSessionId());
+            if (next.isPresent()) {
+                r2Q = next.get();
+            }
+        }
+        gameService.calculateAndCompleteGame(played.getSessionId());
+
+        DashboardStatsDto after = gameService.getDashboardStats(user1.getId());
+        assertEquals(2, after.getGamesPlayed());
+        assertEquals(8, after.getBestScore());
+        assertEquals(7.0, after.getAverageScore());
+        assertEquals(66.67, after.getInvitationAcceptanceRate());
+
+        UserGameStats partnerStats = statsRepo.findByUser_Id(user2.getId()).orElseThrow();
+        assertEquals(2, partnerStats.getGamesCompleted());
+        assertEquals(4L, partnerStats.getTotalScore());
+        assertEquals(3, partnerStats.getInvitationsResponded());
+
+        List<String> badgeCodes = gameService.getBadges(user1.getId()).stream().map(BadgeDto::getCode).toList();
+        assertTrue(badgeCodes.contains("SHARP_GUESSER"));
+    }
+
+    @Test
+    void testStatsBackfill_CreatesRowsForUsersWithoutOne() {
+        createCompletedHistoricalSession(8, 3, 0, 60);
+        assertTrue(statsRepo.findByUser_Id(user1.getId()).isEmpty());
+
+        assertTrue(statsBackfillJob.backfillMissingStats() >= 2);
+
+        UserGameStats stats = statsRepo.findByUser_Id(user1.getId()).orElseThrow();
+        assertEquals(1, stats.getGamesCompleted());
+        assertEquals(8, stats.getBestScore());
+        assertNotNull(stats.getSharpGuesserAt());
+        assertEquals(0, statsBackfillJob.backfillMissingStats());
+    }
+
     // ============================================================
     // Sprint 5: Round 2 (Guessing) & Results Tests
     // ============================================================
@@ -845,10 +952,18 @@ class GameServiceTest {
         assertEquals(8, results.getPlayer1Score());
         assertEquals(8, results.getPlayer2Score());
         assertEquals("Soulmates! You know each other perfectly!", results.getMessage());
-        assertNotNull(results.getCoupleProgression());
-        assertTrue(results.getCoupleProgression().getLevel() >= 1);
-        assertFalse(results.getRecentMilestones().isEmpty());
-        assertTrue(results.getRecentMilestones().stream().allMatch(milestone -> "COUPLE".equals(milestone.getScope())));
+        assertTrue(results.getRecentMilestones().isEmpty());
+        ProgressionJob job = progressionJobRepo.findBySession_Id(invitation.getSessionId()).orElseThrow();
+        assertEquals(ProgressionJob.Status.PENDING, job.getStatus());
+
+        assertTrue(progressionJobWorker.processDueJobs() >= 1);
+        assertEquals(0, progressionJobWorker.processDueJobs());
+        assertEquals(ProgressionJob.Status.DONE,
+                progressionJobRepo.findBySession_Id(invitation.getSessionId()).orElseThrow().getStatus());
+        ProgressionSnapshotDto coupleProgression = progressionService.getCoupleProgressionSnapshot(couple);
+        assertNotNull(coupleProgression);
+        assertTrue(coupleProgression.getLevel() >= 1);
+        assertTrue(coupleProgression.getXp() > 0);
 
         GameSession session = sessionRepo.findById(invitation.getSessionId()).orElseThrow();
         assertEquals(GameSession.GameStatus.COMPLETED, session.getStatus());
@@ -946,9 +1061,8 @@ class GameServiceTest {
         assertNotNull(results.getPlayer1Name());
         assertNotNull(results.getPlayer2Name());
         assertEquals("GAME_RESULTS", results.getType());
-        assertNotNull(results.getCoupleProgression());
-        assertFalse(results.getRecentMilestones().isEmpty());
-        assertTrue(results.getRecentMilestones().stream().allMatch(milestone -> "COUPLE".equals(milestone.getScope())));
+        assertTrue(progressionJobWorker.processDueJobs() >= 1);
+        assertNotNull(progressionService.getCoupleProgressionSnapshot(couple));
 
         GameSession finalSession = sessionRepo.findById(invitation.getSessionId()).orElseThrow();
         assertEquals(GameSession.GameStatus.COMPLETED, finalSession.getStatus());
@@ -0,0 +1,128 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.PushOutboxMessage;
+import com.onlyyours.model.PushToken;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.PushOutboxRepository;
+import com.onlyyours.repository.PushTokenRepository;
+import com.onlyyours.repository.UserGameStatsRepository;
+import com.onlyyours.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class GameSessionExpirySweeperTest {
+
+    private static final long HOUR_MILLIS = 60L * 60L * 1000L;
+
+    @Autowired private GameSessionExpirySweeper sweeper;
+    @Autowired private GameService gameService;
+    @Autowired private UserGameStatsService userGameStatsService;
+    @Autowired private GameSessionRepository sessionRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private CoupleRepository coupleRepo;
+    @Autowired private PushTokenRepository pushTokenRepo;
+    @Autowired private PushOutboxRepository outboxRepo;
+    @Autowired private UserGameStatsRepository statsRepo;
+
+    private User user1;
+    private User user2;
+    private Couple couple;
+    private String user1Token;
+
+    @BeforeEach
+    void setUp() {
+        user1 = createUser("sweeper-p1");
+        user2 = createUser("sweeper-p2");
+
+        couple = new Couple();
+        couple.setUser1(user1);
+        couple.setUser2(user2);
+        couple = coupleRepo.save(couple);
+
+        PushToken token = new PushToken();
+        token.setUser(user1);
+        token.setToken("ExponentPushToken[" + UUID.randomUUID() + "]");
+        user1Token = pushTokenRepo.save(token).getToken();
+    }
+
+    private User createUser(String prefix) {
+        User user = new User();
+        user.setEmail(prefix + "-" + UUID.randomUUID() + "@test.com");
+        user.setName(prefix);
+        return userRepo.save(user);
+    }
+
+    private GameSession createSession(GameSession.GameStatus status, long expiresInMillis) {
+        Date now = new Date();
+        GameSession session = new GameSession();
+        session.setCouple(couple);
+        session.setStatus(status);
+        session.setCreatedAt(new Date(now.getTime() - HOUR_MILLIS));
+        session.setLastActivityAt(session.getCreatedAt());
+        session.setExpiresAt(new Date(now.getTime() + expiresInMillis));
+        session.setCurrentQuestionIndex(0);
+        return sessionRepo.save(session);
+    }
+
+    private List<PushOutboxMessage> expiryPushesFor(GameSession session) {
+        return outboxRepo.findAll().stream()
+                .filter(message -> user1Token.equals(message.getPushToken()))
+                .filter(message -> message.getDataJson() != null
+                        && message.getDataJson().contains(session.getId().toString())
+                        && message.getDataJson().contains("SESSION_EXPIRED"))
+                .toList();
+    }
+
+    @Test
+    void sweep_ExpiresDueSessionsInBulkAndQueuesPushes() {
+        GameSession staleInvitation = createSession(GameSession.GameStatus.INVITED, -60_000);
+        GameSession staleGame = createSession(GameSession.GameStatus.ROUND1, -60_000);
+        GameSession liveGame = createSession(GameSession.GameStatus.ROUND2, HOUR_MILLIS);
+        int respondedBefore = userGameStatsService.getOrInitialize(user1).getInvitationsResponded();
+
+        assertTrue(sweeper.sweepExpiredSessions() >= 2);
+
+        GameSession invitation = sessionRepo.findById(staleInvitation.getId()).orElseThrow();
+        GameSession game = sessionRepo.findById(staleGame.getId()).orElseThrow();
+        assertEquals(GameSession.GameStatus.EXPIRED, invitation.getStatus());
+        assertEquals(GameSession.GameStatus.EXPIRED, game.getStatus());
+        assertNotNull(invitation.getCompletedAt());
+        assertEquals(GameSession.GameStatus.ROUND2, sessionRepo.findById(liveGame.getId()).orElseThrow().getStatus());
+
+        // Only the invitation that expired unanswered counts as a response.
+        int respondedAfter = statsRepo.findByUser_Id(user1.getId()).orElseThrow().getInvitationsResponded();
+        assertEquals(respondedBefore + 1, respondedAfter);
+
+        assertEquals(1, expiryPushesFor(staleInvitation).size());
+        assertEquals(1, expiryPushesFor(staleGame).size());
+        assertTrue(expiryPushesFor(liveGame).isEmpty());
+
+        assertEquals(0, sweeper.sweepExpiredSessions());
+    }
+
+    @Test
+    void readPaths_SkipSessionsPastExpiryWithoutWriting() {
+        GameSession stale = createSession(GameSession.GameStatus.ROUND1, -60_000);
+
+        assertTrue(gameService.getActiveSessionSummary(user1.getId()).isEmpty());
+        assertTrue(gameService.getLatestActiveSessionForUser(user2.getId()).isEmpty());
+        assertThrows(SessionExpiredException.class, () -> gameService.getGameSession(stale.getId()));
+
+        assertEquals(GameSession.GameStatus.ROUND1, sessionRepo.findById(stale.getId()).orElseThrow().getStatus());
+    }
+}
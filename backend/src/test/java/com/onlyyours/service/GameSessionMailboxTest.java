@@ -0,0 +1,251 @@
+package com.onlyyours.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionMailboxTest {
+
+    private GameSessionMailbox mailbox;
+
+    @AfterEach
+    void tearDown() {
+        if (mailbox != null) {
+            mailbox.shutdown();
+        }
+    }
+
+    private GameSessionMailbox newMailbox(int poolSize, int maxPendingPerSession) {
+        mailbox = new GameSessionMailbox(new SimpleMeterRegistry(), poolSize, maxPendingPerSession, 16);
+        return mailbox;
+    }
+
+    @Test
+    void tasksForSameSession_RunInSubmissionOrderWithoutOverlap() throws Exception {
+        newMailbox(8, 1000);
+        UUID sessionId = UUID.randomUUID();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int move = i;
+            futures.add(mailbox.submit(sessionId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(move);
+                running.decrementAndGet();
+                return move;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void differentSessions_RunInParallel() throws Exception {
+        newMailbox(2, 10);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = mailbox.submit(UUID.randomUUID(), () -> awaitPartner(bothStarted));
+        CompletableFuture<Boolean> second = mailbox.submit(UUID.randomUUID(), () -> awaitPartner(bothStarted));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    private boolean awaitPartner(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Test
+    void failingTask_DoesNotBlockLaterTasksForSession() throws Exception {
+        newMailbox(1, 10);
+        UUID sessionId = UUID.randomUUID();
+
+        CompletableFuture<Object> failing = mailbox.submit(sessionId, () -> {
+            throw new IllegalStateException("Game is not in ROUND2 state");
+        });
+        CompletableFuture<String> next = mailbox.submit(sessionId, () -> "next");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals("next", next.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void fullMailbox_RejectsFurtherTasksForThatSessionOnly() throws Exception {
+        newMailbox(2, 2);
+        UUID busySession = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Void> blocker = mailbox.submit(busySession, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued1 = mailbox.submit(busySession, () -> "queued-1");
+        CompletableFuture<String> queued2 = mailbox.submit(busySession, () -> "queued-2");
+        CompletableFuture<String> overflow = mailbox.submit(busySession, () -> "overflow");
+        CompletableFuture<String> otherSession = mailbox.submit(UUID.randomUUID(), () -> "other");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> overflow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals("other", otherSession.get(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        assertEquals("queued-1", queued1.get(5, TimeUnit.SECONDS));
+        assertEquals("queued-2", queued2.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tasksSubmittedAfterShutdown_FailTheirFutures() {
+        newMailbox(1, 10);
+        mailbox.shutdown();
+
+        CompletableFuture<String> late = mailbox.submit(UUID.randomUUID(), () -> "late");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> late.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals(0, mailbox.activeMailboxes());
+    }
+
+    @Test
+    void drainedMailboxes_AreReleased() throws Exception {
+        newMailbox(4, 10);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            futures.add(mailbox.submit(UUID.randomUUID(), () -> value));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mailbox.activeMailboxes() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, mailbox.activeMailboxes());
+    }
+
+    @Test
+    void timers_AreTaggedWithTheTaskDestination() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        mailbox = new GameSessionMailbox(registry, 2, 10, 16);
+        UUID sessionId = UUID.randomUUID();
+
+        mailbox.submit(sessionId, "/app/game.guess", () -> 1).get(5, TimeUnit.SECONDS);
+        mailbox.submit(sessionId, "/app/game.guess", () -> 2).get(5, TimeUnit.SECONDS);
+        mailbox.submit(sessionId, () -> 3).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, registry.get("game.mailbox.run").tag("destination", "/app/game.guess").timer().count());
+        assertEquals(2, registry.get("game.mailbox.wait").tag("destination", "/app/game.guess").timer().count());
+        assertEquals(1, registry.get("game.mailbox.run").tag("destination", "none").timer().count());
+    }
+
+    /**
+     * Both players of 1,000 sessions submit moves at once from 64 caller threads (the
+     * inbound channel) while 8 permits stand in for JDBC connections.
+     */
+    @Test
+    void concurrentMovesAcrossManySessions_NeverOverlapWithinASession() throws Exception {
+        final int sessions = 1000;
+        final int movesPerPlayer = 4;
+        final int connections = 8;
+        final int callerThreads = 64;
+        final long workNanos = TimeUnit.MICROSECONDS.toNanos(20);
+
+        List<UUID> sessionIds = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            sessionIds.add(UUID.randomUUID());
+        }
+        List<UUID> moves = new ArrayList<>();
+        for (UUID sessionId : sessionIds) {
+            for (int m = 0; m < movesPerPlayer * 2; m++) {
+                moves.add(sessionId);
+            }
+        }
+        Collections.shuffle(moves, new Random(42));
+
+        newMailbox(connections, movesPerPlayer * 2);
+        ExecutorService callers = Executors.newFixedThreadPool(callerThreads);
+        Semaphore connectionPool = new Semaphore(connections);
+        Map<UUID, AtomicInteger> runningPerSession = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        List<CompletableFuture<Void>> mailboxFutures = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> submissions = new ArrayList<>();
+        for (UUID sessionId : moves) {
+            submissions.add(callers.submit(() -> mailboxFutures.add(mailbox.submit(sessionId, () -> {
+                AtomicInteger running = runningPerSession.computeIfAbsent(sessionId, id -> new AtomicInteger());
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                connectionPool.acquireUninterruptibly();
+                try {
+                    busyWork(workNanos);
+                } finally {
+                    connectionPool.release();
+                    running.decrementAndGet();
+                }
+                completed.incrementAndGet();
+                return null;
+            }))));
+        }
+        for (Future<?> submission : submissions) {
+            submission.get(60, TimeUnit.SECONDS);
+        }
+        CompletableFuture.allOf(mailboxFutures.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        callers.shutdownNow();
+
+        assertEquals(moves.size(), completed.get());
+        assertEquals(0, overlaps.get(), "Moves for one session must never run concurrently");
+    }
+
+    private static void busyWork(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
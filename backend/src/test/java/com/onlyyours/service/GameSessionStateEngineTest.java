@@ -0,0 +1,260 @@
+package com.onlyyours.service;
+
+import com.onlyyours.dto.GameInvitationDto;
+import com.onlyyours.dto.GameResultsDto;
+import com.onlyyours.dto.GameRoundStateDto;
+import com.onlyyours.dto.GuessResultDto;
+import com.onlyyours.dto.QuestionPayloadDto;
+import com.onlyyours.model.*;
+import com.onlyyours.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs GameService with the live state engine enabled. Not transactional: the engine
+ * writes through in its own transactions, so assertions read committed rows.
+ * The scheduled flush interval is pushed out so tests decide when buffered moves land.
+ */
+@SpringBootTest(properties = {
+        "game.state-engine.enabled=true",
+        "game.state-engine.flush-interval-ms=3600000"
+})
+class GameSessionStateEngineTest {
+
+    @Autowired private GameService gameService;
+    @Autowired private GameSessionStateEngine stateEngine;
+    @Autowired private GameSessionRepository sessionRepo;
+    @Autowired private GameAnswerRepository answerRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private CoupleRepository coupleRepo;
+    @Autowired private QuestionRepository questionRepo;
+    @Autowired private QuestionCategoryRepository categoryRepo;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private User user1, user2;
+    private QuestionCategory category;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        user1 = new User();
+        user1.setEmail("engine-user1-" + suffix + "@test.com");
+        user1.setName("Engine User 1");
+        user1.setGoogleUserId("google-engine-1-" + suffix);
+        user1 = userRepo.save(user1);
+
+        user2 = new User();
+        user2.setEmail("engine-user2-" + suffix + "@test.com");
+        user2.setName("Engine User 2");
+        user2.setGoogleUserId("google-engine-2-" + suffix);
+        user2 = userRepo.save(user2);
+
+        Couple couple = new Couple();
+        couple.setUser1(user1);
+        couple.setUser2(user2);
+        coupleRepo.save(couple);
+
+        category = new QuestionCategory();
+        category.setName("Engine Category " + suffix);
+        category.setDescription("For state engine tests");
+        category.setSensitive(false);
+        category = categoryRepo.save(category);
+
+        for (int i = 1; i <= 10; i++) {
+            Question q = new Question();
+            q.setCategory(category);
+            q.setText("Engine question " + i + "?");
+            q.setOptionA("A" + i);
+            q.setOptionB("B" + i);
+            q.setOptionC("C" + i);
+            q.setOptionD("D" + i);
+            questionRepo.save(q);
+        }
+    }
+
+    private UUID startGame() {
+        GameInvitationDto invitation = gameService.createInvitation(user1.getId(), category.getId());
+        gameService.acceptInvitation(invitation.getSessionId(), user2.getId());
+        return invitation.getSessionId();
+    }
+
+    @Test
+    void testSubmitAnswer_BuffersWritesUntilFlush() {
+        UUID sessionId = startGame();
+        QuestionPayloadDto first = (QuestionPayloadDto) gameService
+                .getCurrentQuestionForUser(sessionId, user1.getId()).orElseThrow();
+
+        Optional<QuestionPayloadDto> next = gameService.submitAnswer(
+                sessionId, user1.getId(), first.getQuestionId(), "A");
+
+        assertTrue(next.isPresent());
+        assertEquals(2, next.get().getQuestionNumber());
+        assertTrue(answerRepo.findByGameSession_IdAndUser_Id(sessionId, user1.getId()).isEmpty());
+
+        stateEngine.flushPendingWrites();
+
+        List<GameAnswer> persisted = answerRepo.findByGameSession_IdAndUser_Id(sessionId, user1.getId());
+        assertEquals(1, persisted.size());
+        assertEquals("A", persisted.get(0).getRound1Answer());
+        assertEquals(first.getQuestionId(), persisted.get(0).getQuestion().getId());
+    }
+
+    @Test
+    void testSubmitAnswer_DuplicateAndOutOfOrderAreValidatedFromMemory() {
+        UUID sessionId = startGame();
+        QuestionPayloadDto first = (QuestionPayloadDto) gameService
+                .getCurrentQuestionForUser(sessionId, user1.getId()).orElseThrow();
+        QuestionPayloadDto second = gameService.submitAnswer(
+                sessionId, user1.getId(), first.getQuestionId(), "A").orElseThrow();
+
+        QuestionPayloadDto afterDuplicate = gameService.submitAnswer(
+                sessionId, user1.getId(), first.getQuestionId(), "C").orElseThrow();
+        assertEquals(second.getQuestionId(), afterDuplicate.getQuestionId());
+
+        IllegalStateException outOfOrder = assertThrows(IllegalStateException.class, () ->
+                gameService.submitAnswer(sessionId, user2.getId(), second.getQuestionId(), "B"));
+        assertTrue(outOfOrder.getMessage().contains("out of order"));
+
+        assertThrows(IllegalStateException.class, () ->
+                gameService.submitGuess(sessionId, user1.getId(), first.getQuestionId(), "A"));
+
+        stateEngine.flushPendingWrites();
+        GameAnswer stored = answerRepo.findByGameSession_IdAndQuestion_IdAndUser_Id(
+                sessionId, first.getQuestionId(), user1.getId()).orElseThrow();
+        assertEquals("A", stored.getRound1Answer());
+    }
+
+    @Test
+    void testFullGame_CompletesWithScoresAndPersistsEveryMove() {
+        UUID sessionId = startGame();
+
+        QuestionPayloadDto user1Current = (QuestionPayloadDto) gameService
+                .getCurrentQuestionForUser(sessionId, user1.getId()).orElseThrow();
+        QuestionPayloadDto user2Current = user1Current;
+        Optional<QuestionPayloadDto> round2Start = Optional.empty();
+        for (int i = 0; i < 8; i++) {
+            Optional<QuestionPayloadDto> user1Next = gameService.submitAnswer(
+                    sessionId, user1.getId(), user1Current.getQuestionId(), "A");
+            round2Start = gameService.submitAnswer(
+                    sessionId, user2.getId(), user2Current.getQuestionId(), "B");
+            if (i < 7) {
+                user1Current = user1Next.orElseThrow();
+                user2Current = round2Start.orElseThrow();
+            } else {
+                assertTrue(user1Next.isEmpty());
+            }
+        }
+
+        assertTrue(round2Start.isPresent());
+        assertEquals("ROUND2", round2Start.get().getRound());
+        assertEquals(GameSession.GameStatus.ROUND2, sessionRepo.findById(sessionId).orElseThrow().getStatus());
+        assertEquals(16, answerRepo.findByGameSession_IdOrderByQuestion_Id(sessionId).size());
+
+        user1Current = round2Start.get();
+        user2Current = round2Start.get();
+        Optional<Object> user1View = Optional.empty();
+        Optional<Object> user2View = Optional.empty();
+        for (int i = 0; i < 8; i++) {
+            String user1Guess = i < 5 ? "B" : "D";
+            GuessResultDto user1Result = gameService.submitGuess(
+                    sessionId, user1.getId(), user1Current.getQuestionId(), user1Guess);
+            assertEquals(i < 5, user1Result.isCorrect());
+            assertEquals("B", user1Result.getPartnerAnswer());
+            user1View = gameService.resolveCurrentStateAfterGuessSubmission(sessionId, user1.getId());
+
+            gameService.submitGuess(sessionId, user2.getId(), user2Current.getQuestionId(), "A");
+            user2View = gameService.resolveCurrentStateAfterGuessSubmission(sessionId, user2.getId());
+
+            if (i < 7) {
+                user1Current = (QuestionPayloadDto) user1View.orElseThrow();
+                user2Current = (QuestionPayloadDto) user2View.orElseThrow();
+            }
+        }
+
+        GameRoundStateDto user1Waiting = assertInstanceOf(GameRoundStateDto.class, user1View.orElseThrow());
+        assertEquals(5, user1Waiting.getCorrectCount());
+        assertEquals(8, user1Waiting.getReviewItems().size());
+
+        GameResultsDto results = assertInstanceOf(GameResultsDto.class, user2View.orElseThrow());
+        assertEquals(5, results.getPlayer1Score());
+        assertEquals(8, results.getPlayer2Score());
+
+        GameSession completed = sessionRepo.findById(sessionId).orElseThrow();
+        assertEquals(GameSession.GameStatus.COMPLETED, completed.getStatus());
+        List<GameAnswer> answers = answerRepo.findByGameSession_IdOrderByQuestion_Id(sessionId);
+        assertEquals(16, answers.size());
+        assertTrue(answers.stream().allMatch(answer -> answer.getRound2Guess() != null));
+
+        Optional<Object> afterCompletion = gameService.getCurrentQuestionForUser(sessionId, user1.getId());
+        assertInstanceOf(GameResultsDto.class, afterCompletion.orElseThrow());
+    }
+
+    @Test
+    void testSubmitAnswer_RolledBackMoveIsRemovedFromLiveState() {
+        UUID sessionId = startGame();
+        QuestionPayloadDto first = (QuestionPayloadDto) gameService
+                .getCurrentQuestionForUser(sessionId, user1.getId()).orElseThrow();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            gameService.submitAnswer(sessionId, user1.getId(), first.getQuestionId(), "A");
+            status.setRollbackOnly();
+        });
+        stateEngine.flushPendingWrites();
+
+        assertTrue(answerRepo.findByGameSession_IdAndUser_Id(sessionId, user1.getId()).isEmpty());
+        QuestionPayloadDto current = (QuestionPayloadDto) gameService
+                .getCurrentQuestionForUser(sessionId, user1.getId()).orElseThrow();
+        assertEquals(first.getQuestionId(), current.getQuestionId());
+        assertEquals(1, current.getQuestionNumber());
+    }
+
+    @Test
+    void testActiveSessionSummary_ReflectsBufferedProgress() {
+        UUID sessionId = startGame();
+        QuestionPayloadDto first = (QuestionPayloadDto) gameService
+                .getCurrentQuestionForUser(sessionId, user1.getId()).orElseThrow();
+        gameService.submitAnswer(sessionId, user1.getId(), first.getQuestionId(), "A");
+
+        assertEquals(2, gameService.getActiveSessionSummary(user1.getId()).orElseThrow().getCurrentQuestionNumber());
+        assertEquals(1, gameService.getActiveSessionSummary(user2.getId()).orElseThrow().getCurrentQuestionNumber());
+
+        QuestionPayloadDto resumed = gameService.acceptInvitation(sessionId, user1.getId());
+        assertEquals(2, resumed.getQuestionNumber());
+    }
+
+    @Test
+    void testFlush_RejectedByDatabase_RetiresLiveStateSoReadsReload() {
+        UUID sessionId = startGame();
+        QuestionPayloadDto first = (QuestionPayloadDto) gameService
+                .getCurrentQuestionForUser(sessionId, user1.getId()).orElseThrow();
+        gameService.submitAnswer(sessionId, user1.getId(), first.getQuestionId(), "A");
+
+        // A row written behind the engine's back makes the buffered insert violate
+        // uk_game_answers_session_question_user.
+        GameAnswer conflicting = new GameAnswer();
+        conflicting.setGameSession(sessionRepo.findById(sessionId).orElseThrow());
+        conflicting.setQuestion(questionRepo.findById(first.getQuestionId()).orElseThrow());
+        conflicting.setUser(user1);
+        conflicting.setRound1Answer("C");
+        answerRepo.save(conflicting);
+
+        stateEngine.flushPendingWrites();
+
+        assertTrue(stateEngine.isLiveParticipant(sessionId, user1.getId()).isEmpty());
+        String reloaded = stateEngine.withLiveState(sessionId, state -> state.round1Answer(
+                state.playerIndexOf(user1.getId()), state.positionOf(first.getQuestionId()))).orElseThrow();
+        assertEquals("C", reloaded);
+        assertEquals(1, answerRepo.findByGameSession_IdAndUser_Id(sessionId, user1.getId()).size());
+    }
+}
@@ -3,6 +3,7 @@ package com.onlyyours.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +18,9 @@ class JwtServiceTest {
     @Autowired
     private JwtService jwtService;
 
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
     private UserDetails testUser;
 
     @BeforeEach
@@ -100,4 +104,60 @@ class JwtServiceTest {
         assertEquals("testuser@example.com", jwtService.extractUsername(token1));
         assertEquals("partner@example.com", jwtService.extractUsername(token2));
     }
+
+    @Test
+    void testVerifyToken_ReturnsClaimsAndCachesVerifiedToken() {
+        String email = "cache-" + java.util.UUID.randomUUID() + "@example.com";
+        String token = jwtService.generateToken(new User(email, "", Collections.emptyList()));
+        int cachedBefore = jwtService.verifiedCacheSize();
+
+        JwtService.VerifiedClaims first = jwtService.verifyToken(token);
+        JwtService.VerifiedClaims second = jwtService.verifyToken(token);
+
+        assertEquals(email, first.username());
+        assertTrue(first.expiresAt().isAfter(first.issuedAt()));
+        assertSame(first, second, "Repeat verification should be served from the cache");
+        assertEquals(cachedBefore + 1, jwtService.verifiedCacheSize());
+    }
+
+    @Test
+    void testVerifyToken_CacheKeepsMostRecentlyUsedTokensAndSweepsExpired() {
+        JwtService bounded = new JwtService(jwtSecret, 2);
+        String first = bounded.generateToken(new User("lru-1@example.com", "", Collections.emptyList()));
+        String second = bounded.generateToken(new User("lru-2@example.com", "", Collections.emptyList()));
+        String third = bounded.generateToken(new User("lru-3@example.com", "", Collections.emptyList()));
+
+        JwtService.VerifiedClaims firstClaims = bounded.verifyToken(first);
+        bounded.verifyToken(second);
+        bounded.verifyToken(first);
+        bounded.verifyToken(third);
+
+        assertEquals(2, bounded.verifiedCacheSize());
+        assertSame(firstClaims, bounded.verifyToken(first), "Recently used token should survive eviction");
+
+        bounded.evictExpiredVerifiedTokens(java.time.Instant.now().plusSeconds(bounded.getAccessTokenExpirySeconds() + 1L));
+        assertEquals(0, bounded.verifiedCacheSize());
+    }
+
+    @Test
+    void testVerifyToken_TamperedSignatureIsRejected() {
+        String token = jwtService.generateToken(testUser);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(Exception.class, () -> jwtService.verifyToken(tampered));
+    }
+
+    @Test
+    void testVerifyToken_ExpiredTokenIsRejected() {
+        String expired = io.jsonwebtoken.Jwts.builder()
+                .setSubject("testuser@example.com")
+                .setIssuedAt(new java.util.Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new java.util.Date(System.currentTimeMillis() - 60_000))
+                .signWith(io.jsonwebtoken.security.Keys.hmacShaKeyFor(
+                        jwtSecret.getBytes(java.nio.charset.StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(io.jsonwebtoken.ExpiredJwtException.class, () -> jwtService.verifyToken(expired));
+    }
 }
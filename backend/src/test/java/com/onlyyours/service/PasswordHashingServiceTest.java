@@ -0,0 +1,115 @@
+package com.onlyyours.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    /**
+     * Encoder whose hashes block until the test releases them.
+     */
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private double rejected(String reason) {
+        return meterRegistry.get("auth.password.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void saturatedPool_RejectsImmediately() throws Exception {
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1, 10_000, 3);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("one"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("two"));
+        while (meterRegistry.get("auth.password.queued").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        PasswordHashingBusyException busy = assertThrows(PasswordHashingBusyException.class, () -> service.encode("three"));
+        assertEquals(3, busy.getRetryAfterSeconds());
+        assertEquals(1, rejected("full"));
+
+        release.countDown();
+        assertEquals("hashed:one", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:two", queued.get(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    void handoffPool_RejectsOnSubmitWhenEveryWorkerIsBusy() throws Exception {
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 0, 10_000, 1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("one"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingBusyException.class, () -> service.encode("two"));
+        assertEquals(1, rejected("full"));
+        assertEquals(0, rejected("timeout"));
+
+        release.countDown();
+        assertEquals("hashed:one", running.get(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    void queuedHash_RejectsAfterMaxWaitWhileRunningHashCompletes() throws Exception {
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 4, 50, 1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingBusyException.class, () -> service.encode("queued"));
+        assertEquals(1, rejected("timeout"));
+
+        // The running hash is past max-wait-ms too, but it has a worker, so it finishes.
+        release.countDown();
+        assertEquals("hashed:slow", running.get(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    void hashes_RunOnPoolAndDetectOutdatedCost() {
+        PasswordHashingService service = new PasswordHashingService(
+                new BCryptPasswordEncoder(5), meterRegistry, 2, 4, 10_000, 1);
+
+        String hash = service.encode("password123");
+
+        assertTrue(service.matches("password123", hash));
+        assertFalse(service.matches("wrong", hash));
+        assertFalse(service.needsRehash(hash));
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode("password123")));
+        assertEquals(2, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+        service.shutdown();
+    }
+}
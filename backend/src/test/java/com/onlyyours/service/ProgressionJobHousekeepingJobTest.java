@@ -0,0 +1,110 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.ProgressionJob;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.ProgressionJobRepository;
+import com.onlyyours.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ProgressionJobHousekeepingJobTest {
+
+    @Autowired private ProgressionJobRepository progressionJobRepo;
+    @Autowired private GameSessionRepository sessionRepo;
+    @Autowired private CoupleRepository coupleRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private DatabaseAdvisoryLock advisoryLock;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Couple couple;
+
+    @BeforeEach
+    void setUp() {
+        progressionJobRepo.deleteAll();
+        meterRegistry = new SimpleMeterRegistry();
+
+        couple = new Couple();
+        couple.setUser1(saveUser("job-housekeeping-p1"));
+        couple.setUser2(saveUser("job-housekeeping-p2"));
+        couple = coupleRepo.save(couple);
+    }
+
+    private User saveUser(String prefix) {
+        User user = new User();
+        user.setEmail(prefix + "-" + UUID.randomUUID() + "@test.com");
+        user.setName(prefix);
+        return userRepo.save(user);
+    }
+
+    private ProgressionJobHousekeepingJob job(int batchSize) {
+        return new ProgressionJobHousekeepingJob(
+                progressionJobRepo,
+                advisoryLock,
+                transactionManager,
+                meterRegistry,
+                true,
+                24,
+                batchSize
+        );
+    }
+
+    private ProgressionJob progressionJob(ProgressionJob.Status status, Instant processedAt) {
+        Date now = new Date();
+        GameSession session = new GameSession();
+        session.setCouple(couple);
+        session.setStatus(GameSession.GameStatus.COMPLETED);
+        session.setCreatedAt(now);
+        session.setCompletedAt(now);
+        session.setLastActivityAt(now);
+        session.setExpiresAt(now);
+        session.setCurrentQuestionIndex(0);
+        session = sessionRepo.save(session);
+
+        ProgressionJob job = new ProgressionJob();
+        job.setSession(session);
+        job.setPlayer1Score(3);
+        job.setPlayer2Score(4);
+        job.setStatus(status);
+        job.setProcessedAt(processedAt);
+        return progressionJobRepo.save(job);
+    }
+
+    @Test
+    void purge_DeletesOnlyJobsAppliedBeforeRetention() {
+        Instant longAgo = Instant.now().minus(3, ChronoUnit.DAYS);
+        for (int i = 0; i < 3; i++) {
+            progressionJob(ProgressionJob.Status.DONE, longAgo);
+        }
+        ProgressionJob doneRecently = progressionJob(ProgressionJob.Status.DONE, Instant.now());
+        ProgressionJob failed = progressionJob(ProgressionJob.Status.FAILED, longAgo);
+        ProgressionJob pending = progressionJob(ProgressionJob.Status.PENDING, null);
+
+        int purged = job(2).purge();
+
+        assertEquals(3, purged);
+        assertTrue(progressionJobRepo.existsById(doneRecently.getId()));
+        assertTrue(progressionJobRepo.existsById(failed.getId()));
+        assertTrue(progressionJobRepo.existsById(pending.getId()));
+        assertEquals(3, progressionJobRepo.count());
+        assertEquals(3, meterRegistry.get("progression.jobs.purged").counter().count());
+    }
+}
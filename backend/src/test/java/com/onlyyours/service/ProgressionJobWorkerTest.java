@@ -0,0 +1,153 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.ProgressionJob;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.ProgressionJobRepository;
+import com.onlyyours.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Not @Transactional: the worker claims and applies jobs in its own transactions.
+ * Runs a worker with a stubbed ProgressionService, so other tests' queued jobs are
+ * matched by session id and left alone.
+ */
+@SpringBootTest
+class ProgressionJobWorkerTest {
+
+    @Autowired private ProgressionJobRepository progressionJobRepo;
+    @Autowired private GameSessionRepository sessionRepo;
+    @Autowired private CoupleRepository coupleRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private ProgressionService progressionService;
+    private ProgressionJobWorker worker;
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        User user1 = saveUser("worker-user1-" + suffix);
+        User user2 = saveUser("worker-user2-" + suffix);
+
+        Couple couple = new Couple();
+        couple.setUser1(user1);
+        couple.setUser2(user2);
+        couple = coupleRepo.save(couple);
+
+        Date now = new Date();
+        session = new GameSession();
+        session.setCouple(couple);
+        session.setStatus(GameSession.GameStatus.COMPLETED);
+        session.setPlayer1Score(5);
+        session.setPlayer2Score(4);
+        session.setCreatedAt(now);
+        session.setCompletedAt(now);
+        session.setLastActivityAt(now);
+        session.setExpiresAt(now);
+        session.setCurrentQuestionIndex(0);
+        session = sessionRepo.save(session);
+
+        ProgressionJob job = new ProgressionJob();
+        job.setSession(session);
+        job.setPlayer1Score(5);
+        job.setPlayer2Score(4);
+        progressionJobRepo.save(job);
+
+        progressionService = mock(ProgressionService.class);
+        worker = new ProgressionJobWorker(
+                progressionJobRepo,
+                progressionService,
+                mock(SimpMessagingTemplate.class),
+                transactionManager,
+                50,
+                60_000,
+                0,
+                0,
+                2
+        );
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setEmail(name + "@test.com");
+        user.setName(name);
+        user.setGoogleUserId("google-" + name);
+        return userRepo.save(user);
+    }
+
+    private ProgressionJob job() {
+        return progressionJobRepo.findBySession_Id(session.getId()).orElseThrow();
+    }
+
+    private GameSession ownSession() {
+        return argThat(candidate -> candidate != null && session.getId().equals(candidate.getId()));
+    }
+
+    @Test
+    void exhaustedJob_StaysFailedUntilRequeuedThenApplies() {
+        when(progressionService.processCompletedGame(any(), anyInt(), anyInt()))
+                .thenThrow(new IllegalStateException("progression store unavailable"));
+
+        worker.processDueJobs();
+        assertEquals(ProgressionJob.Status.PENDING, job().getStatus());
+        worker.processDueJobs();
+        assertEquals(ProgressionJob.Status.FAILED, job().getStatus());
+        assertEquals(2, job().getAttempts());
+        assertEquals("progression store unavailable", job().getLastError());
+
+        // Nothing retries a FAILED job on its own.
+        worker.processDueJobs();
+        assertEquals(ProgressionJob.Status.FAILED, job().getStatus());
+        assertTrue(progressionJobRepo.findUnappliedSessionIdsForCouple(session.getCouple().getId())
+                .contains(session.getId()));
+
+        assertTrue(worker.requeueFailedJobs() >= 1);
+        assertEquals(ProgressionJob.Status.PENDING, job().getStatus());
+        assertEquals(0, job().getAttempts());
+
+        doReturn(new ProgressionService.GameCompletionProgressionResult(null, List.of()))
+                .when(progressionService).processCompletedGame(ownSession(), anyInt(), anyInt());
+        worker.processDueJobs();
+
+        assertEquals(ProgressionJob.Status.DONE, job().getStatus());
+        assertNull(job().getLastError());
+        verify(progressionService, times(3)).processCompletedGame(ownSession(), anyInt(), anyInt());
+    }
+
+    @Test
+    void jobWhoseLeaseExpiredOnItsLastAttempt_FailsWithoutRunningAgain() {
+        ProgressionJob stuck = job();
+        stuck.setStatus(ProgressionJob.Status.PROCESSING);
+        stuck.setAttempts(2);
+        stuck.setNextAttemptAt(Instant.now().minusSeconds(1));
+        progressionJobRepo.save(stuck);
+
+        worker.processDueJobs();
+
+        assertEquals(ProgressionJob.Status.FAILED, job().getStatus());
+        assertEquals(2, job().getAttempts());
+        assertTrue(job().getLastError().startsWith("Lease expired"));
+        verify(progressionService, never()).processCompletedGame(ownSession(), anyInt(), anyInt());
+    }
+}
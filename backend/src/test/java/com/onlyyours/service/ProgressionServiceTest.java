@@ -101,6 +101,35 @@ class ProgressionServiceTest {
         assertTrue(result.recentMilestones().stream().allMatch(milestone -> "COUPLE".equals(milestone.getScope())));
     }
 
+    @Test
+    void processCompletedGame_secondApplicationOfSameSessionIsNoOp() {
+        GameSession session = createCompletedSession(7, 4, 0);
+        progressionService.processCompletedGame(session, 7, 4);
+        long coupleXp = coupleProgressionRepository.findByCouple_Id(couple.getId()).orElseThrow().getXp();
+
+        ProgressionService.GameCompletionProgressionResult replay =
+                progressionService.processCompletedGame(session, 7, 4);
+
+        assertTrue(replay.recentMilestones().isEmpty());
+        assertEquals(coupleXp, replay.coupleProgression().getXp());
+        assertEquals(1, userProgressionRepository.findByUser_Id(user1.getId()).orElseThrow().getGamesCompleted());
+        assertEquals(1, coupleProgressionRepository.findByCouple_Id(couple.getId()).orElseThrow().getGamesCompleted());
+    }
+
+    @Test
+    void getProgressionSummary_skipsCompletedGamesStillQueuedForProgression() {
+        createCompletedSession(6, 5, 1);
+        GameSession queued = createCompletedSession(8, 7, 0);
+        progressionService.enqueueCompletedGame(queued, 8, 7);
+
+        progressionService.getProgressionSummary(user1.getId());
+        assertEquals(1, userProgressionRepository.findByUser_Id(user1.getId()).orElseThrow().getGamesCompleted());
+        assertEquals(1, coupleProgressionRepository.findByCouple_Id(couple.getId()).orElseThrow().getGamesCompleted());
+
+        progressionService.processCompletedGame(queued, 8, 7);
+        assertEquals(2, userProgressionRepository.findByUser_Id(user1.getId()).orElseThrow().getGamesCompleted());
+    }
+
     @Test
     void getProgressionSummary_returnsPersistedRecentMilestonesAcrossRequests() {
         GameSession session = createCompletedSession(7, 4, 0);
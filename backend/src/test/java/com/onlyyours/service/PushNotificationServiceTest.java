@@ -1,6 +1,8 @@
 package com.onlyyours.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onlyyours.model.User;
+import com.onlyyours.repository.PushOutboxRepository;
 import com.onlyyours.repository.PushTokenRepository;
 import com.onlyyours.repository.UserRepository;
 import java.util.List;
@@ -26,13 +28,17 @@ class PushNotificationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PushOutboxRepository pushOutboxRepository;
+
     private PushNotificationService pushNotificationService;
     private UUID userId;
     private User user;
 
     @BeforeEach
     void setUp() {
-        pushNotificationService = new PushNotificationService(pushTokenRepository, userRepository);
+        pushNotificationService = new PushNotificationService(
+                pushTokenRepository, userRepository, pushOutboxRepository, new ObjectMapper());
         userId = UUID.randomUUID();
 
         user = new User();
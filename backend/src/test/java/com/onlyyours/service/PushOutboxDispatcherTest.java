@@ -0,0 +1,202 @@
+package com.onlyyours.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyyours.model.PushOutboxMessage;
+import com.onlyyours.model.PushToken;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.PushOutboxRepository;
+import com.onlyyours.repository.PushTokenRepository;
+import com.onlyyours.repository.UserRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives PushOutboxDispatcher against a local stand-in for the Expo push API.
+ * Not transactional: the dispatcher claims and records outcomes in its own transactions.
+ */
+@SpringBootTest(properties = {
+        "push.outbox.base-backoff-ms=60000",
+        "push.outbox.max-attempts=3"
+})
+class PushOutboxDispatcherTest {
+
+    private static final HttpServer expoStub = startExpoStub();
+    private static final AtomicInteger responseStatus = new AtomicInteger(200);
+    private static final AtomicReference<String> deviceNotRegisteredToken = new AtomicReference<>();
+    private static final List<JsonNode> receivedRequests = new CopyOnWriteArrayList<>();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired private PushNotificationService pushNotificationService;
+    @Autowired private PushOutboxDispatcher dispatcher;
+    @Autowired private PushOutboxRepository outboxRepo;
+    @Autowired private PushTokenRepository pushTokenRepo;
+    @Autowired private UserRepository userRepo;
+
+    private User user;
+
+    @DynamicPropertySource
+    static void expoUrl(DynamicPropertyRegistry registry) {
+        registry.add("push.expo.url",
+                () -> "http://localhost:" + expoStub.getAddress().getPort() + "/push/send");
+    }
+
+    @AfterAll
+    static void stopExpoStub() {
+        expoStub.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        outboxRepo.deleteAll();
+        receivedRequests.clear();
+        responseStatus.set(200);
+        deviceNotRegisteredToken.set(null);
+
+        user = new User();
+        user.setEmail("push-outbox-" + UUID.randomUUID() + "@test.com");
+        user.setName("Push Outbox User");
+        user = userRepo.save(user);
+    }
+
+    private String registerToken() {
+        PushToken token = new PushToken();
+        token.setUser(user);
+        token.setToken("ExponentPushToken[" + UUID.randomUUID() + "]");
+        return pushTokenRepo.save(token).getToken();
+    }
+
+    @Test
+    void testDispatch_SendsQueuedMessagesInOneBatch() {
+        String phone = registerToken();
+        String tablet = registerToken();
+
+        pushNotificationService.sendToUser(user.getId(), "Hello", "Your partner is waiting", Map.of("type", "TEST"));
+        assertEquals(2, outboxRepo.countByStatus(PushOutboxMessage.Status.PENDING));
+        assertTrue(receivedRequests.isEmpty());
+
+        assertEquals(2, dispatcher.dispatchDueMessages());
+
+        assertEquals(1, receivedRequests.size());
+        JsonNode batch = receivedRequests.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(List.of(phone, tablet).stream().sorted().toList(),
+                List.of(batch.get(0).get("to").asText(), batch.get(1).get("to").asText()).stream().sorted().toList());
+        assertEquals("TEST", batch.get(0).get("data").get("type").asText());
+
+        List<PushOutboxMessage> messages = outboxRepo.findAll();
+        assertTrue(messages.stream().allMatch(m -> m.getStatus() == PushOutboxMessage.Status.SENT));
+        assertTrue(messages.stream().allMatch(m -> m.getSentAt() != null && m.getAttempts() == 1));
+
+        assertEquals(0, dispatcher.dispatchDueMessages());
+        assertEquals(1, receivedRequests.size());
+    }
+
+    @Test
+    void testDispatch_ServerErrorBacksOffAndEventuallyFails() {
+        registerToken();
+        pushNotificationService.sendToUser(user.getId(), "Hello", "Retry me", Map.of());
+        responseStatus.set(500);
+
+        Instant before = Instant.now();
+        dispatcher.dispatchDueMessages();
+
+        PushOutboxMessage message = outboxRepo.findAll().get(0);
+        assertEquals(PushOutboxMessage.Status.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(before.plusSeconds(50)));
+
+        assertEquals(0, dispatcher.dispatchDueMessages());
+
+        for (int attempt = 2; attempt <= 3; attempt++) {
+            message.setNextAttemptAt(Instant.now().minusSeconds(1));
+            outboxRepo.save(message);
+            dispatcher.dispatchDueMessages();
+            message = outboxRepo.findById(message.getId()).orElseThrow();
+            assertEquals(attempt, message.getAttempts());
+        }
+        assertEquals(PushOutboxMessage.Status.FAILED, message.getStatus());
+        assertEquals(3, receivedRequests.size());
+    }
+
+    @Test
+    void testDispatch_DeviceNotRegisteredRemovesToken() {
+        String stale = registerToken();
+        String active = registerToken();
+        deviceNotRegisteredToken.set(stale);
+
+        pushNotificationService.sendToUser(user.getId(), "Hello", "One of these is gone", Map.of());
+        dispatcher.dispatchDueMessages();
+
+        assertTrue(pushTokenRepo.findByToken(stale).isEmpty());
+        assertTrue(pushTokenRepo.findByToken(active).isPresent());
+
+        for (PushOutboxMessage message : outboxRepo.findAll()) {
+            PushOutboxMessage.Status expected = message.getPushToken().equals(stale)
+                    ? PushOutboxMessage.Status.FAILED
+                    : PushOutboxMessage.Status.SENT;
+            assertEquals(expected, message.getStatus());
+        }
+    }
+
+    private static HttpServer startExpoStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/push/send", exchange -> {
+                JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+                receivedRequests.add(request);
+
+                String response;
+                if (responseStatus.get() != 200) {
+                    response = "{\"errors\":[{\"code\":\"INTERNAL_SERVER_ERROR\",\"message\":\"unavailable\"}]}";
+                } else {
+                    StringBuilder tickets = new StringBuilder("{\"data\":[");
+                    for (int i = 0; i < request.size(); i++) {
+                        if (i > 0) {
+                            tickets.append(',');
+                        }
+                        if (request.get(i).get("to").asText().equals(deviceNotRegisteredToken.get())) {
+                            tickets.append("{\"status\":\"error\",\"message\":\"not registered\","
+                                    + "\"details\":{\"error\":\"DeviceNotRegistered\"}}");
+                        } else {
+                            tickets.append("{\"status\":\"ok\",\"id\":\"").append(UUID.randomUUID()).append("\"}");
+                        }
+                    }
+                    response = tickets.append("]}").toString();
+                }
+
+                byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(responseStatus.get(), bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
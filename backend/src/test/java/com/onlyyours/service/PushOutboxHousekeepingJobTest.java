@@ -0,0 +1,77 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.PushOutboxMessage;
+import com.onlyyours.repository.PushOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PushOutboxHousekeepingJobTest {
+
+    @Autowired private PushOutboxRepository pushOutboxRepository;
+    @Autowired private DatabaseAdvisoryLock advisoryLock;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        pushOutboxRepository.deleteAll();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private PushOutboxHousekeepingJob job(int batchSize) {
+        return new PushOutboxHousekeepingJob(
+                pushOutboxRepository,
+                advisoryLock,
+                transactionManager,
+                meterRegistry,
+                true,
+                24,
+                batchSize
+        );
+    }
+
+    private PushOutboxMessage message(PushOutboxMessage.Status status, Instant createdAt) {
+        PushOutboxMessage message = new PushOutboxMessage();
+        message.setPushToken("ExponentPushToken[" + UUID.randomUUID() + "]");
+        message.setTitle("Title");
+        message.setBody("Body");
+        message.setStatus(status);
+        message.setCreatedAt(createdAt);
+        return pushOutboxRepository.save(message);
+    }
+
+    @Test
+    void purge_DeletesFinishedMessagesPastRetentionInChunks() {
+        Instant longAgo = Instant.now().minus(3, ChronoUnit.DAYS);
+        for (int i = 0; i < 3; i++) {
+            message(PushOutboxMessage.Status.SENT, longAgo);
+        }
+        PushOutboxMessage failedLongAgo = message(PushOutboxMessage.Status.FAILED, longAgo);
+        PushOutboxMessage pendingLongAgo = message(PushOutboxMessage.Status.PENDING, longAgo);
+        PushOutboxMessage sendingLongAgo = message(PushOutboxMessage.Status.SENDING, longAgo);
+        PushOutboxMessage sentRecently = message(PushOutboxMessage.Status.SENT, Instant.now());
+
+        int purged = job(2).purge();
+
+        assertEquals(4, purged);
+        assertFalse(pushOutboxRepository.existsById(failedLongAgo.getId()));
+        assertTrue(pushOutboxRepository.existsById(pendingLongAgo.getId()));
+        assertTrue(pushOutboxRepository.existsById(sendingLongAgo.getId()));
+        assertTrue(pushOutboxRepository.existsById(sentRecently.getId()));
+        assertEquals(4, meterRegistry.get("push.outbox.purged").counter().count());
+    }
+}
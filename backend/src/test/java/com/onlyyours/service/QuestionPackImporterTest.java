@@ -0,0 +1,238 @@
+package com.onlyyours.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyyours.model.Question;
+import com.onlyyours.model.QuestionCategory;
+import com.onlyyours.repository.QuestionCategoryRepository;
+import com.onlyyours.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.spy;
+
+@SpringBootTest
+@Transactional
+class QuestionPackImporterTest {
+
+    @Autowired private QuestionPackImporter importer;
+    @Autowired private QuestionRepository questionRepo;
+    @Autowired private QuestionCategoryRepository categoryRepo;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private QuestionSampler questionSampler;
+    @Autowired private CategoryCatalogService categoryCatalogService;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ObjectMapper objectMapper;
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private QuestionCategory findCategory(String name) {
+        return categoryRepo.findAll().stream()
+                .filter(category -> category.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void csvRecordReader_HandlesQuotesCommasAndLineBreaks() throws IOException {
+        QuestionPackImporter.CsvRecordReader reader = new QuestionPackImporter.CsvRecordReader(new BufferedReader(
+                new StringReader("a,\"b, with comma\",\"say \"\"hi\"\"\"\r\n\"two\nlines\",,last\n")));
+
+        assertEquals(List.of("a", "b, with comma", "say \"hi\""), reader.next());
+        assertEquals(List.of("two\nlines", "", "last"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void importPack_Jsonl_InsertsValidRowsAndCreatesCategories() throws IOException {
+        String pack = """
+                {"category":"Pack Travel","text":"Dream destination?","optionA":"Japan","optionB":"Peru","optionC":"Italy","optionD":"Iceland"}
+                {"category":"pack travel","text":"  Dream   DESTINATION? ","optionA":"Japan","optionB":"Peru","optionC":"Italy","optionD":"Iceland"}
+                {"category":"Pack Secrets","sensitive":true,"text":"Biggest secret?","option_a":"A","option_b":"B","option_c":"C","option_d":"D","extra":1}
+                {"category":"Pack Travel","text":"Missing option","optionA":"A","optionB":"B","optionC":"C"}
+                not json
+
+                """;
+
+        QuestionPackImporter.ImportReport report = importer.importPack(stream(pack), QuestionPackImporter.Format.JSONL);
+
+        assertEquals(5, report.rowsRead());
+        assertEquals(2, report.inserted());
+        assertEquals(1, report.duplicates());
+        assertEquals(2, report.invalid());
+        assertEquals(2, report.categoriesCreated());
+
+        List<Question> travel = questionRepo.findByCategory_Id(findCategory("Pack Travel").getId());
+        assertEquals(1, travel.size());
+        assertEquals("Dream destination?", travel.get(0).getText());
+        assertEquals(Question.SourceType.STANDARD, travel.get(0).getSourceType());
+        assertTrue(findCategory("Pack Secrets").isSensitive());
+    }
+
+    @Test
+    void importPack_SkipsQuestionsAlreadyInTheCategory() throws IOException {
+        QuestionCategory category = new QuestionCategory();
+        category.setName("Pack Existing");
+        category = categoryRepo.save(category);
+        Question existing = new Question();
+        existing.setCategory(category);
+        existing.setText("What makes you laugh?");
+        existing.setOptionA("A");
+        existing.setOptionB("B");
+        existing.setOptionC("C");
+        existing.setOptionD("D");
+        questionRepo.save(existing);
+
+        String pack = """
+                category,text,option_a,option_b,option_c,option_d
+                Pack Existing,what makes you LAUGH?,A,B,C,D
+                Pack Existing,"What makes you
+                cry?",A,B,C,D
+                """;
+
+        QuestionPackImporter.ImportReport report = importer.importPack(stream(pack), QuestionPackImporter.Format.CSV);
+
+        assertEquals(1, report.inserted());
+        assertEquals(1, report.duplicates());
+        assertEquals(0, report.categoriesCreated());
+        assertEquals(2, questionRepo.findByCategory_Id(category.getId()).size());
+    }
+
+    @Test
+    void longHashSet_TracksValuesAcrossGrowthIncludingZero() {
+        QuestionPackImporter.LongHashSet set = new QuestionPackImporter.LongHashSet();
+
+        for (long value = -5_000; value < 5_000; value++) {
+            assertTrue(set.add(value * 0x1_0000_0001L));
+        }
+        assertFalse(set.add(0));
+        assertFalse(set.add(-5_000 * 0x1_0000_0001L));
+        assertTrue(set.contains(4_999 * 0x1_0000_0001L));
+        assertFalse(set.contains(5_000 * 0x1_0000_0001L));
+        assertEquals(10_000, set.size());
+    }
+
+    @Test
+    void importPack_RejectedChunkIsSkippedAndReported() throws IOException {
+        JdbcTemplate failingOnce = spy(jdbcTemplate);
+        doCallRealMethod()
+                .doThrow(new DataIntegrityViolationException("value too long for column"))
+                .doCallRealMethod()
+                .when(failingOnce).batchUpdate(anyString(), anyList());
+        QuestionPackImporter chunkedImporter = new QuestionPackImporter(
+                failingOnce,
+                categoryRepo,
+                questionSampler,
+                categoryCatalogService,
+                transactionManager,
+                objectMapper,
+                new SimpleMeterRegistry(),
+                2,
+                50_000
+        );
+        StringBuilder pack = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            pack.append("{\"category\":\"Pack Chunks\",\"text\":\"Chunk question ").append(i)
+                    .append("?\",\"optionA\":\"A\",\"optionB\":\"B\",\"optionC\":\"C\",\"optionD\":\"D\"}\n");
+        }
+
+        QuestionPackImporter.ImportReport report =
+                chunkedImporter.importPack(stream(pack.toString()), QuestionPackImporter.Format.JSONL);
+
+        assertEquals(5, report.rowsRead());
+        assertEquals(3, report.inserted());
+        assertEquals(2, report.failed());
+        assertEquals(List.of("Chunk question 1?", "Chunk question 2?", "Chunk question 5?"),
+                questionRepo.findByCategory_Id(findCategory("Pack Chunks").getId()).stream()
+                        .map(Question::getText)
+                        .sorted()
+                        .toList());
+    }
+
+    @Test
+    void importPack_CsvWithoutRequiredColumns_IsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.importPack(stream("category,text\nA,B\n"), QuestionPackImporter.Format.CSV));
+    }
+
+    @Test
+    void importPack_WhileAnotherImportRuns_ThrowsImportAlreadyRunning() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream blocking = new InputStream() {
+            @Override
+            public int read() {
+                reading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+        CompletableFuture<QuestionPackImporter.ImportReport> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return importer.importPack(blocking, QuestionPackImporter.Format.JSONL);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        try {
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            assertThrows(ImportAlreadyRunningException.class,
+                    () -> importer.importPack(stream(""), QuestionPackImporter.Format.JSONL));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(0, first.get(5, TimeUnit.SECONDS).rowsRead());
+    }
+
+    @Test
+    void importBenchmark_20kRows() throws IOException {
+        int rows = 20_000;
+        StringBuilder pack = new StringBuilder(rows * 120);
+        for (int i = 0; i < rows; i++) {
+            pack.append("{\"category\":\"Pack Bench ").append(i % 4)
+                    .append("\",\"text\":\"Benchmark question ").append(i % 15_000)
+                    .append("?\",\"optionA\":\"A\",\"optionB\":\"B\",\"optionC\":\"C\",\"optionD\":\"D\"}\n");
+        }
+
+        long start = System.nanoTime();
+        QuestionPackImporter.ImportReport report =
+                importer.importPack(stream(pack.toString()), QuestionPackImporter.Format.JSONL);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(rows, report.rowsRead());
+        assertEquals(15_000, report.inserted());
+        assertEquals(5_000, report.duplicates());
+        System.out.println("============= QUESTION PACK IMPORT BENCHMARK =============");
+        System.out.printf("[PERF] %,d JSONL rows: %,d inserted, %,d duplicates in %dms (%,.0f rows/s)%n",
+                rows, report.inserted(), report.duplicates(), elapsedMs, rows * 1000.0 / Math.max(1, elapsedMs));
+        System.out.println("==========================================================");
+    }
+}
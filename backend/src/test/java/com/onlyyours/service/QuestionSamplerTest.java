@@ -0,0 +1,212 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.CoupleSeenQuestions;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.Question;
+import com.onlyyours.model.QuestionCategory;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.CoupleSeenQuestionsRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.QuestionCategoryRepository;
+import com.onlyyours.repository.QuestionRepository;
+import com.onlyyours.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class QuestionSamplerTest {
+
+    @Autowired private QuestionSampler questionSampler;
+    @Autowired private QuestionRepository questionRepo;
+    @Autowired private QuestionCategoryRepository categoryRepo;
+    @Autowired private GameSessionRepository sessionRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private CoupleRepository coupleRepo;
+    @Autowired private CoupleSeenQuestionsRepository seenRepo;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Couple couple;
+
+    @BeforeEach
+    void setUp() {
+        User user1 = new User();
+        user1.setEmail("sampler-1-" + UUID.randomUUID() + "@test.com");
+        user1.setName("Sampler 1");
+        User user2 = new User();
+        user2.setEmail("sampler-2-" + UUID.randomUUID() + "@test.com");
+        user2.setName("Sampler 2");
+
+        couple = new Couple();
+        couple.setUser1(userRepo.save(user1));
+        couple.setUser2(userRepo.save(user2));
+        couple = coupleRepo.save(couple);
+    }
+
+    private QuestionCategory createCategory(int questionCount) {
+        QuestionCategory category = new QuestionCategory();
+        category.setName("Sampler " + questionCount);
+        category.setDescription("Sampling test category");
+        category = categoryRepo.save(category);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Integer categoryId = category.getId();
+        List<Object[]> rows = IntStream.range(0, questionCount)
+                .mapToObj(i -> new Object[]{categoryId, "Question " + i, "A", "B", "C", "D", now, now})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO questions (category_id, source_type, text, option_a, option_b, option_c, option_d,
+                                       archived, created_at, updated_at)
+                VALUES (?, 'STANDARD', ?, ?, ?, ?, ?, false, ?, ?)
+                """, rows);
+        questionSampler.invalidateCategory(categoryId);
+        return category;
+    }
+
+    private void recordPlayedSession(QuestionCategory category, int[] questionIds) {
+        GameSession session = new GameSession();
+        session.setCouple(couple);
+        session.setStatus(GameSession.GameStatus.COMPLETED);
+        session.setCategoryId(category.getId());
+        session.setQuestionIds(questionIds);
+        session.setCreatedAt(new Date());
+        sessionRepo.save(session);
+    }
+
+    private static BitSet bits(int fromInclusive, int toInclusive) {
+        BitSet bits = new BitSet();
+        bits.set(fromInclusive, toInclusive + 1);
+        return bits;
+    }
+
+    private Set<Integer> ids(QuestionSampler.Sample sample) {
+        return sample.questions().stream().map(SessionQuestionCache.CachedQuestion::id).collect(Collectors.toSet());
+    }
+
+    @Test
+    void pickIds_SkipsSeenWhileEnoughUnseenRemain() {
+        int[] pool = IntStream.rangeClosed(1, 40).toArray();
+        BitSet seen = bits(1, 30);
+
+        for (int seed = 0; seed < 50; seed++) {
+            QuestionSampler.Pick pick = QuestionSampler.pickIds(pool, seen, 8, new Random(seed));
+            assertFalse(pick.exhausted());
+            assertEquals(8, new HashSet<>(pick.ids()).size());
+            assertTrue(pick.ids().stream().noneMatch(seen::get));
+        }
+    }
+
+    @Test
+    void pickIds_FillsFromSeenWhenDeckIsExhausted() {
+        int[] pool = IntStream.rangeClosed(1, 12).toArray();
+
+        QuestionSampler.Pick pick = QuestionSampler.pickIds(pool, bits(1, 9), 8, new Random(7));
+
+        assertTrue(pick.exhausted());
+        assertEquals(8, new HashSet<>(pick.ids()).size());
+        assertTrue(pick.ids().containsAll(List.of(10, 11, 12)));
+    }
+
+    @Test
+    void sampleCategory_NeverRepeatsUntilDeckIsExhausted() {
+        QuestionCategory category = createCategory(24);
+        Set<Integer> dealt = new HashSet<>();
+        for (int game = 0; game < 3; game++) {
+            Set<Integer> picked = ids(questionSampler.sampleCategory(category.getId(), couple.getId(), 8));
+            assertEquals(8, picked.size());
+            assertTrue(Collections.disjoint(dealt, picked), "Game " + (game + 1) + " repeated a question");
+            dealt.addAll(picked);
+        }
+
+        // All 24 seen: the next game starts a new cycle with only its own questions marked.
+        Set<Integer> nextCycle = ids(questionSampler.sampleCategory(category.getId(), couple.getId(), 8));
+        assertEquals(8, nextCycle.size());
+        BitSet seen = seenRepo.findById(couple.getId()).orElseThrow().seen();
+        assertEquals(8, seen.cardinality());
+        assertTrue(nextCycle.stream().allMatch(seen::get));
+    }
+
+    @Test
+    void sampleCategory_SeedsSeenSetFromPastSessionsOnce() {
+        QuestionCategory category = createCategory(24);
+        List<Integer> ids = questionRepo.findIdsByCategoryId(category.getId());
+        Collections.sort(ids);
+        recordPlayedSession(category, ids.subList(0, 8).stream().mapToInt(Integer::intValue).toArray());
+        recordPlayedSession(category, ids.subList(8, 16).stream().mapToInt(Integer::intValue).toArray());
+
+        QuestionSampler.Sample sample = questionSampler.sampleCategory(category.getId(), couple.getId(), 8);
+
+        assertEquals(24, sample.deckSize());
+        assertEquals(new HashSet<>(ids.subList(16, 24)), ids(sample));
+        assertEquals(24, seenRepo.findById(couple.getId()).orElseThrow().seen().cardinality());
+    }
+
+    @Test
+    void pickIds_FindsTheLastUnseenIdsInALargeDeck() {
+        int[] pool = IntStream.range(0, 100_000).toArray();
+        BitSet seen = bits(0, 99_989);
+
+        QuestionSampler.Pick pick = QuestionSampler.pickIds(pool, seen, 8, new Random(42));
+
+        assertFalse(pick.exhausted());
+        assertEquals(8, new HashSet<>(pick.ids()).size());
+        assertTrue(pick.ids().stream().allMatch(id -> id >= 99_990));
+    }
+
+    @Test
+    void seenQuestions_StoresTheSmallerEncodingAndRoundTrips() {
+        BitSet fewHighIds = bits(499_990, 499_997);
+        CoupleSeenQuestions sparse = new CoupleSeenQuestions();
+        sparse.setSeen(fewHighIds);
+        assertEquals(CoupleSeenQuestions.ENCODING_GAPS, sparse.getSeenEncoding());
+        assertTrue(sparse.getSeenData().length <= 10, "stored " + sparse.getSeenData().length + " bytes");
+        assertEquals(fewHighIds, sparse.seen());
+
+        BitSet denseRun = bits(1, 10_000);
+        CoupleSeenQuestions dense = new CoupleSeenQuestions();
+        dense.setSeen(denseRun);
+        assertEquals(CoupleSeenQuestions.ENCODING_BITMAP, dense.getSeenEncoding());
+        assertEquals(denseRun, dense.seen());
+
+        CoupleSeenQuestions empty = new CoupleSeenQuestions();
+        empty.setSeen(new BitSet());
+        assertTrue(empty.seen().isEmpty());
+    }
+
+    @Test
+    void sampleCategory_ReloadsPoolWhenCachedPoolIsTooSmall() {
+        QuestionCategory category = createCategory(4);
+        assertEquals(4, questionSampler.sampleCategory(category.getId(), couple.getId(), 8).questions().size());
+
+        Question extra = new Question();
+        extra.setCategory(category);
+        extra.setText("Added later");
+        extra.setOptionA("A");
+        extra.setOptionB("B");
+        extra.setOptionC("C");
+        extra.setOptionD("D");
+        questionRepo.save(extra);
+
+        assertEquals(5, questionSampler.sampleCategory(category.getId(), couple.getId(), 8).questions().size());
+    }
+}
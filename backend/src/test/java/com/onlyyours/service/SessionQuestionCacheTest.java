@@ -0,0 +1,106 @@
+package com.onlyyours.service;
+
+import com.onlyyours.dto.QuestionPayloadDto;
+import com.onlyyours.model.Question;
+import com.onlyyours.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionQuestionCacheTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    private SessionQuestionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SessionQuestionCache(questionRepository, new SimpleMeterRegistry(), 60_000);
+    }
+
+    private static Question question(int id) {
+        Question question = new Question();
+        question.setId(id);
+        question.setText("Question " + id);
+        question.setOptionA("A" + id);
+        question.setOptionB("B" + id);
+        question.setOptionC("C" + id);
+        question.setOptionD("D" + id);
+        question.setSourceType(Question.SourceType.CUSTOM_COUPLE);
+        return question;
+    }
+
+    private static SessionQuestionCache.CachedQuestion cached(int id) {
+        return SessionQuestionCache.CachedQuestion.of(question(id));
+    }
+
+    @Test
+    void preloadedSession_BuildsPayloadsWithoutRepositoryReads() {
+        UUID sessionId = UUID.randomUUID();
+        cache.preload(sessionId, IntStream.rangeClosed(1, 8).mapToObj(SessionQuestionCacheTest::cached).toList());
+
+        for (int round = 0; round < 2; round++) {
+            for (int id = 1; id <= 8; id++) {
+                QuestionPayloadDto payload = cache.get(sessionId, id).toPayload(sessionId, id, 8, "ROUND1", null);
+                assertEquals("Question " + id, payload.getQuestionText());
+                assertEquals("D" + id, payload.getOptionD());
+                assertEquals(id, payload.getQuestionNumber());
+                assertTrue(payload.getCustomQuestion());
+            }
+        }
+
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void sessionNotPreloaded_LoadsEachQuestionOnce() {
+        UUID sessionId = UUID.randomUUID();
+        when(questionRepository.findById(3)).thenReturn(Optional.of(question(3)));
+
+        assertEquals("Question 3", cache.get(sessionId, 3).text());
+        assertEquals("Question 3", cache.get(sessionId, 3).text());
+
+        verify(questionRepository, times(1)).findById(3);
+    }
+
+    @Test
+    void unknownQuestion_Throws() {
+        when(questionRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> cache.get(UUID.randomUUID(), 99));
+    }
+
+    @Test
+    void evictAfterCommit_WithoutTransactionEvictsImmediately() {
+        UUID sessionId = UUID.randomUUID();
+        cache.preload(sessionId, List.of(cached(1)));
+        assertEquals(1, cache.cachedSessionCount());
+
+        cache.evictAfterCommit(sessionId);
+
+        assertEquals(0, cache.cachedSessionCount());
+    }
+
+    @Test
+    void idleSessions_AreEvicted() {
+        SessionQuestionCache shortLived = new SessionQuestionCache(questionRepository, new SimpleMeterRegistry(), -1);
+        shortLived.preload(UUID.randomUUID(), List.of(cached(1)));
+
+        shortLived.evictIdleSessions();
+
+        assertEquals(0, shortLived.cachedSessionCount());
+    }
+}
@@ -0,0 +1,138 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.PasswordResetToken;
+import com.onlyyours.model.RefreshToken;
+import com.onlyyours.model.User;
+import com.onlyyours.repository.PasswordResetTokenRepository;
+import com.onlyyours.repository.RefreshTokenRepository;
+import com.onlyyours.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+class TokenHousekeepingJobTest {
+
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+    @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private DatabaseAdvisoryLock advisoryLock;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private TableRowEstimator rowEstimator;
+
+    private SimpleMeterRegistry meterRegistry;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        meterRegistry = new SimpleMeterRegistry();
+
+        user = new User();
+        user.setEmail("housekeeping-" + UUID.randomUUID() + "@test.com");
+        user.setName("Housekeeping");
+        user = userRepository.save(user);
+    }
+
+    private TokenHousekeepingJob job(int batchSize) {
+        return job(batchSize, advisoryLock);
+    }
+
+    private TokenHousekeepingJob job(int batchSize, DatabaseAdvisoryLock lock) {
+        return new TokenHousekeepingJob(
+                refreshTokenRepository,
+                passwordResetTokenRepository,
+                lock,
+                transactionManager,
+                meterRegistry,
+                rowEstimator,
+                true,
+                24,
+                batchSize
+        );
+    }
+
+    private static Instant daysAgo(long days) {
+        return Instant.now().minus(days, ChronoUnit.DAYS);
+    }
+
+    private RefreshToken refreshToken(Instant expiresAt, Instant revokedAt) {
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(UUID.randomUUID().toString());
+        token.setExpiresAt(expiresAt);
+        token.setRevokedAt(revokedAt);
+        return refreshTokenRepository.save(token);
+    }
+
+    private PasswordResetToken resetToken(Instant expiresAt, Instant usedAt) {
+        PasswordResetToken token = new PasswordResetToken();
+        token.setUser(user);
+        token.setTokenHash(UUID.randomUUID().toString());
+        token.setExpiresAt(expiresAt);
+        token.setUsedAt(usedAt);
+        return passwordResetTokenRepository.save(token);
+    }
+
+    @Test
+    void purge_DeletesTokensPastRetentionInChunks() {
+        for (int i = 0; i < 5; i++) {
+            refreshToken(daysAgo(3), null);
+        }
+        RefreshToken revokedLongAgo = refreshToken(Instant.now().plus(30, ChronoUnit.DAYS), daysAgo(2));
+        RefreshToken active = refreshToken(Instant.now().plus(30, ChronoUnit.DAYS), null);
+        RefreshToken recentlyRevoked = refreshToken(Instant.now().plus(30, ChronoUnit.DAYS), Instant.now());
+        RefreshToken recentlyExpired = refreshToken(Instant.now().minus(1, ChronoUnit.HOURS), null);
+
+        int purged = job(2).purge();
+
+        assertEquals(6, purged);
+        assertFalse(refreshTokenRepository.existsById(revokedLongAgo.getId()));
+        assertTrue(refreshTokenRepository.existsById(active.getId()));
+        assertTrue(refreshTokenRepository.existsById(recentlyRevoked.getId()));
+        assertTrue(refreshTokenRepository.existsById(recentlyExpired.getId()));
+        assertEquals(6, meterRegistry.get("auth.tokens.purged").tag("table", "refresh_tokens").counter().count());
+        assertEquals(3, meterRegistry.get("auth.tokens.rows").tag("table", "refresh_tokens").gauge().value());
+    }
+
+    @Test
+    void purge_DeletesUsedAndExpiredResetTokens() {
+        PasswordResetToken expired = resetToken(daysAgo(2), null);
+        PasswordResetToken usedLongAgo = resetToken(Instant.now().plus(1, ChronoUnit.HOURS), daysAgo(2));
+        PasswordResetToken pending = resetToken(Instant.now().plus(1, ChronoUnit.HOURS), null);
+
+        assertEquals(2, job(100).purge());
+
+        assertFalse(passwordResetTokenRepository.existsById(expired.getId()));
+        assertFalse(passwordResetTokenRepository.existsById(usedLongAgo.getId()));
+        assertTrue(passwordResetTokenRepository.existsById(pending.getId()));
+        assertEquals(1, meterRegistry.get("auth.tokens.rows").tag("table", "password_reset_tokens").gauge().value());
+    }
+
+    @Test
+    void purge_LeavesRowGaugeUnsetWhenAnotherInstanceHoldsTheLock() {
+        refreshToken(daysAgo(3), null);
+        DatabaseAdvisoryLock heldElsewhere = mock(DatabaseAdvisoryLock.class);
+        when(heldElsewhere.tryLockForTransaction(anyLong())).thenReturn(false);
+
+        assertEquals(0, job(100, heldElsewhere).purge());
+
+        assertTrue(Double.isNaN(meterRegistry.get("auth.tokens.rows").tag("table", "refresh_tokens").gauge().value()));
+        assertEquals(1, refreshTokenRepository.count());
+    }
+}
@@ -0,0 +1,132 @@
+package com.onlyyours.service;
+
+import com.onlyyours.model.Couple;
+import com.onlyyours.model.GameSession;
+import com.onlyyours.model.User;
+import com.onlyyours.model.UserGameStats;
+import com.onlyyours.repository.CoupleRepository;
+import com.onlyyours.repository.GameSessionRepository;
+import com.onlyyours.repository.UserGameStatsRepository;
+import com.onlyyours.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not @Transactional: the race needs two real transactions on committed users and sessions.
+ */
+@SpringBootTest
+class UserGameStatsServiceTest {
+
+    @Autowired private UserGameStatsService userGameStatsService;
+    @Autowired private UserGameStatsRepository statsRepo;
+    @Autowired private GameSessionRepository sessionRepo;
+    @Autowired private CoupleRepository coupleRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user1;
+    private User user2;
+    private Couple couple;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        String suffix = UUID.randomUUID().toString();
+        user1 = saveUser("stats-race-p1-" + suffix);
+        user2 = saveUser("stats-race-p2-" + suffix);
+
+        couple = new Couple();
+        couple.setUser1(user1);
+        couple.setUser2(user2);
+        couple = coupleRepo.save(couple);
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setEmail(name + "@test.com");
+        user.setName(name);
+        return userRepo.save(user);
+    }
+
+    private GameSession saveSessionInRound2() {
+        Date now = new Date();
+        GameSession session = new GameSession();
+        session.setCouple(couple);
+        session.setStatus(GameSession.GameStatus.ROUND2);
+        session.setCreatedAt(now);
+        session.setStartedAt(now);
+        session.setLastActivityAt(now);
+        session.setExpiresAt(new Date(now.getTime() + 60_000));
+        session.setCurrentQuestionIndex(0);
+        return sessionRepo.save(session);
+    }
+
+    private void complete(GameSession session, int player1Score, int player2Score) {
+        GameSession current = sessionRepo.findById(session.getId()).orElseThrow();
+        current.setStatus(GameSession.GameStatus.COMPLETED);
+        current.setPlayer1Score(player1Score);
+        current.setPlayer2Score(player2Score);
+        current.setCompletedAt(new Date());
+        sessionRepo.save(current);
+        userGameStatsService.recordGameCompleted(current, player1Score, player2Score);
+    }
+
+    @Test
+    void recordGameCompleted_RacingBootstrapsForNewUsers_CountBothGames() throws Exception {
+        GameSession first = saveSessionInRound2();
+        GameSession second = saveSessionInRound2();
+        CountDownLatch firstRecorded = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> winner = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                complete(first, 6, 3);
+                firstRecorded.countDown();
+                try {
+                    releaseFirst.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(firstRecorded.await(10, TimeUnit.SECONDS));
+
+            // The first transaction holds both uncommitted stats rows, so this one finds
+            // no row and has to wait on its insert until the first commits.
+            Future<?> loser = executor.submit(() ->
+                    transactionTemplate.executeWithoutResult(status -> complete(second, 4, 8)));
+            Thread.sleep(300);
+            releaseFirst.countDown();
+
+            winner.get(10, TimeUnit.SECONDS);
+            loser.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        UserGameStats player1Stats = statsRepo.findByUser_Id(user1.getId()).orElseThrow();
+        assertEquals(2, player1Stats.getGamesCompleted());
+        assertEquals(10L, player1Stats.getTotalScore());
+        assertEquals(6, player1Stats.getBestScore());
+
+        UserGameStats player2Stats = statsRepo.findByUser_Id(user2.getId()).orElseThrow();
+        assertEquals(2, player2Stats.getGamesCompleted());
+        assertEquals(11L, player2Stats.getTotalScore());
+        assertEquals(8, player2Stats.getBestScore());
+    }
+}
@@ -0,0 +1,29 @@
+package com.onlyyours.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionTextUtilTest {
+
+    @Test
+    void normalize_CollapsesAsciiWhitespaceAndLowerCasesAsciiLetters() {
+        assertEquals("what is your dream weekend?", QuestionTextUtil.normalize("  What\tis \r\n your\u000BDREAM\fweekend?  "));
+        assertEquals("", QuestionTextUtil.normalize(null));
+        assertEquals("", QuestionTextUtil.normalize(" \t\n "));
+    }
+
+    @Test
+    void normalize_LeavesControlCharactersAndNonAsciiLettersAsTheyAre() {
+        // Matches the SQL in V28: btrim() only strips spaces and A-Z is the only case folded.
+        assertEquals("\u0001question\u0001", QuestionTextUtil.normalize("\u0001Question\u0001"));
+        assertEquals("Éclair", QuestionTextUtil.normalize("ÉCLAIR".charAt(0) + "clair"));
+        assertEquals("cafÉ  time", QuestionTextUtil.normalize("CAFÉ  TIME"));
+    }
+
+    @Test
+    void textHash_IsStableAcrossWhitespaceAndAsciiCase() {
+        assertEquals(QuestionTextUtil.textHash("dream weekend?"), QuestionTextUtil.textHash("  Dream   WEEKEND? "));
+        assertNotEquals(QuestionTextUtil.textHash("éclair"), QuestionTextUtil.textHash("Éclair"));
+    }
+}